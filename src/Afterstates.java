@@ -0,0 +1,104 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that previews the result of every move without changing the board.
+ */
+
+package src;
+
+/**
+ * @brief An ADT holding the four afterstates of a board (one per direction).
+ * @details An afterstate is the board right after a shift and merge but before a
+ * new tile is spawned. The preview methods fill this object in place and never
+ * touch the board being previewed, so one object can be reused for every call
+ * without creating any garbage. The results are indexed by the ordinal of the
+ * direction.
+ */
+public class Afterstates {
+
+    private final long[] boards = new long[4];
+    private final int[] gains = new int[4];
+    private final boolean[] legal = new boolean[4];
+    private long source;
+
+    /**
+     * @brief A method to preview all four moves on a board.
+     * @details The board and its score are left untouched.
+     * @param b A Board object representing the board to preview.
+     */
+    public void preview(Board b) {
+        preview(BitBoard.pack(b));
+    }
+
+    /**
+     * @brief A method to preview all four moves on a packed board.
+     * @details The rows are read once for left and right, and the board is transposed
+     * once for up and down.
+     * @param packed A long representing the packed board.
+     */
+    public void preview(long packed) {
+        this.source = packed;
+        long t = BitBoard.transpose(packed);
+        set(Directions.left, BitBoard.move(packed, Directions.left), BitBoard.scoreGain(packed, Directions.left));
+        set(Directions.right, BitBoard.move(packed, Directions.right), BitBoard.scoreGain(packed, Directions.right));
+        set(Directions.up, BitBoard.transpose(BitBoard.applyRows(t, BitBoard.upTable())), BitBoard.sumRows(t, BitBoard.upScoreTable()));
+        set(Directions.down, BitBoard.transpose(BitBoard.applyRows(t, BitBoard.downTable())), BitBoard.sumRows(t, BitBoard.downScoreTable()));
+    }
+
+    /**
+     * @brief A getter for the board that was last previewed.
+     * @return A long representing the packed board before any move.
+     */
+    public long getSource() {
+        return this.source;
+    }
+
+    /**
+     * @brief A getter for the afterstate of a move.
+     * @param dir An enumerate direction representing the move.
+     * @return A long representing the packed board after the move.
+     */
+    public long getBoard(Directions dir) {
+        return this.boards[dir.ordinal()];
+    }
+
+    /**
+     * @brief A getter for the score that a move would add.
+     * @param dir An enumerate direction representing the move.
+     * @return An integer representing the score gained by the move.
+     */
+    public int getScoreGain(Directions dir) {
+        return this.gains[dir.ordinal()];
+    }
+
+    /**
+     * @brief A getter for whether a move changes the board.
+     * @details A move that does not change the board would not spawn a tile in the
+     * Model, so it is not a legal move.
+     * @param dir An enumerate direction representing the move.
+     * @return A boolean representing if the move is legal.
+     */
+    public boolean isLegal(Directions dir) {
+        return this.legal[dir.ordinal()];
+    }
+
+    /**
+     * @brief A method to check if at least one move is legal.
+     * @return A boolean representing if any move changes the board.
+     */
+    public boolean anyLegal() {
+        return this.legal[0] || this.legal[1] || this.legal[2] || this.legal[3];
+    }
+
+    /**
+     * @brief A method to store the result of a single move.
+     */
+    private void set(Directions dir, long after, int gain) {
+        int k = dir.ordinal();
+        this.boards[k] = after;
+        this.gains[k] = gain;
+        this.legal[k] = after != this.source;
+    }
+
+}
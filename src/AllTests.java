@@ -14,7 +14,27 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
    TestBoard.class,
    TestTileT.class,
-   TestGame.class
+   TestTileColours.class,
+   TestGame.class,
+   TestMoveEvent.class,
+   TestAfterstates.class,
+   TestLeaderboard.class,
+   TestGameStats.class,
+   TestPositionHash.class,
+   TestTablebase.class,
+   TestMoveCache.class,
+   TestSearch.class,
+   TestFuzzer.class,
+   TestTournament.class,
+   TestRules.class,
+   TestSpawners.class,
+   TestCheckpoint.class,
+   TestCoordinator.class,
+   TestHeuristic.class,
+   TestTraining.class,
+   TestGameHandle.class,
+   TestBroadcaster.class,
+   TestBenchmarks.class
 })
 
 public class AllTests
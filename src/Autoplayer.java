@@ -0,0 +1,277 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that lets the search play a game at a fixed pace.
+ */
+
+package src;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * @brief An ADT that plays a game on its own thread and publishes frames to be drawn.
+ * @details The player thread keeps the game as a packed board, picks every move with
+ * a Policy (an Expectimax search unless another is given) and spawns the next tile
+ * itself, so it never touches the Model the GUI is showing. After each move it
+ * publishes a Frame. Only the newest frame is kept: if the previous frame has not
+ * been drawn yet, it is replaced and counted as dropped, and a single draw is
+ * queued on the render executor no matter how many moves happen in between. This
+ * keeps the display from falling behind when the search is faster than the screen.
+ * Moves are paced at a fixed rate, or played as fast as possible when the rate is 0.
+ */
+public class Autoplayer {
+
+    /**
+     * @brief An immutable snapshot of the game published after a move.
+     */
+    public static final class Frame {
+
+        private final long board;
+        private final long score;
+        private final long moves;
+        private final boolean over;
+
+        Frame(long board, long score, long moves, boolean over) {
+            this.board = board;
+            this.score = score;
+            this.moves = moves;
+            this.over = over;
+        }
+
+        /**
+         * @brief A getter for the board of the frame.
+         * @return A long representing the packed board.
+         */
+        public long getBoard() {
+            return this.board;
+        }
+
+        /**
+         * @brief A getter for the score of the frame.
+         * @return A long representing the score of the game so far.
+         */
+        public long getScore() {
+            return this.score;
+        }
+
+        /**
+         * @brief A getter for the number of moves played when the frame was made.
+         * @return A long representing the moves played by the player thread.
+         */
+        public long getMoves() {
+            return this.moves;
+        }
+
+        /**
+         * @brief A method to check if the game ended on this frame.
+         * @return A boolean representing if no move is left.
+         */
+        public boolean isOver() {
+            return this.over;
+        }
+    }
+
+    private final Policy policy;
+    private final Executor render;
+    private final Consumer<Frame> draw;
+    private final AtomicReference<Frame> latest = new AtomicReference<Frame>();
+    private final AtomicBoolean queued = new AtomicBoolean();
+    private final AtomicLong moves = new AtomicLong();
+    private final AtomicLong drawn = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long periodNanos;
+    private volatile boolean running;
+    private volatile long startedAt;
+    private volatile long stoppedAt;
+    private Thread player;
+
+    /**
+     * @brief A constructor which initializes an autoplayer.
+     * @param depth An integer representing the search depth of each move.
+     * @param movesPerSecond A double representing the pace of play (0 for as fast as possible).
+     * @param render An Executor object that runs the draws (for example on the GUI thread).
+     * @param draw A callback that draws a frame; it is run by the render executor.
+     * @throws IllegalArgumentException if the rate is negative.
+     */
+    public Autoplayer(int depth, double movesPerSecond, Executor render, Consumer<Frame> draw) {
+        this(Policies.expectimax(depth).get(), movesPerSecond, render, draw);
+    }
+
+    /**
+     * @brief A constructor which initializes an autoplayer of a policy.
+     * @param policy A Policy object choosing the moves; it is only called from the
+     * player thread.
+     * @param movesPerSecond A double representing the pace of play (0 for as fast as possible).
+     * @param render An Executor object that runs the draws (for example on the GUI thread).
+     * @param draw A callback that draws a frame; it is run by the render executor.
+     * @throws IllegalArgumentException if the rate is negative.
+     */
+    public Autoplayer(Policy policy, double movesPerSecond, Executor render, Consumer<Frame> draw) {
+        this.policy = policy;
+        this.render = render;
+        this.draw = draw;
+        setRate(movesPerSecond);
+    }
+
+    /**
+     * @brief A setter for the pace of play, which may be changed while playing.
+     * @param movesPerSecond A double representing the moves per second (0 for as
+     * fast as possible).
+     * @throws IllegalArgumentException if the rate is negative.
+     */
+    public void setRate(double movesPerSecond) {
+        if(movesPerSecond < 0)
+            throw new IllegalArgumentException("Rate cannot be negative!");
+        this.periodNanos = movesPerSecond == 0 ? 0 : (long) (1e9 / movesPerSecond);
+    }
+
+    /**
+     * @brief A method to start playing from a board.
+     * @details It is assumed that start and stop are called from one thread.
+     * @param board A long representing the packed board to play from.
+     * @param score A long representing the score of the game so far.
+     * @param seed A long representing the seed of the spawned tiles and of the policy.
+     * @throws IllegalStateException if the autoplayer is already playing.
+     */
+    public void start(long board, long score, long seed) {
+        if(this.running)
+            throw new IllegalStateException("Autoplay is already running!");
+        this.latest.set(null);
+        this.moves.set(0);
+        this.drawn.set(0);
+        this.dropped.set(0);
+        this.running = true;
+        this.startedAt = System.nanoTime();
+        this.player = new Thread(() -> {
+            this.policy.start(seed);
+            play(board, score, new Rng(seed));
+        }, "autoplay");
+        this.player.setDaemon(true);
+        this.player.start();
+    }
+
+    /**
+     * @brief A method to stop playing and wait for the player thread to finish.
+     * @details A draw that is still queued will find nothing to draw, so the caller
+     * is handed the newest frame instead and no frame arrives after this returns.
+     * @return A Frame object representing the newest frame that was not drawn yet,
+     * or null if every frame was drawn or dropped.
+     */
+    public Frame stop() {
+        Thread t = this.player;
+        if(t == null)
+            return null;
+        this.running = false;
+        t.interrupt();
+        try {
+            t.join();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.player = null;
+        Frame last = this.latest.getAndSet(null);
+        if(last != null)
+            this.drawn.incrementAndGet();
+        return last;
+    }
+
+    /**
+     * @brief A method to check if the player thread is still playing.
+     * @return A boolean representing if moves are being made.
+     */
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * @brief A getter for the number of moves played since the last start.
+     * @return A long representing the moves played.
+     */
+    public long getMoves() {
+        return this.moves.get();
+    }
+
+    /**
+     * @brief A getter for the number of frames drawn since the last start.
+     * @return A long representing the frames passed to the draw callback or
+     * handed back by stop.
+     */
+    public long getFramesDrawn() {
+        return this.drawn.get();
+    }
+
+    /**
+     * @brief A getter for the number of frames replaced before they were drawn.
+     * @return A long representing the dropped frames since the last start.
+     */
+    public long getFramesDropped() {
+        return this.dropped.get();
+    }
+
+    /**
+     * @brief A getter for the sustained pace of play.
+     * @return A double representing the moves per second since the last start
+     * (until the game ended or was stopped).
+     */
+    public double getMovesPerSecond() {
+        long end = this.running ? System.nanoTime() : this.stoppedAt;
+        double secs = (end - this.startedAt) / 1e9;
+        return secs <= 0 ? 0 : getMoves() / secs;
+    }
+
+    /**
+     * @brief A method to play until the game ends or the player is stopped.
+     */
+    private void play(long board, long score, Rng rng) {
+        long next = System.nanoTime();
+        try {
+            while(this.running) {
+                Directions d = this.policy.choose(board);
+                if(d == null)
+                    break;
+                score += BitBoard.scoreGain(board, d);
+                board = BitBoard.spawn(BitBoard.move(board, d), rng);
+                publish(new Frame(board, score, this.moves.incrementAndGet(), false));
+                long period = this.periodNanos;
+                if(period > 0) {
+                    next += period;
+                    long wait;
+                    while(this.running && (wait = next - System.nanoTime()) > 0)
+                        LockSupport.parkNanos(wait);
+                    if(next < System.nanoTime() - period)
+                        next = System.nanoTime();
+                }
+            }
+            if(this.running)
+                publish(new Frame(board, score, this.moves.get(), true));
+        } finally {
+            this.stoppedAt = System.nanoTime();
+            this.running = false;
+        }
+    }
+
+    /**
+     * @brief A method to hand the newest frame to the render executor.
+     * @details At most one draw is queued at a time; a frame that is replaced while a
+     * draw is queued is never drawn.
+     */
+    private void publish(Frame f) {
+        if(this.latest.getAndSet(f) != null)
+            this.dropped.incrementAndGet();
+        if(this.queued.compareAndSet(false, true)) {
+            this.render.execute(() -> {
+                this.queued.set(false);
+                Frame frame = this.latest.getAndSet(null);
+                if(frame != null) {
+                    this.drawn.incrementAndGet();
+                    this.draw.accept(frame);
+                }
+            });
+        }
+    }
+
+}
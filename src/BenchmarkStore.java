@@ -0,0 +1,477 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that keeps benchmark runs on disk and compares them to a
+ * baseline.
+ */
+
+package src;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.text.SimpleDateFormat;
+import java.util.*;
+
+/**
+ * @brief An ADT representing a local store of benchmark runs.
+ * @details Each run is a tab separated text file in the store directory, named by
+ * when it ran and the git revision it measured. Its header lines hold the revision
+ * and the details of the JVM, and each row holds one sample of one benchmark at one
+ * board fill level: nanoseconds per operation, moves per second and bytes allocated
+ * per operation. The files are plain text so they can be read, diffed and kept
+ * anywhere. One run can be marked as the baseline, and compare checks every
+ * benchmark of a run against it with Welch's t-test on the samples, so a change is
+ * only called a regression when it is both larger than a threshold and unlikely to
+ * be noise. Nothing here needs a network.
+ */
+public class BenchmarkStore {
+
+    public static final String BASELINE_FILE = "baseline";
+    public static final String SUFFIX = ".tsv";
+
+    private static final String COLUMNS = "benchmark\tfill\tsample\tns/op\tmoves/s\tbytes/op";
+
+    private final Path dir;
+
+    /**
+     * @brief An ADT representing the samples of one benchmark run.
+     */
+    public static final class Run {
+
+        private final Map<String, String> info = new LinkedHashMap<String, String>();
+        private final Map<String, List<double[]>> samples = new LinkedHashMap<String, List<double[]>>();
+
+        /**
+         * @brief A constructor which starts an empty run.
+         * @param revision A string naming the git revision measured.
+         */
+        public Run(String revision) {
+            this.info.put("revision", revision);
+        }
+
+        /**
+         * @brief A method to record a detail of the run, such as the JVM version.
+         * @param key A string naming the detail, without tabs or line breaks.
+         * @param value A string holding the detail; tabs and line breaks become spaces.
+         */
+        public void putInfo(String key, String value) {
+            this.info.put(key, value.replaceAll("[\\t\\r\\n]", " "));
+        }
+
+        /**
+         * @brief A getter for a detail of the run.
+         * @param key A string naming the detail.
+         * @return A string holding the detail, or null if it was not recorded.
+         */
+        public String getInfo(String key) {
+            return this.info.get(key);
+        }
+
+        /**
+         * @brief A getter for the revision measured.
+         * @return A string naming the git revision.
+         */
+        public String getRevision() {
+            return this.info.get("revision");
+        }
+
+        /**
+         * @brief A method to add one sample of a benchmark.
+         * @param benchmark A string naming the benchmark.
+         * @param fill An integer representing the number of tiles on the boards used.
+         * @param nsPerOp A double representing the nanoseconds per operation.
+         * @param bytesPerOp A double representing the bytes allocated per operation
+         * (negative if the JVM cannot tell).
+         */
+        public void add(String benchmark, int fill, double nsPerOp, double bytesPerOp) {
+            String key = benchmark + "\t" + fill;
+            List<double[]> list = this.samples.get(key);
+            if(list == null) {
+                list = new ArrayList<double[]>();
+                this.samples.put(key, list);
+            }
+            list.add(new double[] {nsPerOp, bytesPerOp});
+        }
+
+        /**
+         * @brief A getter for the benchmarks measured, in the order they ran.
+         * @return A list of keys, each a benchmark name and fill level separated by a tab.
+         */
+        public List<String> getKeys() {
+            return new ArrayList<String>(this.samples.keySet());
+        }
+
+        /**
+         * @brief A getter for the nanoseconds per operation of every sample of a benchmark.
+         * @param key A string holding the benchmark name and fill level separated by a tab.
+         * @return A sequence of samples (empty if the benchmark was not measured).
+         */
+        public double[] getNanos(String key) {
+            return column(key, 0);
+        }
+
+        /**
+         * @brief A getter for the bytes per operation of every sample of a benchmark.
+         * @param key A string holding the benchmark name and fill level separated by a tab.
+         * @return A sequence of samples (empty if the benchmark was not measured).
+         */
+        public double[] getBytes(String key) {
+            return column(key, 1);
+        }
+
+        /**
+         * @brief A method to gather one column of the samples of a benchmark.
+         */
+        private double[] column(String key, int c) {
+            List<double[]> list = this.samples.get(key);
+            if(list == null)
+                return new double[0];
+            double[] out = new double[list.size()];
+            for(int k = 0; k < out.length; k++)
+                out[k] = list.get(k)[c];
+            return out;
+        }
+    }
+
+    /**
+     * @brief An ADT representing one benchmark of a run compared to the baseline.
+     */
+    public static final class Comparison {
+
+        private final String key;
+        private final double baseNanos;
+        private final double nanos;
+        private final double p;
+        private final double baseBytes;
+        private final double bytes;
+        private final boolean slower;
+        private final boolean allocates;
+
+        Comparison(String key, double baseNanos, double nanos, double p, double baseBytes, double bytes,
+            boolean slower, boolean allocates) {
+            this.key = key;
+            this.baseNanos = baseNanos;
+            this.nanos = nanos;
+            this.p = p;
+            this.baseBytes = baseBytes;
+            this.bytes = bytes;
+            this.slower = slower;
+            this.allocates = allocates;
+        }
+
+        /**
+         * @brief A getter for the benchmark compared.
+         * @return A string holding the benchmark name and fill level separated by a tab.
+         */
+        public String getKey() {
+            return this.key;
+        }
+
+        /**
+         * @brief A getter for the relative change of the mean time per operation.
+         * @return A double representing the change, e.g. 0.1 for 10% slower.
+         */
+        public double getChange() {
+            return this.nanos / this.baseNanos - 1;
+        }
+
+        /**
+         * @brief A getter for the p-value of the change in time per operation.
+         * @return A double representing the two sided p-value of Welch's t-test.
+         */
+        public double getP() {
+            return this.p;
+        }
+
+        /**
+         * @brief A method to check if the benchmark got slower or allocates more.
+         * @return A boolean representing if the change is a regression.
+         */
+        public boolean isRegression() {
+            return this.slower || this.allocates;
+        }
+
+        /**
+         * @brief A method to describe the comparison as a row of the report.
+         * @return A string with the means, the change, the p-value and the verdict.
+         */
+        @Override
+        public String toString() {
+            String[] k = this.key.split("\t");
+            String verdict = this.slower ? "SLOWER" : this.allocates ? "ALLOCATES MORE" : "";
+            return String.format("%-20s %5s %12.2f %12.2f %+8.1f%% %9.4f %10.1f %10.1f  %s", k[0], k[1],
+                this.baseNanos, this.nanos, 100 * getChange(), this.p, this.baseBytes, this.bytes, verdict);
+        }
+    }
+
+    /**
+     * @brief A constructor which opens a store, creating its directory if needed.
+     * @param dir A Path representing the directory of the store.
+     * @throws IOException if the directory cannot be created.
+     */
+    public BenchmarkStore(Path dir) throws IOException {
+        this.dir = dir;
+        Files.createDirectories(dir);
+    }
+
+    /**
+     * @brief A method to write a run to the store.
+     * @param run A Run object to save.
+     * @return A string representing the id the run was saved under.
+     * @throws IOException if the run cannot be written.
+     */
+    public String save(Run run) throws IOException {
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        String base = stamp + "-" + run.getRevision().replaceAll("[^A-Za-z0-9._-]", "_");
+        String id = base;
+        for(int n = 2; Files.exists(this.dir.resolve(id + SUFFIX)); n++)
+            id = base + "-" + n;
+        run.putInfo("time", stamp);
+        StringBuilder sb = new StringBuilder();
+        for(Map.Entry<String, String> e : run.info.entrySet())
+            sb.append("# ").append(e.getKey()).append('\t').append(e.getValue()).append('\n');
+        sb.append(COLUMNS).append('\n');
+        for(Map.Entry<String, List<double[]>> e : run.samples.entrySet()) {
+            int n = 0;
+            for(double[] s : e.getValue())
+                sb.append(String.format(Locale.ROOT, "%s\t%d\t%.4f\t%.0f\t%.2f%n", e.getKey(), n++, s[0], 1e9 / s[0], s[1]));
+        }
+        Path tmp = this.dir.resolve(id + SUFFIX + ".tmp");
+        Files.write(tmp, sb.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(tmp, this.dir.resolve(id + SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+        return id;
+    }
+
+    /**
+     * @brief A method to read a run from the store.
+     * @param id A string representing the id of the run.
+     * @return A Run object holding its details and samples.
+     * @throws IOException if the run cannot be read or a row is malformed.
+     */
+    public Run load(String id) throws IOException {
+        Path file = this.dir.resolve(id + SUFFIX);
+        Run run = null;
+        int line = 0;
+        for(String row : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            line++;
+            String[] f = row.split("\t", -1);
+            if(row.startsWith("# ") && f.length == 2) {
+                if(run == null)
+                    run = new Run(f[0].equals("# revision") ? f[1] : "unknown");
+                run.info.put(f[0].substring(2), f[1]);
+            } else if(row.isEmpty() || row.equals(COLUMNS)) {
+                continue;
+            } else {
+                if(run == null || f.length != 6)
+                    throw new IOException(file + ":" + line + " is not a benchmark row!");
+                try {
+                    run.add(f[0], Integer.parseInt(f[1]), Double.parseDouble(f[3]), Double.parseDouble(f[5]));
+                } catch(NumberFormatException e) {
+                    throw new IOException(file + ":" + line + " is not a benchmark row!", e);
+                }
+            }
+        }
+        if(run == null)
+            throw new IOException(file + " is not a benchmark run!");
+        return run;
+    }
+
+    /**
+     * @brief A method to list the runs in the store.
+     * @return A list of run ids, oldest first.
+     * @throws IOException if the directory cannot be read.
+     */
+    public List<String> list() throws IOException {
+        List<String> ids = new ArrayList<String>();
+        try(DirectoryStream<Path> files = Files.newDirectoryStream(this.dir, "*" + SUFFIX)) {
+            for(Path p : files) {
+                String name = p.getFileName().toString();
+                ids.add(name.substring(0, name.length() - SUFFIX.length()));
+            }
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+
+    /**
+     * @brief A getter for the newest run.
+     * @return A string representing its id, or null if the store is empty.
+     * @throws IOException if the directory cannot be read.
+     */
+    public String latest() throws IOException {
+        List<String> ids = list();
+        return ids.isEmpty() ? null : ids.get(ids.size() - 1);
+    }
+
+    /**
+     * @brief A method to mark a run as the baseline.
+     * @param id A string representing the id of the run.
+     * @throws IllegalArgumentException if the store holds no such run.
+     * @throws IOException if the marker cannot be written.
+     */
+    public void setBaseline(String id) throws IOException {
+        if(id == null || !Files.exists(this.dir.resolve(id + SUFFIX)))
+            throw new IllegalArgumentException("No benchmark run " + id + "!");
+        Files.write(this.dir.resolve(BASELINE_FILE), (id + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @brief A getter for the baseline.
+     * @return A string representing the id of the baseline run, or null if none is marked.
+     * @throws IOException if the marker cannot be read.
+     */
+    public String getBaseline() throws IOException {
+        Path marker = this.dir.resolve(BASELINE_FILE);
+        if(!Files.exists(marker))
+            return null;
+        return new String(Files.readAllBytes(marker), StandardCharsets.UTF_8).trim();
+    }
+
+    /**
+     * @brief A method to compare every benchmark of a run to the baseline.
+     * @details A benchmark is slower if its mean time per operation grew by more
+     * than the threshold and Welch's t-test gives a p-value below alpha. It
+     * allocates more if its mean bytes per operation grew by more than the
+     * threshold and by at least one byte, with the same test. Benchmarks missing
+     * from either run or with fewer than two samples are left out.
+     * @param base A Run object representing the baseline.
+     * @param run A Run object representing the run to check.
+     * @param alpha A double representing the significance level, e.g. 0.01.
+     * @param threshold A double representing the smallest relative change that
+     * counts, e.g. 0.05 for 5%.
+     * @return A list of Comparison objects, in the order the run measured them.
+     */
+    public static List<Comparison> compare(Run base, Run run, double alpha, double threshold) {
+        List<Comparison> out = new ArrayList<Comparison>();
+        for(String key : run.getKeys()) {
+            double[] bn = base.getNanos(key);
+            double[] n = run.getNanos(key);
+            if(bn.length < 2 || n.length < 2)
+                continue;
+            double p = welchP(bn, n);
+            double bm = mean(bn);
+            double m = mean(n);
+            boolean slower = m > bm * (1 + threshold) && p < alpha;
+            double[] bb = base.getBytes(key);
+            double[] b = run.getBytes(key);
+            double bbm = mean(bb);
+            double bmm = mean(b);
+            boolean allocates = bbm >= 0 && bmm > bbm * (1 + threshold) && bmm - bbm >= 1 && welchP(bb, b) < alpha;
+            out.add(new Comparison(key, bm, m, p, bbm, bmm, slower, allocates));
+        }
+        return out;
+    }
+
+    /**
+     * @brief A method to test if two samples have different means.
+     * @details This is Welch's t-test, which does not assume equal variances: the
+     * statistic is the difference of the means over its standard error, and the
+     * degrees of freedom come from the Welch-Satterthwaite equation.
+     * @param a A sequence of at least two values.
+     * @param b A sequence of at least two values.
+     * @return A double representing the two sided p-value.
+     * @throws IllegalArgumentException if a sample has fewer than two values.
+     */
+    public static double welchP(double[] a, double[] b) {
+        if(a.length < 2 || b.length < 2)
+            throw new IllegalArgumentException("Welch's t-test needs two values per sample!");
+        double va = variance(a) / a.length;
+        double vb = variance(b) / b.length;
+        double diff = mean(b) - mean(a);
+        if(va + vb == 0)
+            return diff == 0 ? 1 : 0;
+        double t = diff / Math.sqrt(va + vb);
+        double df = (va + vb) * (va + vb) / (va * va / (a.length - 1) + vb * vb / (b.length - 1));
+        return studentP(t, df);
+    }
+
+    /**
+     * @brief A method to compute the two sided tail of Student's t distribution.
+     * @param t A double representing the statistic.
+     * @param df A double representing the degrees of freedom.
+     * @return A double representing the probability of a statistic at least as far from 0.
+     */
+    static double studentP(double t, double df) {
+        return incompleteBeta(df / (df + t * t), df / 2, 0.5);
+    }
+
+    /**
+     * @brief A method to compute the regularized incomplete beta function.
+     * @details The continued fraction is evaluated with the modified Lentz method,
+     * using the symmetry of the function where it converges slowly.
+     */
+    private static double incompleteBeta(double x, double a, double b) {
+        if(x <= 0)
+            return 0;
+        if(x >= 1)
+            return 1;
+        double front = Math.exp(logGamma(a + b) - logGamma(a) - logGamma(b) + a * Math.log(x) + b * Math.log(1 - x));
+        if(x > (a + 1) / (a + b + 2))
+            return 1 - front * betaFraction(1 - x, b, a) / b;
+        return front * betaFraction(x, a, b) / a;
+    }
+
+    /**
+     * @brief A method to evaluate the continued fraction of the incomplete beta function.
+     */
+    private static double betaFraction(double x, double a, double b) {
+        double tiny = 1e-300;
+        double c = 1;
+        double d = 1 - (a + b) * x / (a + 1);
+        d = 1 / (Math.abs(d) < tiny ? tiny : d);
+        double h = d;
+        for(int m = 1; m <= 300; m++) {
+            for(int step = 0; step < 2; step++) {
+                double num = step == 0 ? m * (b - m) * x / ((a + 2 * m - 1) * (a + 2 * m))
+                    : -(a + m) * (a + b + m) * x / ((a + 2 * m) * (a + 2 * m + 1));
+                d = 1 + num * d;
+                d = 1 / (Math.abs(d) < tiny ? tiny : d);
+                c = 1 + num / c;
+                c = Math.abs(c) < tiny ? tiny : c;
+                h *= d * c;
+                if(step == 1 && Math.abs(d * c - 1) < 1e-12)
+                    return h;
+            }
+        }
+        return h;
+    }
+
+    /**
+     * @brief A method to compute the logarithm of the gamma function (Lanczos).
+     */
+    private static double logGamma(double x) {
+        double[] g = {76.18009172947146, -86.50532032941677, 24.01409824083091,
+            -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5};
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double ser = 1.000000000190015;
+        for(double c : g)
+            ser += c / ++y;
+        return -tmp + Math.log(2.5066282746310005 * ser / x);
+    }
+
+    /**
+     * @brief A method to compute the mean of a sample.
+     */
+    private static double mean(double[] v) {
+        double sum = 0;
+        for(double x : v)
+            sum += x;
+        return v.length == 0 ? 0 : sum / v.length;
+    }
+
+    /**
+     * @brief A method to compute the unbiased variance of a sample.
+     */
+    private static double variance(double[] v) {
+        double m = mean(v);
+        double sum = 0;
+        for(double x : v)
+            sum += (x - m) * (x - m);
+        return sum / (v.length - 1);
+    }
+
+}
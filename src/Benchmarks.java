@@ -0,0 +1,268 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that measures the game engine and records the results in a
+ * BenchmarkStore.
+ */
+
+package src;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @brief The benchmark suite of the game engine.
+ * @details Each benchmark runs at several board fill levels (the number of tiles on
+ * the boards it is given), on a fixed set of boards made from a fixed seed, so runs
+ * on different revisions measure the same work. A benchmark is first run once over
+ * its boards untimed, so class loading and table set up are not measured, then
+ * with a doubling number of operations (always whole rounds of its boards, so every
+ * sample does the same mix of work) until one pass takes the sample time, which
+ * also warms it up. Samples are then taken in rounds, one pass of every benchmark
+ * per round, so a burst of load on the machine slows one sample of each benchmark
+ * rather than every sample of one; the first few rounds are thrown away. The
+ * bytes allocated by the thread during a sample are read from the JVM where it can
+ * tell. Results go to a BenchmarkStore, which compares them to the baseline; see
+ * the bench targets of the Makefile.
+ */
+public class Benchmarks {
+
+    public static final int[] FILLS = {2, 6, 10, 14};
+    public static final String[] NAMES = {"bitboard.move", "heuristic.evaluate", "model.move", "expectimax.depth2"};
+
+    private static final Directions[] DIRECTIONS = Directions.values();
+    private static final int BOARDS = 1024;
+    private static final int WARMUP = 3;
+
+    private static volatile long sink;
+
+    /**
+     * @brief A method to make the boards a benchmark is run on.
+     * @param fill An integer representing the number of tiles on each board.
+     * @param seed A long representing the seed of the boards.
+     * @return A sequence of BOARDS packed boards with tiles from 2 to 512.
+     * @throws IllegalArgumentException if the fill level is not between 0 and 16.
+     */
+    public static long[] boards(int fill, long seed) {
+        if(fill < 0 || fill > BitBoard.SIZE * BitBoard.SIZE)
+            throw new IllegalArgumentException("A board holds 0 to 16 tiles!");
+        Rng rng = new Rng(seed);
+        long[] out = new long[BOARDS];
+        for(int k = 0; k < BOARDS; k++) {
+            long board = 0;
+            for(int n = 0; n < fill; ) {
+                int cell = rng.nextInt(BitBoard.SIZE * BitBoard.SIZE);
+                if(((board >>> (4 * cell)) & 0xF) != 0)
+                    continue;
+                board |= (long) (1 + rng.nextInt(9)) << (4 * cell);
+                n++;
+            }
+            out[k] = board;
+        }
+        return out;
+    }
+
+    /**
+     * @brief A method to run a benchmark for a number of operations.
+     * @param name A string naming the benchmark, one of NAMES.
+     * @param boards A sequence of BOARDS packed boards.
+     * @param ops A long representing the number of operations.
+     * @return A long derived from the results, so the work cannot be optimized away.
+     * @throws IllegalArgumentException if the benchmark is unknown.
+     */
+    public static long run(String name, long[] boards, long ops) {
+        long acc = 0;
+        int mask = boards.length - 1;
+        switch(name) {
+            case "bitboard.move":
+                for(long i = 0; i < ops; i++)
+                    acc += BitBoard.move(boards[(int) i & mask], DIRECTIONS[(int) i & 3]);
+                break;
+            case "heuristic.evaluate":
+                Heuristic h = Heuristic.standard();
+                for(long i = 0; i < ops; i++)
+                    acc += (long) h.evaluate(boards[(int) i & mask]);
+                break;
+            case "model.move":
+                Model m = new Model();
+                for(long i = 0; i < ops; i++) {
+                    BitBoard.unpack(boards[(int) i & mask], m.getBoard());
+                    m.makeMove(DIRECTIONS[(int) i & 3]);
+                    acc += m.getBoard().getScore();
+                }
+                break;
+            case "expectimax.depth2":
+                Expectimax e = new Expectimax(2);
+                for(long i = 0; i < ops; i++) {
+                    Directions d = e.bestMove(boards[(int) i & mask]);
+                    acc += d == null ? 0 : d.ordinal();
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown benchmark " + name + "!");
+        }
+        return acc;
+    }
+
+    /**
+     * @brief A method to measure every benchmark at every fill level.
+     * @param revision A string naming the git revision measured.
+     * @param samples An integer representing the samples per benchmark and fill level.
+     * @param millis A long representing the target time of one sample.
+     * @return A Run object holding the samples and the details of the JVM.
+     */
+    public static BenchmarkStore.Run measure(String revision, int samples, long millis) {
+        BenchmarkStore.Run run = new BenchmarkStore.Run(revision);
+        Runtime rt = Runtime.getRuntime();
+        run.putInfo("jvm", System.getProperty("java.vm.name") + " " + System.getProperty("java.runtime.version")
+            + " (" + System.getProperty("java.vendor") + ")");
+        run.putInfo("jvm.args", String.join(" ", ManagementFactory.getRuntimeMXBean().getInputArguments()));
+        run.putInfo("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        run.putInfo("cpus", Integer.toString(rt.availableProcessors()));
+        run.putInfo("heap", (rt.maxMemory() >> 20) + " MB");
+        long[][] boards = new long[FILLS.length][];
+        long[][] ops = new long[NAMES.length][FILLS.length];
+        for(int f = 0; f < FILLS.length; f++)
+            boards[f] = boards(FILLS[f], FILLS[f]);
+        for(int b = 0; b < NAMES.length; b++) {
+            for(int f = 0; f < FILLS.length; f++) {
+                time(NAMES[b], boards[f], boards[f].length);
+                ops[b][f] = boards[f].length;
+                while(time(NAMES[b], boards[f], ops[b][f])[0] < millis * 1000000L)
+                    ops[b][f] *= 2;
+            }
+        }
+        for(int k = -WARMUP; k < samples; k++) {
+            for(int b = 0; b < NAMES.length; b++) {
+                for(int f = 0; f < FILLS.length; f++) {
+                    long n = ops[b][f];
+                    long[] t = time(NAMES[b], boards[f], n);
+                    if(k >= 0)
+                        run.add(NAMES[b], FILLS[f], t[0] / (double) n, t[1] < 0 ? -1 : t[1] / (double) n);
+                }
+            }
+        }
+        return run;
+    }
+
+    /**
+     * @brief A method to time one pass of a benchmark.
+     * @return A sequence holding the nanoseconds taken and the bytes allocated
+     * (-1 if the JVM cannot tell).
+     */
+    private static long[] time(String name, long[] boards, long ops) {
+        long before = allocated();
+        long start = System.nanoTime();
+        sink += run(name, boards, ops);
+        long took = System.nanoTime() - start;
+        long after = allocated();
+        return new long[] {took, before < 0 ? -1 : after - before};
+    }
+
+    /**
+     * @brief A method to read the bytes the current thread has allocated.
+     * @return A long representing the bytes, or -1 if the JVM cannot tell.
+     */
+    private static long allocated() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if(bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) bean;
+            if(sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled())
+                return sun.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * @brief A method to record, list and compare benchmark runs from the command line.
+     * @details Usage:
+     * - Benchmarks record [dir] [revision] [samples] [millis]: measure and save a run;
+     * - Benchmarks baseline [dir] [id]: mark a run (by default the latest) as the baseline;
+     * - Benchmarks report [dir] [id] [baselineId] [alpha] [threshold]: compare a run
+     *   (by default the latest) to the baseline and exit with status 1 if anything
+     *   regressed (by default p below 0.01 and more than 5% worse);
+     * - Benchmarks list [dir]: list the runs, marking the baseline.
+     * The store directory defaults to bench.
+     * @param args A sequence of command line arguments.
+     * @throws Exception if the store cannot be read or written.
+     */
+    public static void main(String[] args) throws Exception {
+        String action = args.length > 0 ? args[0] : "record";
+        BenchmarkStore store = new BenchmarkStore(Paths.get(args.length > 1 ? args[1] : "bench"));
+        switch(action) {
+            case "record": {
+                String revision = args.length > 2 ? args[2] : "unknown";
+                int samples = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+                long millis = args.length > 4 ? Long.parseLong(args[4]) : 50;
+                BenchmarkStore.Run run = measure(revision, samples, millis);
+                for(String key : run.getKeys()) {
+                    double[] ns = run.getNanos(key);
+                    double[] bytes = run.getBytes(key);
+                    String[] k = key.split("\t");
+                    System.out.printf("%-20s %5s %12.2f ns/op %14.0f moves/s %10.1f bytes/op%n", k[0], k[1],
+                        median(ns), 1e9 / median(ns), median(bytes));
+                }
+                System.out.println("saved " + store.save(run));
+                break;
+            }
+            case "baseline": {
+                String id = args.length > 2 ? args[2] : store.latest();
+                store.setBaseline(id);
+                System.out.println("baseline " + id);
+                break;
+            }
+            case "report": {
+                String id = args.length > 2 ? args[2] : store.latest();
+                String baseId = args.length > 3 ? args[3] : store.getBaseline();
+                double alpha = args.length > 4 ? Double.parseDouble(args[4]) : 0.01;
+                double threshold = args.length > 5 ? Double.parseDouble(args[5]) : 0.05;
+                if(id == null || baseId == null) {
+                    System.err.println("nothing to compare: record a run and mark a baseline first");
+                    System.exit(2);
+                }
+                BenchmarkStore.Run base = store.load(baseId);
+                BenchmarkStore.Run run = store.load(id);
+                System.out.println("baseline " + baseId + ": " + base.getInfo("jvm"));
+                System.out.println("run      " + id + ": " + run.getInfo("jvm"));
+                if(!String.valueOf(base.getInfo("jvm")).equals(run.getInfo("jvm"))
+                    || !String.valueOf(base.getInfo("cpus")).equals(run.getInfo("cpus")))
+                    System.out.println("warning: the runs used different JVMs or machines");
+                System.out.printf("%-20s %5s %12s %12s %9s %9s %10s %10s%n", "benchmark", "fill", "base ns/op",
+                    "ns/op", "change", "p", "base B/op", "B/op");
+                List<BenchmarkStore.Comparison> rows = BenchmarkStore.compare(base, run, alpha, threshold);
+                int regressions = 0;
+                for(BenchmarkStore.Comparison c : rows) {
+                    System.out.println(c);
+                    if(c.isRegression())
+                        regressions++;
+                }
+                System.out.println(regressions + " regressions in " + rows.size() + " benchmarks");
+                if(regressions > 0)
+                    System.exit(1);
+                break;
+            }
+            case "list": {
+                String baseId = store.getBaseline();
+                for(String id : store.list())
+                    System.out.println(id + (id.equals(baseId) ? "  (baseline)" : ""));
+                break;
+            }
+            default:
+                System.err.println("usage: Benchmarks record|baseline|report|list [dir] ...");
+                System.exit(2);
+        }
+    }
+
+    /**
+     * @brief A method to find the median of a sample.
+     */
+    private static double median(double[] v) {
+        double[] s = v.clone();
+        Arrays.sort(s);
+        return s.length == 0 ? 0 : s.length % 2 == 1 ? s[s.length / 2] : (s[s.length / 2 - 1] + s[s.length / 2]) / 2;
+    }
+
+}
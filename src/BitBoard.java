@@ -0,0 +1,426 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A utility class that packs a 4x4 board into a single long and moves it
+ * using precomputed row tables.
+ */
+
+package src;
+
+/**
+ * @brief A utility class for working with 4x4 boards packed into 64 bits.
+ * @details Every cell is stored as a 4-bit exponent (0 is an empty cell and e is a
+ * tile with a value of 2^e). The cell at row i and column j lives in nibble 4 * i + j,
+ * so each row occupies 16 bits with column 0 in the lowest nibble. Moves are applied
+ * with lookup tables built once for every possible row; they follow the shift and
+ * merge loops of Model (including its merge order), and slideLine, a copy of those
+ * loops, is kept to check them. It is assumed that tiles never grow beyond 2^15.
+ */
+public final class BitBoard {
+
+    public static final int SIZE = 4;
+    public static final int MAX_EXPONENT = 15;
+
+    private static final int ROWS = 1 << 16;
+    private static final char[] LEFT = new char[ROWS];
+    private static final char[] RIGHT = new char[ROWS];
+    private static final char[] UP = new char[ROWS];
+    private static final char[] DOWN = new char[ROWS];
+    private static final int[] LEFT_SCORE = new int[ROWS];
+    private static final int[] RIGHT_SCORE = new int[ROWS];
+    private static final int[] UP_SCORE = new int[ROWS];
+    private static final int[] DOWN_SCORE = new int[ROWS];
+
+    static {
+        // LEFT is built from shorter lines: a line is its first cell in front of the
+        // rest of the line, already moved, except that the first tile of the rest
+        // joins the first cell when they are equal. For RIGHT the loops of Model visit
+        // the pairs from the far end, so a joined tile may join again; seen from the
+        // end the tiles move towards, the rest of the line is moved first and its
+        // first tile then joins the first cell when they are equal. The up loops of
+        // Model end on the same line as the left loops, and the down loops are the
+        // left loops seen from the other end. Building the tables this way instead of
+        // running the loops of Model on every line keeps the start up short.
+        char[] far = new char[ROWS];
+        int[] farScore = new int[ROWS];
+        for(int row = 1; row < ROWS; row++) {
+            int a = row & 0xF;
+            int rest = row >>> 4;
+            if(a == 0) {
+                LEFT[row] = LEFT[rest];
+                LEFT_SCORE[row] = LEFT_SCORE[rest];
+                far[row] = far[rest];
+                farScore[row] = farScore[rest];
+                continue;
+            }
+            int shift = Integer.numberOfTrailingZeros(rest) & ~3;
+            if(rest != 0 && ((rest >>> shift) & 0xF) == a) {
+                int e = Math.min(a + 1, MAX_EXPONENT);
+                int remainder = rest & ~(0xF << shift);
+                LEFT[row] = (char) (e | LEFT[remainder] << 4);
+                LEFT_SCORE[row] = (1 << e) + LEFT_SCORE[remainder];
+            } else {
+                LEFT[row] = (char) (a | LEFT[rest] << 4);
+                LEFT_SCORE[row] = LEFT_SCORE[rest];
+            }
+            int moved = far[rest];
+            if((moved & 0xF) == a) {
+                int e = Math.min(a + 1, MAX_EXPONENT);
+                far[row] = (char) (e | (moved >>> 4) << 4);
+                farScore[row] = farScore[rest] + (1 << e);
+            } else {
+                far[row] = (char) (a | moved << 4);
+                farScore[row] = farScore[rest];
+            }
+        }
+        for(int row = 0; row < ROWS; row++) {
+            int reversed = reverseLine(row);
+            RIGHT[row] = (char) reverseLine(far[reversed]);
+            RIGHT_SCORE[row] = farScore[reversed];
+            UP[row] = LEFT[row];
+            UP_SCORE[row] = LEFT_SCORE[row];
+            DOWN[row] = (char) reverseLine(LEFT[reversed]);
+            DOWN_SCORE[row] = LEFT_SCORE[reversed];
+        }
+    }
+
+    private BitBoard() {}
+
+    /**
+     * @brief A method to pack a board into a single long.
+     * @param b A Board object representing the board to pack.
+     * @return A long representing the packed board.
+     * @throws IllegalArgumentException if the board is not 4x4 or holds a tile that
+     * cannot be packed.
+     */
+    public static long pack(Board b) {
+        if(b.getBoardSize() != SIZE)
+            throw new IllegalArgumentException("Only 4x4 boards can be packed!");
+        long packed = 0;
+        for(int i = 0; i < SIZE; i++) {
+            for(int j = 0; j < SIZE; j++) {
+                packed |= (long) exponentOf(b.getBoardValueAt(i, j)) << (4 * (SIZE * i + j));
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * @brief A method to write a packed board back into a board object.
+     * @details The score of the board is left untouched.
+     * @param packed A long representing the packed board.
+     * @param b A Board object that will be updated with the packed tiles.
+     */
+    public static void unpack(long packed, Board b) {
+        for(int i = 0; i < SIZE; i++) {
+            for(int j = 0; j < SIZE; j++) {
+                b.setBoardValueAt(i, j, valueAt(packed, i, j));
+            }
+        }
+    }
+
+    /**
+     * @brief A getter for the exponent stored at specific coordinates.
+     * @param packed A long representing the packed board.
+     * @param x An integer representing the row of the wanted exponent.
+     * @param y An integer representing the column of the wanted exponent.
+     * @return An integer representing the exponent (0 for an empty cell).
+     */
+    public static int exponentAt(long packed, int x, int y) {
+        return (int) (packed >>> (4 * (SIZE * x + y))) & 0xF;
+    }
+
+    /**
+     * @brief A getter for the tile value stored at specific coordinates.
+     * @param packed A long representing the packed board.
+     * @param x An integer representing the row of the wanted value.
+     * @param y An integer representing the column of the wanted value.
+     * @return An integer representing the value on the board (0 for an empty cell).
+     */
+    public static int valueAt(long packed, int x, int y) {
+        int exp = exponentAt(packed, x, y);
+        return exp == 0 ? 0 : 1 << exp;
+    }
+
+    /**
+     * @brief A method to place an exponent at specific coordinates.
+     * @param packed A long representing the packed board.
+     * @param x An integer representing the row of the cell.
+     * @param y An integer representing the column of the cell.
+     * @param exp An integer representing the new exponent of the cell.
+     * @return A long representing the updated packed board.
+     */
+    public static long withExponent(long packed, int x, int y, int exp) {
+        int shift = 4 * (SIZE * x + y);
+        return (packed & ~(0xFL << shift)) | ((long) exp << shift);
+    }
+
+    /**
+     * @brief A method to count the number of empty cells on a packed board.
+     * @param packed A long representing the packed board.
+     * @return An integer representing the number of empty cells.
+     */
+    public static int countEmpty(long packed) {
+        long x = packed | (packed >>> 1);
+        x |= x >>> 2;
+        return SIZE * SIZE - Long.bitCount(x & 0x1111111111111111L);
+    }
+
+    /**
+     * @brief A method to find the largest exponent on a packed board.
+     * @param packed A long representing the packed board.
+     * @return An integer representing the largest exponent on the board.
+     */
+    public static int maxExponent(long packed) {
+        int max = 0;
+        for(int shift = 0; shift < 64; shift += 4) {
+            max = Math.max(max, (int) (packed >>> shift) & 0xF);
+        }
+        return max;
+    }
+
+    /**
+     * @brief A method to spawn a random tile on a packed board.
+     * @details Like the Model, the tile is placed on a uniformly chosen empty cell
+     * and has a 70% chance of being a 2 and a 30% chance of being a 4.
+     * @param packed A long representing the packed board.
+     * @param rng A Rng object used to pick the cell and the value.
+     * @return A long representing the board with the new tile (unchanged if the
+     * board is full).
+     */
+    public static long spawn(long packed, Rng rng) {
+        int empty = countEmpty(packed);
+        if(empty == 0)
+            return packed;
+        int pick = rng.nextInt(empty);
+        long exp = rng.nextDouble() < 0.7 ? 1 : 2;
+        for(int shift = 0; shift < 64; shift += 4) {
+            if(((packed >>> shift) & 0xF) == 0 && pick-- == 0)
+                return packed | (exp << shift);
+        }
+        return packed;
+    }
+
+    /**
+     * @brief A method to transpose a packed board (swap rows and columns).
+     * @param x A long representing the packed board.
+     * @return A long representing the transposed board.
+     */
+    public static long transpose(long x) {
+        long a1 = x & 0xF0F00F0FF0F00F0FL;
+        long a2 = x & 0x0000F0F00000F0F0L;
+        long a3 = x & 0x0F0F00000F0F0000L;
+        long a = a1 | (a2 << 12) | (a3 >>> 12);
+        long b1 = a & 0xFF00FF0000FF00FFL;
+        long b2 = a & 0x00FF00FF00000000L;
+        long b3 = a & 0x00000000FF00FF00L;
+        return b1 | (b2 >>> 24) | (b3 << 24);
+    }
+
+    /**
+     * @brief A method to execute a move on a packed board without spawning a tile.
+     * @param packed A long representing the packed board.
+     * @param dir An enumerate direction to specify in which direction to move.
+     * @return A long representing the board after the move (unchanged if the move
+     * is not possible).
+     */
+    public static long move(long packed, Directions dir) {
+        switch(dir) {
+            case left:
+                return applyRows(packed, LEFT);
+            case right:
+                return applyRows(packed, RIGHT);
+            case up:
+                return transpose(applyRows(transpose(packed), UP));
+            default:
+                return transpose(applyRows(transpose(packed), DOWN));
+        }
+    }
+
+    /**
+     * @brief A method to compute the score gained by a move on a packed board.
+     * @param packed A long representing the packed board.
+     * @param dir An enumerate direction to specify in which direction to move.
+     * @return An integer representing the score the move would add.
+     */
+    public static int scoreGain(long packed, Directions dir) {
+        switch(dir) {
+            case left:
+                return sumRows(packed, LEFT_SCORE);
+            case right:
+                return sumRows(packed, RIGHT_SCORE);
+            case up:
+                return sumRows(transpose(packed), UP_SCORE);
+            default:
+                return sumRows(transpose(packed), DOWN_SCORE);
+        }
+    }
+
+    /**
+     * @brief A method to check if any move is possible on a packed board.
+     * @param packed A long representing the packed board.
+     * @return A boolean representing if a valid move can be executed.
+     */
+    public static boolean canMove(long packed) {
+        if(countEmpty(packed) > 0)
+            return true;
+        long t = transpose(packed);
+        return applyRows(packed, LEFT) != packed || applyRows(t, UP) != t;
+    }
+
+    /**
+     * @brief A method to apply a row table to every row of a packed board.
+     */
+    static long applyRows(long packed, char[] table) {
+        return (long) table[(int) (packed & 0xFFFF)]
+            | (long) table[(int) ((packed >>> 16) & 0xFFFF)] << 16
+            | (long) table[(int) ((packed >>> 32) & 0xFFFF)] << 32
+            | (long) table[(int) (packed >>> 48)] << 48;
+    }
+
+    /**
+     * @brief A method to add up a row score table over every row of a packed board.
+     */
+    static int sumRows(long packed, int[] table) {
+        return table[(int) (packed & 0xFFFF)]
+            + table[(int) ((packed >>> 16) & 0xFFFF)]
+            + table[(int) ((packed >>> 32) & 0xFFFF)]
+            + table[(int) (packed >>> 48)];
+    }
+
+    /**
+     * @brief A getter for the up table, which works on the rows of a transposed board.
+     */
+    static char[] upTable() {
+        return UP;
+    }
+
+    /**
+     * @brief A getter for the down table, which works on the rows of a transposed board.
+     */
+    static char[] downTable() {
+        return DOWN;
+    }
+
+    /**
+     * @brief A getter for the up score table, which works on a transposed board.
+     */
+    static int[] upScoreTable() {
+        return UP_SCORE;
+    }
+
+    /**
+     * @brief A getter for the down score table, which works on a transposed board.
+     */
+    static int[] downScoreTable() {
+        return DOWN_SCORE;
+    }
+
+    /**
+     * @brief A method to convert a tile value into its exponent.
+     * @param val An integer representing the tile value.
+     * @return An integer representing the exponent of the value (0 for an empty cell).
+     * @throws IllegalArgumentException if the value cannot be stored in a nibble.
+     */
+    static int exponentOf(int val) {
+        if(val == 0)
+            return 0;
+        int exp = Integer.numberOfTrailingZeros(val);
+        if(val != (1 << exp) || exp < 1 || exp > MAX_EXPONENT)
+            throw new IllegalArgumentException("Tile value cannot be packed: " + val);
+        return exp;
+    }
+
+    /**
+     * @brief A method that moves a line of exponents of any length in place.
+     * @details The shift and merge loops are copied from Model; the row tables are
+     * checked against this method. For up and down the line is a column with index 0
+     * being the top row.
+     * @param a An integer array holding the line (0 for an empty cell).
+     * @param len An integer representing the length of the line.
+     * @param dir An enumerate direction to specify in which direction to move.
+     * @return An integer representing the score gained by the merges.
+     */
+    static int slideLine(int[] a, int len, Directions dir) {
+        int score = 0;
+        if(dir == Directions.left) {
+            shiftLow(a, len);
+            for(int j = 1; j < len; j++) {
+                if(a[j] != 0 && a[j] == a[j - 1]) {
+                    a[j - 1] = Math.min(a[j] + 1, MAX_EXPONENT);
+                    a[j] = 0;
+                    score += 1 << a[j - 1];
+                    shiftLow(a, len);
+                }
+            }
+        } else if(dir == Directions.up) {
+            shiftLow(a, len);
+            for(int i = 0; i < len - 1; i++) {
+                if(a[i] != 0 && a[i] == a[i + 1]) {
+                    a[i + 1] = Math.min(a[i] + 1, MAX_EXPONENT);
+                    a[i] = 0;
+                    score += 1 << a[i + 1];
+                    shiftLow(a, len);
+                }
+            }
+        } else if(dir == Directions.right) {
+            shiftHigh(a, len);
+            for(int j = 0; j < len - 1; j++) {
+                if(a[j] != 0 && a[j] == a[j + 1]) {
+                    a[j + 1] = Math.min(a[j] + 1, MAX_EXPONENT);
+                    a[j] = 0;
+                    score += 1 << a[j + 1];
+                    shiftHigh(a, len);
+                }
+            }
+        } else {
+            shiftHigh(a, len);
+            for(int i = len - 1; i > 0; i--) {
+                if(a[i] != 0 && a[i] == a[i - 1]) {
+                    a[i - 1] = Math.min(a[i] + 1, MAX_EXPONENT);
+                    a[i] = 0;
+                    score += 1 << a[i - 1];
+                    shiftHigh(a, len);
+                }
+            }
+        }
+        return score;
+    }
+
+    /**
+     * @brief A method that shifts a line towards index 0 (left or up).
+     */
+    private static void shiftLow(int[] a, int len) {
+        for(int x = 0; x < len - 1; x++) {
+            for(int j = 1; j < len; j++) {
+                if(a[j - 1] == 0 && a[j] != 0) {
+                    a[j - 1] = a[j];
+                    a[j] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * @brief A method that shifts a line towards the last index (right or down).
+     */
+    private static void shiftHigh(int[] a, int len) {
+        for(int x = 0; x < len - 1; x++) {
+            for(int j = 0; j < len - 1; j++) {
+                if(a[j + 1] == 0 && a[j] != 0) {
+                    a[j + 1] = a[j];
+                    a[j] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * @brief A method to reverse the order of the cells of a 16-bit line.
+     */
+    private static int reverseLine(int row) {
+        return (row >>> 12) | ((row >>> 4) & 0xF0) | ((row << 4) & 0xF00) | ((row << 12) & 0xF000);
+    }
+
+}
@@ -12,12 +12,18 @@ package src;
  * @details This class represents the game board which is made up 
  * of tiles (TileT). It is assumed that the SIZE constant will be 
  * greater than 1 for a proper game to be made with possible moves.
+ * Each cell is stored as one byte holding a code for its tile: 0 for an
+ * empty cell and k + 1 for a tile with a value of 2^k, so a board takes
+ * a few dozen bytes instead of one object per cell. Tiles can be any power
+ * of two that fits in an integer (up to 2^30), and the score is a long so
+ * that it cannot overflow in long games.
  */
 public class Board {
 
     private final int SIZE = 4;
-    private TileT[][] board;
-    private int score;
+    private final byte[] cells;
+    private long score;
+    private long hash;
 
 	/**
 	 * @brief A constructor which initializes a board object.
@@ -27,29 +33,33 @@ public class Board {
 	 * and columns).
 	 */
     public Board() {
-        this.board = new TileT[SIZE][SIZE];
-        for(int i = 0; i < this.board.length; i++) {
-            for(int j = 0; j < this.board.length; j++) {
-                TileT tile = new TileT(0, i, j);
-                this.board[i][j] = tile;
-            }
-        }
+        this.cells = new byte[SIZE * SIZE];
         this.score = 0;
+        this.hash = 0;
     }
 
 	/**
 	 * @brief A getter for the board.
+	 * @details The tiles are built from the stored cells on every call, so
+	 * changing a returned tile does not change the board; use setBoardValueAt
+	 * or setBoard instead.
 	 * @return The 2D tile arrays representing the game board.
 	 */
     public TileT[][] getBoard() {
-        return this.board;
+        TileT[][] tiles = new TileT[SIZE][SIZE];
+        for(int i = 0; i < SIZE; i++) {
+            for(int j = 0; j < SIZE; j++) {
+                tiles[i][j] = new TileT(getBoardValueAt(i, j), i, j);
+            }
+        }
+        return tiles;
     }
 
 	/**
 	 * @brief A getter for the current score.
-	 * @return An integer representing the current score.
+	 * @return A long representing the current score.
 	 */
-    public int getScore() {
+    public long getScore() {
         return this.score;
     }
 
@@ -70,26 +80,45 @@ public class Board {
 	 * @return An integer representing a value on the board at specific coordinates.
 	 */
     public int getBoardValueAt(int x, int y) {
-        return this.board[x][y].getValue();
+        int code = this.cells[x * SIZE + y];
+        return code == 0 ? 0 : 1 << (code - 1);
+    }
+
+    /**
+	 * @brief A getter for the Zobrist hash of the board.
+	 * @details The hash is updated incrementally by setBoardValueAt (so every shift,
+	 * merge and spawn of the Model updates it) and recomputed by setBoard. It only
+	 * depends on the tiles, not on the score.
+	 * @return A long representing the hash of the current tiles.
+	 */
+    public long getHash() {
+        return this.hash;
     }
 
     /**
 	 * @brief A setter for the board.
 	 * @details This will be used to update the board whenever any changes
-	 * are made to it.
+	 * are made to it. The values of the tiles are copied into the board.
 	 * @param currBoard A 2D tile array representing the updated board state.
+	 * @throws IllegalArgumentException if a tile value is not 0 or a power of two.
 	 */
     public void setBoard(TileT[][] currBoard) {
-        this.board = currBoard;
+        this.hash = 0;
+        for(int i = 0; i < currBoard.length; i++) {
+            for(int j = 0; j < currBoard[i].length; j++) {
+                this.cells[i * SIZE + j] = code(currBoard[i][j].getValue());
+                this.hash ^= PositionHash.key(i * SIZE + j, currBoard[i][j].getValue());
+            }
+        }
     }
 
     /**
 	 * @brief A setter for the the score.
 	 * @details This will be used to update the score as the game progresses.
-	 * @param currBoard An integer representing the current score of the game.
+	 * @param currBoard A long representing the current score of the game.
 	 * @throws IllegalArgumentException if the score being set is negative.
      */
-    public void setScore(int currScore) {
+    public void setScore(long currScore) {
         if(currScore < 0)
             throw new IllegalArgumentException("Score cannot be negative!");
         this.score = currScore;
@@ -97,12 +126,38 @@ public class Board {
 
     /**
 	 * @brief A setter for updating the board with a tile.
-	 * @details This method will update an existing tile or with a new tile.
+	 * @details This method will update an existing tile or with a new tile, and
+	 * updates the hash of the board for the changed cell.
 	 * @param tile A tile object representing a new/updated tile.
+	 * @throws IllegalArgumentException if the tile value is not 0 or a power of two.
 	 */
     public void setBoardValueAt(TileT tile){
         int[] pos = tile.getPosition();
-        this.board[pos[0]][pos[1]].setValue(tile.getValue());
+        setBoardValueAt(pos[0], pos[1], tile.getValue());
+    }
+
+    /**
+	 * @brief A setter for updating the value of one cell of the board.
+	 * @details This does the same as setBoardValueAt(TileT) without creating a tile.
+	 * @param x An integer representing the row of the cell.
+	 * @param y An integer representing the column of the cell.
+	 * @param val An integer representing the new value of the cell (0 for empty).
+	 * @throws IllegalArgumentException if the value is not 0 or a power of two.
+	 */
+    public void setBoardValueAt(int x, int y, int val) {
+        byte c = code(val);
+        int old = getBoardValueAt(x, y);
+        this.cells[x * SIZE + y] = c;
+        this.hash = PositionHash.update(this.hash, x * SIZE + y, old, val);
+    }
+
+    /**
+	 * @brief A method to find the stored code of a tile value.
+	 */
+    private static byte code(int val) {
+        if(val < 0 || (val & (val - 1)) != 0)
+            throw new IllegalArgumentException("Tile value must be 0 or a power of two!");
+        return (byte) (val == 0 ? 0 : Integer.numberOfTrailingZeros(val) + 1);
     }
 
 }
\ No newline at end of file
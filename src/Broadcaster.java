@@ -0,0 +1,429 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that fans the moves of a live game out to many spectators.
+ */
+
+package src;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @brief An ADT that broadcasts the move stream of one game to its spectators.
+ * @details Every change of the game is encoded once into a Frame, and the same
+ * frame is handed to every subscriber. A keyframe holds the whole packed board and
+ * score (25 bytes); a delta frame holds only the move and the tile it spawned (12
+ * bytes) and is replayed with the BitBoard rules. A keyframe is sent every
+ * keyframe interval frames and whenever a change is not a single move, such as a
+ * new game. Each subscriber has a bounded buffer of frames. Publishing never waits
+ * for a subscriber: if a buffer is full, its frames are dropped and it is refilled
+ * with the latest keyframe and the frames since, so a slow spectator skips ahead to
+ * the live game instead of stalling it. A subscriber holds only references to the
+ * shared frames, so its memory is a small array whatever the size of the frames.
+ */
+public class Broadcaster {
+
+    public static final int KEYFRAME = 0;
+    public static final int DELTA = 1;
+
+    private static final Directions[] DIRECTIONS = Directions.values();
+    private static final int NO_SPAWN = 0xFF;
+
+    private final int keyframeInterval;
+    private final int capacity;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<Subscriber>();
+    private final Frame[] backlog;
+    private int backlogSize = 0;
+    private long sequence = 0;
+    private long board;
+    private long score;
+    private long encodedBytes = 0;
+
+    /**
+     * @brief An immutable encoded change of the game, shared by every subscriber.
+     */
+    public static final class Frame {
+
+        private final long sequence;
+        private final byte[] bytes;
+
+        Frame(long sequence, byte[] bytes) {
+            this.sequence = sequence;
+            this.bytes = bytes;
+        }
+
+        /**
+         * @brief A getter for the position of the frame in the stream.
+         * @return A long representing the sequence number, starting at 1.
+         */
+        public long getSequence() {
+            return this.sequence;
+        }
+
+        /**
+         * @brief A method to check if the frame holds the whole game.
+         * @return A boolean representing if the frame is a keyframe.
+         */
+        public boolean isKeyframe() {
+            return this.bytes[0] == KEYFRAME;
+        }
+
+        /**
+         * @brief A getter for the encoded frame, as sent to a client.
+         * @return A read only ByteBuffer over the shared bytes.
+         */
+        public ByteBuffer getBytes() {
+            return ByteBuffer.wrap(this.bytes).asReadOnlyBuffer();
+        }
+
+        /**
+         * @brief A getter for the length of the encoded frame.
+         * @return An integer representing the number of bytes.
+         */
+        public int length() {
+            return this.bytes.length;
+        }
+    }
+
+    /**
+     * @brief A bounded buffer of the frames one spectator has not read yet.
+     * @details Frames are read by one spectator thread while the game thread adds
+     * them; both hold the lock of the subscriber only to move a few references.
+     */
+    public final class Subscriber implements AutoCloseable {
+
+        private final Frame[] ring;
+        private int head = 0;
+        private int size = 0;
+        private long skipped = 0;
+
+        Subscriber(int capacity) {
+            this.ring = new Frame[capacity];
+        }
+
+        /**
+         * @brief A method to take the oldest unread frame.
+         * @return A Frame object, or null if every frame was read.
+         */
+        public synchronized Frame poll() {
+            if(this.size == 0)
+                return null;
+            Frame f = this.ring[this.head];
+            this.ring[this.head] = null;
+            this.head = (this.head + 1) % this.ring.length;
+            this.size--;
+            return f;
+        }
+
+        /**
+         * @brief A getter for the number of unread frames.
+         * @return An integer representing the frames in the buffer.
+         */
+        public synchronized int size() {
+            return this.size;
+        }
+
+        /**
+         * @brief A getter for the frames dropped because the buffer was full.
+         * @return A long representing the frames the spectator skipped.
+         */
+        public synchronized long getSkipped() {
+            return this.skipped;
+        }
+
+        /**
+         * @brief A method to stop receiving frames.
+         */
+        @Override
+        public void close() {
+            subscribers.remove(this);
+        }
+
+        /**
+         * @brief A method to add a frame, skipping to the backlog if the buffer is full.
+         */
+        synchronized void offer(Frame f, Frame[] backlog, int backlogSize) {
+            if(this.size < this.ring.length) {
+                this.ring[(this.head + this.size) % this.ring.length] = f;
+                this.size++;
+                return;
+            }
+            this.skipped += this.size + 1 - backlogSize;
+            reset(backlog, backlogSize);
+        }
+
+        /**
+         * @brief A method to replace every unread frame with the backlog.
+         */
+        synchronized void reset(Frame[] backlog, int backlogSize) {
+            Arrays.fill(this.ring, null);
+            System.arraycopy(backlog, 0, this.ring, 0, backlogSize);
+            this.head = 0;
+            this.size = backlogSize;
+        }
+    }
+
+    /**
+     * @brief An ADT that rebuilds the game from its frames, as a spectator would.
+     */
+    public static final class Replay {
+
+        private long board;
+        private long score;
+        private long sequence = 0;
+
+        /**
+         * @brief A method to apply the next frame.
+         * @param f A Frame object read from a subscriber.
+         * @throws IllegalStateException if a delta frame does not follow the last frame applied.
+         */
+        public void accept(Frame f) {
+            ByteBuffer b = ByteBuffer.wrap(f.bytes);
+            b.get();
+            long seq = b.getLong();
+            if(f.isKeyframe()) {
+                this.board = b.getLong();
+                this.score = b.getLong();
+            } else {
+                if(this.sequence == 0 || seq != this.sequence + 1)
+                    throw new IllegalStateException("Frame " + seq + " does not follow frame " + this.sequence + "!");
+                Directions dir = DIRECTIONS[b.get()];
+                int cell = b.get() & 0xFF;
+                long exp = b.get();
+                this.score += BitBoard.scoreGain(this.board, dir);
+                this.board = BitBoard.move(this.board, dir);
+                if(cell != NO_SPAWN)
+                    this.board |= exp << (4 * cell);
+            }
+            this.sequence = seq;
+        }
+
+        /**
+         * @brief A getter for the board rebuilt so far.
+         * @return A long representing the packed board.
+         */
+        public long getBoard() {
+            return this.board;
+        }
+
+        /**
+         * @brief A getter for the score rebuilt so far.
+         * @return A long representing the score.
+         */
+        public long getScore() {
+            return this.score;
+        }
+
+        /**
+         * @brief A getter for the last frame applied.
+         * @return A long representing its sequence number (0 if none).
+         */
+        public long getSequence() {
+            return this.sequence;
+        }
+    }
+
+    /**
+     * @brief A constructor which sets the keyframe interval and the buffer size.
+     * @param keyframeInterval An integer representing the most frames between keyframes.
+     * @param capacity An integer representing the frames each subscriber buffers.
+     * @throws IllegalArgumentException if the interval is not positive or the
+     * buffers cannot hold a keyframe and the frames after it.
+     */
+    public Broadcaster(int keyframeInterval, int capacity) {
+        if(keyframeInterval < 1)
+            throw new IllegalArgumentException("The keyframe interval must be positive!");
+        if(capacity < keyframeInterval)
+            throw new IllegalArgumentException("Buffers must hold at least a keyframe interval!");
+        this.keyframeInterval = keyframeInterval;
+        this.capacity = capacity;
+        this.backlog = new Frame[keyframeInterval];
+    }
+
+    /**
+     * @brief A method to add a spectator.
+     * @details The new subscriber starts with the latest keyframe and the frames since.
+     * @return A Subscriber object to read frames from.
+     */
+    public synchronized Subscriber subscribe() {
+        Subscriber s = new Subscriber(this.capacity);
+        s.reset(this.backlog, this.backlogSize);
+        this.subscribers.add(s);
+        return s;
+    }
+
+    /**
+     * @brief A method to broadcast the next state of the game.
+     * @details A state reached from the last one by the move dir and one spawned
+     * tile is sent as a delta frame, any other state as a keyframe. Publishing is
+     * meant for the one thread playing the game; it never blocks on a subscriber.
+     * @param board A long representing the packed board.
+     * @param score A long representing the score.
+     * @param dir An enumerate direction representing the move played, or null if the
+     * state was not reached by a move.
+     * @return A Frame object holding the encoded change.
+     */
+    public synchronized Frame publish(long board, long score, Directions dir) {
+        long seq = ++this.sequence;
+        Frame f = null;
+        if(dir != null && this.backlogSize > 0 && this.backlogSize < this.keyframeInterval)
+            f = delta(seq, board, score, dir);
+        if(f == null) {
+            ByteBuffer b = ByteBuffer.allocate(25);
+            b.put((byte) KEYFRAME).putLong(seq).putLong(board).putLong(score);
+            f = new Frame(seq, b.array());
+            this.backlogSize = 0;
+        }
+        this.backlog[this.backlogSize++] = f;
+        this.board = board;
+        this.score = score;
+        this.encodedBytes += f.length();
+        for(Subscriber s : this.subscribers)
+            s.offer(f, this.backlog, this.backlogSize);
+        return f;
+    }
+
+    /**
+     * @brief A method to broadcast the current state of a game handle.
+     * @param s A State object of the game.
+     * @param dir An enumerate direction representing the move that reached it, or null.
+     * @return A Frame object holding the encoded change.
+     */
+    public Frame publish(GameHandle.State s, Directions dir) {
+        return publish(s.getBoard(), s.getScore(), dir);
+    }
+
+    /**
+     * @brief A getter for the number of spectators.
+     * @return An integer representing the open subscribers.
+     */
+    public int getSubscriberCount() {
+        return this.subscribers.size();
+    }
+
+    /**
+     * @brief A getter for the bytes encoded so far, once per frame whatever the audience.
+     * @return A long representing the encoded bytes.
+     */
+    public synchronized long getEncodedBytes() {
+        return this.encodedBytes;
+    }
+
+    /**
+     * @brief A method to encode a move as a delta frame.
+     * @return A Frame object, or null if the state was not reached by the move and
+     * at most one spawned tile.
+     */
+    private Frame delta(long seq, long board, long score, Directions dir) {
+        long after = BitBoard.move(this.board, dir);
+        if(after == this.board || score != this.score + BitBoard.scoreGain(this.board, dir))
+            return null;
+        long added = board ^ after;
+        int cell = NO_SPAWN;
+        long exp = 0;
+        if(added != 0) {
+            int shift = Long.numberOfTrailingZeros(added) & ~3;
+            exp = added >>> shift;
+            if(exp > 0xF || ((after >>> shift) & 0xF) != 0)
+                return null;
+            cell = shift / 4;
+        }
+        ByteBuffer b = ByteBuffer.allocate(12);
+        b.put((byte) DELTA).putLong(seq).put((byte) dir.ordinal()).put((byte) cell).put((byte) exp);
+        return new Frame(seq, b.array());
+    }
+
+    /**
+     * @brief A method to measure the fan-out from the command line.
+     * @details Usage: Broadcaster [subscribers] [frames] [readers] [capacity]
+     * [slowEvery]. A random game is played through a GameHandle and broadcast to the
+     * subscribers while reader threads drain them; every slowEvery-th subscriber
+     * reads only once a second. The frames and deliveries per second, the frames
+     * skipped and the memory per subscriber are printed.
+     * @param args A sequence of command line arguments.
+     * @throws Exception if a reader fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int subscribers = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+        int readers = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int capacity = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+        int slowEvery = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+        Broadcaster cast = new Broadcaster(64, capacity);
+        GameHandle game = new GameHandle(1);
+        cast.publish(game.get(), null);
+        Runtime rt = Runtime.getRuntime();
+        System.gc();
+        long before = rt.totalMemory() - rt.freeMemory();
+        List<Subscriber> subs = new ArrayList<Subscriber>();
+        for(int k = 0; k < subscribers; k++)
+            subs.add(cast.subscribe());
+        System.gc();
+        long perSubscriber = (rt.totalMemory() - rt.freeMemory() - before) / Math.max(1, subscribers);
+
+        AtomicBoolean playing = new AtomicBoolean(true);
+        LongAdder delivered = new LongAdder();
+        ExecutorService pool = Executors.newFixedThreadPool(readers);
+        List<Future<?>> tasks = new ArrayList<Future<?>>();
+        for(int r = 0; r < readers; r++) {
+            int id = r;
+            tasks.add(pool.submit(() -> {
+                Replay[] views = new Replay[subscribers];
+                long lastSlow = 0;
+                while(playing.get()) {
+                    boolean slowTurn = System.nanoTime() - lastSlow > 1000000000L;
+                    if(slowTurn)
+                        lastSlow = System.nanoTime();
+                    long n = 0;
+                    for(int k = id; k < subscribers; k += readers) {
+                        if(slowEvery > 0 && k % slowEvery == 0 && !slowTurn)
+                            continue;
+                        if(views[k] == null)
+                            views[k] = new Replay();
+                        for(Frame f = subs.get(k).poll(); f != null; f = subs.get(k).poll()) {
+                            views[k].accept(f);
+                            n++;
+                        }
+                    }
+                    delivered.add(n);
+                    if(n == 0)
+                        Thread.yield();
+                }
+                return null;
+            }));
+        }
+        Rng rng = new Rng(2);
+        long start = System.nanoTime();
+        for(int n = 1; n < frames; n++) {
+            if(game.get().isGameOver()) {
+                cast.publish(game.newGame(), null);
+                continue;
+            }
+            Directions dir = DIRECTIONS[rng.nextInt(DIRECTIONS.length)];
+            GameHandle.State s = game.move(dir);
+            if(s == null)
+                n--;
+            else
+                cast.publish(s, dir);
+        }
+        double secs = (System.nanoTime() - start) / 1e9;
+        playing.set(false);
+        for(Future<?> t : tasks)
+            t.get();
+        pool.shutdown();
+        long skipped = 0;
+        for(Subscriber s : subs)
+            skipped += s.getSkipped();
+        System.out.printf("%d frames to %d subscribers in %.2f s: %.0f frames/s, %.0f deliveries/s%n",
+            frames, subscribers, secs, frames / secs, delivered.sum() / secs);
+        System.out.printf("encoded %.1f bytes/frame once, %d frames skipped by slow subscribers%n",
+            cast.getEncodedBytes() / (double) frames, skipped);
+        System.out.printf("about %d bytes per subscriber (buffer of %d frames)%n", perSubscriber, capacity);
+    }
+
+}
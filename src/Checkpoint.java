@@ -0,0 +1,171 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that periodically saves the state of a long run to a file.
+ */
+
+package src;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * @brief An ADT that writes snapshots of a run in the background.
+ * @details A run is split into parts, each owned by one worker thread, plus a header
+ * that never changes. Every interval a background thread writes the latest snapshot
+ * of every part to the file and then asks the workers for fresh ones. A worker
+ * polls isDue between steps and, when it is, hands its state over with offer, which
+ * only stores a reference; the worker never waits on the disk or on another worker.
+ * The parts may therefore be saved at slightly different moments, which is fine as
+ * long as each part can be resumed on its own. A snapshot is first written to a
+ * temporary file next to the target, forced to the disk and then renamed over the
+ * target in one step, so a crash leaves either the old or the new snapshot, never a
+ * torn one. The file holds a magic number, a version, the header and the parts,
+ * each as a length followed by its bytes.
+ */
+public final class Checkpoint implements AutoCloseable {
+
+    private static final int MAGIC = 0x32303443;
+    private static final int VERSION = 1;
+
+    private final Path file;
+    private final Path temp;
+    private final byte[] header;
+    private final AtomicReferenceArray<byte[]> parts;
+    private final long[] seen;
+    private final ScheduledExecutorService writer;
+    private volatile long requested;
+    private volatile IOException failure;
+
+    /**
+     * @brief A constructor which starts checkpointing a run.
+     * @param file A Path representing the file holding the snapshots.
+     * @param header A sequence of bytes describing the whole run.
+     * @param parts A sequence holding the starting snapshot of every part.
+     * @param intervalMillis A long representing the milliseconds between snapshots.
+     * @throws IllegalArgumentException if the interval is not positive.
+     */
+    public Checkpoint(Path file, byte[] header, byte[][] parts, long intervalMillis) {
+        if(intervalMillis <= 0)
+            throw new IllegalArgumentException("Checkpoint interval must be positive!");
+        this.file = file.toAbsolutePath();
+        this.temp = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        this.header = header.clone();
+        this.parts = new AtomicReferenceArray<byte[]>(parts.clone());
+        this.seen = new long[parts.length];
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "checkpoint");
+            t.setDaemon(true);
+            return t;
+        });
+        this.writer.scheduleWithFixedDelay(this::tick, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @brief A method to check if a part should hand over a fresh snapshot.
+     * @details Only the worker owning the part may call this method.
+     * @param part An integer representing the index of the part.
+     * @return A boolean representing if a snapshot was asked for since the last offer.
+     */
+    public boolean isDue(int part) {
+        return this.seen[part] != this.requested;
+    }
+
+    /**
+     * @brief A method to hand over the latest snapshot of a part.
+     * @details Only the worker owning the part may call this method. The bytes must
+     * not be changed afterwards.
+     * @param part An integer representing the index of the part.
+     * @param snapshot A sequence of bytes holding the state of the part.
+     */
+    public void offer(int part, byte[] snapshot) {
+        this.seen[part] = this.requested;
+        this.parts.set(part, snapshot);
+    }
+
+    /**
+     * @brief A method to write the latest snapshots and stop checkpointing.
+     * @details If the calling thread is interrupted while a background write
+     * finishes, the latest snapshots are not written (the file keeps the ones
+     * written before) and the interrupt flag of the thread is set again.
+     * @throws IOException if this or any earlier snapshot could not be written, or
+     * an InterruptedIOException if interrupted while waiting for a background write.
+     */
+    @Override
+    public void close() throws IOException {
+        this.writer.shutdown();
+        try {
+            this.writer.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing the checkpoint!");
+        }
+        if(this.failure != null)
+            throw this.failure;
+        write();
+    }
+
+    /**
+     * @brief A method to read the snapshots written to a file.
+     * @param file A Path representing the file holding the snapshots.
+     * @return A sequence holding the header followed by the snapshot of every part.
+     * @throws IOException if the file cannot be read or is not a checkpoint.
+     */
+    public static byte[][] read(Path file) throws IOException {
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if(in.readInt() != MAGIC || in.readInt() != VERSION)
+                throw new IOException("Not a checkpoint file!");
+            byte[][] blocks = new byte[in.readInt() + 1][];
+            for(int k = 0; k < blocks.length; k++) {
+                blocks[k] = new byte[in.readInt()];
+                in.readFully(blocks[k]);
+            }
+            return blocks;
+        }
+    }
+
+    /**
+     * @brief A method run by the background thread every interval.
+     */
+    private void tick() {
+        try {
+            write();
+        } catch(IOException e) {
+            this.failure = e;
+            this.writer.shutdown();
+        }
+        this.requested++;
+    }
+
+    /**
+     * @brief A method to write the latest snapshots and rename them over the file.
+     * @throws IOException if the snapshot cannot be written or renamed.
+     */
+    private void write() throws IOException {
+        int size = 12 + 4 + this.header.length;
+        byte[][] blocks = new byte[this.parts.length()][];
+        for(int k = 0; k < blocks.length; k++) {
+            blocks[k] = this.parts.get(k);
+            size += 4 + blocks[k].length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(blocks.length);
+        buffer.putInt(this.header.length).put(this.header);
+        for(byte[] block : blocks)
+            buffer.putInt(block.length).put(block);
+        buffer.flip();
+        try(FileChannel out = FileChannel.open(this.temp, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while(buffer.hasRemaining())
+                out.write(buffer);
+            out.force(true);
+        }
+        Files.move(this.temp, this.file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+}
@@ -0,0 +1,92 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class used to run the headless tools from the command line.
+ */
+
+package src;
+
+import java.util.Arrays;
+
+/**
+ * @brief The command line entry point of the headless tools.
+ * @details Runner starts the game with its window; this class starts the tools
+ * that need no window, and it never touches the GUI classes, so no AWT or Swing
+ * class is loaded and a run starts in tens of milliseconds. The first argument
+ * names the tool and the rest are handed to it unchanged. Repeated batch launches
+ * can share a class data archive (see the cds target of the Makefile).
+ */
+public class Cli {
+
+    private static final String USAGE = String.join("\n",
+        "usage: Cli <command> [args]",
+        "  simulate   games [threads] [seed] [statsFile] [policy] [spawner] [checkpoint] [rules]",
+        "                                                                   play games with a policy, resumably",
+        "  shard      games [workers] [seed] [policy] [spawner] [statsFile]",
+        "                                                                   simulate in worker processes",
+        "  worker     from to seed [policy] [spawner]                       play one shard (used by shard)",
+        "  tournament games [threads] [seed] [policy...]                    compare policies on the same games",
+        "  tune       [rounds] [games] [depth] [threads] [seed] [weights]   tune the search heuristic",
+        "  export     games file [threads] [seed] [policy] [spawner]        write games as training samples",
+        "  decode     file [threads]                                        read back a training file",
+        "  broadcast  [subscribers] [frames] [readers] [capacity] [slowEvery]",
+        "                                                                   measure spectator fan-out",
+        "  bench      record|baseline|report|list [dir] [args]              record or compare benchmark runs",
+        "  fuzz       [cases] [threads] [seed]                              check PackedModel against Model",
+        "  tablebase  size targetTile file                                  build an endgame tablebase",
+        "  compact    src dst [minDepth]                                    compact a move cache",
+        "  speedup    [depth] [positions]                                   measure the parallel search");
+
+    public static void main(String[] args) throws Exception {
+        if(args.length == 0) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        String[] rest = Arrays.copyOfRange(args, 1, args.length);
+        switch(args[0]) {
+            case "simulate":
+                Simulator.main(rest);
+                break;
+            case "shard":
+                Coordinator.main(rest);
+                break;
+            case "worker":
+                Coordinator.worker(rest);
+                break;
+            case "tournament":
+                Tournament.main(rest);
+                break;
+            case "tune":
+                Tuner.main(rest);
+                break;
+            case "export":
+                TrainingWriter.main(rest);
+                break;
+            case "decode":
+                TrainingReader.main(rest);
+                break;
+            case "broadcast":
+                Broadcaster.main(rest);
+                break;
+            case "bench":
+                Benchmarks.main(rest);
+                break;
+            case "fuzz":
+                DifferentialFuzzer.main(rest);
+                break;
+            case "tablebase":
+                Tablebase.main(rest);
+                break;
+            case "compact":
+                MoveCache.main(rest);
+                break;
+            case "speedup":
+                ParallelExpectimax.main(rest);
+                break;
+            default:
+                System.err.println("unknown command: " + args[0] + "\n" + USAGE);
+                System.exit(2);
+        }
+    }
+}
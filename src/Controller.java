@@ -19,10 +19,10 @@ import javax.swing.JOptionPane;
  */
 public class Controller implements KeyListener {
 
-    private static GameGUI game;
-    private static int endGameFlag;
-    private static int goFurther;
-    private static boolean flag = false;
+    private GameGUI game;
+    private int endGameFlag;
+    private int goFurther;
+    private boolean flag = false;
 
     /**
 	 * @brief A constructor which initializes a new game.
@@ -38,37 +38,57 @@ public class Controller implements KeyListener {
      * @brief This method performs a combination of board operations when certain
      * keys are pressed.
      * @details This method will shift the board left, right, up, or down when the 
-     * corresponding arrow key is pressed by the player. After each move the game board
-     * is refreshed and updated. It also checks if the game was won by the player. If 
-     * the player lost the game they are prompted with a window to close the game.
+     * corresponding arrow key is pressed by the player. The game board follows each
+     * move through the move events of the model, so only the tiles that changed are
+     * redrawn. It also checks if the game was won by the player. If the player lost
+     * the game their score is saved to the leaderboard and they are prompted with a
+     * window to close the game. The H key asks for a hint, and any hint being
+     * searched is dropped as soon as the board changes. The A key turns autoplay on
+     * and off; the arrow keys are ignored while the search is playing.
      * @param e A KeyEvent object used to keep track if a certain key is pressed.
      */
     @Override
     public void keyPressed(KeyEvent e) {
+        if(e.getKeyCode() == KeyEvent.VK_A) {
+            game.toggleAutoplay();
+            return;
+        }
+        if(game.isAutoplaying())
+            return;
         if(!game.getModel().isGameOver()) {
-            if(e.getKeyCode() == KeyEvent.VK_RIGHT) {
-                game.getModel().makeMove(Directions.right);
-                game.refreshBoard(game.updateBoard(game.getModel().getBoard()));
-            } else if(e.getKeyCode() == KeyEvent.VK_LEFT) {
-                game.getModel().makeMove(Directions.left);
-                game.refreshBoard(game.updateBoard(game.getModel().getBoard()));
-            } else if(e.getKeyCode() == KeyEvent.VK_UP) {
-                game.getModel().makeMove(Directions.up);
-                game.refreshBoard(game.updateBoard(game.getModel().getBoard()));
-            } else if(e.getKeyCode() == KeyEvent.VK_DOWN) {
-                game.getModel().makeMove(Directions.down);
-                game.refreshBoard(game.updateBoard(game.getModel().getBoard()));
+            if(e.getKeyCode() == KeyEvent.VK_H) {
+                game.requestHint();
+                return;
+            }
+            Directions dir = directionOf(e.getKeyCode());
+            if(dir != null) {
+                game.cancelHint();
+                game.getModel().makeMove(dir);
             }
-            game.repaintScore();
-            if(game.getModel().does2048Exist() && !flag)
+            if(game.getModel().hasWinningTile() && !flag)
                 gameWon();
         } else {
+            game.recordScore();
             endGameFlag = JOptionPane.showConfirmDialog(game.getContentPane(), "Thank you for playing!", "Game Over", JOptionPane.OK_OPTION);
             if(endGameFlag == JOptionPane.YES_OPTION)
                 System.exit(1);
         }
     }
 
+    /**
+     * @brief A method to find the move of a key.
+     * @return An enumerate direction for an arrow key, or null for any other key.
+     */
+    private static Directions directionOf(int code) {
+        switch(code) {
+            case KeyEvent.VK_RIGHT: return Directions.right;
+            case KeyEvent.VK_LEFT: return Directions.left;
+            case KeyEvent.VK_UP: return Directions.up;
+            case KeyEvent.VK_DOWN: return Directions.down;
+            default: return null;
+        }
+    }
+
     /**
      * @brief A method to see what character was typed by the user.
      * @details This method was not implemented because it is not used in this
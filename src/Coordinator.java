@@ -0,0 +1,296 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that splits a simulation between worker processes and merges
+ * their results.
+ */
+
+package src;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * @brief An ADT that runs a simulation as shards in separate JVMs.
+ * @details The games of a run are split into one shard per worker, on batch
+ * boundaries as in Simulator, and each shard is played by a worker process started
+ * with "Cli worker". A worker plays its shard in chunks of CHUNK games and, after
+ * each chunk, writes to its standard output the index of the next game to play
+ * followed by the GameStats of the chunk. Every worker has its own heap and garbage
+ * collector, so a large sweep is not held back by a single JVM. The coordinator
+ * reads every worker on its own thread and merges each chunk as it arrives. If a
+ * worker dies, exits with an error, stops early or sends nothing for longer than
+ * the read timeout (a watchdog thread kills it), its shard is restarted from the
+ * first game not yet received, up to a number of restarts; since every game is
+ * played from its own seed, the results are the same as those of Simulator. When
+ * a run fails, every worker still running is killed, since a thread blocked
+ * reading a worker cannot be interrupted. The only transport is a byte stream,
+ * so a subclass can start workers on other machines by overriding command (for
+ * example with ssh).
+ */
+public class Coordinator {
+
+    static final long CHUNK = 16 * Simulator.BATCH;
+
+    private final int workers;
+    private final String policy;
+    private final String spawner;
+    private int maxRestarts = 3;
+    private long readTimeoutMillis = 600000;
+    private List<String> jvmOptions = new ArrayList<String>();
+    private int restarts;
+    private final ConcurrentHashMap<Process, Long> live = new ConcurrentHashMap<Process, Long>();
+
+    /**
+     * @brief A constructor which initializes a coordinator.
+     * @param workers An integer representing the number of worker processes.
+     * @param policy A string naming the policy as in Policies.parse.
+     * @param spawner A string naming the spawner as in Spawners.parse.
+     * @throws IllegalArgumentException if workers is not positive or the policy or the
+     * spawner is unknown.
+     */
+    public Coordinator(int workers, String policy, String spawner) {
+        if(workers <= 0)
+            throw new IllegalArgumentException("At least one worker is needed!");
+        Policies.parse(policy);
+        Spawners.parse(spawner);
+        this.workers = workers;
+        this.policy = policy;
+        this.spawner = spawner;
+    }
+
+    /**
+     * @brief A setter for the number of times a shard may be restarted.
+     * @param maxRestarts An integer representing the restarts allowed per shard.
+     */
+    public void setMaxRestarts(int maxRestarts) {
+        this.maxRestarts = maxRestarts;
+    }
+
+    /**
+     * @brief A setter for how long a worker may go without sending a chunk.
+     * @details A worker that sends nothing for longer is killed and its shard
+     * restarted. The timeout should be well above the time a worker takes to play a
+     * chunk of CHUNK games with the policy.
+     * @param readTimeoutMillis A long representing the milliseconds allowed between
+     * chunks (ten minutes by default).
+     * @throws IllegalArgumentException if the timeout is not positive.
+     */
+    public void setReadTimeout(long readTimeoutMillis) {
+        if(readTimeoutMillis <= 0)
+            throw new IllegalArgumentException("Read timeout must be positive!");
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    /**
+     * @brief A setter for the options passed to the worker JVMs.
+     * @param jvmOptions A list of options such as -Xmx512m.
+     */
+    public void setJvmOptions(List<String> jvmOptions) {
+        this.jvmOptions = new ArrayList<String>(jvmOptions);
+    }
+
+    /**
+     * @brief A getter for the number of restarts made by the last run.
+     * @return An integer representing the shards restarted.
+     */
+    public int getRestarts() {
+        return this.restarts;
+    }
+
+    /**
+     * @brief A method to play a number of games on the worker processes.
+     * @param games A long representing the number of games to play.
+     * @param seed A long representing the seed of the run.
+     * @return A GameStats object summarizing every game.
+     * @throws IOException if a shard still fails after the allowed restarts.
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     */
+    public GameStats run(long games, long seed) throws IOException, InterruptedException {
+        this.restarts = 0;
+        long batches = (games + Simulator.BATCH - 1) / Simulator.BATCH;
+        ExecutorService pool = Executors.newFixedThreadPool(this.workers);
+        ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor();
+        long period = Math.max(1, this.readTimeoutMillis / 4);
+        watchdog.scheduleAtFixedRate(this::killStalled, period, period, TimeUnit.MILLISECONDS);
+        try {
+            List<Future<GameStats>> shards = new ArrayList<Future<GameStats>>();
+            for(int w = 0; w < this.workers; w++) {
+                long from = Math.min(games, batches * w / this.workers * Simulator.BATCH);
+                long to = Math.min(games, batches * (w + 1) / this.workers * Simulator.BATCH);
+                shards.add(pool.submit(() -> playShard(from, to, seed)));
+            }
+            GameStats total = new GameStats();
+            for(Future<GameStats> shard : shards)
+                total.merge(shard.get());
+            return total;
+        } catch(ExecutionException e) {
+            if(e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IllegalStateException("A shard failed", e.getCause());
+        } finally {
+            watchdog.shutdownNow();
+            pool.shutdownNow();
+            for(Process worker : this.live.keySet())
+                worker.destroyForcibly();
+        }
+    }
+
+    /**
+     * @brief A method run by the watchdog thread to kill the workers past the read
+     * timeout.
+     * @details Killing a worker closes its output, so the thread reading it fails and
+     * restarts the shard.
+     */
+    private void killStalled() {
+        long now = System.nanoTime();
+        for(Map.Entry<Process, Long> e : this.live.entrySet()) {
+            if(now - e.getValue() > this.readTimeoutMillis * 1000000)
+                e.getKey().destroyForcibly();
+        }
+    }
+
+    /**
+     * @brief A method to build the command that starts a worker.
+     * @details By default the worker is a local JVM using the same Java and class path
+     * as this one. Its standard error is passed through.
+     * @param from A long representing the index of the first game to play.
+     * @param to A long representing the index after the last game.
+     * @param seed A long representing the seed of the run.
+     * @return A ProcessBuilder object ready to start the worker.
+     */
+    protected ProcessBuilder command(long from, long to, long seed) {
+        List<String> cmd = new ArrayList<String>();
+        cmd.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        cmd.addAll(this.jvmOptions);
+        cmd.add("-cp");
+        cmd.add(System.getProperty("java.class.path"));
+        cmd.add(Cli.class.getName());
+        cmd.add("worker");
+        cmd.add(Long.toString(from));
+        cmd.add(Long.toString(to));
+        cmd.add(Long.toString(seed));
+        cmd.add(this.policy);
+        cmd.add(this.spawner);
+        return new ProcessBuilder(cmd).redirectError(ProcessBuilder.Redirect.INHERIT);
+    }
+
+    /**
+     * @brief A method to play one shard, restarting its worker when it fails.
+     * @param from A long representing the index of the first game of the shard.
+     * @param to A long representing the index after the last game of the shard.
+     * @param seed A long representing the seed of the run.
+     * @return A GameStats object summarizing the games of the shard.
+     * @throws IOException if the shard still fails after the allowed restarts.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    private GameStats playShard(long from, long to, long seed) throws IOException, InterruptedException {
+        GameStats stats = new GameStats();
+        long next = from;
+        for(int attempt = 0; next < to; attempt++) {
+            if(attempt > this.maxRestarts)
+                throw new IOException("Shard " + from + " to " + to + " failed at game " + next + "!");
+            if(attempt > 0) {
+                synchronized(this) {
+                    this.restarts++;
+                }
+            }
+            Process worker;
+            try {
+                worker = command(next, to, seed).start();
+            } catch(IOException e) {
+                continue;
+            }
+            this.live.put(worker, System.nanoTime());
+            try(DataInputStream in = new DataInputStream(new BufferedInputStream(worker.getInputStream()))) {
+                // A run that failed while this worker started has already killed the others.
+                if(Thread.interrupted())
+                    throw new InterruptedException();
+                worker.getOutputStream().close();
+                while(next < to) {
+                    long done = in.readLong();
+                    GameStats chunk = GameStats.readFrom(in);
+                    if(done <= next || done > to || (done % Simulator.BATCH != 0 && done != to))
+                        break;
+                    stats.merge(chunk);
+                    next = done;
+                    this.live.put(worker, System.nanoTime());
+                }
+            } catch(IOException e) {
+                // The worker died part way or was killed; the shard restarts from next.
+            } finally {
+                this.live.remove(worker);
+                worker.destroyForcibly();
+                worker.waitFor();
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * @brief A method to play a shard as a worker process.
+     * @details Usage: worker from to seed [policy] [spawner]. The results are written
+     * to the standard output as described in the class comment.
+     * @param args A sequence of command line arguments.
+     * @throws IOException if the results cannot be written.
+     */
+    public static void worker(String[] args) throws IOException {
+        if(args.length < 3) {
+            System.err.println("usage: worker from to seed [policy] [spawner]");
+            System.exit(2);
+        }
+        long from = Long.parseLong(args[0]);
+        long to = Long.parseLong(args[1]);
+        long seed = Long.parseLong(args[2]);
+        Policy policy = (args.length > 3 ? Policies.parse(args[3]) : Policies.random()).get();
+        Spawner spawner = args.length > 4 ? Spawners.parse(args[4]) : Spawners.random();
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+        for(long first = from; first < to; first += CHUNK) {
+            long last = Math.min(to, first + CHUNK);
+            GameStats chunk = Simulator.playRange(policy, spawner, first, last, seed);
+            out.writeLong(last);
+            chunk.writeTo(out);
+            out.flush();
+        }
+    }
+
+    /**
+     * @brief A method to run a sharded simulation from the command line.
+     * @details Usage: Coordinator games [workers] [seed] [policy] [spawner] [statsFile].
+     * If a statistics file is given, it is written as by Simulator, merging in the
+     * results it already holds.
+     * @param args A sequence of command line arguments.
+     * @throws Exception if a shard or the statistics file fails.
+     */
+    public static void main(String[] args) throws Exception {
+        if(args.length < 1) {
+            System.err.println("usage: Coordinator games [workers] [seed] [policy] [spawner] [statsFile]");
+            System.exit(2);
+        }
+        long games = Long.parseLong(args[0]);
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        Coordinator c = new Coordinator(workers, args.length > 3 ? args[3] : "random", args.length > 4 ? args[4] : "random");
+        long start = System.nanoTime();
+        GameStats stats = c.run(games, seed);
+        double secs = (System.nanoTime() - start) / 1e9;
+        if(args.length > 5) {
+            Path file = Paths.get(args[5]);
+            if(Files.exists(file)) {
+                try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                    stats.merge(GameStats.readFrom(in));
+                }
+            }
+            try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                stats.writeTo(out);
+            }
+        }
+        System.out.print(stats);
+        System.out.printf("run         %.2f s, %d workers, %d restarts, %.0f games/min%n", secs, workers,
+            c.getRestarts(), stats.getGames() / secs * 60);
+    }
+
+}
@@ -0,0 +1,337 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that checks an alternative board engine against Model on
+ * random and edge case boards.
+ */
+
+package src;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.Function;
+
+/**
+ * @brief An ADT that fuzzes a candidate BoardOps against the reference Model.
+ * @details Every board is loaded into a fresh Model and a fresh candidate, one
+ * operation is run on both (each of the eight shifts and merges on its own, each
+ * shift followed by its merge as makeMove does before spawning, and the game over
+ * check), and the resulting tiles, scores and returned flags are compared. The
+ * first boards are hand picked edge cases; the rest are random with a density and
+ * tile range drawn per board, so full boards with many equal neighbours are common.
+ * Cases are checked in parallel, and the first mismatch is shrunk by removing and
+ * lowering tiles for as long as some operation still disagrees. Tiles are kept at
+ * 2^12 or below so that no engine has to grow a tile past 2^15.
+ */
+public class DifferentialFuzzer {
+
+    private static final int MAX_EXPONENT = 12;
+    private static final int CHUNK = 4096;
+    private static final String[] OPS = {"shiftLeft", "shiftRight", "shiftUp", "shiftDown",
+        "mergeLeft", "mergeRight", "mergeUp", "mergeDown", "moveLeft", "moveRight", "moveUp",
+        "moveDown", "isGameOver"};
+
+    /**
+     * @brief A mismatch between the reference and the candidate.
+     */
+    public static final class Failure {
+
+        private final long board;
+        private final String op;
+        private final String detail;
+
+        Failure(long board, String op, String detail) {
+            this.board = board;
+            this.op = op;
+            this.detail = detail;
+        }
+
+        /**
+         * @brief A getter for the board the engines disagree on.
+         * @return A long representing the packed board.
+         */
+        public long getBoard() {
+            return this.board;
+        }
+
+        /**
+         * @brief A getter for the operation the engines disagree on.
+         * @return A string naming the operation.
+         */
+        public String getOp() {
+            return this.op;
+        }
+
+        /**
+         * @brief A method to describe the mismatch.
+         * @return A string holding the operation, the board and both results.
+         */
+        @Override
+        public String toString() {
+            return this.op + " on\n" + format(this.board) + this.detail;
+        }
+    }
+
+    private final Function<Board, BoardOps> candidate;
+    private final int threads;
+    private final AtomicLong checked = new AtomicLong();
+
+    /**
+     * @brief A constructor which initializes a fuzzer.
+     * @param candidate A function that gives a board loaded with a position the
+     * operations of the engine under test; the engine must change that board in place.
+     * @param threads An integer representing the number of threads to check with.
+     * @throws IllegalArgumentException if the number of threads is not positive.
+     */
+    public DifferentialFuzzer(Function<Board, BoardOps> candidate, int threads) {
+        if(threads <= 0)
+            throw new IllegalArgumentException("Number of threads must be positive!");
+        this.candidate = candidate;
+        this.threads = threads;
+    }
+
+    /**
+     * @brief A getter for the number of boards checked so far.
+     * @return A long representing the boards checked by every run of this fuzzer.
+     */
+    public long getChecked() {
+        return this.checked.get();
+    }
+
+    /**
+     * @brief A method to check a number of boards.
+     * @details Board n of a run only depends on the seed and n, so a failure can be
+     * reproduced with the same seed on any number of threads.
+     * @param cases A long representing the number of boards to check.
+     * @param seed A long representing the seed of the random boards.
+     * @return A Failure object holding the shrunk mismatch, or null if every board agreed.
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     */
+    public Failure run(long cases, long seed) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+        AtomicLong next = new AtomicLong();
+        AtomicReference<Failure> found = new AtomicReference<Failure>();
+        try {
+            for(int t = 0; t < this.threads; t++) {
+                pool.execute(() -> {
+                    long from;
+                    while(found.get() == null && (from = next.getAndAdd(CHUNK)) < cases) {
+                        for(long n = from; n < Math.min(from + CHUNK, cases) && found.get() == null; n++) {
+                            Failure f = check(board(seed, n));
+                            this.checked.incrementAndGet();
+                            if(f != null)
+                                found.compareAndSet(null, f);
+                        }
+                    }
+                });
+            }
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        } finally {
+            pool.shutdownNow();
+        }
+        Failure f = found.get();
+        return f == null ? null : shrink(f);
+    }
+
+    /**
+     * @brief A method to run every operation on one board.
+     * @param packed A long representing the packed board.
+     * @return A Failure object for the first operation that disagrees, or null.
+     */
+    public Failure check(long packed) {
+        for(int op = 0; op < OPS.length; op++) {
+            String detail = compare(packed, op);
+            if(detail != null)
+                return new Failure(packed, OPS[op], detail);
+        }
+        return null;
+    }
+
+    /**
+     * @brief A method to make a failing board as small as possible.
+     * @details Every tile is halved at once (so that equal tiles stay equal), then
+     * tiles are removed or lowered one at a time, keeping every change after which
+     * some operation still disagrees, until no change helps.
+     * @param f A Failure object representing the mismatch to shrink.
+     * @return A Failure object on a board no halving, removal or lowering fixes.
+     */
+    public Failure shrink(Failure f) {
+        boolean smaller = true;
+        while(smaller) {
+            smaller = false;
+            long halved = f.board;
+            for(int cell = 0; cell < 16; cell++) {
+                if(((halved >>> (4 * cell)) & 0xF) > 1)
+                    halved -= 1L << (4 * cell);
+            }
+            Failure h = halved == f.board ? null : check(halved);
+            if(h != null) {
+                f = h;
+                smaller = true;
+                continue;
+            }
+            for(int cell = 0; cell < 16; cell++) {
+                int e = (int) (f.board >>> (4 * cell)) & 0xF;
+                for(int lower = 0; lower < e; lower++) {
+                    Failure g = check(BitBoard.withExponent(f.board, cell / 4, cell % 4, lower));
+                    if(g != null) {
+                        f = g;
+                        smaller = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return f;
+    }
+
+    /**
+     * @brief A method to run one operation on both engines and compare them.
+     * @return A string describing both results if they differ, or null.
+     */
+    private String compare(long packed, int op) {
+        Model reference = new Model();
+        BitBoard.unpack(packed, reference.getBoard());
+        reference.getBoard().setScore(0);
+        Board board = new Board();
+        BitBoard.unpack(packed, board);
+        BoardOps engine = this.candidate.apply(board);
+        int expected = apply(reference, op);
+        int actual;
+        try {
+            actual = apply(engine, op);
+        } catch(RuntimeException e) {
+            return "expected " + describe(op, expected, reference.getBoard()) + "actual " + e + "\n";
+        }
+        if(actual == expected && board.getScore() == reference.getBoard().getScore()
+            && BitBoard.pack(board) == BitBoard.pack(reference.getBoard()))
+            return null;
+        return "expected " + describe(op, expected, reference.getBoard()) + "actual " + describe(op, actual, board);
+    }
+
+    /**
+     * @brief A method to run an operation.
+     * @return An integer holding the first flag returned in bit 0 and the second in bit 1.
+     */
+    private static int apply(BoardOps ops, int op) {
+        switch(op) {
+            case 0: return flags(ops.shiftLeft(), false);
+            case 1: return flags(ops.shiftRight(), false);
+            case 2: return flags(ops.shiftUp(), false);
+            case 3: return flags(ops.shiftDown(), false);
+            case 4: return flags(ops.mergeLeft(), false);
+            case 5: return flags(ops.mergeRight(), false);
+            case 6: return flags(ops.mergeUp(), false);
+            case 7: return flags(ops.mergeDown(), false);
+            case 8: return flags(ops.shiftLeft(), ops.mergeLeft());
+            case 9: return flags(ops.shiftRight(), ops.mergeRight());
+            case 10: return flags(ops.shiftUp(), ops.mergeUp());
+            case 11: return flags(ops.shiftDown(), ops.mergeDown());
+            default: return flags(ops.isGameOver(), false);
+        }
+    }
+
+    /**
+     * @brief A method to combine the flags returned by an operation.
+     */
+    private static int flags(boolean first, boolean second) {
+        return (first ? 1 : 0) | (second ? 2 : 0);
+    }
+
+    /**
+     * @brief A method to describe the result of an operation.
+     */
+    private static String describe(int op, int flags, Board b) {
+        String result;
+        if(op < 8)
+            result = "changed " + ((flags & 1) != 0);
+        else if(op < 12)
+            result = "shifted " + ((flags & 1) != 0) + " merged " + ((flags & 2) != 0);
+        else
+            result = "over " + ((flags & 1) != 0);
+        return result + " score " + b.getScore() + "\n" + format(BitBoard.pack(b));
+    }
+
+    /**
+     * @brief A method to build board n of a run.
+     * @details The first boards are fixed edge cases: the empty board, every single
+     * tile, whole boards of one value, a board with no moves, and every row pattern
+     * of 1s and 2s repeated on all rows and on all columns. After that, each board
+     * draws its share of empty cells and its largest tile before drawing the cells.
+     * @param seed A long representing the seed of the run.
+     * @param n A long representing the number of the board.
+     * @return A long representing the packed board.
+     */
+    static long board(long seed, long n) {
+        if(n == 0)
+            return 0;
+        if(n <= 16)
+            return 1L << (4 * (n - 1));
+        if(n <= 16 + MAX_EXPONENT)
+            return 0x1111111111111111L * (n - 16);
+        if(n == 17 + MAX_EXPONENT) {
+            long stuck = 0;
+            for(int cell = 0; cell < 16; cell++)
+                stuck |= (long) ((cell + cell / 4) % 2 + 1) << (4 * cell);
+            return stuck;
+        }
+        long k = n - 18 - MAX_EXPONENT;
+        if(k < 2 * 81) {
+            long row = 0;
+            long digits = k % 81;
+            for(int j = 0; j < 4; j++, digits /= 3)
+                row |= (digits % 3) << (4 * j);
+            long rows = row * 0x0001000100010001L;
+            return k < 81 ? rows : BitBoard.transpose(rows);
+        }
+        Rng rng = new Rng(Rng.derive(seed, n));
+        double empty = rng.nextDouble() * 0.8;
+        int top = 1 + rng.nextInt(MAX_EXPONENT);
+        long packed = 0;
+        for(int cell = 0; cell < 16; cell++) {
+            if(rng.nextDouble() >= empty)
+                packed |= (long) (1 + rng.nextInt(top)) << (4 * cell);
+        }
+        return packed;
+    }
+
+    /**
+     * @brief A method to draw a packed board as rows of tile values.
+     */
+    static String format(long packed) {
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < 4; i++) {
+            for(int j = 0; j < 4; j++)
+                sb.append(String.format("%6d", BitBoard.valueAt(packed, i, j)));
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @brief A method to fuzz PackedModel against Model from the command line.
+     * @details Usage: DifferentialFuzzer [cases] [threads] [seed]. The exit status is
+     * 1 if a mismatch was found, and the shrunk mismatch is printed.
+     * @param args A sequence of command line arguments.
+     * @throws InterruptedException if interrupted while waiting for the threads.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        long cases = args.length > 0 ? Long.parseLong(args[0]) : 1000000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 2048;
+        DifferentialFuzzer fuzzer = new DifferentialFuzzer(PackedModel::new, threads);
+        long start = System.nanoTime();
+        Failure f = fuzzer.run(cases, seed);
+        double secs = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d boards checked in %.1f s (%.0f boards/s)%n", fuzzer.getChecked(), secs,
+            fuzzer.getChecked() / secs);
+        if(f != null) {
+            System.out.println("MISMATCH " + f);
+            System.exit(1);
+        }
+        System.out.println("no mismatches");
+    }
+
+}
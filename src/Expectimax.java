@@ -0,0 +1,275 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that searches for the best move with expectimax.
+ */
+
+package src;
+
+/**
+ * @brief An ADT that finds the best move of a board with a depth limited expectimax.
+ * @details The search alternates between the player, who picks the move with the
+ * highest expected value, and the game, which spawns a 2 (70%) or a 4 (30%) on a
+ * uniformly chosen empty cell. The value of a line of play is the score it gains
+ * plus an evaluation of the board it ends on, given by a Heuristic (the standard
+ * one unless another is set); a board with no move left is worth 0. Chance branches
+ * that are reached with a probability below a cut off are evaluated directly
+ * instead of searched. If a move cache is attached it is consulted before every
+ * search and filled with every result, so repeated positions cost a single lookup.
+ * If a transposition table is attached, chance nodes reached through different move
+ * orders are searched once. Moves whose values are equal up to rounding are tied,
+ * and a tie goes to the move that comes first in Directions. A search given a
+ * RulesEngine plays that variant instead: its moves are made by the engine, so the
+ * walls never move or merge, the spawns follow the distribution of its rules, and
+ * the heuristic sees the walls as empty cells. It still looks one spawn ahead
+ * after each move, even if the rules spawn several.
+ */
+public class Expectimax {
+
+    private static final double CUTOFF = 1e-4;
+    private static final double TIE = 1e-6;
+    private static final Directions[] DIRECTIONS = Directions.values();
+
+    private final int depth;
+    private Heuristic heuristic = Heuristic.standard();
+    private RulesEngine engine;
+    private long walls;
+    private double[] spawnChance = {0.7, 0.3};
+    private long[] spawnExponent = {1, 2};
+    private MoveCache cache;
+    private TranspositionTable table;
+    private SearchDriver driver;
+    private long nodes;
+    private double lastValue;
+
+    /**
+     * @brief A constructor which initializes a search of a fixed depth.
+     * @param depth An integer representing the number of player moves to look ahead.
+     * @throws IllegalArgumentException if the depth is not positive.
+     */
+    public Expectimax(int depth) {
+        if(depth <= 0)
+            throw new IllegalArgumentException("Search depth must be positive!");
+        this.depth = depth;
+    }
+
+    /**
+     * @brief A setter for the move cache consulted before searching.
+     * @param cache A MoveCache object, or null to search every position.
+     */
+    public void setCache(MoveCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * @brief A setter for the heuristic that evaluates the boards at the leaves.
+     * @details A move cache or transposition table should only be shared between
+     * searches with the same heuristic.
+     * @param heuristic A Heuristic object.
+     */
+    public void setHeuristic(Heuristic heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * @brief A setter for the variant the search plays.
+     * @details A move cache or transposition table should only be shared between
+     * searches of the same variant.
+     * @param engine A RulesEngine object, or null for the standard game.
+     */
+    public void setEngine(RulesEngine engine) {
+        this.engine = engine;
+        this.walls = engine == null ? 0 : engine.getWalls();
+        double[] weights = (engine == null ? Rules.standard() : engine.getRules()).getSpawnWeights();
+        double total = 0;
+        int n = 0;
+        for(double w : weights) {
+            total += w;
+            if(w > 0)
+                n++;
+        }
+        this.spawnChance = new double[n];
+        this.spawnExponent = new long[n];
+        n = 0;
+        for(int k = 0; k < weights.length; k++) {
+            if(weights[k] == 0)
+                continue;
+            this.spawnChance[n] = weights[k] / total;
+            this.spawnExponent[n++] = k + 1;
+        }
+    }
+
+    /**
+     * @brief A setter for the transposition table shared by the chance nodes.
+     * @param table A TranspositionTable object, or null to search without one.
+     */
+    public void setTable(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * @brief A setter for the driver that can stop this search early.
+     * @param driver A SearchDriver object checked every 1024 nodes, or null.
+     */
+    void setDriver(SearchDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * @brief A getter for the search depth.
+     * @return An integer representing the number of player moves looked ahead.
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * @brief A getter for the number of positions visited.
+     * @return A long representing the nodes searched since this object was created.
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * @brief A getter for the value of the last move found by a search.
+     * @return A double representing the expected value (0 after a cache hit).
+     */
+    public double getLastValue() {
+        return this.lastValue;
+    }
+
+    /**
+     * @brief A method to find the best move of a board.
+     * @param b A Board object representing the current state of the game.
+     * @return An enumerate direction representing the best move, or null if no move
+     * changes the board.
+     */
+    public Directions bestMove(Board b) {
+        return bestMove(BitBoard.pack(b));
+    }
+
+    /**
+     * @brief A method to find the best move of a packed board.
+     * @param board A long representing the packed board.
+     * @return An enumerate direction representing the best move, or null if no move
+     * changes the board.
+     */
+    public Directions bestMove(long board) {
+        this.lastValue = 0;
+        if(this.cache != null) {
+            Directions cached = this.cache.lookup(board, this.depth);
+            if(cached != null)
+                return cached;
+        }
+        Directions best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for(Directions d : DIRECTIONS) {
+            long after = move(board, d);
+            if(after == board)
+                continue;
+            double value = scoreGain(board, d) + chanceNode(after, this.depth - 1, 1.0);
+            if(beats(value, bestValue)) {
+                bestValue = value;
+                best = d;
+            }
+        }
+        if(best != null) {
+            this.lastValue = bestValue;
+            if(this.cache != null)
+                this.cache.store(board, best, this.depth, (float) bestValue);
+        }
+        return best;
+    }
+
+    /**
+     * @brief A method to check if a root move is clearly better than the best so far.
+     * @details Values within a relative TIE of each other count as equal, so the
+     * move found first keeps a tie. Tables store values as floats, and a search
+     * that reads them in a different order (like the parallel one) gets values
+     * that differ in the last digits; without the margin such a search could
+     * pick either of two tied moves.
+     * @param value A double representing the value of the move.
+     * @param best A double representing the best value so far.
+     * @return A boolean representing if the move should replace the best one.
+     */
+    static boolean beats(double value, double best) {
+        return best == Double.NEGATIVE_INFINITY || value > best + TIE * Math.abs(best);
+    }
+
+    /**
+     * @brief A method to find the value of a board with the player to move.
+     */
+    double maxNode(long board, int depth, double prob) {
+        this.nodes++;
+        if(this.driver != null)
+            this.driver.check(this.nodes);
+        double best = 0;
+        boolean moved = false;
+        for(Directions d : DIRECTIONS) {
+            long after = move(board, d);
+            if(after == board)
+                continue;
+            double value = scoreGain(board, d) + chanceNode(after, depth - 1, prob);
+            if(!moved || value > best) {
+                best = value;
+                moved = true;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @brief A method to find the expected value of a board with a tile about to spawn.
+     */
+    double chanceNode(long after, int depth, double prob) {
+        this.nodes++;
+        if(this.driver != null)
+            this.driver.check(this.nodes);
+        int empty = BitBoard.countEmpty(after);
+        if(depth <= 0 || prob < CUTOFF || empty == 0)
+            return this.heuristic.evaluate(after & ~this.walls);
+        if(this.table != null) {
+            double known = this.table.probe(after, depth);
+            if(!Double.isNaN(known))
+                return known;
+        }
+        double total = 0;
+        double p = prob / empty;
+        for(int shift = 0; shift < 64; shift += 4) {
+            if(((after >>> shift) & 0xF) != 0)
+                continue;
+            for(int k = 0; k < this.spawnChance.length; k++)
+                total += this.spawnChance[k] * maxNode(after | (this.spawnExponent[k] << shift), depth, p * this.spawnChance[k]);
+        }
+        if(this.table != null)
+            this.table.store(after, depth, total / empty);
+        return total / empty;
+    }
+
+    /**
+     * @brief A method to move a board in the variant being searched.
+     */
+    private long move(long board, Directions d) {
+        return this.engine == null ? BitBoard.move(board, d) : this.engine.move(board, d);
+    }
+
+    /**
+     * @brief A method to compute the score gained by a move in the variant being searched.
+     */
+    private int scoreGain(long board, Directions d) {
+        return this.engine == null ? BitBoard.scoreGain(board, d) : this.engine.scoreGain(board, d);
+    }
+
+    /**
+     * @brief A method to estimate how good a board is for the player.
+     * @param board A long representing the packed board.
+     * @return A double representing the evaluation of the board by the standard
+     * heuristic.
+     */
+    static double evaluate(long board) {
+        return Heuristic.standard().evaluate(board);
+    }
+
+}
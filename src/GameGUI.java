@@ -10,6 +10,7 @@ package src;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
 
 /**
  * @brief This ADT class defines the GUI of the game being implemented.
@@ -19,18 +20,30 @@ import java.awt.event.*;
  * extra functionality to the game). It is assumed that loading in a new game
  * is not a part of the controller rather a GUI related functionality.
  */
-public class GameGUI extends JFrame implements ActionListener {
+public class GameGUI extends JFrame implements ActionListener, MoveListener {
 
     private static final long serialVersionUID = 1L;
-    private static Model m = new Model();
-
-    private static JPanel board = new JPanel();
-    private static JPanel info = new JPanel();
-    private static JPanel score = new JPanel();
-    private static JLabel gameName = new JLabel("2048");
-    private static JLabel scoreName = new JLabel("SCORE");
-    private static JLabel scoreValue;
+    private Model m = new Model();
+
+    private JPanel board = new JPanel();
+    private JPanel[][] cells;
+    private JLabel[][] cellValues;
+    private JPanel info = new JPanel();
+    private JPanel score = new JPanel();
+    private JLabel gameName = new JLabel("2048");
+    private JLabel scoreName = new JLabel("SCORE");
+    private JLabel scoreValue;
     public JButton newGame = new JButton("New Game");
+    public JButton hint = new JButton("Hint");
+    public JButton auto = new JButton("Auto");
+    private JLabel hintValue = new JLabel();
+    private HintService hints = new HintService(250, 12, SwingUtilities::invokeLater);
+    private Autoplayer autoplayer;
+    private boolean autoplaying = false;
+    private Leaderboard leaderboard;
+    private boolean scoreRecorded = false;
+    private final GameHandle handle = new GameHandle(System.nanoTime());
+    private boolean mirrored = true;
 
     /**
      * @brief A constructor that sets up the initial GUI for the game.
@@ -42,14 +55,27 @@ public class GameGUI extends JFrame implements ActionListener {
         this.setLayout(null);
         this.setSize(550, 700);
         this.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        this.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                hints.close();
+                stopAutoplay();
+                recordScore();
+                closeLeaderboard();
+            }
+        });
         this.getContentPane().setBackground(new Color(250, 248, 239));
         loadRestart();
+        loadHint();
+        loadAuto();
         loadBoard();
         loadInfo();
         loadGameName();
         loadScorePanel();
         loadScore(m.getBoard().getScore());
-        refreshBoard(updateBoard(m.getBoard()));
+        m.addMoveListener(this);
+        paintBoard();
+        publishState();
         this.setVisible(true);
     }
 
@@ -63,6 +89,20 @@ public class GameGUI extends JFrame implements ActionListener {
         return m;
     }
 
+    /**
+     * @brief A getter for a snapshot of the game that any thread may read.
+     * @details The model belongs to the event dispatch thread; after every change the
+     * GUI publishes the board and score to a handle, so an AI worker or a metrics
+     * thread can read them without locks. Only a read only view of the handle is
+     * given out, since moves are played through the model. A board holding a tile
+     * above 2^15 cannot be packed; the view then keeps the last board that could,
+     * and the GUI reports it once on standard error.
+     * @return A GameHandle.View object mirroring the model.
+     */
+    public GameHandle.View getHandleView() {
+        return this.handle.view();
+    }
+
     /**
      * @brief A getter for the new game button on the GUI. 
      * @return A JButton representing the current state of the button.
@@ -71,25 +111,60 @@ public class GameGUI extends JFrame implements ActionListener {
         return this.newGame;
     }
 
+    /**
+     * @brief A getter for the hint button on the GUI.
+     * @return A JButton representing the current state of the button.
+     */
+    public JButton getHintButton() {
+        return this.hint;
+    }
+
+    /**
+     * @brief A getter for the autoplay button on the GUI.
+     * @return A JButton representing the current state of the button.
+     */
+    public JButton getAutoButton() {
+        return this.auto;
+    }
+
     /**
      * @brief A setter to update the current model state.
      * @param model An object of type Model representing the new/updated model.
      */
     public void setModel(Model model) {
+        m.removeMoveListener(this);
         m = model;
+        m.addMoveListener(this);
+        paintBoard();
+        refreshScore();
+        publishState();
     }
 
     /**
      * @brief A method used to initialize the layout of the game board.
      * @details The game board uses a grid layout to visualize the game board which
-     * gives each individual tile its own separate location. The board's visual
-     * appearance features are also set in this method.
+     * gives each individual tile its own separate location. The panel and label of
+     * every cell are made once here and repainted as the tiles change. The board's
+     * visual appearance features are also set in this method.
      */
     private void loadBoard() {
-        board.setLayout(new GridLayout(m.getBoard().getBoardSize(), m.getBoard().getBoardSize(), 10, 10));
+        int n = m.getBoard().getBoardSize();
+        board.setLayout(new GridLayout(n, n, 10, 10));
         board.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         board.setBackground(new Color(189, 175, 162));
         board.setBounds(25, 145, 500, 500);
+        cells = new JPanel[n][n];
+        cellValues = new JLabel[n][n];
+        for(int i = 0; i < n; i++) {
+            for(int j = 0; j < n; j++) {
+                cellValues[i][j] = new JLabel();
+                cellValues[i][j].setForeground(new Color(119, 110, 101));
+                cellValues[i][j].setFont(new Font("Helvetica Neue", Font.BOLD, 50));
+                cells[i][j] = new JPanel(new GridBagLayout());
+                cells[i][j].add(cellValues[i][j]);
+                board.add(cells[i][j]);
+            }
+        }
         this.add(board);
     }
 
@@ -136,9 +211,9 @@ public class GameGUI extends JFrame implements ActionListener {
      * @details The scoring value is retrieved form the model and it's visual appearance
      * features are also set in this method.
      */
-    private void loadScore(int s) {
+    private void loadScore(long s) {
         scoreValue = new JLabel();
-        scoreValue.setText(Integer.toString(m.getBoard().getScore()));
+        scoreValue.setText(Long.toString(s));
         scoreValue.setHorizontalAlignment(JLabel.CENTER);
         scoreValue.setForeground(new Color(255, 255, 255));
         scoreValue.setFont(new Font("Helvetica Neue", Font.BOLD, 30));
@@ -164,88 +239,326 @@ public class GameGUI extends JFrame implements ActionListener {
     }
 
     /**
-     * @brief A method to update how the board looks.
-     * @details This method will update how the board looks after each move
-     * and when a new game is started. Since tiles were never assigned a 
-     * colour when they were created (to avoid overwriting), the tile colours 
-     * are set as we update the board tile by tile.
-     * @param b A Board object representing an updated version of current board
-     * or a completely new board.
-     * @return A 2D sequence of JPanels representing the tiles on the board.
-     */
-    public JPanel[][] updateBoard(Board b) {
-        TileT[][] tiles = b.getBoard();
-        JPanel[][] allTiles = new JPanel[tiles.length][tiles.length];
-        for(int i = 0; i < tiles.length; i++) {
-            for(int j = 0; j < tiles.length; j++) {
-                tiles[i][j].setTileColour(tiles[i][j].getValue());
-                if(tiles[i][j].getValue() != 0) {
-                    JPanel tile = new JPanel(new GridBagLayout());
-                    JLabel val = new JLabel(Integer.toString(tiles[i][j].getValue()));
-                    val.setForeground(new Color(119, 110, 101));
-                    val.setFont(new Font("Helvetica Neue", Font.BOLD, 50));
-                    tile.setBackground(tiles[i][j].getTileColour());
-                    tile.add(val);
-                    allTiles[i][j] = tile;
-                } else {
-                    JPanel tile = new JPanel(new GridBagLayout());
-                    tile.setBackground(tiles[i][j].getTileColour());
-                    allTiles[i][j] = tile;
-                }
-            }
+     * @brief A method used to show the hint button and the label holding the hint.
+     * @details It's visual appearance features are also set in this method.
+     */
+    private void loadHint() {
+        hint.setFont(new Font("Helvetica Neue", Font.BOLD, 20));
+        hint.setBounds(130, 90, 95, 40);
+        hint.setOpaque(true);
+        hint.setBorderPainted(false);
+        hint.setBackground(new Color(143, 122, 102));
+        hint.setForeground(new Color(255, 255, 255));
+        hint.setFocusable(false);
+        hint.addActionListener(this);
+        this.add(hint);
+        hintValue.setForeground(new Color(119, 110, 101));
+        hintValue.setFont(new Font("Helvetica Neue", Font.BOLD, 14));
+        hintValue.setBounds(235, 90, 115, 40);
+        this.add(hintValue);
+    }
+
+    /**
+     * @brief A method used to show the autoplay button.
+     * @details It's visual appearance features are also set in this method. The pace
+     * of play is read from the autoplay.rate system property in moves per second
+     * (0 plays as fast as possible) and the policy from autoplay.policy, named as in
+     * Policies.parse; by default it is a search as deep as autoplay.depth.
+     */
+    private void loadAuto() {
+        auto.setFont(new Font("Helvetica Neue", Font.BOLD, 20));
+        auto.setBounds(25, 90, 95, 40);
+        auto.setOpaque(true);
+        auto.setBorderPainted(false);
+        auto.setBackground(new Color(143, 122, 102));
+        auto.setForeground(new Color(255, 255, 255));
+        auto.setFocusable(false);
+        auto.addActionListener(this);
+        this.add(auto);
+        double rate = Double.parseDouble(System.getProperty("autoplay.rate", "10"));
+        int depth = Integer.getInteger("autoplay.depth", 3);
+        Policy policy = Policies.parse(System.getProperty("autoplay.policy", "expectimax:" + depth)).get();
+        autoplayer = new Autoplayer(policy, rate, SwingUtilities::invokeLater, this::showFrame);
+    }
+
+    /**
+     * @brief A method to start or stop the search playing the game by itself.
+     * @details While it plays, the player thread keeps its own copy of the game and
+     * the board shown here follows the newest frame it published. When it stops, the
+     * number of moves per second is shown, with the frames dropped in its tooltip.
+     */
+    public void toggleAutoplay() {
+        if(autoplaying) {
+            stopAutoplay();
+            return;
+        }
+        if(m.isGameOver())
+            return;
+        long packed;
+        try {
+            packed = BitBoard.pack(m.getBoard());
+        } catch(IllegalArgumentException ex) {
+            return;
+        }
+        cancelHint();
+        autoplaying = true;
+        auto.setText("Stop");
+        autoplayer.start(packed, m.getBoard().getScore(), System.nanoTime());
+    }
+
+    /**
+     * @brief A method to check if the search is playing the game.
+     * @details Autoplay stays on until its last frame has been shown.
+     * @return A boolean representing if autoplay is on.
+     */
+    public boolean isAutoplaying() {
+        return autoplaying;
+    }
+
+    /**
+     * @brief A getter for the player of the autoplay mode.
+     * @return An Autoplayer object holding the moves per second and frame counts.
+     */
+    public Autoplayer getAutoplayer() {
+        return autoplayer;
+    }
+
+    /**
+     * @brief A method to stop autoplay and report how fast it played.
+     */
+    private void stopAutoplay() {
+        if(!autoplaying)
+            return;
+        autoplaying = false;
+        Autoplayer.Frame last = autoplayer.stop();
+        if(last != null)
+            syncFrame(last);
+        auto.setText("Auto");
+        String report = String.format("%.1f moves/s, %d of %d frames dropped", autoplayer.getMovesPerSecond(),
+            autoplayer.getFramesDropped(), autoplayer.getFramesDropped() + autoplayer.getFramesDrawn());
+        hintValue.setText(String.format("%.0f moves/s", autoplayer.getMovesPerSecond()));
+        hintValue.setToolTipText(report);
+    }
+
+    /**
+     * @brief A method to show a frame published by the autoplayer.
+     * @details The model is brought up to date with the frame so that the player can
+     * take over when autoplay stops.
+     * @param f A Frame object representing the newest state of the game.
+     */
+    private void showFrame(Autoplayer.Frame f) {
+        if(!autoplaying)
+            return;
+        syncFrame(f);
+        if(f.isOver()) {
+            stopAutoplay();
+            recordScore();
+        }
+    }
+
+    /**
+     * @brief A method to copy a frame into the model and redraw the board and score.
+     */
+    private void syncFrame(Autoplayer.Frame f) {
+        BitBoard.unpack(f.getBoard(), m.getBoard());
+        m.getBoard().setScore(f.getScore());
+        paintBoard();
+        repaintScore();
+        publishState();
+    }
+
+    /**
+     * @brief A method to publish the board and score of the model to the handle.
+     * @details Boards that cannot be packed are not published; the first of them is
+     * reported, and publishing resumes once a board can be packed again.
+     */
+    private void publishState() {
+        try {
+            handle.publish(BitBoard.pack(m.getBoard()), m.getBoard().getScore());
+            mirrored = true;
+        } catch(IllegalArgumentException ex) {
+            if(mirrored)
+                System.err.println("The game handle stops following the board: " + ex.getMessage());
+            mirrored = false;
+        }
+    }
+
+    /**
+     * @brief A method to search for the best move of the current board in the background.
+     * @details The search runs on the hint thread so the GUI keeps responding; the
+     * move is shown once it is found, unless the board changed in the meantime.
+     */
+    public void requestHint() {
+        if(m.isGameOver())
+            return;
+        long packed;
+        try {
+            packed = BitBoard.pack(m.getBoard());
+        } catch(IllegalArgumentException ex) {
+            hintValue.setText("No hint");
+            return;
         }
-        return allTiles;
+        hintValue.setText("Thinking...");
+        hints.request(packed, r -> {
+            hintValue.setText(r.getMove() == null ? "No hint" : r.getMove() + " (depth " + r.getDepth() + ")");
+            hintValue.setToolTipText(String.format("found in %.1f ms", hints.getHintLatency() / 1e6));
+        });
+    }
+
+    /**
+     * @brief A method to drop the hint of a board that is about to change.
+     * @details A search in progress is stopped at once so that the next hint starts
+     * right away.
+     */
+    public void cancelHint() {
+        hints.cancel();
+        hintValue.setText("");
+        hintValue.setToolTipText(null);
+    }
+
+    /**
+     * @brief A getter for the time taken by the last hint.
+     * @return A long representing nanoseconds from the request to the hint being shown
+     * (-1 if no hint was shown yet).
+     */
+    public long getHintLatency() {
+        return hints.getHintLatency();
+    }
+
+    /**
+     * @brief A getter for the time taken to stop the last stale hint search.
+     * @return A long representing nanoseconds from the cancel to the search stopping
+     * (-1 if no search was cancelled yet).
+     */
+    public long getCancelLatency() {
+        return hints.getCancelLatency();
     }
 
     /**
-     * @brief A method to refresh the board.
-     * @details This method is used to refresh the visual board when a move is made
-     * or when a new game is to be loaded.
-     * @param tiles A 2D sequence of JPanels representing the new sequence of tiles.
+     * @brief A method to redraw the changes made by a move.
+     * @details Only the cells a tile left, moved to, merged in or spawned in are
+     * repainted, and the score only when it changed.
+     * @param e A MoveEvent object holding the changes made by the move.
      */
-    public void refreshBoard(JPanel[][] tiles) {
-        board.removeAll();
-        for(int i = 0; i < tiles.length; i++) {
-            for(int j = 0; j < tiles.length; j++) {
-                board.add(tiles[i][j]);
+    @Override
+    public void onMove(MoveEvent e) {
+        int n = m.getBoard().getBoardSize();
+        for(int k = 0; k < e.getMoveCount(); k++) {
+            paintCell(e.getMoveFrom(k) / n, e.getMoveFrom(k) % n);
+            paintCell(e.getMoveTo(k) / n, e.getMoveTo(k) % n);
+        }
+        for(int k = 0; k < e.getMergeCount(); k++)
+            paintCell(e.getMergeCell(k) / n, e.getMergeCell(k) % n);
+        for(int k = 0; k < e.getSpawnCount(); k++)
+            paintCell(e.getSpawnCell(k) / n, e.getSpawnCell(k) % n);
+        if(e.getScoreDelta() != 0)
+            refreshScore();
+        publishState();
+    }
+
+    /**
+     * @brief A method to redraw every cell of the board.
+     * @details This is used when a new game is loaded or the whole board is replaced.
+     */
+    public void paintBoard() {
+        for(int i = 0; i < cells.length; i++) {
+            for(int j = 0; j < cells.length; j++) {
+                paintCell(i, j);
             }
         }
     }
 
+    /**
+     * @brief A method to redraw one cell from the model.
+     * @details Tiles do not hold a colour, so the colour of the cell is looked up
+     * from its value.
+     * @param i An integer representing the row of the cell.
+     * @param j An integer representing the column of the cell.
+     */
+    private void paintCell(int i, int j) {
+        int value = m.getBoard().getBoardValueAt(i, j);
+        cells[i][j].setBackground(TileColours.of(value));
+        cellValues[i][j].setText(value == 0 ? "" : Integer.toString(value));
+    }
+
     /**
      * @brief A method to refresh the score label for player to see.
      */
     public void refreshScore() {
-        int currScore = m.getBoard().getScore();
-        loadScore(currScore);
+        scoreValue.setText(Long.toString(m.getBoard().getScore()));
     }
 
     /**
      * @brief A method used to make the score update visible on the game frame.
-     * @details The label must be repainted to avoid overlap updating of the score.
+     * @details The label is kept and only its text changes, so it is repainted in place.
      */
     public void repaintScore() {
-        score.remove(scoreValue);
         refreshScore();
-        setVisible(true);
         scoreValue.repaint();
     }
 
+    /**
+     * @brief A method to save the score of the current game to the leaderboard.
+     * @details The score is saved once per game, when the game is over, when a new
+     * game is started, or when the window is closed. Games that never scored are
+     * not saved. If the leaderboard cannot be written the game carries on.
+     */
+    public void recordScore() {
+        if(scoreRecorded || m.getBoard().getScore() == 0)
+            return;
+        scoreRecorded = true;
+        int maxTile = 0;
+        for(int i = 0; i < m.getBoard().getBoardSize(); i++) {
+            for(int j = 0; j < m.getBoard().getBoardSize(); j++) {
+                maxTile = Math.max(maxTile, m.getBoard().getBoardValueAt(i, j));
+            }
+        }
+        try {
+            if(leaderboard == null)
+                leaderboard = Leaderboard.openDefault();
+            leaderboard.record(m.getBoard().getScore(), maxTile);
+        } catch(IOException ex) {
+            System.err.println("Could not save the score: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * @brief A method to close the leaderboard so its snapshot is written.
+     */
+    private void closeLeaderboard() {
+        if(leaderboard == null)
+            return;
+        try {
+            leaderboard.close();
+        } catch(IOException ex) {
+            System.err.println("Could not save the leaderboard: " + ex.getMessage());
+        }
+        leaderboard = null;
+    }
+
     /**
      * @brief A method to keep track of any mouse actions on the game frame.
      * @details If the new game button is pressed, a new model will be created
      * and the board on the frame will be visually refreshed along with the score
-     * being reset.
+     * being reset. The score of the finished game is saved to the leaderboard first.
+     * If the hint button is pressed, a hint is searched for in the background, and
+     * the autoplay button starts or stops the search playing by itself.
      * @param e A ActionEvent object used to keep track if the button was pressed.
      */
     @Override
     public void actionPerformed(ActionEvent e) {
-        if(e.getSource() == newGame)  {
+        if(e.getSource() == hint) {
+            if(!isAutoplaying())
+                requestHint();
+        } else if(e.getSource() == auto) {
+            toggleAutoplay();
+        } else if(e.getSource() == newGame)  {
             this.dispose();
-            m = new Model();
-            refreshBoard(updateBoard(m.getBoard()));
-            score.remove(scoreValue);
-            refreshScore();
+            stopAutoplay();
+            cancelHint();
+            recordScore();
+            setModel(new Model());
+            scoreRecorded = false;
             this.setVisible(true);
             scoreValue.repaint();
         }
@@ -0,0 +1,222 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that shares the state of a game safely between threads.
+ */
+
+package src;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @brief An ADT holding a game that any thread may read or play without locks.
+ * @details The game is held as an immutable State in an AtomicReference. Reading
+ * the game is a single volatile read, so readers never block and always see a
+ * whole state, never half of a move. A move reads the current state, works out the
+ * next one (BitBoard rules) and installs it with compare and set; if another
+ * thread moved first, the move is worked out again from the newer state. The tile
+ * spawned after a move is drawn from a generator seeded with the seed of the
+ * handle and the version of the new state, so working a move out again gives the
+ * same tile and a game depends only on its seed and the moves played. A handle can
+ * also mirror a game owned elsewhere, such as the Model of the GUI, through
+ * publish; the owner then hands out only a View, which can read the game but not
+ * change it.
+ */
+public final class GameHandle {
+
+    private final long seed;
+    private final AtomicReference<State> state;
+    private final LongAdder retries = new LongAdder();
+
+    /**
+     * @brief An immutable snapshot of a game.
+     */
+    public static final class State {
+
+        private final long board;
+        private final long score;
+        private final long version;
+
+        State(long board, long score, long version) {
+            this.board = board;
+            this.score = score;
+            this.version = version;
+        }
+
+        /**
+         * @brief A getter for the board.
+         * @return A long representing the packed board.
+         */
+        public long getBoard() {
+            return this.board;
+        }
+
+        /**
+         * @brief A getter for the score.
+         * @return A long representing the score of the game.
+         */
+        public long getScore() {
+            return this.score;
+        }
+
+        /**
+         * @brief A getter for the version, which grows by one with every update.
+         * @return A long representing the number of updates before this state.
+         */
+        public long getVersion() {
+            return this.version;
+        }
+
+        /**
+         * @brief A method to check if the game has ended.
+         * @return A boolean representing if no move changes the board.
+         */
+        public boolean isGameOver() {
+            return !BitBoard.canMove(this.board);
+        }
+
+        /**
+         * @brief A method to describe the state.
+         * @return A string with the version, the score and the board in hexadecimal.
+         */
+        @Override
+        public String toString() {
+            return "v" + this.version + " score " + this.score + " board " + Long.toHexString(this.board);
+        }
+    }
+
+    /**
+     * @brief A read only view of a handle.
+     */
+    public interface View {
+
+        /**
+         * @brief A getter for the current state.
+         * @return A State object that stays valid however the game moves on.
+         */
+        public State get();
+    }
+
+    /**
+     * @brief A constructor which starts a new game.
+     * @param seed A long representing the seed of the spawned tiles.
+     */
+    public GameHandle(long seed) {
+        this.seed = seed;
+        this.state = new AtomicReference<State>(start(0));
+    }
+
+    /**
+     * @brief A getter for the current state.
+     * @return A State object that stays valid however the game moves on.
+     */
+    public State get() {
+        return this.state.get();
+    }
+
+    /**
+     * @brief A getter for a read only view of this handle.
+     * @details The view cannot be cast back to the handle.
+     * @return A View object reading the same states as get.
+     */
+    public View view() {
+        AtomicReference<State> current = this.state;
+        return current::get;
+    }
+
+    /**
+     * @brief A method to play a move on the current state.
+     * @param dir An enumerate direction representing the move.
+     * @return A State object holding the game after the move, or null if the move does
+     * not change the board.
+     */
+    public State move(Directions dir) {
+        while(true) {
+            State s = this.state.get();
+            State next = next(s, dir);
+            if(next == null || this.state.compareAndSet(s, next))
+                return next;
+            this.retries.increment();
+        }
+    }
+
+    /**
+     * @brief A method to play a move only if the game is still in a given state.
+     * @details This suits a player that chose its move from a snapshot: if another
+     * thread moved in the meantime, the move is not played, and the player can look
+     * at the newer state and choose again.
+     * @param expected A State object the move was chosen on.
+     * @param dir An enumerate direction representing the move.
+     * @return A State object holding the game after the move, or null if the game is
+     * no longer in the expected state or the move does not change the board.
+     */
+    public State tryMove(State expected, Directions dir) {
+        State next = next(expected, dir);
+        if(next == null || !this.state.compareAndSet(expected, next))
+            return null;
+        return next;
+    }
+
+    /**
+     * @brief A method to start a new game.
+     * @return A State object holding the new game.
+     */
+    public State newGame() {
+        while(true) {
+            State s = this.state.get();
+            State next = start(s.version + 1);
+            if(this.state.compareAndSet(s, next))
+                return next;
+            this.retries.increment();
+        }
+    }
+
+    /**
+     * @brief A method to replace the state with one worked out elsewhere.
+     * @details This mirrors a game owned by another object, which calls it after
+     * each of its moves.
+     * @param board A long representing the packed board.
+     * @param score A long representing the score.
+     * @return A State object holding the published game.
+     */
+    public State publish(long board, long score) {
+        while(true) {
+            State s = this.state.get();
+            State next = new State(board, score, s.version + 1);
+            if(this.state.compareAndSet(s, next))
+                return next;
+            this.retries.increment();
+        }
+    }
+
+    /**
+     * @brief A getter for the number of updates that had to be worked out again.
+     * @return A long representing the failed compare and set operations.
+     */
+    public long getRetries() {
+        return this.retries.sum();
+    }
+
+    /**
+     * @brief A method to work out the state after a move.
+     * @return A State object, or null if the move does not change the board.
+     */
+    State next(State s, Directions dir) {
+        long after = BitBoard.move(s.board, dir);
+        if(after == s.board)
+            return null;
+        Rng rng = new Rng(Rng.derive(this.seed, s.version + 1));
+        return new State(BitBoard.spawn(after, rng), s.score + BitBoard.scoreGain(s.board, dir), s.version + 1);
+    }
+
+    /**
+     * @brief A method to make the state of a new game.
+     */
+    private State start(long version) {
+        Rng rng = new Rng(Rng.derive(this.seed, version));
+        return new State(BitBoard.spawn(BitBoard.spawn(0, rng), rng), 0, version);
+    }
+
+}
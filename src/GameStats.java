@@ -0,0 +1,216 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that summarizes the results of many simulated games.
+ */
+
+package src;
+
+import java.io.*;
+
+/**
+ * @brief An ADT that accumulates summary statistics of finished games.
+ * @details The statistics are streaming: every game updates a running mean and
+ * variance of the score (Welford's method), a quantile sketch of the score, a
+ * histogram of the largest tile and a quantile sketch of the game length, so no
+ * game result is ever stored. A GameStats object is not thread safe; each worker
+ * thread is expected to fill its own and the results are merged once the workers
+ * are done. Results can be written to a stream and read back so that separate
+ * runs can be combined.
+ */
+public class GameStats {
+
+    private static final int MAGIC = 0x32303453;
+    private static final int VERSION = 1;
+
+    private long games;
+    private long moves;
+    private double mean;
+    private double m2;
+    private long minScore = Long.MAX_VALUE;
+    private long maxScore;
+    private final long[] maxTiles = new long[32];
+    private final LogHistogram scores = new LogHistogram();
+    private final LogHistogram lengths = new LogHistogram();
+
+    /**
+     * @brief A method to add the result of a finished game.
+     * @param score A long representing the final score.
+     * @param maxExponent An integer representing the exponent of the largest tile.
+     * @param length A long representing the number of moves made in the game.
+     */
+    public void addGame(long score, int maxExponent, long length) {
+        this.games++;
+        this.moves += length;
+        double delta = score - this.mean;
+        this.mean += delta / this.games;
+        this.m2 += delta * (score - this.mean);
+        this.minScore = Math.min(this.minScore, score);
+        this.maxScore = Math.max(this.maxScore, score);
+        this.maxTiles[maxExponent]++;
+        this.scores.add(score);
+        this.lengths.add(length);
+    }
+
+    /**
+     * @brief A method to add the results held by another accumulator.
+     * @details The running means and variances are combined with Chan's formula.
+     * @param other A GameStats object representing the results to merge in.
+     */
+    public void merge(GameStats other) {
+        if(other.games == 0)
+            return;
+        long n = this.games + other.games;
+        double delta = other.mean - this.mean;
+        this.mean += delta * other.games / n;
+        this.m2 += other.m2 + delta * delta * ((double) this.games * other.games / n);
+        this.games = n;
+        this.moves += other.moves;
+        this.minScore = Math.min(this.minScore, other.minScore);
+        this.maxScore = Math.max(this.maxScore, other.maxScore);
+        for(int e = 0; e < this.maxTiles.length; e++)
+            this.maxTiles[e] += other.maxTiles[e];
+        this.scores.merge(other.scores);
+        this.lengths.merge(other.lengths);
+    }
+
+    /**
+     * @brief A getter for the number of games.
+     * @return A long representing how many games were added.
+     */
+    public long getGames() {
+        return this.games;
+    }
+
+    /**
+     * @brief A getter for the total number of moves.
+     * @return A long representing the moves made over all games.
+     */
+    public long getMoves() {
+        return this.moves;
+    }
+
+    /**
+     * @brief A getter for the mean score.
+     * @return A double representing the average final score.
+     */
+    public double getMeanScore() {
+        return this.mean;
+    }
+
+    /**
+     * @brief A getter for the sample variance of the score.
+     * @return A double representing the variance (0 with fewer than two games).
+     */
+    public double getScoreVariance() {
+        return this.games < 2 ? 0 : this.m2 / (this.games - 1);
+    }
+
+    /**
+     * @brief A getter for the lowest score.
+     * @return A long representing the lowest final score (0 if there are no games).
+     */
+    public long getMinScore() {
+        return this.games == 0 ? 0 : this.minScore;
+    }
+
+    /**
+     * @brief A getter for the highest score.
+     * @return A long representing the highest final score.
+     */
+    public long getMaxScore() {
+        return this.maxScore;
+    }
+
+    /**
+     * @brief A method to estimate a quantile of the score.
+     * @param q A double representing the quantile (0.5 is the median).
+     * @return A double representing the estimated score.
+     */
+    public double scoreQuantile(double q) {
+        return this.scores.quantile(q);
+    }
+
+    /**
+     * @brief A method to estimate a quantile of the game length.
+     * @param q A double representing the quantile (0.5 is the median).
+     * @return A double representing the estimated number of moves.
+     */
+    public double lengthQuantile(double q) {
+        return this.lengths.quantile(q);
+    }
+
+    /**
+     * @brief A getter for how many games ended with a given largest tile.
+     * @param exp An integer representing the exponent of the tile (11 for 2048).
+     * @return A long representing the number of games.
+     */
+    public long getMaxTileCount(int exp) {
+        return this.maxTiles[exp];
+    }
+
+    /**
+     * @brief A method to write the statistics to a stream.
+     * @param out A DataOutput object representing the stream to write to.
+     * @throws IOException if the stream cannot be written.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(this.games);
+        out.writeLong(this.moves);
+        out.writeDouble(this.mean);
+        out.writeDouble(this.m2);
+        out.writeLong(this.minScore);
+        out.writeLong(this.maxScore);
+        for(long c : this.maxTiles)
+            out.writeLong(c);
+        this.scores.writeTo(out);
+        this.lengths.writeTo(out);
+    }
+
+    /**
+     * @brief A method to read statistics written by writeTo.
+     * @param in A DataInput object representing the stream to read from.
+     * @return A GameStats object holding the stored statistics.
+     * @throws IOException if the stream cannot be read or is not a statistics stream.
+     */
+    public static GameStats readFrom(DataInput in) throws IOException {
+        if(in.readInt() != MAGIC || in.readInt() != VERSION)
+            throw new IOException("Not a game statistics stream!");
+        GameStats s = new GameStats();
+        s.games = in.readLong();
+        s.moves = in.readLong();
+        s.mean = in.readDouble();
+        s.m2 = in.readDouble();
+        s.minScore = in.readLong();
+        s.maxScore = in.readLong();
+        for(int e = 0; e < s.maxTiles.length; e++)
+            s.maxTiles[e] = in.readLong();
+        s.scores.merge(LogHistogram.readFrom(in));
+        s.lengths.merge(LogHistogram.readFrom(in));
+        return s;
+    }
+
+    /**
+     * @brief A method to describe the statistics in a readable form.
+     * @return A string with one statistic per line.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("games       %d%n", this.games));
+        sb.append(String.format("moves       %d%n", this.moves));
+        sb.append(String.format("score mean  %.1f (sd %.1f)%n", this.mean, Math.sqrt(getScoreVariance())));
+        sb.append(String.format("score range %d - %d%n", getMinScore(), this.maxScore));
+        sb.append(String.format("score p50   %.0f  p90 %.0f  p99 %.0f%n", scoreQuantile(0.5), scoreQuantile(0.9), scoreQuantile(0.99)));
+        sb.append(String.format("length p50  %.0f  p90 %.0f  p99 %.0f%n", lengthQuantile(0.5), lengthQuantile(0.9), lengthQuantile(0.99)));
+        for(int e = 0; e < this.maxTiles.length; e++) {
+            if(this.maxTiles[e] != 0)
+                sb.append(String.format("max tile %-6d %d%n", 1L << e, this.maxTiles[e]));
+        }
+        return sb.toString();
+    }
+
+}
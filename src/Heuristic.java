@@ -0,0 +1,242 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that judges packed boards with weighted features looked up
+ * from a precomputed table.
+ */
+
+package src;
+
+import java.util.Arrays;
+
+/**
+ * @brief An immutable ADT that evaluates packed boards for the search.
+ * @details A board is judged line by line: each of its 4 rows and 4 columns gets a
+ * value from a table of all 65536 possible lines, and the board is worth the sum of
+ * the eight, so an evaluation costs one transpose and eight lookups. The value of a
+ * line is a weighted sum of its features:
+ * - ALIVE: 1 for every line, so that a board still in play is worth more than a
+ *   lost one (worth 0 to the search);
+ * - EMPTY: the number of empty cells;
+ * - MERGES: the number of pairs of equal tiles that would meet if the line slid;
+ * - MONOTONICITY: how far the line is from sorted, the smaller of the rises and
+ *   the falls of the exponents raised to the fourth power along the line;
+ * - SMOOTHNESS: the sum of the exponent gaps between tiles that would meet;
+ * - CORNER: the exponent of the largest tile if it sits at an end of the line (a
+ *   tile in a corner counts for its row and its column).
+ * Penalties such as MONOTONICITY and SMOOTHNESS take negative weights. The table is
+ * filled when the heuristic is made (a few milliseconds) and shared by every
+ * thread, and takes 256 KB, so it stays in the cache during a search.
+ */
+public final class Heuristic {
+
+    public static final int ALIVE = 0;
+    public static final int EMPTY = 1;
+    public static final int MERGES = 2;
+    public static final int MONOTONICITY = 3;
+    public static final int SMOOTHNESS = 4;
+    public static final int CORNER = 5;
+
+    private static final String[] NAMES = {"alive", "empty", "merges", "monotonicity", "smoothness", "corner"};
+    private static final double[][] FEATURES = features();
+    private static final Heuristic STANDARD = new Heuristic(new double[] {250000, 400, 700, -3, -10, 5});
+
+    private final double[] weights;
+    private final float[] table = new float[1 << 16];
+
+    /**
+     * @brief A constructor which fills the line table of a set of weights.
+     * @param weights A sequence of one weight per feature, indexed by the feature
+     * constants (ALIVE to CORNER).
+     * @throws IllegalArgumentException if the number of weights is wrong or a weight
+     * is not finite.
+     */
+    public Heuristic(double[] weights) {
+        if(weights.length != NAMES.length)
+            throw new IllegalArgumentException("A heuristic needs " + NAMES.length + " weights!");
+        for(double w : weights) {
+            if(Double.isNaN(w) || Double.isInfinite(w))
+                throw new IllegalArgumentException("Heuristic weights must be finite!");
+        }
+        this.weights = weights.clone();
+        for(int line = 0; line < this.table.length; line++) {
+            double value = 0;
+            for(int f = 0; f < NAMES.length; f++)
+                value += this.weights[f] * FEATURES[f][line];
+            this.table[line] = (float) value;
+        }
+    }
+
+    /**
+     * @brief A method to get the heuristic used by default.
+     * @return A Heuristic object with weights found by the Tuner at depth 2.
+     */
+    public static Heuristic standard() {
+        return STANDARD;
+    }
+
+    /**
+     * @brief A method to read weights written by toString.
+     * @param text A string of name=weight pairs separated by commas; features left
+     * out keep their standard weight.
+     * @return A Heuristic object with the given weights.
+     * @throws IllegalArgumentException if a feature is unknown or a weight is not a number.
+     */
+    public static Heuristic parse(String text) {
+        double[] weights = STANDARD.getWeights();
+        for(String pair : text.split(",")) {
+            String[] kv = pair.split("=");
+            int f = kv.length == 2 ? Arrays.asList(NAMES).indexOf(kv[0].trim()) : -1;
+            if(f < 0)
+                throw new IllegalArgumentException("Unknown heuristic weight " + pair + "!");
+            try {
+                weights[f] = Double.parseDouble(kv[1].trim());
+            } catch(NumberFormatException e) {
+                throw new IllegalArgumentException("Bad heuristic weight " + pair + "!");
+            }
+        }
+        return new Heuristic(weights);
+    }
+
+    /**
+     * @brief A getter for the weights.
+     * @return A sequence of one weight per feature, indexed by the feature constants.
+     */
+    public double[] getWeights() {
+        return this.weights.clone();
+    }
+
+    /**
+     * @brief A method to get the name of a feature.
+     * @param feature An integer representing a feature constant.
+     * @return A string naming the feature as in parse.
+     */
+    public static String featureName(int feature) {
+        return NAMES[feature];
+    }
+
+    /**
+     * @brief A method to get the number of features.
+     * @return An integer representing the number of weights of a heuristic.
+     */
+    public static int featureCount() {
+        return NAMES.length;
+    }
+
+    /**
+     * @brief A method to evaluate a packed board.
+     * @param board A long representing the packed board.
+     * @return A double representing the sum of the values of its rows and columns.
+     */
+    public double evaluate(long board) {
+        long t = BitBoard.transpose(board);
+        float[] v = this.table;
+        return (double) v[(int) (board & 0xFFFF)] + v[(int) ((board >>> 16) & 0xFFFF)]
+            + v[(int) ((board >>> 32) & 0xFFFF)] + v[(int) (board >>> 48)]
+            + v[(int) (t & 0xFFFF)] + v[(int) ((t >>> 16) & 0xFFFF)]
+            + v[(int) ((t >>> 32) & 0xFFFF)] + v[(int) (t >>> 48)];
+    }
+
+    /**
+     * @brief A method to get the value of a single line.
+     * @param line An integer representing a packed line of four exponents, the first
+     * cell in the lowest nibble.
+     * @return A double representing the value the line adds to a board.
+     */
+    public double lineValue(int line) {
+        return this.table[line];
+    }
+
+    /**
+     * @brief A method to get the value of a feature of a single line.
+     * @param feature An integer representing a feature constant.
+     * @param line An integer representing a packed line of four exponents.
+     * @return A double representing the unweighted feature.
+     */
+    public static double feature(int feature, int line) {
+        return FEATURES[feature][line];
+    }
+
+    /**
+     * @brief A method to check if two heuristics have the same weights.
+     * @param o An object to compare to.
+     * @return A boolean representing if the object is a Heuristic with equal weights.
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Heuristic && Arrays.equals(this.weights, ((Heuristic) o).weights);
+    }
+
+    /**
+     * @brief A method to compute the hash code of the heuristic.
+     * @return An integer that is equal for equal weights.
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.weights);
+    }
+
+    /**
+     * @brief A method to describe the weights.
+     * @return A string of name=weight pairs that parse reads back.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for(int f = 0; f < NAMES.length; f++) {
+            if(f > 0)
+                sb.append(',');
+            sb.append(NAMES[f]).append('=').append(this.weights[f]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @brief A method to compute every feature of every line.
+     * @return A sequence holding, for each feature, its value on each of the 65536 lines.
+     */
+    private static double[][] features() {
+        double[][] f = new double[NAMES.length][1 << 16];
+        int[] e = new int[BitBoard.SIZE];
+        int[] tiles = new int[BitBoard.SIZE];
+        for(int line = 0; line < (1 << 16); line++) {
+            int n = 0;
+            int empty = 0;
+            int max = 0;
+            for(int k = 0; k < BitBoard.SIZE; k++) {
+                e[k] = (line >>> (4 * k)) & 0xF;
+                if(e[k] == 0)
+                    empty++;
+                else
+                    tiles[n++] = e[k];
+                max = Math.max(max, e[k]);
+            }
+            int merges = 0;
+            int gaps = 0;
+            for(int k = 1; k < n; k++) {
+                if(tiles[k] == tiles[k - 1])
+                    merges++;
+                gaps += Math.abs(tiles[k] - tiles[k - 1]);
+            }
+            double rises = 0;
+            double falls = 0;
+            for(int k = 1; k < BitBoard.SIZE; k++) {
+                double a = Math.pow(e[k - 1], 4);
+                double b = Math.pow(e[k], 4);
+                if(a > b)
+                    falls += a - b;
+                else
+                    rises += b - a;
+            }
+            f[ALIVE][line] = 1;
+            f[EMPTY][line] = empty;
+            f[MERGES][line] = merges;
+            f[MONOTONICITY][line] = Math.min(rises, falls);
+            f[SMOOTHNESS][line] = gaps;
+            f[CORNER][line] = max > 0 && (e[0] == max || e[BitBoard.SIZE - 1] == max) ? max : 0;
+        }
+        return f;
+    }
+
+}
@@ -0,0 +1,157 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that searches for move hints on a background thread.
+ */
+
+package src;
+
+import java.io.Closeable;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * @brief An ADT that computes hints off the calling thread and drops stale ones.
+ * @details A hint request snapshots the packed board and hands it to a single
+ * background thread running a timed SearchDriver, so the caller (the event
+ * dispatch thread of the GUI) never waits on the search. The result is handed
+ * back through a caller supplied executor (SwingUtilities.invokeLater for the GUI)
+ * and only if no newer request or cancel happened in the meantime. Cancelling
+ * stops the running search within about 1024 nodes. Two latencies are measured:
+ * from a request to its result being delivered, and from a cancel to the search
+ * thread actually letting go of the search.
+ */
+public class HintService implements Closeable {
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "hint-search");
+        t.setDaemon(true);
+        return t;
+    });
+    private final SearchDriver driver;
+    private final long budgetNanos;
+    private final Executor deliver;
+    private volatile Task current;
+    private volatile long hintLatency = -1;
+    private volatile long cancelLatency = -1;
+
+    /**
+     * @brief A constructor which initializes the hint service.
+     * @param budgetMillis A long representing the time budget of a single hint.
+     * @param maxDepth An integer representing the deepest search to try.
+     * @param deliver An Executor object that runs the result callbacks (for example
+     * on the GUI thread).
+     */
+    public HintService(long budgetMillis, int maxDepth, Executor deliver) {
+        this.driver = new SearchDriver(maxDepth);
+        this.budgetNanos = budgetMillis * 1000000L;
+        this.deliver = deliver;
+    }
+
+    /**
+     * @brief A method to start a hint search, cancelling any earlier one.
+     * @details It is assumed that requests and cancels come from one thread.
+     * @param board A long representing the packed board to search.
+     * @param onResult A callback receiving the result if it is still wanted.
+     */
+    public void request(long board, Consumer<SearchResult> onResult) {
+        cancel();
+        Task task = new Task(board, onResult);
+        this.current = task;
+        task.future = this.worker.submit(task);
+    }
+
+    /**
+     * @brief A method to cancel the hint in progress, if any.
+     * @details This is called whenever the board changes so that a stale hint is
+     * never shown.
+     */
+    public void cancel() {
+        Task task = this.current;
+        if(task == null)
+            return;
+        this.current = null;
+        task.cancelledAt = System.nanoTime();
+        this.driver.cancel();
+        task.future.cancel(true);
+        if(task.startedAt == 0)
+            this.cancelLatency = 0;
+    }
+
+    /**
+     * @brief A method to check if a hint search is running or queued.
+     * @return A boolean representing if a hint is pending.
+     */
+    public boolean isPending() {
+        return this.current != null;
+    }
+
+    /**
+     * @brief A getter for the latency of the last delivered hint.
+     * @return A long representing nanoseconds from request to delivery (-1 if none).
+     */
+    public long getHintLatency() {
+        return this.hintLatency;
+    }
+
+    /**
+     * @brief A getter for the latency of the last cancel.
+     * @return A long representing nanoseconds from cancel until the search thread
+     * stopped searching (-1 if nothing was cancelled yet).
+     */
+    public long getCancelLatency() {
+        return this.cancelLatency;
+    }
+
+    /**
+     * @brief A method to cancel any hint and stop the background thread.
+     */
+    @Override
+    public void close() {
+        cancel();
+        this.worker.shutdownNow();
+    }
+
+    /**
+     * @brief A single hint request.
+     */
+    private final class Task implements Runnable {
+
+        private final long board;
+        private final Consumer<SearchResult> onResult;
+        private final long requestedAt = System.nanoTime();
+        private volatile long startedAt;
+        private volatile long cancelledAt;
+        private Future<?> future;
+
+        Task(long board, Consumer<SearchResult> onResult) {
+            this.board = board;
+            this.onResult = onResult;
+        }
+
+        @Override
+        public void run() {
+            this.startedAt = System.nanoTime();
+            if(this.cancelledAt != 0)
+                return;
+            SearchResult result;
+            try {
+                result = driver.search(this.board, budgetNanos);
+            } finally {
+                if(this.cancelledAt != 0)
+                    cancelLatency = System.nanoTime() - this.cancelledAt;
+            }
+            if(this.cancelledAt != 0)
+                return;
+            deliver.execute(() -> {
+                if(current != this)
+                    return;
+                current = null;
+                hintLatency = System.nanoTime() - this.requestedAt;
+                this.onResult.accept(result);
+            });
+        }
+    }
+
+}
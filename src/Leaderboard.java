@@ -0,0 +1,374 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that keeps every finished game's score on disk and answers
+ * high score queries.
+ */
+
+package src;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * @brief An ADT representing a durable high score leaderboard.
+ * @details Every recorded score is appended to a log file and never rewritten. In
+ * memory the leaderboard keeps the best K entries and a sorted array of all scores,
+ * so rank queries are binary searches. New scores are first kept in a small sorted
+ * buffer which is merged into the large array once it fills up. A snapshot of the
+ * index is written (to a temporary file which is then renamed) every few thousand
+ * scores and when the leaderboard is closed, so start up only has to read the
+ * snapshot and replay the part of the log written after it.
+ */
+public class Leaderboard implements Closeable {
+
+    /**
+     * @brief An ADT representing a single leaderboard entry.
+     */
+    public static final class Entry {
+
+        private final long score;
+        private final int maxTile;
+        private final long time;
+
+        /**
+         * @brief A constructor which initializes an entry.
+         * @param score A long representing the final score of the game.
+         * @param maxTile An integer representing the largest tile reached.
+         * @param time A long representing when the game ended (milliseconds since the epoch).
+         */
+        public Entry(long score, int maxTile, long time) {
+            this.score = score;
+            this.maxTile = maxTile;
+            this.time = time;
+        }
+
+        /**
+         * @brief A getter for the score of the entry.
+         * @return A long representing the final score.
+         */
+        public long getScore() {
+            return this.score;
+        }
+
+        /**
+         * @brief A getter for the largest tile of the entry.
+         * @return An integer representing the largest tile reached.
+         */
+        public int getMaxTile() {
+            return this.maxTile;
+        }
+
+        /**
+         * @brief A getter for when the game ended.
+         * @return A long representing the time in milliseconds since the epoch.
+         */
+        public long getTime() {
+            return this.time;
+        }
+    }
+
+    public static final String LOG_FILE = "scores.log";
+    public static final String SNAPSHOT_FILE = "scores.snap";
+
+    private static final int RECORD_BYTES = 20;
+    private static final int SNAPSHOT_MAGIC = 0x32303438;
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final int PENDING_LIMIT = 4096;
+    private static final int SNAPSHOT_INTERVAL = 4096;
+
+    private final Path dir;
+    private final int k;
+    private final FileChannel log;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+    private final ArrayList<Entry> top = new ArrayList<Entry>();
+    private long[] sorted = new long[0];
+    private long[] pending = new long[PENDING_LIMIT];
+    private int pendingSize;
+    private long logLength;
+    private int sinceSnapshot;
+    private byte[] snapshotTail = new byte[0];
+
+    /**
+     * @brief A constructor which opens (or creates) a leaderboard in a directory.
+     * @param dir A path representing the directory holding the log and the snapshot.
+     * @param k An integer representing how many top entries are kept in memory.
+     * @throws IOException if the files cannot be read or created.
+     * @throws IllegalArgumentException if k is not positive.
+     */
+    public Leaderboard(Path dir, int k) throws IOException {
+        if(k <= 0)
+            throw new IllegalArgumentException("The leaderboard must keep at least one entry!");
+        this.dir = dir;
+        this.k = k;
+        Files.createDirectories(dir);
+        long covered = readSnapshot();
+        this.log = FileChannel.open(dir.resolve(LOG_FILE), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        replay(covered);
+    }
+
+    /**
+     * @brief A method to open the leaderboard of the current user.
+     * @details The files are kept in the .2048 folder of the user's home directory.
+     * @return A Leaderboard object keeping the top 10 entries.
+     * @throws IOException if the files cannot be read or created.
+     */
+    public static Leaderboard openDefault() throws IOException {
+        return new Leaderboard(Paths.get(System.getProperty("user.home"), ".2048"), 10);
+    }
+
+    /**
+     * @brief A method to record the result of a finished game.
+     * @details The entry is written to the end of the log before the in memory
+     * index is updated.
+     * @param score A long representing the final score of the game.
+     * @param maxTile An integer representing the largest tile reached.
+     * @return An integer representing the rank of the new score (1 is the best).
+     * @throws IOException if the entry cannot be written.
+     * @throws IllegalArgumentException if the score is negative.
+     */
+    public synchronized int record(long score, int maxTile) throws IOException {
+        if(score < 0)
+            throw new IllegalArgumentException("Score cannot be negative!");
+        Entry entry = new Entry(score, maxTile, System.currentTimeMillis());
+        this.record.clear();
+        this.record.putLong(entry.getScore()).putInt(entry.getMaxTile()).putLong(entry.getTime()).flip();
+        while(this.record.hasRemaining())
+            this.logLength += this.log.write(this.record, this.logLength);
+        this.log.force(false);
+        add(entry);
+        if(++this.sinceSnapshot >= SNAPSHOT_INTERVAL)
+            writeSnapshot();
+        return rank(score);
+    }
+
+    /**
+     * @brief A method to find the rank a score would have on the leaderboard.
+     * @details Ties share the best rank, so the rank is one more than the number of
+     * strictly greater scores.
+     * @param score A long representing the score to rank.
+     * @return An integer representing the rank of the score (1 is the best).
+     */
+    public synchronized int rank(long score) {
+        int above = (this.sorted.length - upperBound(this.sorted, this.sorted.length, score))
+            + (this.pendingSize - upperBound(this.pending, this.pendingSize, score));
+        return above + 1;
+    }
+
+    /**
+     * @brief A getter for the best entries on the leaderboard.
+     * @return A list of at most K entries ordered from the best score down.
+     */
+    public synchronized List<Entry> getTop() {
+        return new ArrayList<Entry>(this.top);
+    }
+
+    /**
+     * @brief A getter for the best score on the leaderboard.
+     * @return A long representing the best score (0 if no game was recorded).
+     */
+    public synchronized long getBest() {
+        return this.top.isEmpty() ? 0 : this.top.get(0).getScore();
+    }
+
+    /**
+     * @brief A getter for the number of recorded games.
+     * @return A long representing the number of entries.
+     */
+    public synchronized long size() {
+        return this.sorted.length + this.pendingSize;
+    }
+
+    /**
+     * @brief A method to write a snapshot and close the log.
+     * @throws IOException if the snapshot cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if(this.sinceSnapshot > 0)
+                writeSnapshot();
+        } finally {
+            this.log.close();
+        }
+    }
+
+    /**
+     * @brief A method to add an entry to the in memory index.
+     */
+    private void add(Entry entry) {
+        insertTop(entry);
+        if(this.pendingSize == PENDING_LIMIT)
+            mergePending();
+        int pos = upperBound(this.pending, this.pendingSize, entry.getScore());
+        System.arraycopy(this.pending, pos, this.pending, pos + 1, this.pendingSize - pos);
+        this.pending[pos] = entry.getScore();
+        this.pendingSize++;
+    }
+
+    /**
+     * @brief A method to place an entry among the top K if it belongs there.
+     */
+    private void insertTop(Entry entry) {
+        if(this.top.size() == this.k && this.top.get(this.k - 1).getScore() >= entry.getScore())
+            return;
+        int pos = 0;
+        while(pos < this.top.size() && this.top.get(pos).getScore() >= entry.getScore())
+            pos++;
+        this.top.add(pos, entry);
+        if(this.top.size() > this.k)
+            this.top.remove(this.k);
+    }
+
+    /**
+     * @brief A method to merge the sorted buffer of new scores into the sorted array.
+     */
+    private void mergePending() {
+        long[] merged = new long[this.sorted.length + this.pendingSize];
+        int a = 0;
+        int b = 0;
+        for(int n = 0; n < merged.length; n++) {
+            if(b == this.pendingSize || (a < this.sorted.length && this.sorted[a] <= this.pending[b]))
+                merged[n] = this.sorted[a++];
+            else
+                merged[n] = this.pending[b++];
+        }
+        this.sorted = merged;
+        this.pendingSize = 0;
+    }
+
+    /**
+     * @brief A method to find the first index holding a value greater than the key.
+     */
+    private static int upperBound(long[] arr, int length, long key) {
+        int lo = 0;
+        int hi = length;
+        while(lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if(arr[mid] <= key)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * @brief A method to load the snapshot if a valid one exists.
+     * @return A long representing how many bytes of the log the snapshot covers.
+     */
+    private long readSnapshot() throws IOException {
+        Path snap = this.dir.resolve(SNAPSHOT_FILE);
+        if(!Files.exists(snap))
+            return 0;
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snap)))) {
+            if(in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION)
+                return 0;
+            long covered = in.readLong();
+            byte[] tail = new byte[covered > 0 ? RECORD_BYTES : 0];
+            in.readFully(tail);
+            long[] scores = new long[in.readInt()];
+            for(int n = 0; n < scores.length; n++)
+                scores[n] = in.readLong();
+            int topSize = in.readInt();
+            for(int n = 0; n < topSize; n++)
+                insertTop(new Entry(in.readLong(), in.readInt(), in.readLong()));
+            this.sorted = scores;
+            this.snapshotTail = tail;
+            return covered;
+        } catch(EOFException e) {
+            this.sorted = new long[0];
+            this.top.clear();
+            return 0;
+        }
+    }
+
+    /**
+     * @brief A method to add the log entries written after the snapshot.
+     * @details A partially written record at the end of the log (from a crash) is
+     * cut off so that the next record starts at a whole record boundary. If the log
+     * no longer holds what the snapshot covers (it is shorter, or its last covered
+     * record differs because it was replaced), the snapshot is thrown away and the
+     * whole log is replayed.
+     */
+    private void replay(long covered) throws IOException {
+        long size = this.log.size();
+        long whole = size - (size % RECORD_BYTES);
+        if(covered > whole || (this.snapshotTail.length > 0
+            && !Arrays.equals(readRecord(covered - RECORD_BYTES), this.snapshotTail))) {
+            this.sorted = new long[0];
+            this.pendingSize = 0;
+            this.top.clear();
+            covered = 0;
+        }
+        if(whole != size)
+            this.log.truncate(whole);
+        ByteBuffer buf = ByteBuffer.allocate(RECORD_BYTES * 1024);
+        long pos = covered;
+        while(pos < whole) {
+            buf.clear();
+            buf.limit((int) Math.min(buf.capacity(), whole - pos));
+            while(buf.hasRemaining())
+                pos += this.log.read(buf, pos);
+            buf.flip();
+            while(buf.remaining() >= RECORD_BYTES) {
+                add(new Entry(buf.getLong(), buf.getInt(), buf.getLong()));
+                this.sinceSnapshot++;
+            }
+        }
+        this.logLength = whole;
+    }
+
+    /**
+     * @brief A method to read the record at a position of the log.
+     * @return A sequence of the bytes of the record, empty if the position is negative.
+     */
+    private byte[] readRecord(long pos) throws IOException {
+        if(pos < 0)
+            return new byte[0];
+        ByteBuffer buf = ByteBuffer.allocate(RECORD_BYTES);
+        while(buf.hasRemaining()) {
+            if(this.log.read(buf, pos + buf.position()) < 0)
+                throw new EOFException("Leaderboard log is truncated!");
+        }
+        return buf.array();
+    }
+
+    /**
+     * @brief A method to write the in memory index to the snapshot file.
+     * @details The snapshot is written to a temporary file, forced to disk and then
+     * renamed, so a crash never leaves a half written snapshot behind. It records
+     * the last log record it covers, so a replaced log is noticed on start up.
+     */
+    private void writeSnapshot() throws IOException {
+        mergePending();
+        Path tmp = this.dir.resolve(SNAPSHOT_FILE + ".tmp");
+        FileOutputStream file = new FileOutputStream(tmp.toFile());
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(this.logLength);
+            out.write(readRecord(this.logLength - RECORD_BYTES));
+            out.writeInt(this.sorted.length);
+            for(long s : this.sorted)
+                out.writeLong(s);
+            out.writeInt(this.top.size());
+            for(Entry e : this.top) {
+                out.writeLong(e.getScore());
+                out.writeInt(e.getMaxTile());
+                out.writeLong(e.getTime());
+            }
+            out.flush();
+            file.getChannel().force(true);
+        }
+        Files.move(tmp, this.dir.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+        this.sinceSnapshot = 0;
+    }
+
+}
@@ -0,0 +1,137 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A mergeable histogram with logarithmic buckets used to estimate quantiles.
+ */
+
+package src;
+
+import java.io.*;
+
+/**
+ * @brief An ADT representing a quantile sketch over non-negative values.
+ * @details Values are counted in buckets whose bounds grow by 2% each, so any
+ * quantile is estimated within 2% of the true value no matter how many values
+ * were added. The memory used is fixed and two sketches are merged by adding
+ * their bucket counts, which makes the sketch safe to combine across threads,
+ * runs or processes.
+ */
+public class LogHistogram {
+
+    private static final double GAMMA = 1.02;
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final int BUCKETS = 2048;
+
+    private final long[] counts = new long[BUCKETS];
+    private long zeros;
+    private long total;
+
+    /**
+     * @brief A method to add a value to the sketch.
+     * @param value A long representing the value to add.
+     * @throws IllegalArgumentException if the value is negative.
+     */
+    public void add(long value) {
+        if(value < 0)
+            throw new IllegalArgumentException("Value cannot be negative!");
+        if(value == 0)
+            this.zeros++;
+        else
+            this.counts[bucketOf(value)]++;
+        this.total++;
+    }
+
+    /**
+     * @brief A getter for the number of values in the sketch.
+     * @return A long representing how many values were added.
+     */
+    public long getCount() {
+        return this.total;
+    }
+
+    /**
+     * @brief A method to estimate a quantile.
+     * @param q A double representing the quantile (0.5 is the median).
+     * @return A double representing the estimated value (0 if the sketch is empty).
+     * @throws IllegalArgumentException if q is not between 0 and 1.
+     */
+    public double quantile(double q) {
+        if(q < 0 || q > 1)
+            throw new IllegalArgumentException("Quantile must be between 0 and 1!");
+        if(this.total == 0)
+            return 0;
+        long rank = (long) Math.ceil(q * this.total);
+        long seen = this.zeros;
+        if(rank <= seen)
+            return 0;
+        for(int b = 0; b < BUCKETS; b++) {
+            seen += this.counts[b];
+            if(seen >= rank)
+                return 2 * Math.pow(GAMMA, b) / (GAMMA + 1);
+        }
+        return Math.pow(GAMMA, BUCKETS - 1);
+    }
+
+    /**
+     * @brief A method to add the counts of another sketch to this one.
+     * @param other A LogHistogram object representing the sketch to merge in.
+     */
+    public void merge(LogHistogram other) {
+        for(int b = 0; b < BUCKETS; b++)
+            this.counts[b] += other.counts[b];
+        this.zeros += other.zeros;
+        this.total += other.total;
+    }
+
+    /**
+     * @brief A method to write the sketch to a stream.
+     * @details Only the non-empty buckets are written.
+     * @param out A DataOutput object representing the stream to write to.
+     * @throws IOException if the stream cannot be written.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(this.zeros);
+        int used = 0;
+        for(long c : this.counts)
+            if(c != 0)
+                used++;
+        out.writeInt(used);
+        for(int b = 0; b < BUCKETS; b++) {
+            if(this.counts[b] != 0) {
+                out.writeShort(b);
+                out.writeLong(this.counts[b]);
+            }
+        }
+    }
+
+    /**
+     * @brief A method to read a sketch written by writeTo.
+     * @param in A DataInput object representing the stream to read from.
+     * @return A LogHistogram object holding the stored counts.
+     * @throws IOException if the stream cannot be read or is malformed.
+     */
+    public static LogHistogram readFrom(DataInput in) throws IOException {
+        LogHistogram h = new LogHistogram();
+        h.zeros = in.readLong();
+        h.total = h.zeros;
+        int used = in.readInt();
+        for(int n = 0; n < used; n++) {
+            int b = in.readUnsignedShort();
+            if(b >= BUCKETS)
+                throw new IOException("Bad histogram bucket: " + b);
+            h.counts[b] = in.readLong();
+            h.total += h.counts[b];
+        }
+        return h;
+    }
+
+    /**
+     * @brief A method to find the bucket of a positive value.
+     */
+    private static int bucketOf(long value) {
+        int b = (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+        return Math.min(Math.max(b, 0), BUCKETS - 1);
+    }
+
+}
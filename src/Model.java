@@ -18,6 +18,17 @@ import java.util.*;
 public class Model implements BoardOps {
 
     private Board board;
+    private final Rules rules;
+    private Spawner spawner;
+    private Rng rng;
+    private final Random random = new Random();
+    private MoveListener[] listeners = new MoveListener[0];
+    private final MoveEvent event = new MoveEvent(16);
+    private final int[] tileAt = new int[16];
+    private final int[] absorbedBy = new int[16];
+    private final int[] endCell = new int[16];
+    private final boolean[] grew = new boolean[16];
+    private boolean tracking = false;
 
     /**
      * @brief A constructor used to initialize the board with two randomly generated tiles.
@@ -26,11 +37,28 @@ public class Model implements BoardOps {
      * 2 or 4. 
      */
     public Model() {
+        this(Rules.standard());
+    }
+
+    /**
+     * @brief A constructor used to start a game of a variant of the rules.
+     * @details The two starting tiles and the tiles spawned after every move are
+     * drawn from the spawn distribution of the rules, as many tiles spawn per move
+     * as the rules say, and the win tile of the rules is used by hasWinningTile.
+     * The board of a Model is always square and has no obstacles; other variants
+     * are played on packed boards with a RulesEngine.
+     * @param rules A Rules object describing the variant.
+     * @throws IllegalArgumentException if the rules have obstacles or a board of a
+     * different size.
+     */
+    public Model(Rules rules) {
         this.board = new Board();
-        TileT tile1 = generateTile();
-        this.board.setBoardValueAt(tile1);
-        TileT tile2 = generateTile();
-        this.board.setBoardValueAt(tile2);
+        if(rules.getRows() != this.board.getBoardSize() || rules.getCols() != this.board.getBoardSize()
+            || rules.getObstacles().length != 0)
+            throw new IllegalArgumentException("Model only plays 4x4 boards without obstacles!");
+        this.rules = rules;
+        this.spawnRandom();
+        this.spawnRandom();
     }
 
     /**
@@ -41,6 +69,35 @@ public class Model implements BoardOps {
         return this.board;
     }
 
+    /**
+     * @brief A method to follow the moves of this model.
+     * @details After every move that changes the board, each listener receives the
+     * tiles that moved and merged, the spawned tile and the score gained, so it does
+     * not have to compare whole boards.
+     * @param l A MoveListener object to add.
+     */
+    public void addMoveListener(MoveListener l) {
+        MoveListener[] more = Arrays.copyOf(this.listeners, this.listeners.length + 1);
+        more[this.listeners.length] = l;
+        this.listeners = more;
+    }
+
+    /**
+     * @brief A method to stop a listener from following the moves of this model.
+     * @param l A MoveListener object to remove.
+     */
+    public void removeMoveListener(MoveListener l) {
+        for(int k = 0; k < this.listeners.length; k++) {
+            if(this.listeners[k] == l) {
+                MoveListener[] fewer = new MoveListener[this.listeners.length - 1];
+                System.arraycopy(this.listeners, 0, fewer, 0, k);
+                System.arraycopy(this.listeners, k + 1, fewer, k, fewer.length - k);
+                this.listeners = fewer;
+                return;
+            }
+        }
+    }
+
     /**
      * @brief A method to check if there are any valid moves left in the current game.
      * @details This method will return true if it sees an empty tile (0) because if 
@@ -52,8 +109,18 @@ public class Model implements BoardOps {
      * @return A boolean representing if a valid move can be executed.
      */
     public boolean canMakeMove(TileT[][] b) {
-        for(int i = 0; i < b.length; i++) {
-            for(int j = 0; j < b.length; j++) {
+        return this.hasMove();
+    }
+
+    /**
+     * @brief A method to check if there are any valid moves left on the board.
+     * @details This does the same as canMakeMove, reading the cells of the board in
+     * place instead of a copy of its tiles.
+     * @return A boolean representing if a valid move can be executed.
+     */
+    private boolean hasMove() {
+        for(int i = 0; i < this.board.getBoardSize(); i++) {
+            for(int j = 0; j < this.board.getBoardSize(); j++) {
                 if(this.board.getBoardValueAt(i, j) == 0)
                     return true;
                 else if(this.isValueOnBoard(i - 1, j) && this.board.getBoardValueAt(i, j) == this.board.getBoardValueAt(i - 1, j))
@@ -77,27 +144,68 @@ public class Model implements BoardOps {
     public boolean does2048Exist() {
         for(int i = 0; i < this.board.getBoardSize(); i++) {
             for(int j = 0; j < this.board.getBoardSize(); j++) {
-                if(this.board.getBoard()[i][j].getValue() == 2048)
+                if(this.board.getBoardValueAt(i, j) == 2048)
                     return true;
             }
         }
         return false;
     }
 
+    /**
+     * @brief A method used to determine if the win tile of the rules exists.
+     * @details This method is used to determine if the player has won the game; with
+     * the standard rules it is the same as does2048Exist.
+     * @return A boolean if it finds a tile at least as large as the win tile.
+     */
+    public boolean hasWinningTile() {
+        for(int i = 0; i < this.board.getBoardSize(); i++) {
+            for(int j = 0; j < this.board.getBoardSize(); j++) {
+                if(this.board.getBoardValueAt(i, j) >= this.rules.getWinTile())
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @brief A setter for the spawner that places the tiles after each move.
+     * @details By default the tiles after a move are placed at random following the
+     * rules. A spawner takes over that choice (for example Spawners.adversarial, to
+     * test how well a player copes with the worst tiles); it places 2s and 4s
+     * whatever the spawn distribution of the rules. A spawner works on packed
+     * boards, so while the board holds a tile that cannot be packed (above 2^15,
+     * see BitBoard) the tiles are placed at random as if no spawner were set.
+     * @param spawner A Spawner object, or null for the random tiles of the rules.
+     */
+    public void setSpawner(Spawner spawner) {
+        this.spawner = spawner;
+        if(spawner != null && this.rng == null)
+            this.rng = new Rng(System.nanoTime());
+    }
+
+    /**
+     * @brief A getter for the rules of the game.
+     * @return A Rules object describing the variant being played.
+     */
+    public Rules getRules() {
+        return this.rules;
+    }
+
     /**
      * @brief A method used to determine if we can continue playing the game.
      * @details A game is over if we cannot possibly make any more valid moves.
      * @return A boolean if the game has ended.
      */
     public boolean isGameOver() {
-        return !this.canMakeMove(this.board.getBoard()); 
+        return !this.hasMove();
     }
 
     /**
      * @brief A method to execute a move on the board.
      * @details A move is associated with a specified shift and/or merge in the
      * given direction. When we execute a shift or a merge or both, we must
-     * generate a new random tile on the board. A move is made only if there 
+     * generate new random tiles on the board (one under the standard rules,
+     * while empty cells are left). A move is made only if there 
      * exists a valid move.
      * @param dir An enumerate direction to specify in which direction to execute
      * a move in.
@@ -105,7 +213,11 @@ public class Model implements BoardOps {
     public void makeMove(Directions dir) {
         boolean shifted = false;
         boolean merged = false;
-        if(this.canMakeMove(this.board.getBoard())) {
+        long scoreBefore = this.board.getScore();
+        this.tracking = this.listeners.length > 0;
+        if(this.tracking)
+            this.startTracking();
+        if(this.hasMove()) {
             if(dir == Directions.up) {
                 shifted = this.shiftUp();
                 merged = this.mergeUp();
@@ -120,8 +232,20 @@ public class Model implements BoardOps {
                 merged = this.mergeLeft();
             }
         }
-        if(shifted || merged)
-            this.board.setBoardValueAt(this.generateTile());
+        boolean track = this.tracking;
+        this.tracking = false;
+        if(shifted || merged) {
+            int n = this.board.getBoardSize();
+            if(track)
+                this.event.reset(dir);
+            for(int s = 0; s < this.rules.getSpawnsPerMove() && this.countEmpty() > 0; s++) {
+                int cell = this.spawner == null ? this.spawnRandom() : this.spawnFromSpawner();
+                if(track)
+                    this.event.addSpawn(cell, this.board.getBoardValueAt(cell / n, cell % n));
+            }
+            if(track)
+                this.publish(this.board.getScore() - scoreBefore);
+        }
     }
 
     /**
@@ -135,11 +259,12 @@ public class Model implements BoardOps {
     public boolean shiftLeft() {
         boolean shifted = false;
         for(int i = 0; i < this.board.getBoardSize(); i++) {
-            for(int x = 0; x < this.board.getBoard()[i].length - 1; x++) {
-                for(int j = 1; j < this.board.getBoard()[i].length; j++) {
+            for(int x = 0; x < this.board.getBoardSize() - 1; x++) {
+                for(int j = 1; j < this.board.getBoardSize(); j++) {
                     if(this.board.getBoardValueAt(i, j - 1) == 0 && this.board.getBoardValueAt(i, j) != 0) {
                         this.changeValueOnBoard(this.board.getBoardValueAt(i, j), i, j - 1);
                         this.changeValueOnBoard(0, i, j);
+                        this.moved(i, j, i, j - 1);
                         shifted = true;
                     }
                 }
@@ -159,11 +284,12 @@ public class Model implements BoardOps {
     public boolean shiftRight() {
         boolean shifted = false;
         for(int i = 0; i < this.board.getBoardSize(); i++) {
-            for(int x = 0; x < this.board.getBoard()[i].length - 1; x++) {
-                for(int j = 0; j < this.board.getBoard()[i].length - 1; j++) {
+            for(int x = 0; x < this.board.getBoardSize() - 1; x++) {
+                for(int j = 0; j < this.board.getBoardSize() - 1; j++) {
                     if(this.board.getBoardValueAt(i, j + 1) == 0 && this.board.getBoardValueAt(i, j) != 0) {
                         this.changeValueOnBoard(this.board.getBoardValueAt(i, j), i, j + 1);
                         this.changeValueOnBoard(0, i, j);
+                        this.moved(i, j, i, j + 1);
                         shifted = true;
                     }
                 }
@@ -183,11 +309,12 @@ public class Model implements BoardOps {
     public boolean shiftUp() {
         boolean shifted = false;
         for(int j = 0; j < this.board.getBoardSize(); j++) {
-            for(int x = 0; x < this.board.getBoard()[j].length - 1; x++) {
-                for(int i = this.board.getBoard()[j].length - 1; i > 0; i--) {
+            for(int x = 0; x < this.board.getBoardSize() - 1; x++) {
+                for(int i = this.board.getBoardSize() - 1; i > 0; i--) {
                     if(this.board.getBoardValueAt(i - 1, j) == 0 && this.board.getBoardValueAt(i, j) != 0) {
                         this.changeValueOnBoard(this.board.getBoardValueAt(i, j), i - 1, j);
                         this.changeValueOnBoard(0, i, j);
+                        this.moved(i, j, i - 1, j);
                         shifted = true;
                     }
                 }
@@ -207,11 +334,12 @@ public class Model implements BoardOps {
     public boolean shiftDown() {
         boolean shifted = false;
         for(int j = 0; j < this.board.getBoardSize(); j++) {
-            for(int x = 0; x < this.board.getBoard()[j].length - 1; x++) {
-                for(int i = 0; i < this.board.getBoard()[j].length - 1; i++) {
+            for(int x = 0; x < this.board.getBoardSize() - 1; x++) {
+                for(int i = 0; i < this.board.getBoardSize() - 1; i++) {
                     if(this.board.getBoardValueAt(i + 1, j) == 0 && this.board.getBoardValueAt(i, j) != 0) {
                         this.changeValueOnBoard(this.board.getBoardValueAt(i, j), i + 1, j);
                         this.changeValueOnBoard(0, i, j);
+                        this.moved(i, j, i + 1, j);
                         shifted = true;
                     }
                 }
@@ -238,6 +366,7 @@ public class Model implements BoardOps {
                     if(this.board.getBoardValueAt(i, j) == this.board.getBoardValueAt(i, j - 1)) {
                         this.changeValueOnBoard(this.board.getBoardValueAt(i, j) * 2, i, j - 1);
                         this.changeValueOnBoard(0, i, j);
+                        this.joined(i, j, i, j - 1);
                         this.board.setScore(this.board.getScore() + this.board.getBoardValueAt(i, j - 1));
                         merged = true;
                         this.shiftLeft();
@@ -266,6 +395,7 @@ public class Model implements BoardOps {
                     if(this.board.getBoardValueAt(i, j) == this.board.getBoardValueAt(i, j + 1)) {
                         this.changeValueOnBoard(this.board.getBoardValueAt(i, j) * 2, i, j + 1);
                         this.changeValueOnBoard(0, i, j);
+                        this.joined(i, j, i, j + 1);
                         this.board.setScore(this.board.getScore() + this.board.getBoardValueAt(i, j + 1));
                         merged = true;
                         this.shiftRight();
@@ -289,11 +419,12 @@ public class Model implements BoardOps {
     public boolean mergeUp() {
         boolean merged = false;
         for(int j = 0; j < this.board.getBoardSize(); j++) {
-            for(int i = 0; i < this.board.getBoard()[j].length - 1; i++) {
+            for(int i = 0; i < this.board.getBoardSize() - 1; i++) {
                 if(this.board.getBoardValueAt(i, j) != 0 && this.board.getBoardValueAt(i + 1, j) != 0) {
                     if(this.board.getBoardValueAt(i, j) == this.board.getBoardValueAt(i + 1, j)) {
                         this.changeValueOnBoard(this.board.getBoardValueAt(i, j) * 2, i + 1, j);
                         this.changeValueOnBoard(0, i, j);
+                        this.joined(i, j, i + 1, j);
                         this.board.setScore(this.board.getScore() + this.board.getBoardValueAt(i + 1, j));
                         merged = true;
                         this.shiftUp();
@@ -317,11 +448,12 @@ public class Model implements BoardOps {
     public boolean mergeDown() {
         boolean merged = false;
         for(int j = 0; j < this.board.getBoardSize(); j++) {
-            for(int i = this.board.getBoard()[j].length - 1; i > 0 ; i--) {
+            for(int i = this.board.getBoardSize() - 1; i > 0 ; i--) {
                 if(this.board.getBoardValueAt(i, j) != 0 && this.board.getBoardValueAt(i - 1, j) != 0) {
                     if(this.board.getBoardValueAt(i, j) == this.board.getBoardValueAt(i - 1, j)) {
                         this.changeValueOnBoard(this.board.getBoardValueAt(i, j) * 2, i - 1, j);
                         this.changeValueOnBoard(0, i, j);
+                        this.joined(i, j, i - 1, j);
                         this.board.setScore(this.board.getScore() + this.board.getBoardValueAt(i - 1, j));
                         merged = true;
                         this.shiftDown();
@@ -332,6 +464,75 @@ public class Model implements BoardOps {
         return merged;
     }
 
+    /**
+     * @brief A method to start following the tiles through a move.
+     * @details Each tile is named after the cell it starts in; tileAt holds the
+     * name of the tile in each cell (-1 if empty) and absorbedBy the tile each tile
+     * merged into (itself if it did not merge, -1 for a cell that started empty).
+     */
+    private void startTracking() {
+        int n = this.board.getBoardSize();
+        for(int c = 0; c < n * n; c++) {
+            this.tileAt[c] = this.board.getBoardValueAt(c / n, c % n) == 0 ? -1 : c;
+            this.absorbedBy[c] = this.tileAt[c];
+            this.grew[c] = false;
+        }
+    }
+
+    /**
+     * @brief A method to follow a tile that shifted into an empty cell.
+     */
+    private void moved(int x, int y, int toX, int toY) {
+        if(!this.tracking)
+            return;
+        int n = this.board.getBoardSize();
+        this.tileAt[toX * n + toY] = this.tileAt[x * n + y];
+        this.tileAt[x * n + y] = -1;
+    }
+
+    /**
+     * @brief A method to follow a tile that merged into its neighbour.
+     */
+    private void joined(int x, int y, int toX, int toY) {
+        if(!this.tracking)
+            return;
+        int n = this.board.getBoardSize();
+        int into = this.tileAt[toX * n + toY];
+        this.absorbedBy[this.tileAt[x * n + y]] = into;
+        this.grew[into] = true;
+        this.tileAt[x * n + y] = -1;
+    }
+
+    /**
+     * @brief A method to fill the move event and hand it to every listener.
+     * @details The event was reset and given its spawns by makeMove.
+     */
+    private void publish(long gained) {
+        int n = this.board.getBoardSize();
+        for(int c = 0; c < n * n; c++) {
+            if(this.tileAt[c] >= 0)
+                this.endCell[this.tileAt[c]] = c;
+        }
+        for(int c = 0; c < n * n; c++) {
+            int id = this.tileAt[c];
+            if(id >= 0 && this.grew[id])
+                this.event.addMerge(c, this.board.getBoardValueAt(c / n, c % n));
+        }
+        for(int c = 0; c < n * n; c++) {
+            if(this.absorbedBy[c] < 0)
+                continue;
+            int root = c;
+            while(this.absorbedBy[root] != root)
+                root = this.absorbedBy[root];
+            int to = this.endCell[root];
+            if(to != c)
+                this.event.addMove(c, to);
+        }
+        this.event.setScoreDelta(gained);
+        for(MoveListener l : this.listeners)
+            l.onMove(this.event);
+    }
+
     /**
      * @brief A method to check if a tile exists at given coordinates on the board.
      * @param x An integer representing the row in which we are looking in.
@@ -345,34 +546,37 @@ public class Model implements BoardOps {
     }
 
     /**
-     * @brief A method to get the available spots on the board for new tiles.
+     * @brief A method to count the available spots on the board for new tiles.
      * @details An empty spot is assumed to have a value of zero.
-     * @return A sequence of sequence containing coordinates of empty tile locations.
+     * @return An integer representing the number of empty tile locations.
      */
-    private ArrayList<int[]> getEmptySpots() {
-        ArrayList<int[]> zeros = new ArrayList<int[]>();
+    private int countEmpty() {
+        int empty = 0;
         for(int i = 0; i < this.board.getBoardSize(); i++) {
             for(int j = 0; j < this.board.getBoardSize(); j++) {
-                if(this.board.getBoardValueAt(i, j) == 0) {
-                    int[] coord = new int[] {i, j};
-                    zeros.add(coord);
-                }
+                if(this.board.getBoardValueAt(i, j) == 0)
+                    empty++;
             }
         }
-        return zeros;
+        return empty;
     }
 
     /**
      * @brief A method to select a random empty tile location on the board.
      * @details This method is used to help decide where a new tile should be placed
-     * after a successful move.
-     * @return A sequence of coordinates representing the random empty location
-     * on the board. 
+     * after a successful move. The empty locations are counted in place and the
+     * chosen one is found by walking the board again, so nothing is allocated.
+     * @return An integer representing the random empty location on the board, as
+     * row times the board size plus column.
      */
-    private int[] randomAvailableCoords() {
-        Random random = new Random();
-        ArrayList<int[]> emptySpots = getEmptySpots();
-        return emptySpots.get(random.nextInt(emptySpots.size()));
+    private int randomAvailableCell() {
+        int n = this.board.getBoardSize();
+        int k = this.random.nextInt(this.countEmpty());
+        for(int cell = 0; cell < n * n; cell++) {
+            if(this.board.getBoardValueAt(cell / n, cell % n) == 0 && k-- == 0)
+                return cell;
+        }
+        throw new IllegalStateException("No empty tile on the board!");
     }
 
     /**
@@ -386,29 +590,59 @@ public class Model implements BoardOps {
      */
     private void changeValueOnBoard(int val, int x, int y) {
         if(isValueOnBoard(x, y))
-            this.board.getBoard()[x][y].setPosition(new int[] {x, y});
-            TileT tile = new TileT(val, x, y);
-            this.board.setBoardValueAt(tile);
+            this.board.setBoardValueAt(x, y, val);
+    }
+
+    /**
+     * @brief A method to check if every tile on the board can be packed.
+     * @return A boolean representing if every tile is 0 or a power of two from 2 to
+     * 2^15.
+     */
+    private boolean isPackable() {
+        for(int i = 0; i < this.board.getBoardSize(); i++) {
+            for(int j = 0; j < this.board.getBoardSize(); j++) {
+                int v = this.board.getBoardValueAt(i, j);
+                if(v != 0 && (Integer.bitCount(v) != 1 || v < 2 || v > 1 << BitBoard.MAX_EXPONENT))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @brief A method used to ask the spawner for the next tile.
+     * @details The tile is placed on the board. If the board cannot be packed the
+     * tile is placed at random instead (see spawnRandom).
+     * @return An integer representing the location of the tile the spawner placed,
+     * as row times the board size plus column.
+     */
+    private int spawnFromSpawner() {
+        if(!this.isPackable())
+            return this.spawnRandom();
+        long before = BitBoard.pack(this.board);
+        long after = this.spawner.spawn(before, this.rng);
+        int shift = Long.numberOfTrailingZeros(before ^ after) & ~3;
+        int cell = shift / 4;
+        this.board.setBoardValueAt(cell / BitBoard.SIZE, cell % BitBoard.SIZE, 1 << ((after >>> shift) & 0xF));
+        return cell;
     }
 
     /**
      * @brief A method used to generate a random tile.
-     * @details This method generates a random tile (2 at the beginning and
+     * @details This method places a random tile (2 at the beginning and
      * one every time we successfully shift or merge) at a random available 
-     * location. It has a 70% probability of generating a tile with a value of
-     * 2 and a 30% probability of generating a tile with a value of 4.
-     * @return A TileT object for the newly generated tile.
-     */
-    private TileT generateTile() {
-        TileT tile;
-        int[] coords = randomAvailableCoords();
-        Random random = new Random();
-        double chance = random.nextDouble();
-        if(chance < 0.7) 
-            tile = new TileT(2, coords[0], coords[1]);
-        else
-            tile = new TileT(4, coords[0], coords[1]);
-        return tile;
+     * location. Its value is drawn from the spawn distribution of the rules; under
+     * the standard rules it has a 70% probability of generating a tile with a value
+     * of 2 and a 30% probability of generating a tile with a value of 4. The cell is
+     * written directly, so no tile object is created.
+     * @return An integer representing the location of the new tile, as row times the
+     * board size plus column.
+     */
+    private int spawnRandom() {
+        int n = this.board.getBoardSize();
+        int cell = this.randomAvailableCell();
+        this.board.setBoardValueAt(cell / n, cell % n, this.rules.spawnValue(this.random.nextDouble()));
+        return cell;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,288 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that remembers the best move of searched positions in a
+ * memory-mapped file.
+ */
+
+package src;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @brief An ADT representing a persistent best move cache (an opening book).
+ * @details The cache is an open addressing hash table with linear probing that
+ * lives in a memory-mapped file, so it survives restarts and the operating system
+ * pages in only the slots that are used. Positions are keyed by their canonical
+ * packed board (PositionHash), so symmetric positions share one slot; the move is
+ * stored for the canonical board and mapped back on lookup. Every slot is 16 bytes:
+ * the key (0 marks an empty slot, since an empty board is never searched), the
+ * value found by the search, the search depth and the move. A deeper result always
+ * replaces a shallower one. The table never grows; once it is 90% full new
+ * positions are dropped until it is compacted into a larger file.
+ */
+public class MoveCache implements Closeable {
+
+    private static final int MAGIC = 0x3230424B;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int SLOT_BYTES = 16;
+    private static final int MAX_CAPACITY = 1 << 26;
+    private static final double MAX_LOAD = 0.9;
+    private static final Directions[] DIRECTIONS = Directions.values();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer map;
+    private final int capacity;
+    private int size;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @brief A constructor which opens a cache file, creating it if needed.
+     * @param file A path representing the cache file.
+     * @param capacity An integer representing the number of slots of a new file
+     * (rounded up to a power of two); an existing file keeps its own capacity.
+     * @throws IOException if the file cannot be opened or is not a cache file.
+     * @throws IllegalArgumentException if the capacity is not positive or too large.
+     */
+    public MoveCache(Path file, int capacity) throws IOException {
+        if(capacity <= 0 || capacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
+        boolean exists = Files.exists(file) && Files.size(file) > 0;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            if(exists) {
+                MappedByteBuffer head = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+                if(head.getInt(0) != MAGIC || head.getInt(4) != VERSION)
+                    throw new IOException("Not a move cache file: " + file);
+                capacity = head.getInt(8);
+                if(Integer.bitCount(capacity) != 1 || this.channel.size() != HEADER_BYTES + (long) capacity * SLOT_BYTES)
+                    throw new IOException("Move cache file is truncated: " + file);
+            } else {
+                int slots = 1;
+                while(slots < capacity)
+                    slots <<= 1;
+                capacity = slots;
+            }
+            this.capacity = capacity;
+            this.map = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) capacity * SLOT_BYTES);
+        } catch(IOException e) {
+            this.channel.close();
+            throw e;
+        }
+        if(exists) {
+            this.size = this.map.getInt(12);
+        } else {
+            this.map.putInt(0, MAGIC);
+            this.map.putInt(4, VERSION);
+            this.map.putInt(8, capacity);
+            this.map.putInt(12, 0);
+        }
+    }
+
+    /**
+     * @brief A method to look up the best move of a position.
+     * @param packed A long representing the packed board.
+     * @param minDepth An integer representing the smallest search depth that is
+     * good enough for the caller.
+     * @return An enumerate direction representing the cached move, or null if the
+     * position is not cached at that depth.
+     */
+    public synchronized Directions lookup(long packed, int minDepth) {
+        int s = PositionHash.canonicalSymmetry(packed);
+        long key = PositionHash.transform(packed, s);
+        int slot = find(key);
+        if(slot < 0 || this.map.getLong(offset(slot)) == 0 || this.map.getShort(offset(slot) + 12) < minDepth) {
+            this.misses.increment();
+            return null;
+        }
+        this.hits.increment();
+        return PositionHash.toOriginal(s, DIRECTIONS[this.map.get(offset(slot) + 14)]);
+    }
+
+    /**
+     * @brief A method to store the result of a search.
+     * @details A result never replaces a deeper one for the same position.
+     * @param packed A long representing the packed board that was searched.
+     * @param dir An enumerate direction representing the best move found.
+     * @param depth An integer representing the depth of the search.
+     * @param value A float representing the value of the best move.
+     * @throws IllegalArgumentException if the board is empty.
+     */
+    public synchronized void store(long packed, Directions dir, int depth, float value) {
+        if(packed == 0)
+            throw new IllegalArgumentException("An empty board cannot be cached!");
+        int s = PositionHash.canonicalSymmetry(packed);
+        long key = PositionHash.transform(packed, s);
+        int slot = find(key);
+        if(slot < 0) {
+            this.dropped.increment();
+            return;
+        }
+        int off = offset(slot);
+        if(this.map.getLong(off) == 0) {
+            if(this.size >= this.capacity * MAX_LOAD) {
+                this.dropped.increment();
+                return;
+            }
+            this.size++;
+            this.map.putInt(12, this.size);
+        } else if(this.map.getShort(off + 12) > depth) {
+            return;
+        }
+        this.map.putFloat(off + 8, value);
+        this.map.putShort(off + 12, (short) depth);
+        this.map.put(off + 14, (byte) PositionHash.toTransformed(s, dir).ordinal());
+        this.map.putLong(off, key);
+    }
+
+    /**
+     * @brief A getter for the number of cached positions.
+     * @return An integer representing the number of used slots.
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * @brief A getter for the number of slots.
+     * @return An integer representing the capacity of the table.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * @brief A getter for the number of successful lookups.
+     * @return A long representing the hits since the cache was opened.
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @brief A getter for the number of failed lookups.
+     * @return A long representing the misses since the cache was opened.
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @brief A getter for the number of results that did not fit in the table.
+     * @return A long representing the dropped stores since the cache was opened.
+     */
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * @brief A getter for the share of lookups that found a move.
+     * @return A double between 0 and 1 (0 if there were no lookups).
+     */
+    public double getHitRate() {
+        long h = getHits();
+        long total = h + getMisses();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /**
+     * @brief A method to flush the table to disk and close the file.
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        this.map.force();
+        this.channel.close();
+    }
+
+    /**
+     * @brief A method to copy a cache into a new file sized for its contents.
+     * @details Entries searched shallower than minDepth are left out, and the new
+     * table is made twice as large as the number of kept entries so that probes
+     * stay short.
+     * @param src A path representing the cache to compact.
+     * @param dst A path representing the new cache file (replaced if it exists).
+     * @param minDepth An integer representing the smallest depth worth keeping.
+     * @return An integer representing the number of entries kept.
+     * @throws IOException if either file cannot be used.
+     */
+    public static int compact(Path src, Path dst, int minDepth) throws IOException {
+        try(MoveCache in = new MoveCache(src, 1)) {
+            int kept = 0;
+            for(int slot = 0; slot < in.capacity; slot++) {
+                int off = offset(slot);
+                if(in.map.getLong(off) != 0 && in.map.getShort(off + 12) >= minDepth)
+                    kept++;
+            }
+            Files.deleteIfExists(dst);
+            try(MoveCache out = new MoveCache(dst, Math.min(MAX_CAPACITY, Math.max(16, kept * 2)))) {
+                for(int slot = 0; slot < in.capacity; slot++) {
+                    int off = offset(slot);
+                    long key = in.map.getLong(off);
+                    if(key != 0 && in.map.getShort(off + 12) >= minDepth)
+                        out.store(key, DIRECTIONS[in.map.get(off + 14)], in.map.getShort(off + 12), in.map.getFloat(off + 8));
+                }
+                return out.size();
+            }
+        }
+    }
+
+    /**
+     * @brief A method to find the slot holding a key, or the empty slot where it belongs.
+     * @return An integer representing the slot, or -1 if the probe found neither.
+     */
+    private int find(long key) {
+        int mask = this.capacity - 1;
+        int slot = (int) mix(key) & mask;
+        for(int probe = 0; probe < this.capacity; probe++) {
+            long k = this.map.getLong(offset(slot));
+            if(k == key || k == 0)
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * @brief A method to find the byte offset of a slot.
+     */
+    private static int offset(int slot) {
+        return HEADER_BYTES + slot * SLOT_BYTES;
+    }
+
+    /**
+     * @brief A method to spread the bits of a key over the table.
+     */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        return key ^ (key >>> 33);
+    }
+
+    /**
+     * @brief A method to compact a cache file from the command line.
+     * @details Usage: MoveCache src dst [minDepth]. The hit rate statistics of a cache
+     * only cover the time it was open, so they are reported by the programs using it.
+     * @param args A sequence of command line arguments.
+     * @throws IOException if either file cannot be used.
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length < 2) {
+            System.err.println("usage: MoveCache src dst [minDepth]");
+            System.exit(2);
+        }
+        int minDepth = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        int kept = compact(Paths.get(args[0]), Paths.get(args[1]), minDepth);
+        System.out.println("kept " + kept + " entries");
+    }
+
+}
@@ -0,0 +1,202 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that describes the changes made by one move.
+ */
+
+package src;
+
+/**
+ * @brief An ADT holding the changes one move made to the board.
+ * @details Cells are numbered row by row (cell = row * size + column). Every tile
+ * that changed place is listed as a move from its old cell to its new cell; both
+ * tiles of a merge are listed as moving to the cell of the merged tile, which is
+ * also listed as a merge with its new value. The spawned tiles (one under the
+ * standard rules) and the score gained complete the event. A Model keeps one event
+ * and fills it again for every move, so the arrays are allocated once and
+ * publishing a move creates no garbage.
+ */
+public final class MoveEvent {
+
+    private Directions direction;
+    private final int[] moveFrom;
+    private final int[] moveTo;
+    private int moves;
+    private final int[] mergeCell;
+    private final int[] mergeValue;
+    private int merges;
+    private final int[] spawnCell;
+    private final int[] spawnValue;
+    private int spawns;
+    private long scoreDelta;
+
+    /**
+     * @brief A constructor which allocates an event for a board.
+     * @param cells An integer representing the number of cells of the board.
+     */
+    MoveEvent(int cells) {
+        this.moveFrom = new int[cells];
+        this.moveTo = new int[cells];
+        this.mergeCell = new int[cells];
+        this.mergeValue = new int[cells];
+        this.spawnCell = new int[cells];
+        this.spawnValue = new int[cells];
+    }
+
+    /**
+     * @brief A method to empty the event before it is filled for a new move.
+     */
+    void reset(Directions dir) {
+        this.direction = dir;
+        this.moves = 0;
+        this.merges = 0;
+        this.spawns = 0;
+        this.scoreDelta = 0;
+    }
+
+    /**
+     * @brief A method to add a tile that changed place.
+     */
+    void addMove(int from, int to) {
+        this.moveFrom[this.moves] = from;
+        this.moveTo[this.moves] = to;
+        this.moves++;
+    }
+
+    /**
+     * @brief A method to add a merged tile.
+     */
+    void addMerge(int cell, int value) {
+        this.mergeCell[this.merges] = cell;
+        this.mergeValue[this.merges] = value;
+        this.merges++;
+    }
+
+    /**
+     * @brief A method to add a spawned tile.
+     */
+    void addSpawn(int cell, int value) {
+        this.spawnCell[this.spawns] = cell;
+        this.spawnValue[this.spawns] = value;
+        this.spawns++;
+    }
+
+    /**
+     * @brief A setter for the score gained by the move.
+     */
+    void setScoreDelta(long delta) {
+        this.scoreDelta = delta;
+    }
+
+    /**
+     * @brief A getter for the direction of the move.
+     * @return An enumerate direction representing the move that was made.
+     */
+    public Directions getDirection() {
+        return this.direction;
+    }
+
+    /**
+     * @brief A getter for the number of tiles that changed place.
+     * @return An integer representing the number of moves in the event.
+     */
+    public int getMoveCount() {
+        return this.moves;
+    }
+
+    /**
+     * @brief A getter for the cell a tile moved from.
+     * @param k An integer representing the move, from 0 to getMoveCount() - 1.
+     * @return An integer representing the old cell of the tile.
+     */
+    public int getMoveFrom(int k) {
+        return this.moveFrom[k];
+    }
+
+    /**
+     * @brief A getter for the cell a tile moved to.
+     * @param k An integer representing the move, from 0 to getMoveCount() - 1.
+     * @return An integer representing the new cell of the tile.
+     */
+    public int getMoveTo(int k) {
+        return this.moveTo[k];
+    }
+
+    /**
+     * @brief A getter for the number of merged tiles.
+     * @return An integer representing the number of merges in the event.
+     */
+    public int getMergeCount() {
+        return this.merges;
+    }
+
+    /**
+     * @brief A getter for the cell of a merged tile.
+     * @param k An integer representing the merge, from 0 to getMergeCount() - 1.
+     * @return An integer representing the cell holding the merged tile.
+     */
+    public int getMergeCell(int k) {
+        return this.mergeCell[k];
+    }
+
+    /**
+     * @brief A getter for the value of a merged tile.
+     * @param k An integer representing the merge, from 0 to getMergeCount() - 1.
+     * @return An integer representing the value of the merged tile.
+     */
+    public int getMergeValue(int k) {
+        return this.mergeValue[k];
+    }
+
+    /**
+     * @brief A getter for the number of tiles spawned after the move.
+     * @return An integer representing the spawned tiles (one under the standard rules).
+     */
+    public int getSpawnCount() {
+        return this.spawns;
+    }
+
+    /**
+     * @brief A getter for the cell of a spawned tile.
+     * @param k An integer representing the spawn, from 0 to getSpawnCount() - 1.
+     * @return An integer representing the cell of the tile.
+     */
+    public int getSpawnCell(int k) {
+        return this.spawnCell[k];
+    }
+
+    /**
+     * @brief A getter for the value of a spawned tile.
+     * @param k An integer representing the spawn, from 0 to getSpawnCount() - 1.
+     * @return An integer representing the value of the tile.
+     */
+    public int getSpawnValue(int k) {
+        return this.spawnValue[k];
+    }
+
+    /**
+     * @brief A getter for the cell of the first spawned tile.
+     * @return An integer representing the cell, or -1 if no tile was spawned.
+     */
+    public int getSpawnCell() {
+        return this.spawns == 0 ? -1 : this.spawnCell[0];
+    }
+
+    /**
+     * @brief A getter for the value of the first spawned tile.
+     * @return An integer representing the value (0 if no tile was spawned).
+     */
+    public int getSpawnValue() {
+        return this.spawns == 0 ? 0 : this.spawnValue[0];
+    }
+
+    /**
+     * @brief A getter for the score gained by the move.
+     * @return A long representing the score delta.
+     */
+    public long getScoreDelta() {
+        return this.scoreDelta;
+    }
+
+}
@@ -0,0 +1,19 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: An interface for objects that follow the moves of a game.
+ */
+
+package src;
+
+/**
+ * @brief An interface for receiving the changes made by each move of a Model.
+ * @details The listener is called on the thread that made the move, after the
+ * move and the spawned tile have been applied to the board. The event object is
+ * reused for every move, so it is only valid during the call; a listener that
+ * keeps anything must copy it.
+ */
+public interface MoveListener {
+    public void onMove(MoveEvent e);
+}
@@ -0,0 +1,258 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that gives a board its logical operations using packed
+ * line tables.
+ */
+
+package src;
+
+/**
+ * @brief An ADT that implements the board operations of Model with table lookups.
+ * @details Each operation packs the board, applies one precomputed table entry per
+ * line and writes the result back. The tables are built from a description of what
+ * Model does rather than a copy of its loops, so the DifferentialFuzzer can check
+ * the two against each other: a shift packs the tiles of every line towards the
+ * move, and a merge visits the pairs of a line in the order Model does (from the
+ * start of the line for left, right and up, from the end for down), joining two
+ * equal neighbours and packing the line again after every join, which lets a
+ * joined tile join again further along. Model also packs the whole board after a
+ * join, so once a line has merged, every other line is packed as well. Like
+ * BitBoard, tiles are assumed to never grow beyond 2^15.
+ */
+public class PackedModel implements BoardOps {
+
+    private static final int LINES = 1 << 16;
+    private static final char[] PACK_START = new char[LINES];
+    private static final char[] PACK_END = new char[LINES];
+    private static final char[] JOIN_START = new char[LINES];
+    private static final char[] JOIN_QUIRK = new char[LINES];
+    private static final char[] JOIN_END = new char[LINES];
+    private static final int[] JOIN_START_SCORE = new int[LINES];
+    private static final int[] JOIN_QUIRK_SCORE = new int[LINES];
+    private static final int[] JOIN_END_SCORE = new int[LINES];
+
+    static {
+        int[] out = new int[1];
+        for(int line = 0; line < LINES; line++) {
+            PACK_START[line] = (char) pack(line, true);
+            PACK_END[line] = (char) pack(line, false);
+            JOIN_START[line] = (char) join(line, true, true, out);
+            JOIN_START_SCORE[line] = out[0];
+            JOIN_QUIRK[line] = (char) join(line, false, true, out);
+            JOIN_QUIRK_SCORE[line] = out[0];
+            JOIN_END[line] = (char) join(line, false, false, out);
+            JOIN_END_SCORE[line] = out[0];
+        }
+    }
+
+    private final Board board;
+    private final Rng rng = new Rng(System.nanoTime());
+
+    /**
+     * @brief A constructor which gives an existing board its operations.
+     * @details The board is changed in place by every operation.
+     * @param board A Board object representing the board to work on.
+     */
+    public PackedModel(Board board) {
+        this.board = board;
+    }
+
+    /**
+     * @brief A getter to retrieve the current state of the board.
+     * @return An object of type Board representing the current state of the board.
+     */
+    public Board getBoard() {
+        return this.board;
+    }
+
+    /**
+     * @brief A method to check if there are any valid moves left in the current game.
+     * @details Like Model, the board of this object is checked and the argument is
+     * ignored.
+     * @param b A 2D sequence of tiles on a board.
+     * @return A boolean representing if a valid move can be executed.
+     */
+    @Override
+    public boolean canMakeMove(TileT[][] b) {
+        return BitBoard.canMove(BitBoard.pack(this.board));
+    }
+
+    /**
+     * @brief A method used to determine if we can continue playing the game.
+     * @return A boolean if the game has ended.
+     */
+    @Override
+    public boolean isGameOver() {
+        return !canMakeMove(this.board.getBoard());
+    }
+
+    @Override
+    public boolean shiftLeft() {
+        return shift(false, PACK_START);
+    }
+
+    @Override
+    public boolean shiftRight() {
+        return shift(false, PACK_END);
+    }
+
+    @Override
+    public boolean shiftUp() {
+        return shift(true, PACK_START);
+    }
+
+    @Override
+    public boolean shiftDown() {
+        return shift(true, PACK_END);
+    }
+
+    @Override
+    public boolean mergeLeft() {
+        return merge(false, JOIN_START, JOIN_START_SCORE, PACK_START);
+    }
+
+    @Override
+    public boolean mergeRight() {
+        return merge(false, JOIN_QUIRK, JOIN_QUIRK_SCORE, PACK_END);
+    }
+
+    @Override
+    public boolean mergeUp() {
+        return merge(true, JOIN_START, JOIN_START_SCORE, PACK_START);
+    }
+
+    @Override
+    public boolean mergeDown() {
+        return merge(true, JOIN_END, JOIN_END_SCORE, PACK_END);
+    }
+
+    /**
+     * @brief A method to execute a move on the board.
+     * @details A shift followed by a merge in the given direction; a 2 (70%) or a 4
+     * (30%) is spawned on a random empty cell if either changed the board.
+     * @param dir An enumerate direction to specify in which direction to execute
+     * a move in.
+     */
+    @Override
+    public void makeMove(Directions dir) {
+        boolean shifted = false;
+        boolean merged = false;
+        if(canMakeMove(this.board.getBoard())) {
+            if(dir == Directions.up) {
+                shifted = shiftUp();
+                merged = mergeUp();
+            } else if(dir == Directions.down) {
+                shifted = shiftDown();
+                merged = mergeDown();
+            } else if(dir == Directions.right) {
+                shifted = shiftRight();
+                merged = mergeRight();
+            } else if(dir == Directions.left) {
+                shifted = shiftLeft();
+                merged = mergeLeft();
+            }
+        }
+        if(shifted || merged)
+            BitBoard.unpack(BitBoard.spawn(BitBoard.pack(this.board), this.rng), this.board);
+    }
+
+    /**
+     * @brief A method to pack every line of the board towards one end.
+     * @param columns A boolean representing if the lines are columns rather than rows.
+     * @param table A line table packing towards the start or the end of a line.
+     * @return A boolean representing if any tile moved.
+     */
+    private boolean shift(boolean columns, char[] table) {
+        long before = lines(columns);
+        long after = BitBoard.applyRows(before, table);
+        if(after == before)
+            return false;
+        store(after, columns);
+        return true;
+    }
+
+    /**
+     * @brief A method to join the equal neighbours of every line of the board.
+     * @details The lines are visited in the order of Model; once a line has joined
+     * a pair, all lines are packed before the next one is visited.
+     * @return A boolean representing if any pair was joined.
+     */
+    private boolean merge(boolean columns, char[] join, int[] score, char[] pack) {
+        long packed = lines(columns);
+        int gained = 0;
+        for(int k = 0; k < BitBoard.SIZE; k++) {
+            int shift = 16 * k;
+            int line = (int) ((packed >>> shift) & 0xFFFF);
+            if(score[line] == 0)
+                continue;
+            packed = (packed & ~(0xFFFFL << shift)) | (long) join[line] << shift;
+            packed = BitBoard.applyRows(packed, pack);
+            gained += score[line];
+        }
+        if(gained == 0)
+            return false;
+        store(packed, columns);
+        this.board.setScore(this.board.getScore() + gained);
+        return true;
+    }
+
+    /**
+     * @brief A method to pack the board so that each line to move is one 16-bit row.
+     */
+    private long lines(boolean columns) {
+        long packed = BitBoard.pack(this.board);
+        return columns ? BitBoard.transpose(packed) : packed;
+    }
+
+    /**
+     * @brief A method to write lines produced by lines() back into the board.
+     */
+    private void store(long packed, boolean columns) {
+        BitBoard.unpack(columns ? BitBoard.transpose(packed) : packed, this.board);
+    }
+
+    /**
+     * @brief A method to pack the tiles of a 16-bit line towards its start or end.
+     */
+    private static int pack(int line, boolean toStart) {
+        int out = 0;
+        int n = 0;
+        for(int k = 0; k < BitBoard.SIZE; k++) {
+            int from = toStart ? k : BitBoard.SIZE - 1 - k;
+            int e = (line >>> (4 * from)) & 0xF;
+            if(e == 0)
+                continue;
+            int to = toStart ? n : BitBoard.SIZE - 1 - n;
+            out |= e << (4 * to);
+            n++;
+        }
+        return out;
+    }
+
+    /**
+     * @brief A method to join the equal neighbours of a 16-bit line.
+     * @param toStart A boolean representing if the line is packed towards its start.
+     * @param fromStart A boolean representing if the pairs are visited from the start.
+     * @param score A one element array that receives the score of the joins.
+     * @return An integer representing the line after the joins.
+     */
+    private static int join(int line, boolean toStart, boolean fromStart, int[] score) {
+        score[0] = 0;
+        for(int p = 0; p < BitBoard.SIZE - 1; p++) {
+            int k = fromStart ? p : BitBoard.SIZE - 2 - p;
+            int a = (line >>> (4 * k)) & 0xF;
+            int b = (line >>> (4 * (k + 1))) & 0xF;
+            if(a == 0 || a != b)
+                continue;
+            int e = Math.min(a + 1, BitBoard.MAX_EXPONENT);
+            line &= ~(0xFF << (4 * k));
+            line |= e << (4 * (toStart ? k : k + 1));
+            score[0] += 1 << e;
+            line = pack(line, toStart);
+        }
+        return line;
+    }
+
+}
@@ -0,0 +1,277 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that runs the expectimax search on many cores.
+ */
+
+package src;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @brief An ADT that finds the best move with an expectimax spread over a ForkJoinPool.
+ * @details The root is split into one task per legal move, and each move's chance
+ * node is split again into one task per possible spawn (empty cell and tile value),
+ * which gives up to about 120 independent subtrees. Idle worker threads steal these
+ * tasks from busy ones. Below the split every subtree is searched sequentially by
+ * an Expectimax that shares one lock free transposition table with all the others,
+ * so work done on one core is reused by the rest. The values are the same as those
+ * of the sequential search up to the order in which table entries are filled.
+ */
+public class ParallelExpectimax {
+
+    private static final Directions[] DIRECTIONS = Directions.values();
+
+    private final int depth;
+    private final ForkJoinPool pool;
+    private final TranspositionTable table;
+    private final LongAdder nodes = new LongAdder();
+    private MoveCache cache;
+    private Heuristic heuristic = Heuristic.standard();
+    private double lastValue;
+
+    /**
+     * @brief A constructor which initializes a parallel search.
+     * @param depth An integer representing the number of player moves to look ahead.
+     * @param pool A ForkJoinPool object that runs the search tasks.
+     * @param tableBits An integer representing the log2 of the transposition table size.
+     * @throws IllegalArgumentException if the depth is not positive.
+     */
+    public ParallelExpectimax(int depth, ForkJoinPool pool, int tableBits) {
+        if(depth <= 0)
+            throw new IllegalArgumentException("Search depth must be positive!");
+        this.depth = depth;
+        this.pool = pool;
+        this.table = new TranspositionTable(tableBits);
+    }
+
+    /**
+     * @brief A constructor which searches on the common pool with a 2^22 entry table.
+     * @param depth An integer representing the number of player moves to look ahead.
+     */
+    public ParallelExpectimax(int depth) {
+        this(depth, ForkJoinPool.commonPool(), 22);
+    }
+
+    /**
+     * @brief A setter for the move cache consulted before searching.
+     * @param cache A MoveCache object, or null to search every position.
+     */
+    public void setCache(MoveCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * @brief A setter for the heuristic that evaluates the boards at the leaves.
+     * @details The transposition table is cleared, since its values were found with
+     * the old heuristic.
+     * @param heuristic A Heuristic object.
+     */
+    public void setHeuristic(Heuristic heuristic) {
+        this.heuristic = heuristic;
+        this.table.clear();
+    }
+
+    /**
+     * @brief A getter for the number of positions visited.
+     * @return A long representing the nodes searched since this object was created.
+     */
+    public long getNodes() {
+        return this.nodes.sum();
+    }
+
+    /**
+     * @brief A getter for the value of the last move found by a search.
+     * @return A double representing the expected value (0 after a cache hit).
+     */
+    public double getLastValue() {
+        return this.lastValue;
+    }
+
+    /**
+     * @brief A getter for the shared transposition table.
+     * @return A TranspositionTable object used by every subtree.
+     */
+    public TranspositionTable getTable() {
+        return this.table;
+    }
+
+    /**
+     * @brief A method to find the best move of a packed board.
+     * @param board A long representing the packed board.
+     * @return An enumerate direction representing the best move, or null if no move
+     * changes the board.
+     */
+    public Directions bestMove(long board) {
+        this.lastValue = 0;
+        if(this.cache != null) {
+            Directions cached = this.cache.lookup(board, this.depth);
+            if(cached != null)
+                return cached;
+        }
+        double[] values = this.pool.invoke(new RootTask(board));
+        Directions best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for(Directions d : DIRECTIONS) {
+            if(!Double.isNaN(values[d.ordinal()]) && Expectimax.beats(values[d.ordinal()], bestValue)) {
+                bestValue = values[d.ordinal()];
+                best = d;
+            }
+        }
+        if(best != null) {
+            this.lastValue = bestValue;
+            if(this.cache != null)
+                this.cache.store(board, best, this.depth, (float) bestValue);
+        }
+        return best;
+    }
+
+    /**
+     * @brief A method to find the best move of a board.
+     * @param b A Board object representing the current state of the game.
+     * @return An enumerate direction representing the best move, or null if no move
+     * changes the board.
+     */
+    public Directions bestMove(Board b) {
+        return bestMove(BitBoard.pack(b));
+    }
+
+    /**
+     * @brief The task that searches every legal move of the root in parallel.
+     * @details The result holds one value per direction (NaN for an illegal move).
+     */
+    private final class RootTask extends RecursiveTask<double[]> {
+
+        private static final long serialVersionUID = 1L;
+        private final long board;
+
+        RootTask(long board) {
+            this.board = board;
+        }
+
+        @Override
+        protected double[] compute() {
+            double[] values = new double[4];
+            List<ChanceTask> tasks = new ArrayList<ChanceTask>();
+            for(Directions d : DIRECTIONS) {
+                long after = BitBoard.move(this.board, d);
+                if(after == this.board) {
+                    values[d.ordinal()] = Double.NaN;
+                    continue;
+                }
+                ChanceTask t = new ChanceTask(after);
+                tasks.add(t);
+                t.fork();
+            }
+            int k = 0;
+            for(Directions d : DIRECTIONS) {
+                if(Double.isNaN(values[d.ordinal()]))
+                    continue;
+                values[d.ordinal()] = BitBoard.scoreGain(this.board, d) + tasks.get(k++).join();
+            }
+            return values;
+        }
+    }
+
+    /**
+     * @brief The task that averages over every spawn after a root move in parallel.
+     */
+    private final class ChanceTask extends RecursiveTask<Double> {
+
+        private static final long serialVersionUID = 1L;
+        private final long after;
+
+        ChanceTask(long after) {
+            this.after = after;
+        }
+
+        @Override
+        protected Double compute() {
+            int empty = BitBoard.countEmpty(this.after);
+            if(depth == 1 || empty == 0)
+                return heuristic.evaluate(this.after);
+            List<SpawnTask> tasks = new ArrayList<SpawnTask>();
+            double p = 1.0 / empty;
+            for(int shift = 0; shift < 64; shift += 4) {
+                if(((this.after >>> shift) & 0xF) != 0)
+                    continue;
+                tasks.add(new SpawnTask(this.after | (1L << shift), p * 0.7));
+                tasks.add(new SpawnTask(this.after | (2L << shift), p * 0.3));
+            }
+            ForkJoinTask.invokeAll(tasks);
+            double total = 0;
+            for(SpawnTask t : tasks)
+                total += t.prob * t.getRawResult();
+            return total;
+        }
+    }
+
+    /**
+     * @brief The task that searches the subtree below one spawn sequentially.
+     */
+    private final class SpawnTask extends RecursiveTask<Double> {
+
+        private static final long serialVersionUID = 1L;
+        private final long board;
+        private final double prob;
+
+        SpawnTask(long board, double prob) {
+            this.board = board;
+            this.prob = prob;
+        }
+
+        @Override
+        protected Double compute() {
+            Expectimax search = new Expectimax(depth);
+            search.setHeuristic(heuristic);
+            search.setTable(table);
+            double value = search.maxNode(this.board, depth - 1, this.prob);
+            nodes.add(search.getNodes());
+            return value;
+        }
+    }
+
+    /**
+     * @brief A method to measure the speed up of the search against the number of cores.
+     * @details Usage: ParallelExpectimax [depth] [positions]. The same random positions
+     * are searched with pools of 1, 2, 4, ... threads up to the number of cores, each
+     * with a fresh transposition table.
+     * @param args A sequence of command line arguments.
+     */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        int positions = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        Rng rng = new Rng(2048);
+        long[] boards = new long[positions];
+        for(int n = 0; n < positions; n++) {
+            long b = BitBoard.spawn(BitBoard.spawn(0, rng), rng);
+            for(int m = 0; m < 20 + rng.nextInt(80); m++) {
+                long after = BitBoard.move(b, DIRECTIONS[rng.nextInt(4)]);
+                if(after != b)
+                    b = BitBoard.spawn(after, rng);
+            }
+            boards[n] = b;
+        }
+        double base = 0;
+        int cores = Runtime.getRuntime().availableProcessors();
+        for(int threads = 1; ; threads = Math.min(threads * 2, cores)) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            ParallelExpectimax search = new ParallelExpectimax(depth, pool, 22);
+            long start = System.nanoTime();
+            for(long b : boards)
+                search.bestMove(b);
+            double secs = (System.nanoTime() - start) / 1e9;
+            pool.shutdown();
+            if(threads == 1)
+                base = secs;
+            System.out.printf("threads %3d  %7.3f s/move  %12.0f nodes/s  speedup %.2f%n", threads,
+                secs / positions, search.getNodes() / secs, base / secs);
+            if(threads == cores)
+                break;
+        }
+    }
+
+}
@@ -0,0 +1,227 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A utility class holding the built in move policies.
+ */
+
+package src;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * @brief A utility class that makes the built in policies.
+ * @details Each method returns a factory rather than a policy, since every thread
+ * playing games needs its own instance. The policies play the standard game, or a
+ * variant when they are given its RulesEngine; a policy of the standard game moves
+ * with BitBoard, which would merge the walls of a variant like any other tile.
+ */
+public final class Policies {
+
+    private static final Directions[] DIRECTIONS = Directions.values();
+
+    private Policies() {}
+
+    /**
+     * @brief A method to make a policy that plays uniformly random legal moves.
+     * @return A factory of random policies.
+     */
+    public static Supplier<Policy> random() {
+        return random(null);
+    }
+
+    /**
+     * @brief A method to make a policy that plays uniformly random legal moves of a variant.
+     * @param engine A RulesEngine object of the variant, or null for the standard game.
+     * @return A factory of random policies.
+     */
+    public static Supplier<Policy> random(RulesEngine engine) {
+        return () -> new Policy() {
+            private final Rng rng = new Rng(0);
+
+            @Override
+            public void start(long seed) {
+                this.rng.setState(seed);
+            }
+
+            @Override
+            public long getState() {
+                return this.rng.getState();
+            }
+
+            @Override
+            public void setState(long state) {
+                this.rng.setState(state);
+            }
+
+            @Override
+            public Directions choose(long board) {
+                int legal = 0;
+                for(Directions d : DIRECTIONS)
+                    if(move(engine, board, d) != board)
+                        legal++;
+                if(legal == 0)
+                    return null;
+                int pick = this.rng.nextInt(legal);
+                for(Directions d : DIRECTIONS) {
+                    if(move(engine, board, d) != board && pick-- == 0)
+                        return d;
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * @brief A method to make a policy that takes the move scoring the most right away.
+     * @details Ties go to the first move in the order up, down, left, right.
+     * @return A factory of greedy policies.
+     */
+    public static Supplier<Policy> greedy() {
+        return greedy(null);
+    }
+
+    /**
+     * @brief A method to make a greedy policy of a variant.
+     * @param engine A RulesEngine object of the variant, or null for the standard game.
+     * @return A factory of greedy policies.
+     */
+    public static Supplier<Policy> greedy(RulesEngine engine) {
+        return () -> board -> {
+            Directions best = null;
+            int bestGain = -1;
+            for(Directions d : DIRECTIONS) {
+                if(move(engine, board, d) == board)
+                    continue;
+                int gain = engine == null ? BitBoard.scoreGain(board, d) : engine.scoreGain(board, d);
+                if(gain > bestGain) {
+                    bestGain = gain;
+                    best = d;
+                }
+            }
+            return best;
+        };
+    }
+
+    /**
+     * @brief A method to make a policy that plays the best move of an expectimax search.
+     * @details In a batch, each distinct board is searched once and its move is
+     * given to every copy of it; games played side by side repeat the same opening
+     * boards often.
+     * @param depth An integer representing the number of player moves to look ahead.
+     * @return A factory of expectimax policies using the standard heuristic.
+     * @throws IllegalArgumentException if the depth is not positive.
+     */
+    public static Supplier<Policy> expectimax(int depth) {
+        return expectimax(depth, Heuristic.standard());
+    }
+
+    /**
+     * @brief A method to make an expectimax policy that evaluates with a given heuristic.
+     * @param depth An integer representing the number of player moves to look ahead.
+     * @param heuristic A Heuristic object evaluating the leaves of the search.
+     * @return A factory of expectimax policies.
+     * @throws IllegalArgumentException if the depth is not positive.
+     */
+    public static Supplier<Policy> expectimax(int depth, Heuristic heuristic) {
+        return expectimax(depth, heuristic, null);
+    }
+
+    /**
+     * @brief A method to make an expectimax policy of a variant.
+     * @param depth An integer representing the number of player moves to look ahead.
+     * @param heuristic A Heuristic object evaluating the leaves of the search.
+     * @param engine A RulesEngine object of the variant, or null for the standard game.
+     * @return A factory of expectimax policies.
+     * @throws IllegalArgumentException if the depth is not positive.
+     */
+    public static Supplier<Policy> expectimax(int depth, Heuristic heuristic, RulesEngine engine) {
+        if(depth <= 0)
+            throw new IllegalArgumentException("Search depth must be positive!");
+        return () -> new Policy() {
+            private final Expectimax search = expectimaxSearch(depth, heuristic, engine);
+            private long[] distinct = new long[0];
+            private Directions[] found = new Directions[0];
+
+            @Override
+            public Directions choose(long board) {
+                return this.search.bestMove(board);
+            }
+
+            @Override
+            public void chooseAll(long[] boards, int count, Directions[] moves) {
+                if(this.distinct.length < count) {
+                    this.distinct = new long[count];
+                    this.found = new Directions[count];
+                }
+                System.arraycopy(boards, 0, this.distinct, 0, count);
+                Arrays.sort(this.distinct, 0, count);
+                int n = 0;
+                for(int k = 0; k < count; k++) {
+                    if(n == 0 || this.distinct[n - 1] != this.distinct[k])
+                        this.distinct[n++] = this.distinct[k];
+                }
+                for(int k = 0; k < n; k++)
+                    this.found[k] = this.search.bestMove(this.distinct[k]);
+                for(int k = 0; k < count; k++)
+                    moves[k] = this.found[Arrays.binarySearch(this.distinct, 0, n, boards[k])];
+            }
+        };
+    }
+
+    /**
+     * @brief A method to make the search of an expectimax policy.
+     */
+    private static Expectimax expectimaxSearch(int depth, Heuristic heuristic, RulesEngine engine) {
+        Expectimax search = new Expectimax(depth);
+        search.setHeuristic(heuristic);
+        search.setEngine(engine);
+        return search;
+    }
+
+    /**
+     * @brief A method to move a board of the standard game or of a variant.
+     */
+    private static long move(RulesEngine engine, long board, Directions d) {
+        return engine == null ? BitBoard.move(board, d) : engine.move(board, d);
+    }
+
+    /**
+     * @brief A method to find a policy by name.
+     * @details The names are random, greedy and expectimax:depth (for example
+     * expectimax:2), optionally followed by heuristic weights written as in
+     * Heuristic.parse (for example expectimax:2:empty=500,corner=0).
+     * @param name A string naming the policy.
+     * @return A factory of the named policy.
+     * @throws IllegalArgumentException if no policy has the given name.
+     */
+    public static Supplier<Policy> parse(String name) {
+        return parse(name, null);
+    }
+
+    /**
+     * @brief A method to find a policy of a variant by name.
+     * @param name A string naming the policy as in parse.
+     * @param engine A RulesEngine object of the variant, or null for the standard game.
+     * @return A factory of the named policy.
+     * @throws IllegalArgumentException if no policy has the given name.
+     */
+    public static Supplier<Policy> parse(String name, RulesEngine engine) {
+        if(name.equals("random"))
+            return random(engine);
+        if(name.equals("greedy"))
+            return greedy(engine);
+        if(name.startsWith("expectimax:")) {
+            String[] parts = name.split(":", 3);
+            try {
+                int depth = Integer.parseInt(parts[1]);
+                return expectimax(depth, parts.length > 2 ? Heuristic.parse(parts[2]) : Heuristic.standard(), engine);
+            } catch(NumberFormatException e) {
+                throw new IllegalArgumentException("Bad search depth in " + name + "!");
+            }
+        }
+        throw new IllegalArgumentException("Unknown policy " + name + "!");
+    }
+
+}
@@ -0,0 +1,69 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: An interface for a strategy that picks the moves of a game.
+ */
+
+package src;
+
+/**
+ * @brief An interface for a strategy choosing moves on packed boards.
+ * @details Anything that picks moves for a game (a search, a fixed rule, a learned
+ * evaluator) implements this interface, and the simulator, the tournament and the
+ * autoplay mode of the GUI all play through it. A policy may keep state between
+ * calls, so it is not expected to be thread safe; every thread playing games uses
+ * its own instance. Games played side by side are decided together with chooseAll,
+ * which lets a costly policy share its setup and warm caches across the boards.
+ */
+public interface Policy {
+
+    /**
+     * @brief A method to tell the policy a new game, or a new batch of games played
+     * side by side, is starting.
+     * @details A policy that makes random choices should seed them from the given
+     * seed so that the games can be replayed.
+     * @param seed A long representing the seed of the game.
+     */
+    public default void start(long seed) {}
+
+    /**
+     * @brief A getter for the state the policy carries between moves.
+     * @details A policy whose choices depend on more than the board and the seed of
+     * start (such as the draws of a random policy) returns that state here, so that a
+     * run stopped in the middle of a game can be resumed exactly. By default a policy
+     * carries no state.
+     * @return A long representing the state of the policy.
+     */
+    public default long getState() {
+        return 0;
+    }
+
+    /**
+     * @brief A setter for the state the policy carries between moves.
+     * @param state A long representing a state returned by getState.
+     */
+    public default void setState(long state) {}
+
+    /**
+     * @brief A method to choose the next move.
+     * @param board A long representing the packed board.
+     * @return An enumerate direction representing a move that changes the board, or
+     * null if no move does.
+     */
+    public Directions choose(long board);
+
+    /**
+     * @brief A method to choose the next move of many games at once.
+     * @details The boards may belong to different games and may repeat. By default
+     * each board is passed to choose in order.
+     * @param boards A sequence of packed boards.
+     * @param count An integer representing how many boards, from the start, to decide.
+     * @param moves A sequence that receives the move chosen for each board (null if
+     * no move changes that board).
+     */
+    public default void chooseAll(long[] boards, int count, Directions[] moves) {
+        for(int k = 0; k < count; k++)
+            moves[k] = choose(boards[k]);
+    }
+}
@@ -0,0 +1,280 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A utility class for hashing positions and reducing them under symmetry.
+ */
+
+package src;
+
+/**
+ * @brief A utility class providing symmetry reduction and Zobrist hashes of boards.
+ * @details A 4x4 board has 8 symmetries (4 rotations, each optionally mirrored).
+ * Symmetry s is applied to a packed board by transposing it when bit 2 of s is
+ * set, then reversing its columns when bit 0 is set and then reversing its rows
+ * when bit 1 is set, all with a few bit operations. A symmetry can only be used
+ * by a cache if it commutes with the move rules, and the rules of Model are not
+ * mirror symmetric (a right merge pairs tiles starting from the left side), so
+ * the symmetries that really are exact are found once by checking every line of
+ * the move tables. The canonical form of a board is the smallest packed value
+ * among its exact symmetries.
+ * The Zobrist hash of a board is the XOR of one random key per occupied cell and
+ * tile value, so it can be updated in constant time whenever a cell changes.
+ */
+public final class PositionHash {
+
+    public static final int SYMMETRIES = 8;
+
+    private static final int CELLS = 16;
+    private static final int VALUES = 32;
+    private static final long[] KEYS = new long[CELLS * VALUES];
+    private static final int[][] DIRECTION_MAP = new int[SYMMETRIES][4];
+    private static final Directions[] DIRECTIONS = Directions.values();
+
+    static {
+        Rng rng = new Rng(0x2048L);
+        for(int k = 0; k < KEYS.length; k++)
+            KEYS[k] = rng.nextLong();
+        for(int s = 0; s < SYMMETRIES; s++) {
+            for(Directions d : DIRECTIONS)
+                DIRECTION_MAP[s][d.ordinal()] = mapDirection(s, d).ordinal();
+        }
+    }
+
+    /**
+     * @brief A holder for the exact symmetries, so that hashing a Board does not pay
+     * for checking the move tables.
+     */
+    private static final class Exact {
+        static final boolean[] EXACT = new boolean[SYMMETRIES];
+
+        static {
+            for(int s = 0; s < SYMMETRIES; s++)
+                EXACT[s] = checkExact(s);
+        }
+    }
+
+    private PositionHash() {}
+
+    /**
+     * @brief A method to apply a symmetry to a packed board.
+     * @param packed A long representing the packed board.
+     * @param s An integer between 0 and 7 representing the symmetry.
+     * @return A long representing the transformed board.
+     */
+    public static long transform(long packed, int s) {
+        if((s & 4) != 0)
+            packed = BitBoard.transpose(packed);
+        if((s & 1) != 0)
+            packed = flipColumns(packed);
+        if((s & 2) != 0)
+            packed = flipRows(packed);
+        return packed;
+    }
+
+    /**
+     * @brief A method to undo a symmetry on a packed board.
+     * @param packed A long representing the transformed board.
+     * @param s An integer between 0 and 7 representing the symmetry that was applied.
+     * @return A long representing the original board.
+     */
+    public static long inverse(long packed, int s) {
+        if((s & 2) != 0)
+            packed = flipRows(packed);
+        if((s & 1) != 0)
+            packed = flipColumns(packed);
+        if((s & 4) != 0)
+            packed = BitBoard.transpose(packed);
+        return packed;
+    }
+
+    /**
+     * @brief A method to check if a symmetry commutes with the move rules.
+     * @param s An integer between 0 and 7 representing the symmetry.
+     * @return A boolean representing if moving then transforming always gives the
+     * same board and score as transforming then making the mapped move.
+     */
+    public static boolean isExact(int s) {
+        return Exact.EXACT[s];
+    }
+
+    /**
+     * @brief A method to find the move on a transformed board matching a move on the
+     * original board.
+     * @param s An integer between 0 and 7 representing the symmetry.
+     * @param dir An enumerate direction representing the move on the original board.
+     * @return An enumerate direction representing the move on the transformed board.
+     */
+    public static Directions toTransformed(int s, Directions dir) {
+        return DIRECTIONS[DIRECTION_MAP[s][dir.ordinal()]];
+    }
+
+    /**
+     * @brief A method to find the move on the original board matching a move on a
+     * transformed board.
+     * @param s An integer between 0 and 7 representing the symmetry.
+     * @param dir An enumerate direction representing the move on the transformed board.
+     * @return An enumerate direction representing the move on the original board.
+     */
+    public static Directions toOriginal(int s, Directions dir) {
+        for(int d = 0; d < 4; d++) {
+            if(DIRECTION_MAP[s][d] == dir.ordinal())
+                return DIRECTIONS[d];
+        }
+        throw new IllegalStateException("Direction map is not a permutation");
+    }
+
+    /**
+     * @brief A method to find which exact symmetry gives the canonical form of a board.
+     * @param packed A long representing the packed board.
+     * @return An integer representing the symmetry to apply to reach the canonical form.
+     */
+    public static int canonicalSymmetry(long packed) {
+        int best = 0;
+        long min = packed;
+        for(int s = 1; s < SYMMETRIES; s++) {
+            if(!Exact.EXACT[s])
+                continue;
+            long t = transform(packed, s);
+            if(Long.compareUnsigned(t, min) < 0) {
+                min = t;
+                best = s;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @brief A method to reduce a packed board to its canonical form.
+     * @details Boards that are exact symmetries of each other have the same canonical
+     * form, so caches keyed by it store each position only once.
+     * @param packed A long representing the packed board.
+     * @return A long representing the canonical board.
+     */
+    public static long canonical(long packed) {
+        return transform(packed, canonicalSymmetry(packed));
+    }
+
+    /**
+     * @brief A method to reduce a board to its packed canonical form.
+     * @param b A Board object representing the board.
+     * @return A long representing the canonical packed board.
+     */
+    public static long canonical(Board b) {
+        return canonical(BitBoard.pack(b));
+    }
+
+    /**
+     * @brief A getter for the Zobrist key of a tile in a cell.
+     * @param cell An integer representing the cell (row * 4 + column).
+     * @param value An integer representing the tile value (0 for an empty cell).
+     * @return A long representing the key (0 for an empty cell).
+     */
+    public static long key(int cell, int value) {
+        if(value == 0)
+            return 0;
+        return KEYS[cell * VALUES + Integer.numberOfTrailingZeros(value)];
+    }
+
+    /**
+     * @brief A method to compute the Zobrist hash of a packed board from scratch.
+     * @param packed A long representing the packed board.
+     * @return A long representing the hash.
+     */
+    public static long hash(long packed) {
+        long h = 0;
+        for(int cell = 0; cell < CELLS; cell++) {
+            int exp = (int) (packed >>> (4 * cell)) & 0xF;
+            if(exp != 0)
+                h ^= KEYS[cell * VALUES + exp];
+        }
+        return h;
+    }
+
+    /**
+     * @brief A method to update a hash when a single cell changes.
+     * @param h A long representing the hash before the change.
+     * @param cell An integer representing the cell (row * 4 + column).
+     * @param oldValue An integer representing the old tile value (0 if empty).
+     * @param newValue An integer representing the new tile value (0 if empty).
+     * @return A long representing the hash after the change.
+     */
+    public static long update(long h, int cell, int oldValue, int newValue) {
+        return h ^ key(cell, oldValue) ^ key(cell, newValue);
+    }
+
+    /**
+     * @brief A method to update a hash after a shift, merge or spawn on a packed board.
+     * @details Only the cells that changed are visited.
+     * @param h A long representing the hash of the board before the change.
+     * @param before A long representing the packed board before the change.
+     * @param after A long representing the packed board after the change.
+     * @return A long representing the hash of the board after the change.
+     */
+    public static long rehash(long h, long before, long after) {
+        long diff = before ^ after;
+        while(diff != 0) {
+            int cell = Long.numberOfTrailingZeros(diff) >>> 2;
+            int shift = 4 * cell;
+            int oldExp = (int) (before >>> shift) & 0xF;
+            int newExp = (int) (after >>> shift) & 0xF;
+            if(oldExp != 0)
+                h ^= KEYS[cell * VALUES + oldExp];
+            if(newExp != 0)
+                h ^= KEYS[cell * VALUES + newExp];
+            diff &= ~(0xFL << shift);
+        }
+        return h;
+    }
+
+    /**
+     * @brief A method to reverse the order of the columns of a packed board.
+     */
+    static long flipColumns(long x) {
+        x = ((x & 0x0F0F0F0F0F0F0F0FL) << 4) | ((x >>> 4) & 0x0F0F0F0F0F0F0F0FL);
+        return ((x & 0x00FF00FF00FF00FFL) << 8) | ((x >>> 8) & 0x00FF00FF00FF00FFL);
+    }
+
+    /**
+     * @brief A method to reverse the order of the rows of a packed board.
+     */
+    static long flipRows(long x) {
+        x = ((x & 0x0000FFFF0000FFFFL) << 16) | ((x >>> 16) & 0x0000FFFF0000FFFFL);
+        return (x << 32) | (x >>> 32);
+    }
+
+    /**
+     * @brief A method to work out where a move goes under a symmetry.
+     */
+    private static Directions mapDirection(int s, Directions d) {
+        if((s & 4) != 0)
+            d = d == Directions.left ? Directions.up : d == Directions.up ? Directions.left
+                : d == Directions.right ? Directions.down : Directions.right;
+        if((s & 1) != 0)
+            d = d == Directions.left ? Directions.right : d == Directions.right ? Directions.left : d;
+        if((s & 2) != 0)
+            d = d == Directions.up ? Directions.down : d == Directions.down ? Directions.up : d;
+        return d;
+    }
+
+    /**
+     * @brief A method to check a symmetry against the move tables.
+     * @details Moves act on each line independently and a symmetry maps lines to
+     * lines, so it is enough to check boards holding a single line.
+     */
+    private static boolean checkExact(int s) {
+        for(Directions d : DIRECTIONS) {
+            Directions mapped = toTransformed(s, d);
+            boolean column = d == Directions.up || d == Directions.down;
+            for(int line = 1; line < 1 << 16; line++) {
+                long b = column ? BitBoard.transpose(line) : line;
+                long t = transform(b, s);
+                if(transform(BitBoard.move(b, d), s) != BitBoard.move(t, mapped)
+                    || BitBoard.scoreGain(b, d) != BitBoard.scoreGain(t, mapped))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,91 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A small random number generator whose whole state is one long.
+ */
+
+package src;
+
+/**
+ * @brief An ADT representing a fast seeded random number generator (SplitMix64).
+ * @details Unlike java.util.Random the state of this generator can be read back
+ * and restored, which makes simulations reproducible from a seed. It is not
+ * thread safe, so each thread is expected to use its own generator.
+ */
+public class Rng {
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    /**
+     * @brief A constructor which initializes the generator from a seed.
+     * @param seed A long representing the seed.
+     */
+    public Rng(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * @brief A getter for the state of the generator.
+     * @return A long representing the current state.
+     */
+    public long getState() {
+        return this.state;
+    }
+
+    /**
+     * @brief A setter for the state of the generator.
+     * @param state A long representing the state to continue from.
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    /**
+     * @brief A method to generate the next random long.
+     * @return A long with 64 random bits.
+     */
+    public long nextLong() {
+        return mix(this.state += GOLDEN);
+    }
+
+    /**
+     * @brief A method to generate a random integer in a range.
+     * @param bound An integer representing the exclusive upper bound.
+     * @return An integer between 0 (inclusive) and the bound (exclusive).
+     */
+    public int nextInt(int bound) {
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * @brief A method to generate a random double.
+     * @return A double between 0 (inclusive) and 1 (exclusive).
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * @brief A method to derive an independent seed from a base seed and an index.
+     * @details This is used to give every game of a simulation its own seed.
+     * @param seed A long representing the base seed.
+     * @param index A long representing the index of the stream.
+     * @return A long representing the derived seed.
+     */
+    public static long derive(long seed, long index) {
+        return mix(seed + mix(index + GOLDEN));
+    }
+
+    /**
+     * @brief The SplitMix64 finalizer.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
@@ -0,0 +1,305 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that describes a variant of the rules of the game.
+ */
+
+package src;
+
+import java.util.Arrays;
+
+/**
+ * @brief An immutable ADT holding the rules of a game variant.
+ * @details A variant is played on a board of up to 4 rows and 4 columns. Some
+ * cells may hold an obstacle, which never moves: tiles slide up to it and no tile
+ * can merge with it or spawn on it. After every move that changes the board, a
+ * number of tiles spawn, each on a random empty cell, with values drawn from the
+ * spawn distribution. The game is won once a tile reaches the win tile. The
+ * standard rules are a 4x4 board without obstacles where one tile spawns per
+ * move, a 2 with probability 0.7 and a 4 otherwise, and the win tile is 2048.
+ */
+public final class Rules {
+
+    /**
+     * @brief The largest tile any variant can hold (2^14).
+     */
+    public static final int MAX_TILE = 1 << 14;
+
+    private static final Rules STANDARD = new Rules(4, 4, new double[] {0.7, 0.3}, 2048, 1, new int[0][]);
+
+    private final int rows;
+    private final int cols;
+    private final double[] spawnWeights;
+    private final int winTile;
+    private final int spawnsPerMove;
+    private final int[][] obstacles;
+
+    /**
+     * @brief A constructor which initializes a variant.
+     * @param rows An integer representing the number of rows (1 to 4).
+     * @param cols An integer representing the number of columns (1 to 4).
+     * @param spawnWeights A sequence of weights, where weight k is the relative
+     * chance of spawning a tile of 2^(k + 1); they need not add up to 1.
+     * @param winTile An integer representing the tile that wins the game.
+     * @param spawnsPerMove An integer representing the tiles spawned after each move.
+     * @param obstacles A sequence of {row, column} pairs holding an obstacle.
+     * @throws IllegalArgumentException if the board has fewer than two free cells,
+     * an obstacle is off the board or repeated, a weight is negative or they are all
+     * zero, a spawned tile could exceed MAX_TILE, the win tile is not a power of two
+     * between 4 and MAX_TILE, or fewer than one tile spawns per move.
+     */
+    public Rules(int rows, int cols, double[] spawnWeights, int winTile, int spawnsPerMove, int[][] obstacles) {
+        if(rows < 1 || rows > BitBoard.SIZE || cols < 1 || cols > BitBoard.SIZE)
+            throw new IllegalArgumentException("Board must have 1 to 4 rows and columns!");
+        boolean[] blocked = new boolean[rows * cols];
+        for(int[] cell : obstacles) {
+            if(cell.length != 2 || cell[0] < 0 || cell[0] >= rows || cell[1] < 0 || cell[1] >= cols)
+                throw new IllegalArgumentException("Obstacle must be a cell on the board!");
+            if(blocked[cell[0] * cols + cell[1]])
+                throw new IllegalArgumentException("Obstacle cannot be repeated!");
+            blocked[cell[0] * cols + cell[1]] = true;
+        }
+        if(rows * cols - obstacles.length < 2)
+            throw new IllegalArgumentException("Board must have at least two free cells!");
+        if(spawnWeights.length == 0 || spawnWeights.length > 14)
+            throw new IllegalArgumentException("Spawn tiles must be between 2 and " + MAX_TILE + "!");
+        double total = 0;
+        for(double w : spawnWeights) {
+            if(!(w >= 0) || Double.isInfinite(w))
+                throw new IllegalArgumentException("Spawn weights must be finite and not negative!");
+            total += w;
+        }
+        if(total == 0)
+            throw new IllegalArgumentException("Some spawn weight must be positive!");
+        if(winTile < 4 || winTile > MAX_TILE || Integer.bitCount(winTile) != 1)
+            throw new IllegalArgumentException("Win tile must be a power of two between 4 and " + MAX_TILE + "!");
+        if(spawnsPerMove < 1)
+            throw new IllegalArgumentException("At least one tile must spawn per move!");
+        this.rows = rows;
+        this.cols = cols;
+        this.spawnWeights = spawnWeights.clone();
+        this.winTile = winTile;
+        this.spawnsPerMove = spawnsPerMove;
+        this.obstacles = new int[obstacles.length][];
+        for(int k = 0; k < obstacles.length; k++)
+            this.obstacles[k] = obstacles[k].clone();
+    }
+
+    /**
+     * @brief A method to get the rules of the standard game.
+     * @return A Rules object for a 4x4 board, 70/30 spawns of 2 and 4, one spawn per
+     * move and a win tile of 2048.
+     */
+    public static Rules standard() {
+        return STANDARD;
+    }
+
+    /**
+     * @brief A method to read a variant from the command line.
+     * @details The text is standard, or key=value pairs separated by commas: size
+     * (rows x columns, such as 3x3), win (the win tile), spawns (tiles per move),
+     * weights (the spawn weights separated by colons, such as 0.9:0.1) and walls
+     * (row.column obstacles separated by colons, such as 1.1:2.0). Keys left out
+     * keep their standard value, so size=3x3,win=512 is the standard game on a 3x3
+     * board played to 512.
+     * @param text A string describing the variant.
+     * @return A Rules object for the variant.
+     * @throws IllegalArgumentException if a key is unknown, a value is malformed or
+     * the variant is not valid.
+     */
+    public static Rules parse(String text) {
+        if(text.equals("standard"))
+            return STANDARD;
+        int rows = STANDARD.rows;
+        int cols = STANDARD.cols;
+        double[] weights = STANDARD.spawnWeights;
+        int winTile = STANDARD.winTile;
+        int spawnsPerMove = STANDARD.spawnsPerMove;
+        int[][] obstacles = STANDARD.obstacles;
+        for(String pair : text.split(",")) {
+            String[] kv = pair.split("=");
+            if(kv.length != 2)
+                throw new IllegalArgumentException("Unknown rule " + pair + "!");
+            String value = kv[1].trim();
+            try {
+                switch(kv[0].trim()) {
+                    case "size":
+                        String[] rc = value.split("x");
+                        if(rc.length != 2)
+                            throw new IllegalArgumentException("Bad board size " + value + "!");
+                        rows = Integer.parseInt(rc[0]);
+                        cols = Integer.parseInt(rc[1]);
+                        break;
+                    case "win":
+                        winTile = Integer.parseInt(value);
+                        break;
+                    case "spawns":
+                        spawnsPerMove = Integer.parseInt(value);
+                        break;
+                    case "weights":
+                        String[] ws = value.split(":");
+                        weights = new double[ws.length];
+                        for(int k = 0; k < ws.length; k++)
+                            weights[k] = Double.parseDouble(ws[k]);
+                        break;
+                    case "walls":
+                        String[] cells = value.split(":");
+                        obstacles = new int[cells.length][];
+                        for(int k = 0; k < cells.length; k++) {
+                            String[] cell = cells[k].split("\\.");
+                            if(cell.length != 2)
+                                throw new IllegalArgumentException("Bad obstacle " + cells[k] + "!");
+                            obstacles[k] = new int[] {Integer.parseInt(cell[0]), Integer.parseInt(cell[1])};
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown rule " + pair + "!");
+                }
+            } catch(NumberFormatException e) {
+                throw new IllegalArgumentException("Bad rule " + pair + "!");
+            }
+        }
+        return new Rules(rows, cols, weights, winTile, spawnsPerMove, obstacles);
+    }
+
+    /**
+     * @brief A getter for the number of rows.
+     * @return An integer representing the rows of the board.
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * @brief A getter for the number of columns.
+     * @return An integer representing the columns of the board.
+     */
+    public int getCols() {
+        return this.cols;
+    }
+
+    /**
+     * @brief A getter for the spawn distribution.
+     * @return A sequence of weights, where weight k belongs to a tile of 2^(k + 1).
+     */
+    public double[] getSpawnWeights() {
+        return this.spawnWeights.clone();
+    }
+
+    /**
+     * @brief A getter for the tile that wins the game.
+     * @return An integer representing the win tile.
+     */
+    public int getWinTile() {
+        return this.winTile;
+    }
+
+    /**
+     * @brief A getter for the number of tiles spawned after each move.
+     * @return An integer representing the spawns per move.
+     */
+    public int getSpawnsPerMove() {
+        return this.spawnsPerMove;
+    }
+
+    /**
+     * @brief A getter for the obstacles.
+     * @return A sequence of {row, column} pairs holding an obstacle.
+     */
+    public int[][] getObstacles() {
+        int[][] copy = new int[this.obstacles.length][];
+        for(int k = 0; k < copy.length; k++)
+            copy[k] = this.obstacles[k].clone();
+        return copy;
+    }
+
+    /**
+     * @brief A method to check if a cell holds an obstacle.
+     * @param row An integer representing the row of the cell.
+     * @param col An integer representing the column of the cell.
+     * @return A boolean representing if the cell holds an obstacle.
+     */
+    public boolean isObstacle(int row, int col) {
+        for(int[] cell : this.obstacles) {
+            if(cell[0] == row && cell[1] == col)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * @brief A method to draw the value of a spawned tile.
+     * @param u A double representing a uniform random number between 0 and 1.
+     * @return An integer representing the value of the tile.
+     */
+    public int spawnValue(double u) {
+        double total = 0;
+        for(double w : this.spawnWeights)
+            total += w;
+        double x = u * total;
+        int last = 0;
+        for(int k = 0; k < this.spawnWeights.length; k++) {
+            if(this.spawnWeights[k] == 0)
+                continue;
+            last = k;
+            if(x < this.spawnWeights[k])
+                return 2 << k;
+            x -= this.spawnWeights[k];
+        }
+        return 2 << last;
+    }
+
+    /**
+     * @brief A method to check if two rules describe the same variant.
+     * @param o An object to compare to.
+     * @return A boolean representing if the object is a Rules object with the same
+     * board, obstacles, spawns and win tile.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if(!(o instanceof Rules))
+            return false;
+        Rules r = (Rules) o;
+        if(this.rows != r.rows || this.cols != r.cols || this.winTile != r.winTile
+            || this.spawnsPerMove != r.spawnsPerMove || !Arrays.equals(this.spawnWeights, r.spawnWeights)
+            || this.obstacles.length != r.obstacles.length)
+            return false;
+        for(int[] cell : this.obstacles) {
+            if(!r.isObstacle(cell[0], cell[1]))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @brief A method to compute the hash code of the rules.
+     * @return An integer that is equal for equal rules.
+     */
+    @Override
+    public int hashCode() {
+        int h = ((this.rows * 31 + this.cols) * 31 + this.winTile) * 31 + this.spawnsPerMove;
+        h = h * 31 + Arrays.hashCode(this.spawnWeights);
+        for(int[] cell : this.obstacles)
+            h += cell[0] * 4 + cell[1] + 1;
+        return h;
+    }
+
+    /**
+     * @brief A method to describe the rules.
+     * @return A string with the board, the obstacles, the spawns and the win tile.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(this.rows).append('x').append(this.cols);
+        for(int[] cell : this.obstacles)
+            sb.append(" #").append(cell[0]).append(',').append(cell[1]);
+        sb.append(" spawn ").append(Arrays.toString(this.spawnWeights));
+        if(this.spawnsPerMove != 1)
+            sb.append(" x").append(this.spawnsPerMove);
+        sb.append(" win ").append(this.winTile);
+        return sb.toString();
+    }
+
+}
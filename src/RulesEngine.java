@@ -0,0 +1,337 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that plays a variant of the game on packed boards using
+ * tables built for its rules.
+ */
+
+package src;
+
+/**
+ * @brief An ADT that moves packed boards under a variant of the rules.
+ * @details Boards are packed as in BitBoard: a 4x4 grid of 4-bit exponents with the
+ * cell at row i and column j in nibble 4 * i + j. Obstacles, and the cells of the
+ * grid that are outside a smaller board, hold WALL, so they are never empty (and
+ * never spawned on) and the moves treat them as fixed barriers that split a line
+ * into segments. When the engine is built it works out which lines can occur (the
+ * walls of every row and column are fixed by the rules) and fills the move, score
+ * and can-move tables for those lines only, along with a table of the lines holding
+ * the win tile and the cumulative spawn distribution. Every move is then the same
+ * four table lookups as in BitBoard, whatever the variant. The segments are moved
+ * by the tables of BitBoard, so they follow the lines of Model. Tiles stop growing
+ * at 2^14, since the exponent 15 is the wall.
+ */
+public final class RulesEngine {
+
+    /**
+     * @brief The exponent stored in a cell that holds an obstacle or is off the board.
+     */
+    public static final int WALL = 0xF;
+
+    private static final int LINES = 1 << 16;
+    private static final int MAX_EXPONENT = 14;
+
+    private final Rules rules;
+    private final long walls;
+    private final char[] left = new char[LINES];
+    private final char[] right = new char[LINES];
+    private final char[] up = new char[LINES];
+    private final char[] down = new char[LINES];
+    private final int[] leftScore = new int[LINES];
+    private final int[] rightScore = new int[LINES];
+    private final int[] upScore = new int[LINES];
+    private final int[] downScore = new int[LINES];
+    private final boolean[] rowMoves = new boolean[LINES];
+    private final boolean[] colMoves = new boolean[LINES];
+    private final boolean[] wins = new boolean[LINES];
+    private final double[] spawnBelow;
+    private final int[] spawnExponent;
+
+    /**
+     * @brief A constructor which builds the tables of a variant.
+     * @param rules A Rules object describing the variant.
+     */
+    public RulesEngine(Rules rules) {
+        this.rules = rules;
+        long w = 0;
+        for(int i = 0; i < BitBoard.SIZE; i++) {
+            for(int j = 0; j < BitBoard.SIZE; j++) {
+                if(i >= rules.getRows() || j >= rules.getCols() || rules.isObstacle(i, j))
+                    w |= (long) WALL << (4 * (BitBoard.SIZE * i + j));
+            }
+        }
+        this.walls = w;
+        long t = BitBoard.transpose(w);
+        boolean[] rowDone = new boolean[LINES];
+        boolean[] colDone = new boolean[LINES];
+        for(int k = 0; k < BitBoard.SIZE; k++) {
+            int rowWalls = (int) ((w >>> (16 * k)) & 0xFFFF);
+            if(!rowDone[rowWalls]) {
+                rowDone[rowWalls] = true;
+                fill(rowWalls, Directions.left, this.left, this.leftScore);
+                fill(rowWalls, Directions.right, this.right, this.rightScore);
+            }
+            int colWalls = (int) ((t >>> (16 * k)) & 0xFFFF);
+            if(!colDone[colWalls]) {
+                colDone[colWalls] = true;
+                fill(colWalls, Directions.up, this.up, this.upScore);
+                fill(colWalls, Directions.down, this.down, this.downScore);
+            }
+        }
+        int winExponent = Integer.numberOfTrailingZeros(rules.getWinTile());
+        for(int line = 0; line < LINES; line++) {
+            this.rowMoves[line] = this.left[line] != line || this.right[line] != line;
+            this.colMoves[line] = this.up[line] != line || this.down[line] != line;
+            for(int k = 0; k < BitBoard.SIZE; k++) {
+                int e = (line >>> (4 * k)) & 0xF;
+                if(e >= winExponent && e != WALL)
+                    this.wins[line] = true;
+            }
+        }
+        double[] weights = rules.getSpawnWeights();
+        int n = 0;
+        for(double x : weights)
+            if(x > 0)
+                n++;
+        this.spawnBelow = new double[n];
+        this.spawnExponent = new int[n];
+        double total = 0;
+        for(double x : weights)
+            total += x;
+        double sum = 0;
+        n = 0;
+        for(int k = 0; k < weights.length; k++) {
+            if(weights[k] == 0)
+                continue;
+            sum += weights[k];
+            this.spawnBelow[n] = sum / total;
+            this.spawnExponent[n++] = k + 1;
+        }
+        this.spawnBelow[n - 1] = Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @brief A getter for the rules of this engine.
+     * @return A Rules object describing the variant.
+     */
+    public Rules getRules() {
+        return this.rules;
+    }
+
+    /**
+     * @brief A getter for the board without tiles.
+     * @return A long representing the packed board holding only the walls.
+     */
+    public long getWalls() {
+        return this.walls;
+    }
+
+    /**
+     * @brief A method to start a game.
+     * @param rng A Rng object used for the spawns.
+     * @return A long representing the packed board with the walls and two tiles.
+     */
+    public long newGame(Rng rng) {
+        return spawnOne(spawnOne(this.walls, rng), rng);
+    }
+
+    /**
+     * @brief A method to move a packed board.
+     * @param board A long representing the packed board.
+     * @param dir An enumerate direction to specify in which direction to move.
+     * @return A long representing the board after the move (unchanged if the move
+     * is not possible).
+     */
+    public long move(long board, Directions dir) {
+        switch(dir) {
+            case left:
+                return BitBoard.applyRows(board, this.left);
+            case right:
+                return BitBoard.applyRows(board, this.right);
+            case up:
+                return BitBoard.transpose(BitBoard.applyRows(BitBoard.transpose(board), this.up));
+            default:
+                return BitBoard.transpose(BitBoard.applyRows(BitBoard.transpose(board), this.down));
+        }
+    }
+
+    /**
+     * @brief A method to compute the score gained by a move.
+     * @param board A long representing the packed board.
+     * @param dir An enumerate direction to specify in which direction to move.
+     * @return An integer representing the score the move would add.
+     */
+    public int scoreGain(long board, Directions dir) {
+        switch(dir) {
+            case left:
+                return BitBoard.sumRows(board, this.leftScore);
+            case right:
+                return BitBoard.sumRows(board, this.rightScore);
+            case up:
+                return BitBoard.sumRows(BitBoard.transpose(board), this.upScore);
+            default:
+                return BitBoard.sumRows(BitBoard.transpose(board), this.downScore);
+        }
+    }
+
+    /**
+     * @brief A method to check if any move changes a packed board.
+     * @param board A long representing the packed board.
+     * @return A boolean representing if a valid move can be executed.
+     */
+    public boolean canMove(long board) {
+        long t = BitBoard.transpose(board);
+        for(int k = 0; k < 64; k += 16) {
+            if(this.rowMoves[(int) ((board >>> k) & 0xFFFF)] || this.colMoves[(int) ((t >>> k) & 0xFFFF)])
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * @brief A method to check if a packed board holds the win tile (or a greater one).
+     * @param board A long representing the packed board.
+     * @return A boolean representing if the game is won.
+     */
+    public boolean isWon(long board) {
+        return this.wins[(int) (board & 0xFFFF)] || this.wins[(int) ((board >>> 16) & 0xFFFF)]
+            || this.wins[(int) ((board >>> 32) & 0xFFFF)] || this.wins[(int) (board >>> 48)];
+    }
+
+    /**
+     * @brief A method to spawn the tiles that follow a move.
+     * @details As many tiles as the rules say spawn one after the other, each on a
+     * random empty cell, while empty cells are left. With the standard rules this
+     * draws the same tile as BitBoard.spawn.
+     * @param board A long representing the packed board after a move.
+     * @param rng A Rng object used for the spawns.
+     * @return A long representing the board with the new tiles.
+     */
+    public long spawn(long board, Rng rng) {
+        for(int s = 0; s < this.rules.getSpawnsPerMove(); s++)
+            board = spawnOne(board, rng);
+        return board;
+    }
+
+    /**
+     * @brief A method to play a game with a policy.
+     * @details The policy is asked for moves on boards of this variant, so it should
+     * be made for this engine (see Policies); a policy of the standard game would
+     * treat WALL as a tile that can move and merge.
+     * @param policy A Policy object choosing the moves.
+     * @param rng A Rng object used for the spawns.
+     * @param length A one element array that receives the number of moves played.
+     * @return A long representing the score of the game.
+     * @throws IllegalStateException if the policy chooses a move that does not
+     * change the board.
+     */
+    public long playGame(Policy policy, Rng rng, long[] length) {
+        long board = newGame(rng);
+        long score = 0;
+        while(canMove(board)) {
+            Directions dir = policy.choose(board);
+            if(dir == null)
+                break;
+            long after = move(board, dir);
+            if(after == board)
+                throw new IllegalStateException("Policy chose " + dir + ", which does not change the board!");
+            score += scoreGain(board, dir);
+            board = spawn(after, rng);
+            length[0]++;
+        }
+        return score;
+    }
+
+    /**
+     * @brief A method to make a policy that plays uniformly random legal moves of this variant.
+     * @return A Policy object seeded by start.
+     */
+    public Policy randomPolicy() {
+        return Policies.random(this).get();
+    }
+
+    /**
+     * @brief A method to spawn one tile on a random empty cell.
+     */
+    private long spawnOne(long board, Rng rng) {
+        int empty = BitBoard.countEmpty(board);
+        if(empty == 0)
+            return board;
+        int pick = rng.nextInt(empty);
+        double u = rng.nextDouble();
+        int k = 0;
+        while(u >= this.spawnBelow[k])
+            k++;
+        long exp = this.spawnExponent[k];
+        for(int shift = 0; shift < 64; shift += 4) {
+            if(((board >>> shift) & 0xF) == 0 && pick-- == 0)
+                return board | (exp << shift);
+        }
+        return board;
+    }
+
+    /**
+     * @brief A method to fill a move table for every line with the given walls.
+     * @details Every assignment of the exponents 0 to 14 to the cells that are not
+     * walls is moved segment by segment. Each segment is moved by the tables of
+     * BitBoard: it is put on an otherwise empty line, at the end the tiles move
+     * away from, so the empty cells do not change the result.
+     */
+    private static void fill(int lineWalls, Directions dir, char[] table, int[] score) {
+        int[] free = new int[BitBoard.SIZE];
+        int n = 0;
+        for(int k = 0; k < BitBoard.SIZE; k++) {
+            if(((lineWalls >>> (4 * k)) & 0xF) == 0)
+                free[n++] = k;
+        }
+        boolean vertical = dir == Directions.up || dir == Directions.down;
+        boolean toStart = dir == Directions.left || dir == Directions.up;
+        int[] digits = new int[n];
+        while(true) {
+            int line = lineWalls;
+            for(int d = 0; d < n; d++)
+                line |= digits[d] << (4 * free[d]);
+            int out = lineWalls;
+            int gained = 0;
+            int start = 0;
+            for(int k = 0; k <= BitBoard.SIZE; k++) {
+                if(k < BitBoard.SIZE && ((line >>> (4 * k)) & 0xF) != WALL)
+                    continue;
+                int len = k - start;
+                int mask = (1 << (4 * len)) - 1;
+                int at = toStart ? 0 : BitBoard.SIZE - len;
+                long seg = (long) ((line >>> (4 * start)) & mask) << (4 * at);
+                long moved;
+                if(vertical) {
+                    long t = BitBoard.transpose(seg);
+                    moved = BitBoard.transpose(BitBoard.move(t, dir));
+                    gained += BitBoard.scoreGain(t, dir);
+                } else {
+                    moved = BitBoard.move(seg, dir);
+                    gained += BitBoard.scoreGain(seg, dir);
+                }
+                int result = (int) (moved >>> (4 * at)) & mask;
+                for(int c = 0; c < len; c++) {
+                    int e = (result >>> (4 * c)) & 0xF;
+                    if(e > MAX_EXPONENT) {
+                        gained -= 1 << MAX_EXPONENT;
+                        result &= ~(0xF << (4 * c));
+                        result |= MAX_EXPONENT << (4 * c);
+                    }
+                }
+                out |= result << (4 * start);
+                start = k + 1;
+            }
+            table[line] = (char) out;
+            score[line] = gained;
+            int d = 0;
+            while(d < n && digits[d] == MAX_EXPONENT)
+                digits[d++] = 0;
+            if(d == n)
+                break;
+            digits[d]++;
+        }
+    }
+
+}
@@ -0,0 +1,128 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that deepens the search one level at a time until time runs out.
+ */
+
+package src;
+
+/**
+ * @brief An ADT that runs an anytime iterative deepening search with a hard deadline.
+ * @details The driver searches depth 1, then depth 2, and so on, keeping the move of
+ * the deepest search that finished. The searches check the clock, a cancel flag and
+ * the thread's interrupt status every 1024 nodes; when any of them says stop, the
+ * search unwinds at once with a shared exception that carries no stack trace, and
+ * the move found so far is returned. A transposition table is kept between depths
+ * (and between calls) so each new depth reuses the work of the last one. If not
+ * even depth 1 finishes, the first legal move is returned so a move is always
+ * available. A driver runs one search at a time; cancel may be called from any thread.
+ */
+public class SearchDriver {
+
+    /**
+     * @brief The exception used to unwind a search that must stop.
+     */
+    static final class Abort extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Abort() {
+            super(null, null, false, false);
+        }
+    }
+
+    static final Abort ABORT = new Abort();
+    private static final int CHECK_MASK = 1023;
+    private static final Directions[] DIRECTIONS = Directions.values();
+
+    private final int maxDepth;
+    private final TranspositionTable table = new TranspositionTable(20);
+    private volatile boolean cancelled;
+    private long deadline;
+
+    /**
+     * @brief A constructor which initializes a driver.
+     * @param maxDepth An integer representing the deepest search to try.
+     * @throws IllegalArgumentException if the depth is not positive.
+     */
+    public SearchDriver(int maxDepth) {
+        if(maxDepth <= 0)
+            throw new IllegalArgumentException("Search depth must be positive!");
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @brief A method to search a board within a time budget.
+     * @param b A Board object representing the current state of the game.
+     * @param budgetMillis A long representing the time budget in milliseconds.
+     * @return A SearchResult object holding the move and the search statistics.
+     */
+    public SearchResult search(Board b, long budgetMillis) {
+        return search(BitBoard.pack(b), budgetMillis * 1000000L);
+    }
+
+    /**
+     * @brief A method to search a packed board within a time budget.
+     * @param board A long representing the packed board.
+     * @param budgetNanos A long representing the time budget in nanoseconds.
+     * @return A SearchResult object holding the move and the search statistics.
+     */
+    public SearchResult search(long board, long budgetNanos) {
+        long start = System.nanoTime();
+        this.cancelled = false;
+        this.deadline = start + budgetNanos;
+        Directions best = firstLegal(board);
+        double bestValue = 0;
+        int reached = 0;
+        long nodes = 0;
+        for(int depth = 1; depth <= this.maxDepth && best != null; depth++) {
+            Expectimax search = new Expectimax(depth);
+            search.setTable(this.table);
+            search.setDriver(this);
+            try {
+                Directions move = search.bestMove(board);
+                best = move;
+                bestValue = search.getLastValue();
+                reached = depth;
+            } catch(Abort e) {
+                break;
+            } finally {
+                nodes += search.getNodes();
+            }
+        }
+        return new SearchResult(best, reached, nodes, System.nanoTime() - start, bestValue);
+    }
+
+    /**
+     * @brief A method to stop the search in progress.
+     * @details The search returns the best move found so far within about 1024 nodes.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * @brief A method called by the searches to see if they must stop.
+     * @param nodes A long representing the nodes visited by the calling search.
+     * @throws Abort if the deadline passed, the driver was cancelled or the thread
+     * was interrupted.
+     */
+    void check(long nodes) {
+        if((nodes & CHECK_MASK) != 0)
+            return;
+        if(this.cancelled || System.nanoTime() - this.deadline > 0 || Thread.currentThread().isInterrupted())
+            throw ABORT;
+    }
+
+    /**
+     * @brief A method to find the first move that changes the board.
+     */
+    private static Directions firstLegal(long board) {
+        for(Directions d : DIRECTIONS) {
+            if(BitBoard.move(board, d) != board)
+                return d;
+        }
+        return null;
+    }
+
+}
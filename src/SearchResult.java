@@ -0,0 +1,95 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that holds the outcome of a timed search.
+ */
+
+package src;
+
+/**
+ * @brief An ADT representing the move chosen by a search and how the search went.
+ */
+public class SearchResult {
+
+    private final Directions move;
+    private final int depth;
+    private final long nodes;
+    private final long nanos;
+    private final double value;
+
+    /**
+     * @brief A constructor which initializes a search result.
+     * @param move An enumerate direction representing the chosen move (null if none).
+     * @param depth An integer representing the deepest search that finished.
+     * @param nodes A long representing the number of positions visited.
+     * @param nanos A long representing how long the search took in nanoseconds.
+     * @param value A double representing the value of the move at the finished depth.
+     */
+    public SearchResult(Directions move, int depth, long nodes, long nanos, double value) {
+        this.move = move;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.nanos = nanos;
+        this.value = value;
+    }
+
+    /**
+     * @brief A getter for the chosen move.
+     * @return An enumerate direction representing the move, or null if no move is legal.
+     */
+    public Directions getMove() {
+        return this.move;
+    }
+
+    /**
+     * @brief A getter for the deepest search that finished.
+     * @return An integer representing the depth (0 if not even depth 1 finished).
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * @brief A getter for the number of positions visited.
+     * @return A long representing the nodes over every depth tried.
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * @brief A getter for the time the search took.
+     * @return A long representing the time in nanoseconds.
+     */
+    public long getNanos() {
+        return this.nanos;
+    }
+
+    /**
+     * @brief A getter for the value of the chosen move.
+     * @return A double representing the expected value at the finished depth.
+     */
+    public double getValue() {
+        return this.value;
+    }
+
+    /**
+     * @brief A method to compute the search speed.
+     * @return A double representing the nodes visited per second.
+     */
+    public double getNodesPerSecond() {
+        return this.nanos == 0 ? 0 : this.nodes * 1e9 / this.nanos;
+    }
+
+    /**
+     * @brief A method to describe the result in a readable form.
+     * @return A string with the move and the search statistics.
+     */
+    @Override
+    public String toString() {
+        return String.format("%s (depth %d, %d nodes, %.1f ms, %.0f nodes/s)", this.move, this.depth,
+            this.nodes, this.nanos / 1e6, getNodesPerSecond());
+    }
+
+}
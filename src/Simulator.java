@@ -0,0 +1,472 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that plays many games without a GUI and summarizes the results.
+ */
+
+package src;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * @brief An ADT that runs headless games in parallel.
+ * @details Games are played on packed boards (BitBoard) so no Swing or Model objects
+ * are involved. The moves are chosen by a Policy (uniformly random legal moves by
+ * default). Games are played side by side in batches of BATCH, and at every step
+ * the boards of the unfinished games of a batch are decided with a single call to
+ * Policy.chooseAll. The batches are split evenly between worker threads; each
+ * worker has its own policy instance and fills its own GameStats, and the main
+ * thread merges them once every worker has finished, so no locks are taken while
+ * games are played. Every game draws its spawns from its own seed derived from the
+ * run seed, and every batch seeds its policy from the run seed as well, so a run
+ * is reproducible no matter how many threads are used. A long run can be saved
+ * to a checkpoint as it goes and resumed from it after a crash. A simulator given
+ * a RulesEngine plays that variant: its games start, move and spawn through the
+ * engine, and the policy should be made for the same engine.
+ */
+public class Simulator {
+
+    static final int BATCH = 64;
+
+    private static final long CHECKPOINT_MILLIS = 60000;
+
+    private final int threads;
+    private final Supplier<Policy> policy;
+    private final Spawner spawner;
+    private final RulesEngine engine;
+
+    /**
+     * @brief A constructor which initializes a simulator of random play.
+     * @param threads An integer representing the number of worker threads.
+     * @throws IllegalArgumentException if threads is not positive.
+     */
+    public Simulator(int threads) {
+        this(threads, Policies.random());
+    }
+
+    /**
+     * @brief A constructor which initializes a simulator of a policy.
+     * @param threads An integer representing the number of worker threads.
+     * @param policy A factory giving each worker thread its own instance of the policy.
+     * @throws IllegalArgumentException if threads is not positive.
+     */
+    public Simulator(int threads, Supplier<Policy> policy) {
+        this(threads, policy, Spawners.random());
+    }
+
+    /**
+     * @brief A constructor which initializes a simulator of a policy against a spawner.
+     * @param threads An integer representing the number of worker threads.
+     * @param policy A factory giving each worker thread its own instance of the policy.
+     * @param spawner A Spawner placing the tile after every move; it is shared by the
+     * worker threads. The two starting tiles are always random.
+     * @throws IllegalArgumentException if threads is not positive.
+     */
+    public Simulator(int threads, Supplier<Policy> policy, Spawner spawner) {
+        this(threads, policy, spawner, null);
+    }
+
+    /**
+     * @brief A constructor which initializes a simulator of a policy playing a variant.
+     * @details The tiles spawned after every move follow the rules of the variant.
+     * @param threads An integer representing the number of worker threads.
+     * @param policy A factory giving each worker thread its own instance of the policy,
+     * made for the same engine (see Policies).
+     * @param engine A RulesEngine object of the variant; it is shared by the worker
+     * threads.
+     * @throws IllegalArgumentException if threads is not positive.
+     */
+    public Simulator(int threads, Supplier<Policy> policy, RulesEngine engine) {
+        this(threads, policy, null, engine);
+    }
+
+    private Simulator(int threads, Supplier<Policy> policy, Spawner spawner, RulesEngine engine) {
+        if(threads <= 0)
+            throw new IllegalArgumentException("At least one thread is needed!");
+        this.threads = threads;
+        this.policy = policy;
+        this.spawner = spawner;
+        this.engine = engine;
+    }
+
+    /**
+     * @brief A method to play a number of games and summarize them.
+     * @param games A long representing the number of games to play.
+     * @param seed A long representing the seed of the run.
+     * @return A GameStats object summarizing every game.
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     */
+    public GameStats run(long games, long seed) throws InterruptedException {
+        return play(split(games, seed), null);
+    }
+
+    /**
+     * @brief A method to play a number of games while saving the run to a checkpoint.
+     * @details Every interval each worker hands over a copy of its games in flight
+     * (boards, scores, generator states and the state of its policy) and of the
+     * statistics of its finished games, and a background thread writes them to the
+     * checkpoint file; see Checkpoint. The workers are split as in run, so the
+     * results are the same as those of run with the same games and seed.
+     * @param games A long representing the number of games to play.
+     * @param seed A long representing the seed of the run.
+     * @param checkpoint A Path representing the file the run is saved to.
+     * @param intervalMillis A long representing the milliseconds between saves.
+     * @return A GameStats object summarizing every game.
+     * @throws IOException if the checkpoint cannot be written.
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     */
+    public GameStats run(long games, long seed, Path checkpoint, long intervalMillis) throws IOException, InterruptedException {
+        Range[] ranges = split(games, seed);
+        return checkpointed(ranges, games, seed, checkpoint, intervalMillis);
+    }
+
+    /**
+     * @brief A method to continue a run saved to a checkpoint.
+     * @details The run continues from the last snapshot of every worker, and keeps
+     * saving to the same file. The simulator must use the same policy, spawner and
+     * variant as the saved run (the number of threads may differ); the results are then the
+     * same as if the run had never stopped. A finished run is saved as well, and
+     * resuming it just returns its statistics.
+     * @param checkpoint A Path representing the file the run was saved to.
+     * @param intervalMillis A long representing the milliseconds between saves.
+     * @return A GameStats object summarizing every game of the run.
+     * @throws IOException if the checkpoint cannot be read or written.
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     */
+    public GameStats resume(Path checkpoint, long intervalMillis) throws IOException, InterruptedException {
+        byte[][] blocks = Checkpoint.read(checkpoint);
+        DataInputStream header = new DataInputStream(new ByteArrayInputStream(blocks[0]));
+        long games = header.readLong();
+        long seed = header.readLong();
+        Range[] ranges = new Range[blocks.length - 1];
+        for(int t = 0; t < ranges.length; t++)
+            ranges[t] = Range.readFrom(new DataInputStream(new ByteArrayInputStream(blocks[t + 1])), seed);
+        return checkpointed(ranges, games, seed, checkpoint, intervalMillis);
+    }
+
+    /**
+     * @brief A method to read the number of games and the seed of a saved run.
+     * @param checkpoint A Path representing the file the run was saved to.
+     * @return A sequence holding the number of games and the seed.
+     * @throws IOException if the checkpoint cannot be read.
+     */
+    public static long[] readRun(Path checkpoint) throws IOException {
+        DataInputStream header = new DataInputStream(new ByteArrayInputStream(Checkpoint.read(checkpoint)[0]));
+        return new long[] {header.readLong(), header.readLong()};
+    }
+
+    /**
+     * @brief A method to split the games of a run between the worker threads.
+     * @param games A long representing the number of games to play.
+     * @param seed A long representing the seed of the run.
+     * @return A sequence of ranges, one per thread, starting on a batch boundary.
+     */
+    private Range[] split(long games, long seed) {
+        long batches = (games + BATCH - 1) / BATCH;
+        Range[] ranges = new Range[this.threads];
+        for(int t = 0; t < this.threads; t++) {
+            long from = Math.min(games, batches * t / this.threads * BATCH);
+            long to = Math.min(games, batches * (t + 1) / this.threads * BATCH);
+            ranges[t] = new Range(from, to, seed);
+        }
+        return ranges;
+    }
+
+    /**
+     * @brief A method to play ranges of games while saving them to a checkpoint.
+     * @param ranges A sequence of ranges to play.
+     * @param games A long representing the number of games of the run.
+     * @param seed A long representing the seed of the run.
+     * @param file A Path representing the file the run is saved to.
+     * @param intervalMillis A long representing the milliseconds between saves.
+     * @return A GameStats object summarizing every game.
+     * @throws IOException if the checkpoint cannot be written.
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     */
+    private GameStats checkpointed(Range[] ranges, long games, long seed, Path file, long intervalMillis)
+        throws IOException, InterruptedException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(bytes);
+        header.writeLong(games);
+        header.writeLong(seed);
+        byte[][] parts = new byte[ranges.length][];
+        for(int t = 0; t < ranges.length; t++)
+            parts[t] = ranges[t].toBytes();
+        Checkpoint checkpoint = new Checkpoint(file, bytes.toByteArray(), parts, intervalMillis);
+        try {
+            return play(ranges, checkpoint);
+        } finally {
+            checkpoint.close();
+        }
+    }
+
+    /**
+     * @brief A method to play ranges of games on the worker threads.
+     * @param ranges A sequence of ranges to play.
+     * @param checkpoint A Checkpoint receiving snapshots of the ranges, or null.
+     * @return A GameStats object summarizing every game.
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     */
+    private GameStats play(Range[] ranges, Checkpoint checkpoint) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+        try {
+            List<Future<GameStats>> parts = new ArrayList<Future<GameStats>>();
+            for(int t = 0; t < ranges.length; t++) {
+                Range range = ranges[t];
+                int part = t;
+                parts.add(pool.submit(() -> range.play(this.policy.get(), this.spawner, this.engine, checkpoint, part)));
+            }
+            GameStats total = new GameStats();
+            for(Future<GameStats> part : parts)
+                total.merge(part.get());
+            return total;
+        } catch(ExecutionException e) {
+            throw new IllegalStateException("A simulation worker failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * @brief A method to play a range of games on the calling thread.
+     * @details The range is played in batches of BATCH games starting at from; to
+     * give the same games on any number of threads, from should be a multiple of BATCH.
+     * @param policy A Policy object choosing the moves.
+     * @param spawner A Spawner placing the tile after every move.
+     * @param from A long representing the index of the first game.
+     * @param to A long representing the index after the last game.
+     * @param seed A long representing the seed of the run.
+     * @return A GameStats object summarizing the games in the range.
+     * @throws IllegalStateException if the policy chooses a move that does not change
+     * the board.
+     */
+    public static GameStats playRange(Policy policy, Spawner spawner, long from, long to, long seed) {
+        try {
+            return new Range(from, to, seed).play(policy, spawner, null, null, 0);
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @brief A class holding the games of one worker, finished and in flight.
+     * @details The batch in flight is kept in arrays indexed by the position of the
+     * game in its batch; the unfinished games are listed, in the order they are
+     * decided, at the front of games.
+     */
+    private static final class Range {
+
+        private final long to;
+        private final long seed;
+        private long next;
+        private GameStats stats = new GameStats();
+        private final Rng[] rngs = new Rng[BATCH];
+        private final long[] boards = new long[BATCH];
+        private final long[] scores = new long[BATCH];
+        private final long[] lengths = new long[BATCH];
+        private final int[] games = new int[BATCH];
+        private int live;
+        private long policyState;
+
+        /**
+         * @brief A constructor which initializes a range of games not yet started.
+         * @param from A long representing the index of the first game.
+         * @param to A long representing the index after the last game.
+         * @param seed A long representing the seed of the run.
+         */
+        Range(long from, long to, long seed) {
+            this.to = to;
+            this.seed = seed;
+            this.next = from;
+            for(int k = 0; k < BATCH; k++)
+                this.rngs[k] = new Rng(0);
+        }
+
+        /**
+         * @brief A method to play the rest of the range.
+         * @param policy A Policy object choosing the moves.
+         * @param spawner A Spawner placing the tile after every move.
+         * @param engine A RulesEngine object of the variant, or null for the standard
+         * game; a variant spawns by its rules instead of with the spawner.
+         * @param checkpoint A Checkpoint receiving snapshots of the range, or null.
+         * @param part An integer representing the index of the range in the checkpoint.
+         * @return A GameStats object summarizing the games in the range.
+         * @throws IOException if a snapshot cannot be encoded.
+         */
+        GameStats play(Policy policy, Spawner spawner, RulesEngine engine, Checkpoint checkpoint, int part)
+            throws IOException {
+            long walls = engine == null ? 0 : engine.getWalls();
+            long[] pending = new long[BATCH];
+            Directions[] moves = new Directions[BATCH];
+            if(this.live > 0)
+                policy.setState(this.policyState);
+            while(this.live > 0 || this.next < this.to) {
+                if(this.live == 0) {
+                    int size = (int) Math.min(BATCH, this.to - this.next);
+                    policy.start(Rng.derive(~this.seed, this.next / BATCH));
+                    for(int k = 0; k < size; k++) {
+                        this.rngs[k].setState(Rng.derive(this.seed, this.next + k));
+                        this.boards[k] = engine == null ? BitBoard.spawn(BitBoard.spawn(0, this.rngs[k]), this.rngs[k])
+                            : engine.newGame(this.rngs[k]);
+                        this.scores[k] = 0;
+                        this.lengths[k] = 0;
+                        this.games[k] = k;
+                    }
+                    this.live = size;
+                    this.next += size;
+                }
+                if(checkpoint != null && checkpoint.isDue(part)) {
+                    this.policyState = policy.getState();
+                    checkpoint.offer(part, toBytes());
+                }
+                for(int k = 0; k < this.live; k++)
+                    pending[k] = this.boards[this.games[k]];
+                policy.chooseAll(pending, this.live, moves);
+                int still = 0;
+                for(int k = 0; k < this.live; k++) {
+                    int g = this.games[k];
+                    if(moves[k] == null) {
+                        this.stats.addGame(this.scores[g], BitBoard.maxExponent(this.boards[g] & ~walls), this.lengths[g]);
+                        continue;
+                    }
+                    long board = this.boards[g];
+                    long after = engine == null ? BitBoard.move(board, moves[k]) : engine.move(board, moves[k]);
+                    if(after == board)
+                        throw new IllegalStateException("Policy chose " + moves[k] + ", which does not change the board!");
+                    this.scores[g] += engine == null ? BitBoard.scoreGain(board, moves[k]) : engine.scoreGain(board, moves[k]);
+                    this.boards[g] = engine == null ? spawner.spawn(after, this.rngs[g]) : engine.spawn(after, this.rngs[g]);
+                    this.lengths[g]++;
+                    this.games[still++] = g;
+                }
+                this.live = still;
+            }
+            if(checkpoint != null)
+                checkpoint.offer(part, toBytes());
+            return this.stats;
+        }
+
+        /**
+         * @brief A method to encode the range.
+         * @return A sequence of bytes that readFrom turns back into the range.
+         * @throws IOException if the statistics cannot be encoded.
+         */
+        byte[] toBytes() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(this.next);
+            out.writeLong(this.to);
+            out.writeLong(this.policyState);
+            out.writeByte(this.live);
+            for(int k = 0; k < this.live; k++) {
+                int g = this.games[k];
+                out.writeByte(g);
+                out.writeLong(this.boards[g]);
+                out.writeLong(this.scores[g]);
+                out.writeLong(this.lengths[g]);
+                out.writeLong(this.rngs[g].getState());
+            }
+            this.stats.writeTo(out);
+            return bytes.toByteArray();
+        }
+
+        /**
+         * @brief A method to decode a range encoded by toBytes.
+         * @param in A DataInput object holding the encoded range.
+         * @param seed A long representing the seed of the run.
+         * @return A Range object continuing where the encoded one stopped.
+         * @throws IOException if the range cannot be decoded.
+         */
+        static Range readFrom(DataInput in, long seed) throws IOException {
+            long next = in.readLong();
+            Range range = new Range(next, in.readLong(), seed);
+            range.policyState = in.readLong();
+            range.live = in.readUnsignedByte();
+            if(range.live > BATCH)
+                throw new IOException("Bad simulator checkpoint!");
+            for(int k = 0; k < range.live; k++) {
+                int g = in.readUnsignedByte();
+                if(g >= BATCH)
+                    throw new IOException("Bad simulator checkpoint!");
+                range.games[k] = g;
+                range.boards[g] = in.readLong();
+                range.scores[g] = in.readLong();
+                range.lengths[g] = in.readLong();
+                range.rngs[g].setState(in.readLong());
+            }
+            range.stats = GameStats.readFrom(in);
+            return range;
+        }
+    }
+
+    /**
+     * @brief A method to run a simulation from the command line.
+     * @details Usage: Simulator games [threads] [seed] [statsFile] [policy] [spawner]
+     * [checkpoint] [rules]. If a statistics file is given and already exists, its
+     * results are merged with the new ones before it is rewritten, which combines
+     * separate runs. The policy is named as in Policies.parse and the spawner as in
+     * Spawners.parse; both are random by default. If a checkpoint file is given, the
+     * run is saved to it every minute, and if it already exists the saved run is
+     * resumed instead (its games and seed are used), so a stopped run continues when
+     * the same command is run again; a checkpoint of - saves nothing. If rules are
+     * given (as in Rules.parse), that variant is played, and the spawner must be
+     * random since the variant spawns by its own rules.
+     * @param args A sequence of command line arguments.
+     * @throws Exception if the simulation or the statistics file fails.
+     */
+    public static void main(String[] args) throws Exception {
+        if(args.length < 1) {
+            System.err.println("usage: Simulator games [threads] [seed] [statsFile] [policy] [spawner] [checkpoint] [rules]");
+            System.exit(2);
+        }
+        long games = Long.parseLong(args[0]);
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        long start = System.nanoTime();
+        Rules rules = args.length > 7 ? Rules.parse(args[7]) : Rules.standard();
+        Simulator simulator;
+        if(rules.equals(Rules.standard())) {
+            Supplier<Policy> policy = args.length > 4 ? Policies.parse(args[4]) : Policies.random();
+            Spawner spawner = args.length > 5 ? Spawners.parse(args[5]) : Spawners.random();
+            simulator = new Simulator(threads, policy, spawner);
+        } else {
+            if(args.length > 5 && !args[5].equals("random"))
+                throw new IllegalArgumentException("A variant only spawns by its rules!");
+            RulesEngine engine = new RulesEngine(rules);
+            Supplier<Policy> policy = args.length > 4 ? Policies.parse(args[4], engine) : Policies.random(engine);
+            simulator = new Simulator(threads, policy, engine);
+        }
+        Path checkpoint = args.length > 6 && !args[6].equals("-") ? Paths.get(args[6]) : null;
+        GameStats stats;
+        if(checkpoint != null && Files.exists(checkpoint)) {
+            long[] run = readRun(checkpoint);
+            System.err.println("resuming " + run[0] + " games of seed " + run[1] + " from " + checkpoint);
+            stats = simulator.resume(checkpoint, CHECKPOINT_MILLIS);
+        } else if(checkpoint != null) {
+            stats = simulator.run(games, seed, checkpoint, CHECKPOINT_MILLIS);
+        } else {
+            stats = simulator.run(games, seed);
+        }
+        double secs = (System.nanoTime() - start) / 1e9;
+        long moves = stats.getMoves();
+        if(args.length > 3) {
+            Path file = Paths.get(args[3]);
+            if(Files.exists(file)) {
+                try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                    stats.merge(GameStats.readFrom(in));
+                }
+            }
+            try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                stats.writeTo(out);
+            }
+        }
+        System.out.print(stats);
+        System.out.printf("run         %.2f s, %.0f moves/s, %.0f games/min%n", secs, moves / secs,
+            stats.getGames() / secs * 60);
+    }
+
+}
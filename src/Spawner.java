@@ -0,0 +1,28 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: An interface for a rule that places the tile spawned after a move.
+ */
+
+package src;
+
+/**
+ * @brief An interface for placing the tile that appears after every move.
+ * @details The usual game spawns uniformly at random (Spawners.random), but a
+ * spawner may also choose the tile on purpose, for example to find out how a bot
+ * copes with the worst tiles it can be given. A spawner is shared by every thread
+ * of a simulation, so it must be thread safe; any randomness should come from
+ * the generator it is given.
+ */
+public interface Spawner {
+
+    /**
+     * @brief A method to spawn a tile on an empty cell.
+     * @param board A long representing the packed board after a move.
+     * @param rng A Rng object to draw any random choices from.
+     * @return A long representing the board with one more tile, or the same board
+     * if no cell is empty.
+     */
+    public long spawn(long board, Rng rng);
+}
@@ -0,0 +1,95 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A utility class holding the built in spawners.
+ */
+
+package src;
+
+/**
+ * @brief A utility class that makes the built in spawners.
+ */
+public final class Spawners {
+
+    private static final Directions[] DIRECTIONS = Directions.values();
+
+    private Spawners() {}
+
+    /**
+     * @brief A method to get the spawner of the usual game.
+     * @return A Spawner placing a 2 (70%) or a 4 (30%) on a uniformly random empty cell.
+     */
+    public static Spawner random() {
+        return BitBoard::spawn;
+    }
+
+    /**
+     * @brief A method to get a spawner that places the worst tile for the player.
+     * @details Every empty cell is tried with a 2 and with a 4, and the tile whose
+     * best reply is worth the least is placed: a reply is worth its score gain plus
+     * Expectimax.evaluate of the board it leaves, and a tile that leaves no reply is
+     * worth the least of all. This is a one ply min-max search, so a spawn costs at
+     * most 30 tries of 4 table moves each and no memory. Ties go to the first cell
+     * and the 2, so the spawner never uses the generator and is the same for every
+     * game.
+     * @return A Spawner placing the tile that minimizes the player's evaluation.
+     */
+    public static Spawner adversarial() {
+        return (board, rng) -> worstSpawn(board);
+    }
+
+    /**
+     * @brief A method to find a spawner by name.
+     * @param name A string naming the spawner: random or adversarial.
+     * @return The named Spawner.
+     * @throws IllegalArgumentException if no spawner has the given name.
+     */
+    public static Spawner parse(String name) {
+        if(name.equals("random"))
+            return random();
+        if(name.equals("adversarial"))
+            return adversarial();
+        throw new IllegalArgumentException("Unknown spawner " + name + "!");
+    }
+
+    /**
+     * @brief A method to place the tile whose best reply is worth the least.
+     * @param board A long representing the packed board after a move.
+     * @return A long representing the board with the worst tile placed.
+     */
+    static long worstSpawn(long board) {
+        long worst = board;
+        double worstValue = Double.POSITIVE_INFINITY;
+        for(int shift = 0; shift < 64; shift += 4) {
+            if(((board >>> shift) & 0xF) != 0)
+                continue;
+            for(long exp = 1; exp <= 2; exp++) {
+                long spawned = board | (exp << shift);
+                double value = bestReply(spawned);
+                if(value < worstValue) {
+                    worstValue = value;
+                    worst = spawned;
+                }
+            }
+        }
+        return worst;
+    }
+
+    /**
+     * @brief A method to find the value of the best move of a board.
+     * @return A double representing the best score gain plus evaluation, or negative
+     * infinity if no move is left.
+     */
+    private static double bestReply(long board) {
+        double best = Double.NEGATIVE_INFINITY;
+        for(Directions d : DIRECTIONS) {
+            long after = BitBoard.move(board, d);
+            if(after == board)
+                continue;
+            best = Math.max(best, BitBoard.scoreGain(board, d) + Expectimax.evaluate(after));
+        }
+        return best;
+    }
+
+}
@@ -0,0 +1,348 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that solves small boards exactly and looks the answers up
+ * from a memory-mapped file.
+ */
+
+package src;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.stream.IntStream;
+
+/**
+ * @brief An ADT representing an exact endgame table for a small board.
+ * @details A table covers every n x n board (n between 2 and 4) whose tiles are all
+ * smaller than a target tile 2^w. For each such board (with the player to move) it
+ * stores the probability of reaching the target tile under perfect play, with new
+ * tiles spawned as in the Model (uniform empty cell, 2 with 70% and 4 with 30%).
+ * A board is indexed as a base w number with one digit (the exponent) per cell,
+ * so a lookup is a single read.
+ * The table is generated by dynamic programming over the total of the tiles: moves
+ * never change the total and a spawn always raises it, so once every board with a
+ * larger total is solved, all boards with the same total can be solved in parallel.
+ * The file is a short header followed by one float per board, and it is opened
+ * with a read only memory map.
+ */
+public class Tablebase implements Closeable {
+
+    private static final int MAGIC = 0x32305442;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final double TWO_CHANCE = 0.7;
+    private static final long MAX_ENTRIES = (Integer.MAX_VALUE - HEADER_BYTES) / 4;
+    private static final Directions[] DIRECTIONS = Directions.values();
+
+    private final int n;
+    private final int target;
+    private final int[] weights;
+    private final FileChannel channel;
+    private final FloatBuffer values;
+
+    /**
+     * @brief A constructor which opens a table file with a memory map.
+     * @param file A path representing the table file.
+     * @throws IOException if the file cannot be read or is not a table.
+     */
+    public Tablebase(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        MappedByteBuffer map;
+        try {
+            if(this.channel.size() < HEADER_BYTES || this.channel.size() > Integer.MAX_VALUE)
+                throw new IOException("Not a tablebase file: " + file);
+            map = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, this.channel.size());
+            if(map.getInt(0) != MAGIC || map.getInt(4) != VERSION)
+                throw new IOException("Not a tablebase file: " + file);
+            long count = map.getLong(16);
+            if(count != entries(map.getInt(8), map.getInt(12)) || map.capacity() != HEADER_BYTES + 4 * count)
+                throw new IOException("Tablebase file is truncated: " + file);
+        } catch(IOException e) {
+            this.channel.close();
+            throw e;
+        }
+        this.n = map.getInt(8);
+        this.target = map.getInt(12);
+        this.weights = weights(this.n, this.target);
+        map.position(HEADER_BYTES);
+        this.values = map.slice().asFloatBuffer();
+    }
+
+    /**
+     * @brief A getter for the board size of the table.
+     * @return An integer representing the number of rows (and columns).
+     */
+    public int getSize() {
+        return this.n;
+    }
+
+    /**
+     * @brief A getter for the target exponent of the table.
+     * @return An integer representing w, where the target tile is 2^w.
+     */
+    public int getTarget() {
+        return this.target;
+    }
+
+    /**
+     * @brief A method to look up a board given as exponents.
+     * @param exps An integer array of n * n exponents in row order (0 for an empty cell).
+     * @return A float representing the chance of reaching the target with perfect play,
+     * 1 if the target is already on the board, or NaN if the board is not covered.
+     */
+    public float probe(int[] exps) {
+        if(exps.length != this.n * this.n)
+            return Float.NaN;
+        int index = 0;
+        for(int k = 0; k < exps.length; k++) {
+            if(exps[k] >= this.target)
+                return 1;
+            index += exps[k] * this.weights[k];
+        }
+        return this.values.get(index);
+    }
+
+    /**
+     * @brief A method to look up a packed 4x4 board.
+     * @param packed A long representing the packed board.
+     * @return A float representing the chance of reaching the target with perfect play,
+     * 1 if the target is already on the board, or NaN if the board is not covered.
+     */
+    public float probe(long packed) {
+        if(this.n != BitBoard.SIZE)
+            return Float.NaN;
+        int index = 0;
+        for(int k = 0; k < 16; k++) {
+            int exp = (int) (packed >>> (4 * k)) & 0xF;
+            if(exp >= this.target)
+                return 1;
+            index += exp * this.weights[k];
+        }
+        return this.values.get(index);
+    }
+
+    /**
+     * @brief A method to release the file.
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * @brief A method to solve every board of a size and write the table to a file.
+     * @param n An integer representing the board size (2 to 4).
+     * @param target An integer representing w, where the target tile is 2^w.
+     * @param file A path representing the file to write.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalArgumentException if the table would be too large to map.
+     */
+    public static void generate(int n, int target, Path file) throws IOException {
+        long count = entries(n, target);
+        if(n < 2 || n > 4 || target < 2 || target > BitBoard.MAX_EXPONENT || count > MAX_ENTRIES)
+            throw new IllegalArgumentException("Unsupported table: " + n + "x" + n + " to 2^" + target);
+        float[] values = solve(n, target, (int) count);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try(FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(target).putLong(count).flip();
+            while(header.hasRemaining())
+                out.write(header);
+            ByteBuffer block = ByteBuffer.allocate(1 << 16);
+            for(int k = 0; k < values.length; k++) {
+                block.putFloat(values[k]);
+                if(!block.hasRemaining() || k == values.length - 1) {
+                    block.flip();
+                    while(block.hasRemaining())
+                        out.write(block);
+                    block.clear();
+                }
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @brief A method to compute the value of every board.
+     */
+    private static float[] solve(int n, int target, int count) {
+        int cells = n * n;
+        int[] weights = weights(n, target);
+        int[] sums = new int[count];
+        int maxSum = 0;
+        for(int index = 0; index < count; index++) {
+            int sum = 0;
+            int rest = index;
+            for(int k = 0; k < cells; k++) {
+                int exp = rest % target;
+                rest /= target;
+                if(exp != 0)
+                    sum += 1 << exp;
+            }
+            sums[index] = sum;
+            maxSum = Math.max(maxSum, sum);
+        }
+        int[] start = new int[maxSum + 2];
+        for(int sum : sums)
+            start[sum + 1]++;
+        for(int s = 1; s < start.length; s++)
+            start[s] += start[s - 1];
+        int[] order = new int[count];
+        int[] fill = start.clone();
+        for(int index = 0; index < count; index++)
+            order[fill[sums[index]]++] = index;
+        float[] values = new float[count];
+        ThreadLocal<Solver> solvers = ThreadLocal.withInitial(() -> new Solver(n, target, weights, values));
+        for(int sum = maxSum; sum >= 0; sum--) {
+            IntStream.range(start[sum], start[sum + 1]).parallel()
+                .forEach(k -> values[order[k]] = solvers.get().value(order[k]));
+        }
+        return values;
+    }
+
+    /**
+     * @brief A method to count the boards covered by a table.
+     */
+    private static long entries(int n, int target) {
+        long count = 1;
+        for(int k = 0; k < n * n; k++) {
+            count *= target;
+            if(count > MAX_ENTRIES)
+                return Long.MAX_VALUE;
+        }
+        return count;
+    }
+
+    /**
+     * @brief A method to compute the place value of each cell in a board index.
+     */
+    private static int[] weights(int n, int target) {
+        int[] w = new int[n * n];
+        int place = 1;
+        for(int k = 0; k < w.length; k++) {
+            w[k] = place;
+            place *= target;
+        }
+        return w;
+    }
+
+    /**
+     * @brief The per thread scratch space used to solve one board at a time.
+     */
+    private static final class Solver {
+
+        private final int n;
+        private final int target;
+        private final int[] weights;
+        private final float[] values;
+        private final int[] board;
+        private final int[] after;
+        private final int[] line;
+
+        Solver(int n, int target, int[] weights, float[] values) {
+            this.n = n;
+            this.target = target;
+            this.weights = weights;
+            this.values = values;
+            this.board = new int[n * n];
+            this.after = new int[n * n];
+            this.line = new int[n];
+        }
+
+        /**
+         * @brief A method to find the value of a board with the player to move.
+         * @details Every board the value depends on has a larger tile total, so its
+         * value is already in the table.
+         */
+        float value(int index) {
+            for(int k = 0; k < this.board.length; k++) {
+                this.board[k] = index % this.target;
+                index /= this.target;
+            }
+            float best = 0;
+            for(Directions d : DIRECTIONS) {
+                if(!move(d))
+                    continue;
+                best = Math.max(best, spawnValue());
+                if(best == 1)
+                    break;
+            }
+            return best;
+        }
+
+        /**
+         * @brief A method to apply a move to the board, leaving the result in after.
+         * @return A boolean representing if the move changed the board.
+         */
+        private boolean move(Directions d) {
+            boolean column = d == Directions.up || d == Directions.down;
+            for(int a = 0; a < this.n; a++) {
+                for(int b = 0; b < this.n; b++)
+                    this.line[b] = this.board[column ? b * this.n + a : a * this.n + b];
+                BitBoard.slideLine(this.line, this.n, d);
+                for(int b = 0; b < this.n; b++)
+                    this.after[column ? b * this.n + a : a * this.n + b] = this.line[b];
+            }
+            for(int k = 0; k < this.board.length; k++) {
+                if(this.board[k] != this.after[k])
+                    return true;
+            }
+            return false;
+        }
+
+        /**
+         * @brief A method to average the value over every possible spawn after a move.
+         */
+        private float spawnValue() {
+            int index = 0;
+            int empty = 0;
+            for(int k = 0; k < this.after.length; k++) {
+                if(this.after[k] >= this.target)
+                    return 1;
+                index += this.after[k] * this.weights[k];
+                if(this.after[k] == 0)
+                    empty++;
+            }
+            double total = 0;
+            for(int k = 0; k < this.after.length; k++) {
+                if(this.after[k] != 0)
+                    continue;
+                total += TWO_CHANCE * lookup(index, k, 1) + (1 - TWO_CHANCE) * lookup(index, k, 2);
+            }
+            return (float) (total / empty);
+        }
+
+        /**
+         * @brief A method to read the value of an afterstate with one tile added.
+         */
+        private float lookup(int index, int cell, int exp) {
+            if(exp >= this.target)
+                return 1;
+            return this.values[index + exp * this.weights[cell]];
+        }
+    }
+
+    /**
+     * @brief A method to generate a table from the command line.
+     * @details Usage: Tablebase size targetTile file, for example Tablebase 3 64 t3.tb.
+     * @param args A sequence of command line arguments.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length != 3) {
+            System.err.println("usage: Tablebase size targetTile file");
+            System.exit(2);
+        }
+        int n = Integer.parseInt(args[0]);
+        int target = Integer.numberOfTrailingZeros(Integer.parseInt(args[1]));
+        long start = System.nanoTime();
+        generate(n, target, Paths.get(args[2]));
+        System.out.printf("wrote %dx%d table to %d in %.2f s%n", n, n, 1 << target, (System.nanoTime() - start) / 1e9);
+    }
+
+}
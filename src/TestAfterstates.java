@@ -0,0 +1,185 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the packed board and the move previews.
+ * The previews are compared against the shift and merge methods of the
+ * model so that both always follow the same rules.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+public class TestAfterstates {
+
+	private Model m;
+	private Afterstates after;
+
+	@Before
+	public void setUp() {
+		m = new Model();
+		after = new Afterstates();
+	}
+
+	@After
+	public void tearDown() {
+		m = null;
+		after = null;
+	}
+
+	private void load(int[][] values) {
+		TileT[][] arr = new TileT[4][4];
+		for(int i = 0; i < 4; i++) {
+			for(int j = 0; j < 4; j++) {
+				arr[i][j] = new TileT(values[i][j], i, j);
+			}
+		}
+		m.getBoard().setBoard(arr);
+	}
+
+	private void modelMove(Directions dir) {
+		if(dir == Directions.up) {
+			m.shiftUp();
+			m.mergeUp();
+		} else if(dir == Directions.down) {
+			m.shiftDown();
+			m.mergeDown();
+		} else if(dir == Directions.right) {
+			m.shiftRight();
+			m.mergeRight();
+		} else {
+			m.shiftLeft();
+			m.mergeLeft();
+		}
+	}
+
+	@Test
+	public void testPackUnpack() {
+		load(new int[][] {{2,0,0,4},
+						  {0,8,0,0},
+						  {0,0,16,0},
+						  {32768,0,0,2}});
+		long packed = BitBoard.pack(m.getBoard());
+		assertTrue(BitBoard.valueAt(packed, 0, 3) == 4);
+		assertTrue(BitBoard.valueAt(packed, 3, 0) == 32768);
+		assertTrue(BitBoard.countEmpty(packed) == 10);
+		Board b = new Board();
+		BitBoard.unpack(packed, b);
+		assertTrue(BitBoard.pack(b) == packed);
+	}
+
+	@Test
+	public void testTranspose() {
+		long packed = 0x0123456789ABCDEFL;
+		long t = BitBoard.transpose(packed);
+		for(int i = 0; i < 4; i++) {
+			for(int j = 0; j < 4; j++) {
+				assertTrue(BitBoard.exponentAt(packed, i, j) == BitBoard.exponentAt(t, j, i));
+			}
+		}
+	}
+
+	@Test
+	public void testPreviewDoesNotChangeBoard() {
+		load(new int[][] {{2,0,0,0},
+						  {0,0,0,4},
+						  {0,4,0,0},
+						  {2,0,0,2}});
+		long before = BitBoard.pack(m.getBoard());
+		after.preview(m.getBoard());
+		assertTrue(BitBoard.pack(m.getBoard()) == before);
+		assertTrue(m.getBoard().getScore() == 0);
+	}
+
+	@Test
+	public void testPreviewMatchesModel() {
+		int[][] values = new int[][] {{2,0,0,0},
+									  {0,0,0,4},
+									  {0,4,0,0},
+									  {2,0,0,2}};
+		load(values);
+		after.preview(m.getBoard());
+		for(Directions dir : Directions.values()) {
+			load(values);
+			m.getBoard().setScore(0);
+			modelMove(dir);
+			assertTrue(after.getBoard(dir) == BitBoard.pack(m.getBoard()));
+			assertTrue(after.getScoreGain(dir) == m.getBoard().getScore());
+			assertTrue(after.isLegal(dir));
+		}
+	}
+
+	@Test
+	public void testPreviewMergeOrderRight() {
+		load(new int[][] {{0,2,2,2},
+						  {4,4,8,0},
+						  {0,0,0,0},
+						  {0,0,0,0}});
+		after.preview(m.getBoard());
+		long board = after.getBoard(Directions.right);
+		assertTrue(BitBoard.valueAt(board, 0, 2) == 4);
+		assertTrue(BitBoard.valueAt(board, 0, 3) == 2);
+		assertTrue(BitBoard.valueAt(board, 1, 3) == 16);
+		assertTrue(after.getScoreGain(Directions.right) == 4 + 8 + 16);
+	}
+
+	@Test
+	public void testPreviewIllegalMoves() {
+		load(new int[][] {{2,4,0,0},
+						  {0,0,0,0},
+						  {0,0,0,0},
+						  {0,0,0,0}});
+		after.preview(m.getBoard());
+		assertFalse(after.isLegal(Directions.left));
+		assertFalse(after.isLegal(Directions.up));
+		assertTrue(after.isLegal(Directions.right));
+		assertTrue(after.isLegal(Directions.down));
+		assertTrue(after.anyLegal());
+	}
+
+	@Test
+	public void testPreviewRandomBoards() {
+		Random random = new Random(2048);
+		for(int n = 0; n < 500; n++) {
+			int[][] values = new int[4][4];
+			for(int i = 0; i < 4; i++) {
+				for(int j = 0; j < 4; j++) {
+					int exp = random.nextInt(5);
+					values[i][j] = exp == 0 ? 0 : 1 << exp;
+				}
+			}
+			load(values);
+			after.preview(m.getBoard());
+			for(Directions dir : Directions.values()) {
+				load(values);
+				m.getBoard().setScore(0);
+				modelMove(dir);
+				assertTrue(after.getBoard(dir) == BitBoard.pack(m.getBoard()));
+				assertTrue(after.getScoreGain(dir) == m.getBoard().getScore());
+			}
+		}
+	}
+
+	@Test
+	public void testRowTablesMatchLoops() {
+		int[] line = new int[4];
+		for(int row = 0; row < 1 << 16; row++) {
+			for(Directions dir : Directions.values()) {
+				for(int k = 0; k < 4; k++)
+					line[k] = (row >>> (4 * k)) & 0xF;
+				int score = BitBoard.slideLine(line, 4, dir);
+				long expected = 0;
+				for(int k = 0; k < 4; k++)
+					expected |= (long) line[k] << (4 * k);
+				boolean columns = dir == Directions.up || dir == Directions.down;
+				long packed = columns ? BitBoard.transpose(row) : row;
+				long moved = BitBoard.move(packed, dir);
+				assertTrue((columns ? BitBoard.transpose(moved) : moved) == expected);
+				assertTrue(BitBoard.scoreGain(packed, dir) == score);
+			}
+		}
+	}
+}
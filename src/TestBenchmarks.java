@@ -0,0 +1,147 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the benchmark suite and the store of its results.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+public class TestBenchmarks {
+
+	private Path dir;
+	private BenchmarkStore store;
+
+	@Before
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("bench");
+		store = new BenchmarkStore(dir);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		try(DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+			for(Path p : files)
+				Files.delete(p);
+		}
+		Files.delete(dir);
+	}
+
+	private static BenchmarkStore.Run run(String revision, double nanos, double spread, double bytes) {
+		BenchmarkStore.Run run = new BenchmarkStore.Run(revision);
+		for(int k = 0; k < 10; k++) {
+			run.add("bitboard.move", 6, nanos + spread * (k % 3 - 1), bytes);
+			run.add("model.move", 6, 1000 + spread * (k % 2), 100);
+		}
+		return run;
+	}
+
+	@Test
+	public void testStudentP() {
+		assertEquals(1.0, BenchmarkStore.studentP(0, 10), 1e-9);
+		assertEquals(0.07339, BenchmarkStore.studentP(2, 10), 1e-4);
+		assertEquals(0.05, BenchmarkStore.studentP(2.228, 10), 1e-4);
+		assertEquals(0.01, BenchmarkStore.studentP(2.977, 14), 1e-4);
+	}
+
+	@Test
+	public void testWelch() {
+		double[] a = {10, 11, 9, 10, 10, 11, 9};
+		double[] b = {10, 9, 11, 10, 11, 9, 10};
+		assertEquals(1.0, BenchmarkStore.welchP(a, b), 1e-9);
+		double[] c = {14, 15, 13, 14, 14, 15, 13};
+		assertTrue(BenchmarkStore.welchP(a, c) < 1e-6);
+		assertTrue(BenchmarkStore.welchP(new double[] {1, 1}, new double[] {2, 2}) == 0);
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testWelchTooFew() {
+		BenchmarkStore.welchP(new double[] {1}, new double[] {1, 2});
+	}
+
+	@Test
+	public void testSaveLoad() throws IOException {
+		BenchmarkStore.Run run = run("abc1234-dirty", 8, 0.5, 0);
+		run.putInfo("jvm", "Test VM\t17");
+		String id = store.save(run);
+		assertTrue(id.endsWith("-abc1234-dirty"));
+		assertTrue(store.list().equals(Arrays.asList(id)));
+		assertTrue(store.latest().equals(id));
+		BenchmarkStore.Run back = store.load(id);
+		assertTrue(back.getRevision().equals("abc1234-dirty"));
+		assertTrue(back.getInfo("jvm").equals("Test VM 17"));
+		assertTrue(back.getKeys().equals(run.getKeys()));
+		for(String key : run.getKeys()) {
+			for(int k = 0; k < 10; k++) {
+				assertEquals(run.getNanos(key)[k], back.getNanos(key)[k], 1e-4);
+				assertEquals(run.getBytes(key)[k], back.getBytes(key)[k], 1e-2);
+			}
+		}
+		assertFalse(store.save(run).equals(id));
+	}
+
+	@Test
+	public void testBaseline() throws IOException {
+		assertTrue(store.getBaseline() == null);
+		String id = store.save(run("a", 8, 0.5, 0));
+		store.setBaseline(id);
+		assertTrue(store.getBaseline().equals(id));
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testUnknownBaseline() throws IOException {
+		store.setBaseline("20260101-000000-none");
+	}
+
+	@Test
+	public void testCompare() {
+		BenchmarkStore.Run base = run("a", 8, 0.5, 0);
+		List<BenchmarkStore.Comparison> same = BenchmarkStore.compare(base, run("b", 8.05, 0.5, 0), 0.01, 0.05);
+		assertTrue(same.size() == 2);
+		assertFalse(same.get(0).isRegression() || same.get(1).isRegression());
+		List<BenchmarkStore.Comparison> slower = BenchmarkStore.compare(base, run("c", 10, 0.5, 0), 0.01, 0.05);
+		assertTrue(slower.get(0).isRegression());
+		assertEquals(0.25, slower.get(0).getChange(), 0.01);
+		assertFalse(slower.get(1).isRegression());
+		List<BenchmarkStore.Comparison> noisy = BenchmarkStore.compare(base, run("d", 9, 8, 0), 0.01, 0.05);
+		assertFalse(noisy.get(0).isRegression());
+		List<BenchmarkStore.Comparison> allocates = BenchmarkStore.compare(base, run("e", 8, 0.5, 24), 0.01, 0.05);
+		assertTrue(allocates.get(0).isRegression());
+		assertTrue(BenchmarkStore.compare(base, new BenchmarkStore.Run("f"), 0.01, 0.05).isEmpty());
+	}
+
+	@Test
+	public void testBoards() {
+		for(int fill : Benchmarks.FILLS) {
+			long[] boards = Benchmarks.boards(fill, fill);
+			assertTrue(Long.bitCount(boards.length) == 1);
+			for(long b : boards)
+				assertTrue(BitBoard.countEmpty(b) == 16 - fill);
+			assertArrayEquals(boards, Benchmarks.boards(fill, fill));
+		}
+	}
+
+	@Test
+	public void testMeasure() {
+		BenchmarkStore.Run run = Benchmarks.measure("test", 2, 1);
+		assertTrue(run.getKeys().size() == Benchmarks.NAMES.length * Benchmarks.FILLS.length);
+		for(String key : run.getKeys()) {
+			assertTrue(run.getNanos(key).length == 2);
+			for(double ns : run.getNanos(key))
+				assertTrue(ns > 0);
+		}
+		assertTrue(run.getInfo("jvm") != null);
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testUnknownBenchmark() {
+		Benchmarks.run("nothing", Benchmarks.boards(2, 0), 1);
+	}
+
+}
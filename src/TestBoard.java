@@ -110,4 +110,29 @@ public class TestBoard {
 		board.setBoardValueAt(new TileT(64, 3, 3));
 		assertTrue(board.getBoardValueAt(3, 3) == 64);
 	}
+
+	@Test
+	public void testLargeTile() {
+		board.setBoardValueAt(new TileT(1 << 20, 2, 1));
+		assertTrue(board.getBoardValueAt(2, 1) == 1 << 20);
+		assertTrue(board.getBoard()[2][1].getValue() == 1 << 20);
+	}
+
+	@Test
+	public void testLongScore() {
+		board.setScore(1L << 40);
+		assertTrue(board.getScore() == 1L << 40);
+	}
+
+	@Test (expected=IllegalArgumentException.class)
+	public void testSetBoardValueAtException() {
+		board.setBoardValueAt(new TileT(12, 0, 0));
+	}
+
+	@Test
+	public void testGetBoardIsCopy() {
+		board.setBoardValueAt(new TileT(8, 1, 1));
+		board.getBoard()[1][1].setValue(16);
+		assertTrue(board.getBoardValueAt(1, 1) == 8);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the spectator broadcast of a live game.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestBroadcaster {
+
+	private static final Directions[] DIRECTIONS = Directions.values();
+
+	private Broadcaster cast;
+	private GameHandle game;
+	private Rng rng;
+
+	@Before
+	public void setUp() {
+		cast = new Broadcaster(8, 16);
+		game = new GameHandle(5);
+		rng = new Rng(9);
+		cast.publish(game.get(), null);
+	}
+
+	@After
+	public void tearDown() {
+		cast = null;
+		game = null;
+		rng = null;
+	}
+
+	@Test
+	public void testFrames() {
+		Broadcaster.Subscriber s = cast.subscribe();
+		Broadcaster.Frame key = s.poll();
+		assertTrue(key.isKeyframe() && key.getSequence() == 1 && key.length() == 25);
+		Broadcaster.Frame delta = play(1);
+		assertFalse(delta.isKeyframe());
+		assertTrue(delta.length() == 12);
+		assertTrue(s.poll() == delta);
+		assertTrue(cast.publish(game.newGame(), null).isKeyframe());
+	}
+
+	@Test
+	public void testSharedAndReplayed() {
+		Broadcaster.Subscriber a = cast.subscribe();
+		Broadcaster.Subscriber b = cast.subscribe();
+		Broadcaster.Replay view = new Broadcaster.Replay();
+		view.accept(a.poll());
+		b.poll();
+		for(int n = 0; n < 500; n++) {
+			play(1);
+			Broadcaster.Frame f = a.poll();
+			assertTrue(b.poll() == f);
+			view.accept(f);
+			assertTrue(a.poll() == null);
+		}
+		assertTrue(view.getBoard() == game.get().getBoard());
+		assertTrue(view.getScore() == game.get().getScore());
+		assertTrue(a.getSkipped() == 0);
+	}
+
+	@Test
+	public void testSlowSubscriberSkipsToKeyframe() {
+		Broadcaster.Subscriber fast = cast.subscribe();
+		Broadcaster.Subscriber slow = cast.subscribe();
+		Broadcaster.Replay view = new Broadcaster.Replay();
+		for(int n = 0; n < 100; n++) {
+			play(1);
+			while(fast.poll() != null);
+		}
+		assertTrue(slow.getSkipped() > 0);
+		assertTrue(slow.size() <= 16);
+		Broadcaster.Frame first = slow.poll();
+		assertTrue(first.isKeyframe());
+		view.accept(first);
+		for(Broadcaster.Frame f = slow.poll(); f != null; f = slow.poll())
+			view.accept(f);
+		assertTrue(view.getBoard() == game.get().getBoard());
+		assertTrue(view.getScore() == game.get().getScore());
+		assertTrue(fast.getSkipped() == 0);
+	}
+
+	@Test
+	public void testLateSubscriber() {
+		play(13);
+		Broadcaster.Subscriber late = cast.subscribe();
+		Broadcaster.Replay view = new Broadcaster.Replay();
+		assertTrue(late.size() <= 8);
+		for(Broadcaster.Frame f = late.poll(); f != null; f = late.poll())
+			view.accept(f);
+		assertTrue(view.getBoard() == game.get().getBoard());
+		assertTrue(view.getSequence() == 14);
+	}
+
+	@Test
+	public void testClose() {
+		Broadcaster.Subscriber s = cast.subscribe();
+		assertTrue(cast.getSubscriberCount() == 1);
+		s.close();
+		assertTrue(cast.getSubscriberCount() == 0);
+		while(s.poll() != null);
+		play(1);
+		assertTrue(s.poll() == null);
+	}
+
+	@Test (expected = IllegalStateException.class)
+	public void testGapRejected() {
+		Broadcaster.Replay view = new Broadcaster.Replay();
+		Broadcaster.Subscriber s = cast.subscribe();
+		view.accept(s.poll());
+		play(2);
+		s.poll();
+		view.accept(s.poll());
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testSmallBuffer() {
+		new Broadcaster(16, 8);
+	}
+
+	private Broadcaster.Frame play(int moves) {
+		Broadcaster.Frame last = null;
+		while(moves > 0) {
+			if(game.get().isGameOver()) {
+				last = cast.publish(game.newGame(), null);
+				moves--;
+				continue;
+			}
+			Directions dir = DIRECTIONS[rng.nextInt(DIRECTIONS.length)];
+			GameHandle.State s = game.move(dir);
+			if(s != null) {
+				last = cast.publish(s, dir);
+				moves--;
+			}
+		}
+		return last;
+	}
+
+}
@@ -0,0 +1,133 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for checkpoints and for resuming simulations from them.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.function.Supplier;
+
+public class TestCheckpoint {
+
+	private Path file;
+
+	@Before
+	public void setUp() throws IOException {
+		file = Files.createTempFile("checkpoint", ".bin");
+		Files.delete(file);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+		Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".tmp"));
+	}
+
+	private static Supplier<Policy> crashing(long calls) {
+		return () -> new Policy() {
+			private final Policy policy = Policies.random().get();
+			private long left = calls;
+
+			@Override
+			public void start(long seed) {
+				policy.start(seed);
+			}
+
+			@Override
+			public long getState() {
+				return policy.getState();
+			}
+
+			@Override
+			public void setState(long state) {
+				policy.setState(state);
+			}
+
+			@Override
+			public Directions choose(long board) {
+				if(left-- == 0)
+					throw new RuntimeException("crash");
+				if(left == calls / 2) {
+					try {
+						Thread.sleep(50);
+					} catch(InterruptedException e) {
+						throw new RuntimeException(e);
+					}
+				}
+				return policy.choose(board);
+			}
+		};
+	}
+
+	static void assertSameStats(GameStats a, GameStats b) {
+		assertTrue(a.getGames() == b.getGames());
+		assertTrue(a.getMoves() == b.getMoves());
+		assertTrue(a.getMinScore() == b.getMinScore() && a.getMaxScore() == b.getMaxScore());
+		assertEquals(a.getMeanScore(), b.getMeanScore(), 1e-6);
+		assertEquals(a.getScoreVariance(), b.getScoreVariance(), 1e-3);
+		for(int e = 0; e < 16; e++)
+			assertTrue(a.getMaxTileCount(e) == b.getMaxTileCount(e));
+	}
+
+	@Test
+	public void testWriteAndRead() throws Exception {
+		Checkpoint c = new Checkpoint(file, new byte[] {1, 2}, new byte[][] {{3}, {}}, 60000);
+		assertFalse(c.isDue(0));
+		c.offer(1, new byte[] {4, 5, 6});
+		c.close();
+		byte[][] blocks = Checkpoint.read(file);
+		assertTrue(blocks.length == 3);
+		assertArrayEquals(new byte[] {1, 2}, blocks[0]);
+		assertArrayEquals(new byte[] {3}, blocks[1]);
+		assertArrayEquals(new byte[] {4, 5, 6}, blocks[2]);
+		assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".tmp")));
+	}
+
+	@Test
+	public void testBackgroundWrites() throws Exception {
+		Checkpoint c = new Checkpoint(file, new byte[0], new byte[][] {{7}}, 1);
+		long start = System.nanoTime();
+		while(!c.isDue(0) && System.nanoTime() - start < 5000000000L)
+			Thread.sleep(1);
+		assertTrue(c.isDue(0));
+		assertArrayEquals(new byte[] {7}, Checkpoint.read(file)[1]);
+		c.offer(0, new byte[] {8});
+		assertFalse(c.isDue(0));
+		c.close();
+		assertArrayEquals(new byte[] {8}, Checkpoint.read(file)[1]);
+	}
+
+	@Test
+	public void testResumeAfterCrash() throws Exception {
+		GameStats expected = new Simulator(2).run(1000, 21);
+		try {
+			new Simulator(2, crashing(20000)).run(1000, 21, file, 1);
+			fail();
+		} catch(IllegalStateException e) {}
+		long[] run = Simulator.readRun(file);
+		assertTrue(run[0] == 1000 && run[1] == 21);
+		GameStats resumed = new Simulator(1).resume(file, 1);
+		assertSameStats(expected, resumed);
+		assertSameStats(expected, new Simulator(3).resume(file, 60000));
+	}
+
+	@Test
+	public void testResumeFinished() throws Exception {
+		GameStats done = new Simulator(2, Policies.greedy()).run(200, 5, file, 60000);
+		assertSameStats(new Simulator(2, Policies.greedy()).run(200, 5), done);
+		assertSameStats(done, new Simulator(1, Policies.greedy()).resume(file, 60000));
+	}
+
+	@Test (expected=IOException.class)
+	public void testNotCheckpoint() throws IOException {
+		Files.write(file, new byte[] {0, 1, 2, 3, 4, 5, 6, 7});
+		Checkpoint.read(file);
+	}
+
+}
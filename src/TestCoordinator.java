@@ -0,0 +1,122 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the sharded simulation in worker processes.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.util.*;
+
+public class TestCoordinator {
+
+	private GameStats expected;
+
+	@Before
+	public void setUp() throws InterruptedException {
+		expected = new Simulator(1, Policies.greedy()).run(3000, 12);
+	}
+
+	@After
+	public void tearDown() {
+		expected = null;
+	}
+
+	@Test
+	public void testMatchesSimulator() throws Exception {
+		Coordinator c = new Coordinator(2, "greedy", "random");
+		TestCheckpoint.assertSameStats(expected, c.run(3000, 12));
+		assertTrue(c.getRestarts() == 0);
+	}
+
+	@Test
+	public void testRestartsFailedShards() throws Exception {
+		List<Long> starts = Collections.synchronizedList(new ArrayList<Long>());
+		Coordinator c = new Coordinator(2, "greedy", "random") {
+			@Override
+			protected ProcessBuilder command(long from, long to, long seed) {
+				boolean first = !starts.contains(from);
+				starts.add(from);
+				if(from == 0 && first)
+					return super.command(from, Coordinator.CHUNK + 2 * Simulator.BATCH, seed);
+				// 3000 games are 47 batches, so the second shard starts at batch 23.
+				if(from == 23 * Simulator.BATCH && first)
+					return super.command(from, to, seed).command("java", "-version").redirectError(ProcessBuilder.Redirect.DISCARD);
+				return super.command(from, to, seed);
+			}
+		};
+		TestCheckpoint.assertSameStats(expected, c.run(3000, 12));
+		assertTrue(c.getRestarts() == 2);
+		assertTrue(starts.contains(Coordinator.CHUNK + 2 * Simulator.BATCH));
+	}
+
+	@Test (expected=IOException.class)
+	public void testGivesUp() throws Exception {
+		Coordinator c = new Coordinator(1, "greedy", "random") {
+			@Override
+			protected ProcessBuilder command(long from, long to, long seed) {
+				return super.command(from, to, seed).command("java", "-version").redirectError(ProcessBuilder.Redirect.DISCARD);
+			}
+		};
+		c.setMaxRestarts(1);
+		c.run(100, 1);
+	}
+
+	private static ProcessBuilder hanging(ProcessBuilder worker) {
+		// A deep search plays no chunk for minutes, so the worker sends nothing.
+		List<String> cmd = worker.command();
+		cmd.set(cmd.size() - 2, "expectimax:9");
+		return worker;
+	}
+
+	@Test
+	public void testRestartsHungWorker() throws Exception {
+		List<Long> starts = Collections.synchronizedList(new ArrayList<Long>());
+		Coordinator c = new Coordinator(1, "greedy", "random") {
+			@Override
+			protected ProcessBuilder command(long from, long to, long seed) {
+				starts.add(from);
+				return starts.size() == 1 ? hanging(super.command(from, to, seed)) : super.command(from, to, seed);
+			}
+		};
+		c.setReadTimeout(2000);
+		TestCheckpoint.assertSameStats(expected, c.run(3000, 12));
+		assertTrue(c.getRestarts() == 1);
+	}
+
+	@Test
+	public void testFailureKillsWorkers() throws Exception {
+		Coordinator c = new Coordinator(2, "greedy", "random") {
+			@Override
+			protected ProcessBuilder command(long from, long to, long seed) {
+				if(from == 0)
+					return super.command(from, to, seed).command("java", "-version").redirectError(ProcessBuilder.Redirect.DISCARD);
+				return hanging(super.command(from, to, seed));
+			}
+		};
+		c.setMaxRestarts(0);
+		try {
+			c.run(3000, 12);
+			fail();
+		} catch(IOException e) {}
+		long deadline = System.nanoTime() + 10000000000L;
+		while(ProcessHandle.current().children().anyMatch(ProcessHandle::isAlive) && System.nanoTime() < deadline)
+			Thread.sleep(10);
+		assertFalse(ProcessHandle.current().children().anyMatch(ProcessHandle::isAlive));
+	}
+
+	@Test (expected=IllegalArgumentException.class)
+	public void testBadReadTimeout() {
+		new Coordinator(1, "greedy", "random").setReadTimeout(0);
+	}
+
+	@Test (expected=IllegalArgumentException.class)
+	public void testBadPolicy() {
+		new Coordinator(2, "bogus", "random");
+	}
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the table driven engine and the differential fuzzer.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestFuzzer {
+
+	private DifferentialFuzzer fuzzer;
+
+	@Before
+	public void setUp() {
+		fuzzer = new DifferentialFuzzer(PackedModel::new, 2);
+	}
+
+	@After
+	public void tearDown() {
+		fuzzer = null;
+	}
+
+	@Test
+	public void testPackedModelMatches() throws Exception {
+		assertTrue(fuzzer.run(20000, 11) == null);
+		assertTrue(fuzzer.getChecked() == 20000);
+	}
+
+	@Test
+	public void testMergeRightCascade() {
+		Board b = new Board();
+		long row = BitBoard.withExponent(BitBoard.withExponent(BitBoard.withExponent(0, 0, 0, 2), 0, 1, 2), 0, 2, 3);
+		BitBoard.unpack(row, b);
+		PackedModel pm = new PackedModel(b);
+		assertTrue(pm.shiftRight());
+		assertTrue(pm.mergeRight());
+		assertTrue(b.getBoardValueAt(0, 3) == 16);
+		assertTrue(b.getBoardValueAt(0, 2) == 0);
+		assertTrue(b.getScore() == 24);
+		assertTrue(fuzzer.check(row) == null);
+	}
+
+	@Test
+	public void testMergePacksOtherLines() {
+		long board = BitBoard.withExponent(BitBoard.withExponent(BitBoard.withExponent(0, 0, 0, 1), 0, 1, 1), 1, 3, 1);
+		assertTrue(fuzzer.check(board) == null);
+		Board b = new Board();
+		BitBoard.unpack(board, b);
+		assertTrue(new PackedModel(b).mergeLeft());
+		assertTrue(b.getBoardValueAt(1, 0) == 2);
+	}
+
+	@Test
+	public void testBrokenEngineShrunk() throws Exception {
+		DifferentialFuzzer broken = new DifferentialFuzzer(b -> new PackedModel(b) {
+			@Override
+			public boolean mergeDown() {
+				return super.mergeUp();
+			}
+		}, 2);
+		DifferentialFuzzer.Failure f = broken.run(5000, 3);
+		assertTrue(f != null);
+		assertTrue(f.getOp().equals("mergeDown"));
+		assertTrue(16 - BitBoard.countEmpty(f.getBoard()) == 2);
+		assertTrue(BitBoard.maxExponent(f.getBoard()) == 1);
+	}
+}
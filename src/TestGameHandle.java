@@ -0,0 +1,183 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the game handle shared between threads.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class TestGameHandle {
+
+	private static final Directions[] DIRECTIONS = Directions.values();
+
+	private GameHandle handle;
+
+	@Before
+	public void setUp() {
+		handle = new GameHandle(7);
+	}
+
+	@After
+	public void tearDown() {
+		handle = null;
+	}
+
+	@Test
+	public void testNewGame() {
+		GameHandle.State s = handle.get();
+		assertTrue(s.getVersion() == 0);
+		assertTrue(s.getScore() == 0);
+		assertTrue(BitBoard.countEmpty(s.getBoard()) == 14);
+		GameHandle.State t = handle.newGame();
+		assertTrue(t.getVersion() == 1);
+		assertTrue(handle.get() == t);
+	}
+
+	@Test
+	public void testMove() {
+		GameHandle.State s = handle.get();
+		for(Directions dir : DIRECTIONS) {
+			long after = BitBoard.move(s.getBoard(), dir);
+			GameHandle.State t = handle.move(dir);
+			if(after == s.getBoard()) {
+				assertTrue(t == null && handle.get() == s);
+				continue;
+			}
+			assertTrue(t.getVersion() == s.getVersion() + 1);
+			assertTrue(t.getScore() == s.getScore() + BitBoard.scoreGain(s.getBoard(), dir));
+			assertTrue(BitBoard.countEmpty(t.getBoard()) == BitBoard.countEmpty(after) - 1);
+			s = t;
+		}
+	}
+
+	@Test
+	public void testSameSeedSameGame() {
+		GameHandle other = new GameHandle(7);
+		Rng rng = new Rng(3);
+		for(int n = 0; n < 300 && !handle.get().isGameOver(); n++) {
+			Directions dir = DIRECTIONS[rng.nextInt(DIRECTIONS.length)];
+			handle.move(dir);
+			other.move(dir);
+		}
+		assertTrue(handle.get().getBoard() == other.get().getBoard());
+		assertTrue(handle.get().getScore() == other.get().getScore());
+		assertTrue(handle.get().getVersion() == other.get().getVersion());
+	}
+
+	@Test
+	public void testTryMoveStale() {
+		GameHandle.State s = handle.get();
+		Directions dir = legalMove(s);
+		handle.publish(s.getBoard(), s.getScore());
+		assertTrue(handle.tryMove(s, dir) == null);
+		GameHandle.State t = handle.tryMove(handle.get(), dir);
+		assertTrue(t != null && handle.get() == t);
+		assertTrue(t.getVersion() == 2);
+	}
+
+	@Test
+	public void testPublish() {
+		GameHandle.State s = handle.publish(0x0000000000000121L, 12);
+		assertTrue(s.getBoard() == 0x0000000000000121L);
+		assertTrue(s.getScore() == 12);
+		assertTrue(s.getVersion() == 1);
+		assertFalse(s.isGameOver());
+		assertTrue(handle.publish(0x1212212112122121L, 40).isGameOver());
+	}
+
+	@Test
+	public void testView() {
+		GameHandle.View view = handle.view();
+		assertTrue(view.get() == handle.get());
+		GameHandle.State s = handle.publish(0x0000000000000121L, 12);
+		assertTrue(view.get() == s);
+	}
+
+	@Test
+	public void testConcurrentReadersAndWriters() throws Exception {
+		int writers = 4;
+		int readers = 4;
+		int attempts = 3000;
+		ConcurrentLinkedQueue<Object[]> steps = new ConcurrentLinkedQueue<Object[]>();
+		ConcurrentLinkedQueue<Long> versions = new ConcurrentLinkedQueue<Long>();
+		AtomicBoolean writing = new AtomicBoolean(true);
+		AtomicBoolean backwards = new AtomicBoolean(false);
+		ExecutorService pool = Executors.newFixedThreadPool(writers + readers);
+		List<Future<?>> readerTasks = new ArrayList<Future<?>>();
+		for(int r = 0; r < readers; r++) {
+			readerTasks.add(pool.submit(() -> {
+				long last = -1;
+				while(writing.get()) {
+					GameHandle.State s = handle.get();
+					if(s.getVersion() < last)
+						backwards.set(true);
+					last = s.getVersion();
+				}
+			}));
+		}
+		List<Future<?>> writerTasks = new ArrayList<Future<?>>();
+		for(int w = 0; w < writers; w++) {
+			int id = w;
+			writerTasks.add(pool.submit(() -> {
+				Rng rng = new Rng(id);
+				for(int n = 0; n < attempts; n++) {
+					GameHandle.State s = handle.get();
+					Directions dir = DIRECTIONS[rng.nextInt(DIRECTIONS.length)];
+					if(s.isGameOver()) {
+						GameHandle.State t = handle.newGame();
+						versions.add(t.getVersion());
+					} else if(id % 2 == 0) {
+						GameHandle.State t = handle.tryMove(s, dir);
+						if(t != null)
+							steps.add(new Object[] {s, dir, t});
+					} else {
+						GameHandle.State t = handle.move(dir);
+						if(t != null)
+							versions.add(t.getVersion());
+					}
+				}
+			}));
+		}
+		for(Future<?> f : writerTasks)
+			f.get();
+		writing.set(false);
+		for(Future<?> f : readerTasks)
+			f.get();
+		pool.shutdown();
+
+		assertFalse(backwards.get());
+		Set<Long> seen = new HashSet<Long>();
+		for(Object[] step : steps) {
+			GameHandle.State s = (GameHandle.State) step[0];
+			GameHandle.State t = (GameHandle.State) step[2];
+			GameHandle.State expected = handle.next(s, (Directions) step[1]);
+			assertTrue(t.getVersion() == s.getVersion() + 1);
+			assertTrue(t.getBoard() == expected.getBoard());
+			assertTrue(t.getScore() == expected.getScore());
+			assertTrue(seen.add(t.getVersion()));
+		}
+		for(long v : versions)
+			assertTrue(seen.add(v));
+		long last = handle.get().getVersion();
+		for(long v = 1; v <= last; v++)
+			assertTrue(seen.contains(v));
+		assertTrue(seen.size() == last);
+	}
+
+	private static Directions legalMove(GameHandle.State s) {
+		for(Directions dir : DIRECTIONS) {
+			if(BitBoard.move(s.getBoard(), dir) != s.getBoard())
+				return dir;
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,134 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the streaming game statistics and the headless simulator.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.util.*;
+import java.util.function.Supplier;
+
+public class TestGameStats {
+
+	private GameStats stats;
+
+	@Before
+	public void setUp() {
+		stats = new GameStats();
+	}
+
+	@After
+	public void tearDown() {
+		stats = null;
+	}
+
+	@Test
+	public void testEmpty() {
+		assertTrue(stats.getGames() == 0);
+		assertTrue(stats.getMinScore() == 0);
+		assertTrue(stats.scoreQuantile(0.5) == 0);
+	}
+
+	@Test
+	public void testMeanVariance() {
+		stats.addGame(2, 1, 10);
+		stats.addGame(4, 2, 20);
+		stats.addGame(6, 3, 30);
+		assertEquals(4.0, stats.getMeanScore(), 1e-9);
+		assertEquals(4.0, stats.getScoreVariance(), 1e-9);
+		assertTrue(stats.getMoves() == 60);
+		assertTrue(stats.getMinScore() == 2);
+		assertTrue(stats.getMaxScore() == 6);
+		assertTrue(stats.getMaxTileCount(2) == 1);
+	}
+
+	@Test
+	public void testMergeMatchesSingle() {
+		GameStats a = new GameStats();
+		GameStats b = new GameStats();
+		Random random = new Random(7);
+		for(int n = 0; n < 1000; n++) {
+			long score = random.nextInt(50000);
+			stats.addGame(score, 8, n);
+			if(n % 3 == 0)
+				a.addGame(score, 8, n);
+			else
+				b.addGame(score, 8, n);
+		}
+		a.merge(b);
+		assertTrue(a.getGames() == stats.getGames());
+		assertEquals(stats.getMeanScore(), a.getMeanScore(), 1e-6);
+		assertEquals(stats.getScoreVariance(), a.getScoreVariance(), 1e-3);
+		assertEquals(stats.scoreQuantile(0.9), a.scoreQuantile(0.9), 1e-9);
+	}
+
+	@Test
+	public void testQuantileAccuracy() {
+		for(int n = 1; n <= 10000; n++)
+			stats.addGame(n, 1, 1);
+		assertEquals(5000, stats.scoreQuantile(0.5), 5000 * 0.02);
+		assertEquals(9900, stats.scoreQuantile(0.99), 9900 * 0.02);
+	}
+
+	@Test
+	public void testSerialization() throws IOException {
+		stats.addGame(1000, 7, 100);
+		stats.addGame(3000, 8, 250);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		stats.writeTo(new DataOutputStream(bytes));
+		GameStats copy = GameStats.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+		assertTrue(copy.getGames() == 2);
+		assertTrue(copy.getMaxScore() == 3000);
+		assertTrue(copy.getMaxTileCount(8) == 1);
+		assertEquals(stats.getScoreVariance(), copy.getScoreVariance(), 1e-9);
+		assertEquals(stats.lengthQuantile(0.5), copy.lengthQuantile(0.5), 1e-9);
+	}
+
+	@Test
+	public void testSimulatorReproducible() throws InterruptedException {
+		GameStats one = new Simulator(1).run(40, 99);
+		GameStats four = new Simulator(4).run(40, 99);
+		assertTrue(one.getGames() == 40);
+		assertTrue(one.getMoves() == four.getMoves());
+		assertTrue(one.getMaxScore() == four.getMaxScore());
+	}
+
+	@Test
+	public void testSimulatorPolicy() throws InterruptedException {
+		int[] largest = new int[1];
+		Supplier<Policy> counting = () -> new Policy() {
+			private final Policy greedy = Policies.greedy().get();
+
+			@Override
+			public Directions choose(long board) {
+				return greedy.choose(board);
+			}
+
+			@Override
+			public void chooseAll(long[] boards, int count, Directions[] moves) {
+				synchronized(largest) {
+					largest[0] = Math.max(largest[0], count);
+				}
+				greedy.chooseAll(boards, count, moves);
+			}
+		};
+		GameStats one = new Simulator(1, counting).run(100, 5);
+		GameStats three = new Simulator(3, Policies.greedy()).run(100, 5);
+		GameStats random = new Simulator(3).run(100, 5);
+		assertTrue(largest[0] == Simulator.BATCH);
+		assertTrue(one.getGames() == 100);
+		assertTrue(one.getMoves() == three.getMoves());
+		assertTrue(one.getMaxScore() == three.getMaxScore());
+		assertTrue(one.getMeanScore() > random.getMeanScore());
+	}
+
+	@Test (expected=IllegalStateException.class)
+	public void testSimulatorIllegalMove() throws InterruptedException {
+		new Simulator(1, () -> board -> BitBoard.move(board, Directions.up) == board ? Directions.up : Directions.down).run(3, 1);
+	}
+}
@@ -0,0 +1,131 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the table driven heuristic and its tuner.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestHeuristic {
+
+	private Heuristic h;
+
+	@Before
+	public void setUp() {
+		h = Heuristic.standard();
+	}
+
+	@After
+	public void tearDown() {
+		h = null;
+	}
+
+	private static int line(int a, int b, int c, int d) {
+		return a | b << 4 | c << 8 | d << 12;
+	}
+
+	@Test
+	public void testFeatures() {
+		int pair = line(1, 1, 0, 0);
+		assertTrue(Heuristic.feature(Heuristic.EMPTY, pair) == 2);
+		assertTrue(Heuristic.feature(Heuristic.MERGES, pair) == 1);
+		assertTrue(Heuristic.feature(Heuristic.SMOOTHNESS, pair) == 0);
+		int sorted = line(3, 2, 1, 0);
+		assertTrue(Heuristic.feature(Heuristic.MONOTONICITY, sorted) == 0);
+		assertTrue(Heuristic.feature(Heuristic.CORNER, sorted) == 3);
+		assertTrue(Heuristic.feature(Heuristic.SMOOTHNESS, sorted) == 2);
+		int peak = line(1, 3, 1, 0);
+		assertTrue(Heuristic.feature(Heuristic.MONOTONICITY, peak) == 80);
+		assertTrue(Heuristic.feature(Heuristic.CORNER, peak) == 0);
+		assertTrue(Heuristic.feature(Heuristic.MERGES, line(2, 0, 2, 0)) == 1);
+		assertTrue(Heuristic.feature(Heuristic.ALIVE, 0) == 1);
+	}
+
+	@Test
+	public void testEvaluateSumsLines() {
+		Rng rng = new Rng(6);
+		double[] w = h.getWeights();
+		for(int n = 0; n < 200; n++) {
+			long board = rng.nextLong() & 0x7777777777777777L;
+			long t = BitBoard.transpose(board);
+			double rows = 0;
+			double expected = 0;
+			for(int k = 0; k < 4; k++) {
+				int r = (int) ((board >>> (16 * k)) & 0xFFFF);
+				int c = (int) ((t >>> (16 * k)) & 0xFFFF);
+				rows += h.lineValue(r) + h.lineValue(c);
+				for(int f = 0; f < Heuristic.featureCount(); f++)
+					expected += w[f] * (Heuristic.feature(f, r) + Heuristic.feature(f, c));
+			}
+			assertEquals(rows, h.evaluate(board), 1e-6);
+			assertEquals(expected, h.evaluate(board), 1e-6 * Math.abs(expected) + 1e-3);
+		}
+		assertEquals(8 * (w[Heuristic.ALIVE] + 4 * w[Heuristic.EMPTY]), h.evaluate(0), 1e-3);
+	}
+
+	@Test
+	public void testSearchUsesHeuristic() {
+		Heuristic empty = Heuristic.parse("alive=0,empty=1,merges=0,monotonicity=0,smoothness=0,corner=0");
+		Expectimax search = new Expectimax(1);
+		search.setHeuristic(empty);
+		long board = 0x0000000000001011L;
+		assertTrue(search.bestMove(board) == Directions.left);
+		assertEquals(4 + 2 * 14, search.getLastValue(), 1e-9);
+		Expectimax standard = new Expectimax(1);
+		Directions d = standard.bestMove(board);
+		double best = Double.NEGATIVE_INFINITY;
+		for(Directions m : Directions.values()) {
+			if(BitBoard.move(board, m) != board)
+				best = Math.max(best, BitBoard.scoreGain(board, m) + h.evaluate(BitBoard.move(board, m)));
+		}
+		assertEquals(best, standard.getLastValue(), 1e-3);
+		assertEquals(best, BitBoard.scoreGain(board, d) + h.evaluate(BitBoard.move(board, d)), 1e-3);
+	}
+
+	@Test
+	public void testParse() {
+		Heuristic custom = Heuristic.parse("empty=1.5,corner=-2");
+		assertTrue(custom.getWeights()[Heuristic.EMPTY] == 1.5);
+		assertTrue(custom.getWeights()[Heuristic.CORNER] == -2);
+		assertTrue(custom.getWeights()[Heuristic.ALIVE] == h.getWeights()[Heuristic.ALIVE]);
+		assertTrue(Heuristic.parse(custom.toString()).equals(custom));
+		assertTrue(Policies.parse("expectimax:1:corner=0").get().choose(0x1100L) != null);
+		try {
+			Heuristic.parse("bogus=1");
+			fail();
+		} catch(IllegalArgumentException e) {
+			assertTrue(e.getMessage().endsWith("!"));
+		}
+	}
+
+	@Test (expected=IllegalArgumentException.class)
+	public void testWrongWeightCount() {
+		new Heuristic(new double[] {1, 2});
+	}
+
+	@Test
+	public void testTuner() throws InterruptedException {
+		Tuner tuner = new Tuner(1, 1, 30, 3);
+		Heuristic start = Heuristic.parse("alive=1000,empty=0,merges=0,monotonicity=0,smoothness=0,corner=0");
+		Heuristic best = tuner.tune(start, 1, 0.5);
+		assertTrue(tuner.getBestScore() >= tuner.getStartScore());
+		assertTrue(tuner.getEvaluations() > Heuristic.featureCount());
+		assertTrue(tuner.score(best) == tuner.getBestScore());
+		assertTrue(best.equals(tuner.getBest()));
+	}
+
+	@Test
+	public void testTunerNeedsSignificance() {
+		long[] best = {1000, 3000, 1000, 3000, 1000, 3000};
+		long[] noisy = {3000, 1000, 3000, 1000, 3000, 1200};
+		long[] steady = {1100, 3100, 1100, 3100, 1100, 3200};
+		assertTrue(!Tuner.improves(noisy, best));
+		assertTrue(Tuner.improves(steady, best));
+		assertTrue(!Tuner.improves(best, best));
+	}
+
+}
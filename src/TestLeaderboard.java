@@ -0,0 +1,139 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the high score leaderboard.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+public class TestLeaderboard {
+
+	private Path dir;
+	private Leaderboard lb;
+
+	@Before
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("leaderboard");
+		lb = new Leaderboard(dir, 3);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		lb.close();
+		for(String name : new String[] {Leaderboard.LOG_FILE, Leaderboard.SNAPSHOT_FILE})
+			Files.deleteIfExists(dir.resolve(name));
+		Files.deleteIfExists(dir);
+	}
+
+	@Test
+	public void testEmpty() {
+		assertTrue(lb.size() == 0);
+		assertTrue(lb.getBest() == 0);
+		assertTrue(lb.rank(100) == 1);
+	}
+
+	@Test
+	public void testRecordRank() throws IOException {
+		assertTrue(lb.record(100, 16) == 1);
+		assertTrue(lb.record(300, 32) == 1);
+		assertTrue(lb.record(200, 32) == 2);
+		assertTrue(lb.record(200, 16) == 2);
+		assertTrue(lb.rank(50) == 5);
+		assertTrue(lb.rank(1000) == 1);
+		assertTrue(lb.size() == 4);
+	}
+
+	@Test
+	public void testTopK() throws IOException {
+		for(int s = 1; s <= 10; s++)
+			lb.record(s * 10, 8);
+		List<Leaderboard.Entry> top = lb.getTop();
+		assertTrue(top.size() == 3);
+		assertTrue(top.get(0).getScore() == 100);
+		assertTrue(top.get(2).getScore() == 80);
+	}
+
+	@Test (expected=IllegalArgumentException.class)
+	public void testRecordException() throws IOException {
+		lb.record(-1, 2);
+	}
+
+	@Test
+	public void testReopenFromSnapshot() throws IOException {
+		for(int s = 0; s < 5000; s++)
+			lb.record(s, 8);
+		lb.close();
+		assertTrue(Files.exists(dir.resolve(Leaderboard.SNAPSHOT_FILE)));
+		lb = new Leaderboard(dir, 3);
+		assertTrue(lb.size() == 5000);
+		assertTrue(lb.getBest() == 4999);
+		assertTrue(lb.rank(4000) == 1000);
+	}
+
+	@Test
+	public void testReopenReplaysLog() throws IOException {
+		lb.record(500, 64);
+		lb.record(700, 64);
+		Leaderboard crashed = lb;
+		lb = new Leaderboard(dir, 3);
+		assertTrue(lb.size() == 2);
+		assertTrue(lb.getBest() == 700);
+		crashed.close();
+	}
+
+	@Test
+	public void testSnapshotThenTruncatedLog() throws IOException {
+		lb.record(500, 64);
+		lb.record(700, 64);
+		lb.record(900, 64);
+		lb.close();
+		try(FileChannel log = FileChannel.open(dir.resolve(Leaderboard.LOG_FILE), StandardOpenOption.WRITE)) {
+			log.truncate(log.size() / 3);
+		}
+		lb = new Leaderboard(dir, 3);
+		assertTrue(lb.size() == 1);
+		assertTrue(lb.getBest() == 500);
+		assertTrue(lb.getTop().size() == 1);
+	}
+
+	@Test
+	public void testSnapshotThenRewrittenLog() throws IOException {
+		lb.record(500, 64);
+		lb.record(700, 64);
+		lb.close();
+		Path other = Files.createTempDirectory("leaderboard");
+		Leaderboard fresh = new Leaderboard(other, 3);
+		fresh.record(100, 8);
+		fresh.record(200, 8);
+		fresh.record(300, 8);
+		fresh.close();
+		Files.copy(other.resolve(Leaderboard.LOG_FILE), dir.resolve(Leaderboard.LOG_FILE),
+			StandardCopyOption.REPLACE_EXISTING);
+		for(String name : new String[] {Leaderboard.LOG_FILE, Leaderboard.SNAPSHOT_FILE})
+			Files.deleteIfExists(other.resolve(name));
+		Files.delete(other);
+		lb = new Leaderboard(dir, 3);
+		assertTrue(lb.size() == 3);
+		assertTrue(lb.getBest() == 300);
+		assertTrue(lb.rank(150) == 3);
+	}
+
+	@Test
+	public void testPartialRecordIgnored() throws IOException {
+		lb.record(500, 64);
+		lb.close();
+		Files.delete(dir.resolve(Leaderboard.SNAPSHOT_FILE));
+		Files.write(dir.resolve(Leaderboard.LOG_FILE), new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+		lb = new Leaderboard(dir, 3);
+		assertTrue(lb.size() == 1);
+		assertTrue(lb.record(600, 64) == 1);
+	}
+}
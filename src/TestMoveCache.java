@@ -0,0 +1,121 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the persistent move cache and the expectimax search.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.nio.file.*;
+
+public class TestMoveCache {
+
+	private Path file;
+	private MoveCache cache;
+	private long board;
+
+	@Before
+	public void setUp() throws IOException {
+		file = Files.createTempFile("moves", ".cache");
+		Files.delete(file);
+		cache = new MoveCache(file, 1000);
+		board = BitBoard.withExponent(BitBoard.withExponent(0, 0, 0, 1), 0, 1, 2);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		cache.close();
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	public void testCapacity() {
+		assertTrue(cache.getCapacity() == 1024);
+		assertTrue(cache.size() == 0);
+	}
+
+	@Test
+	public void testStoreLookup() {
+		assertTrue(cache.lookup(board, 1) == null);
+		cache.store(board, Directions.down, 3, 10f);
+		assertTrue(cache.lookup(board, 3) == Directions.down);
+		assertTrue(cache.lookup(board, 4) == null);
+		assertTrue(cache.getHits() == 1);
+		assertTrue(cache.getMisses() == 2);
+		assertEquals(1.0 / 3, cache.getHitRate(), 1e-9);
+	}
+
+	@Test
+	public void testSymmetricPosition() {
+		cache.store(board, Directions.down, 3, 10f);
+		long flipped = PositionHash.transform(board, 2);
+		assertTrue(cache.lookup(flipped, 3) == Directions.up);
+		assertTrue(cache.size() == 1);
+	}
+
+	@Test
+	public void testDeeperResultKept() {
+		cache.store(board, Directions.down, 5, 10f);
+		cache.store(board, Directions.right, 2, 10f);
+		assertTrue(cache.lookup(board, 1) == Directions.down);
+		cache.store(board, Directions.right, 6, 10f);
+		assertTrue(cache.lookup(board, 1) == Directions.right);
+	}
+
+	@Test
+	public void testReopen() throws IOException {
+		cache.store(board, Directions.right, 4, 10f);
+		cache.close();
+		cache = new MoveCache(file, 16);
+		assertTrue(cache.getCapacity() == 1024);
+		assertTrue(cache.size() == 1);
+		assertTrue(cache.lookup(board, 4) == Directions.right);
+	}
+
+	@Test
+	public void testCompact() throws IOException {
+		cache.store(board, Directions.right, 4, 10f);
+		cache.store(BitBoard.withExponent(0, 2, 2, 3), Directions.left, 1, 10f);
+		cache.close();
+		Path dst = Files.createTempFile("moves", ".compact");
+		try {
+			assertTrue(MoveCache.compact(file, dst, 2) == 1);
+			try(MoveCache small = new MoveCache(dst, 1)) {
+				assertTrue(small.getCapacity() == 16);
+				assertTrue(small.lookup(board, 4) == Directions.right);
+			}
+		} finally {
+			Files.deleteIfExists(dst);
+		}
+		cache = new MoveCache(file, 1);
+	}
+
+	@Test
+	public void testSearchUsesCache() {
+		Expectimax search = new Expectimax(2);
+		search.setCache(cache);
+		Directions first = search.bestMove(board);
+		assertTrue(first != null);
+		long nodes = search.getNodes();
+		assertTrue(search.bestMove(board) == first);
+		assertTrue(search.getNodes() == nodes);
+		assertTrue(cache.getHits() == 1);
+	}
+
+	@Test
+	public void testSearchNoMoves() {
+		long stuck = 0;
+		for(int cell = 0; cell < 16; cell++)
+			stuck |= (long) ((cell + cell / 4) % 2 + 1) << (4 * cell);
+		assertTrue(new Expectimax(2).bestMove(stuck) == null);
+	}
+
+	@Test (expected=IllegalArgumentException.class)
+	public void testStoreEmptyBoard() {
+		cache.store(0, Directions.up, 1, 0f);
+	}
+}
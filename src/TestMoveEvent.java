@@ -0,0 +1,150 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the move events published by the model.
+ * A listener that only applies the events to its own copy of the board
+ * must always end up with the same board as the model.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+public class TestMoveEvent {
+
+	private Model m;
+	private List<String> seen;
+	private MoveListener record;
+
+	@Before
+	public void setUp() {
+		m = new Model();
+		seen = new ArrayList<String>();
+		record = e -> seen.add(describe(e));
+	}
+
+	@After
+	public void tearDown() {
+		m = null;
+		seen = null;
+		record = null;
+	}
+
+	private void load(int[][] values) {
+		TileT[][] arr = new TileT[4][4];
+		for(int i = 0; i < 4; i++) {
+			for(int j = 0; j < 4; j++) {
+				arr[i][j] = new TileT(values[i][j], i, j);
+			}
+		}
+		m.getBoard().setBoard(arr);
+		m.getBoard().setScore(0);
+	}
+
+	private static String describe(MoveEvent e) {
+		StringBuilder sb = new StringBuilder(e.getDirection().toString());
+		for(int k = 0; k < e.getMoveCount(); k++)
+			sb.append(" ").append(e.getMoveFrom(k)).append(">").append(e.getMoveTo(k));
+		for(int k = 0; k < e.getMergeCount(); k++)
+			sb.append(" ").append(e.getMergeCell(k)).append("=").append(e.getMergeValue(k));
+		sb.append(" +").append(e.getScoreDelta());
+		return sb.toString();
+	}
+
+	private int[] cells() {
+		int[] c = new int[16];
+		for(int k = 0; k < 16; k++)
+			c[k] = m.getBoard().getBoardValueAt(k / 4, k % 4);
+		return c;
+	}
+
+	@Test
+	public void testSlide() {
+		load(new int[][] {{0,0,0,2},{0,0,0,0},{0,0,0,0},{0,0,0,0}});
+		m.addMoveListener(e -> {
+			assertTrue(e.getSpawnCell() >= 1 && e.getSpawnCell() < 16);
+			assertTrue(e.getSpawnValue() == 2 || e.getSpawnValue() == 4);
+		});
+		m.addMoveListener(record);
+		m.makeMove(Directions.left);
+		assertTrue(seen.equals(Arrays.asList("left 3>0 +0")));
+	}
+
+	@Test
+	public void testMerge() {
+		load(new int[][] {{2,2,0,0},{0,4,0,4},{0,0,0,0},{0,0,0,0}});
+		m.addMoveListener(record);
+		m.makeMove(Directions.left);
+		assertTrue(seen.equals(Arrays.asList("left 1>0 5>4 7>4 0=4 4=8 +12")));
+	}
+
+	@Test
+	public void testCascadedMerge() {
+		load(new int[][] {{0,2,2,4},{0,0,0,0},{0,0,0,0},{0,0,0,0}});
+		m.addMoveListener(record);
+		m.makeMove(Directions.right);
+		assertTrue(seen.equals(Arrays.asList("right 1>3 2>3 3=8 +12")));
+		assertTrue(m.getBoard().getBoardValueAt(0, 3) == 8);
+	}
+
+	@Test
+	public void testNoEventWithoutChange() {
+		load(new int[][] {{2,0,0,0},{4,0,0,0},{0,0,0,0},{0,0,0,0}});
+		m.addMoveListener(record);
+		m.makeMove(Directions.left);
+		assertTrue(seen.isEmpty());
+	}
+
+	@Test
+	public void testRemoveListener() {
+		load(new int[][] {{0,0,0,2},{0,0,0,0},{0,0,0,0},{0,0,0,0}});
+		m.addMoveListener(record);
+		m.removeMoveListener(record);
+		m.makeMove(Directions.left);
+		assertTrue(seen.isEmpty());
+	}
+
+	@Test
+	public void testEventIsReused() {
+		load(new int[][] {{0,0,0,2},{0,0,0,0},{0,0,0,0},{0,0,0,0}});
+		MoveEvent[] events = new MoveEvent[2];
+		int[] count = new int[1];
+		m.addMoveListener(e -> events[count[0]++ % 2] = e);
+		m.makeMove(Directions.left);
+		m.makeMove(Directions.right);
+		assertTrue(count[0] == 2);
+		assertTrue(events[0] == events[1]);
+	}
+
+	@Test
+	public void testReplayMatchesModel() {
+		Directions[] dirs = Directions.values();
+		Random rnd = new Random(2048);
+		for(int game = 0; game < 20; game++) {
+			m = new Model();
+			int[] copy = cells();
+			long[] score = new long[1];
+			m.addMoveListener(e -> {
+				int[] next = copy.clone();
+				for(int k = 0; k < e.getMoveCount(); k++)
+					next[e.getMoveFrom(k)] = 0;
+				for(int k = 0; k < e.getMoveCount(); k++)
+					next[e.getMoveTo(k)] = copy[e.getMoveFrom(k)];
+				for(int k = 0; k < e.getMergeCount(); k++)
+					next[e.getMergeCell(k)] = e.getMergeValue(k);
+				next[e.getSpawnCell()] = e.getSpawnValue();
+				System.arraycopy(next, 0, copy, 0, 16);
+				score[0] += e.getScoreDelta();
+			});
+			while(!m.isGameOver()) {
+				m.makeMove(dirs[rnd.nextInt(dirs.length)]);
+				assertTrue(Arrays.equals(copy, cells()));
+				assertTrue(score[0] == m.getBoard().getScore());
+			}
+		}
+	}
+
+}
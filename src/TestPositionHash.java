@@ -0,0 +1,123 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the symmetry reduction and the Zobrist hashes.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+public class TestPositionHash {
+
+	private Model m;
+	private Random random;
+
+	@Before
+	public void setUp() {
+		m = new Model();
+		random = new Random(11);
+	}
+
+	@After
+	public void tearDown() {
+		m = null;
+	}
+
+	private long randomBoard() {
+		long packed = 0;
+		for(int cell = 0; cell < 16; cell++)
+			packed |= (long) random.nextInt(6) << (4 * cell);
+		return packed;
+	}
+
+	@Test
+	public void testTransformInverse() {
+		for(int n = 0; n < 100; n++) {
+			long b = randomBoard();
+			for(int s = 0; s < PositionHash.SYMMETRIES; s++) {
+				assertTrue(PositionHash.inverse(PositionHash.transform(b, s), s) == b);
+			}
+		}
+	}
+
+	@Test
+	public void testFlips() {
+		long b = BitBoard.withExponent(0, 0, 0, 1);
+		assertTrue(BitBoard.exponentAt(PositionHash.transform(b, 1), 0, 3) == 1);
+		assertTrue(BitBoard.exponentAt(PositionHash.transform(b, 2), 3, 0) == 1);
+		assertTrue(BitBoard.exponentAt(PositionHash.transform(b, 3), 3, 3) == 1);
+	}
+
+	@Test
+	public void testExactSymmetries() {
+		assertTrue(PositionHash.isExact(0));
+		assertTrue(PositionHash.isExact(2));
+		assertFalse(PositionHash.isExact(1));
+		assertFalse(PositionHash.isExact(4));
+	}
+
+	@Test
+	public void testExactSymmetriesCommuteWithMoves() {
+		for(int n = 0; n < 200; n++) {
+			long b = randomBoard();
+			for(int s = 0; s < PositionHash.SYMMETRIES; s++) {
+				if(!PositionHash.isExact(s))
+					continue;
+				for(Directions d : Directions.values()) {
+					long t = PositionHash.transform(b, s);
+					Directions mapped = PositionHash.toTransformed(s, d);
+					assertTrue(PositionHash.transform(BitBoard.move(b, d), s) == BitBoard.move(t, mapped));
+					assertTrue(PositionHash.toOriginal(s, mapped) == d);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCanonical() {
+		for(int n = 0; n < 100; n++) {
+			long b = randomBoard();
+			long c = PositionHash.canonical(b);
+			for(int s = 0; s < PositionHash.SYMMETRIES; s++) {
+				if(PositionHash.isExact(s))
+					assertTrue(PositionHash.canonical(PositionHash.transform(b, s)) == c);
+			}
+			assertTrue(PositionHash.transform(b, PositionHash.canonicalSymmetry(b)) == c);
+		}
+	}
+
+	@Test
+	public void testRehash() {
+		long b = randomBoard();
+		long h = PositionHash.hash(b);
+		for(Directions d : Directions.values()) {
+			long after = BitBoard.move(b, d);
+			assertTrue(PositionHash.rehash(h, b, after) == PositionHash.hash(after));
+		}
+	}
+
+	@Test
+	public void testBoardHashFollowsMoves() {
+		for(int n = 0; n < 20; n++) {
+			m.makeMove(Directions.values()[random.nextInt(4)]);
+			assertTrue(m.getBoard().getHash() == PositionHash.hash(BitBoard.pack(m.getBoard())));
+		}
+	}
+
+	@Test
+	public void testBoardHashSetBoard() {
+		TileT[][] arr = new TileT[4][4];
+		for(int i = 0; i < 4; i++) {
+			for(int j = 0; j < 4; j++) {
+				arr[i][j] = new TileT(j == 0 ? 0 : 1 << j, i, j);
+			}
+		}
+		m.getBoard().setBoard(arr);
+		assertTrue(m.getBoard().getHash() == PositionHash.hash(BitBoard.pack(m.getBoard())));
+		assertTrue(new Board().getHash() == 0);
+	}
+}
@@ -0,0 +1,257 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the rule variants and their table driven engine.
+ * The engine of the standard rules is compared against BitBoard, and the
+ * variants are checked cell by cell on small boards.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestRules {
+
+	private RulesEngine standard;
+
+	@Before
+	public void setUp() {
+		standard = new RulesEngine(Rules.standard());
+	}
+
+	@After
+	public void tearDown() {
+		standard = null;
+	}
+
+	private static long board(int[][] exps) {
+		long packed = 0;
+		for(int i = 0; i < exps.length; i++) {
+			for(int j = 0; j < exps[i].length; j++)
+				packed |= (long) exps[i][j] << (4 * (4 * i + j));
+		}
+		return packed;
+	}
+
+	@Test
+	public void testStandardMatchesBitBoard() {
+		Rng a = new Rng(17);
+		Rng b = new Rng(17);
+		for(int game = 0; game < 50; game++) {
+			long x = standard.newGame(a);
+			long y = BitBoard.spawn(BitBoard.spawn(0, b), b);
+			assertTrue(x == y);
+			while(BitBoard.canMove(x)) {
+				assertTrue(standard.canMove(x));
+				for(Directions d : Directions.values()) {
+					assertTrue(standard.move(x, d) == BitBoard.move(x, d));
+					assertTrue(standard.scoreGain(x, d) == BitBoard.scoreGain(x, d));
+				}
+				Directions d = Directions.values()[a.nextInt(4)];
+				b.nextInt(4);
+				if(BitBoard.move(x, d) == x)
+					continue;
+				x = standard.spawn(standard.move(x, d), a);
+				y = BitBoard.spawn(BitBoard.move(y, d), b);
+				assertTrue(x == y);
+			}
+			assertFalse(standard.canMove(x));
+		}
+	}
+
+	@Test
+	public void testObstacleSplitsLine() {
+		RulesEngine e = new RulesEngine(new Rules(4, 4, new double[] {1}, 2048, 1, new int[][] {{0, 1}}));
+		long w = RulesEngine.WALL;
+		long b = board(new int[][] {{1,15,0,1},{0,0,0,0},{0,0,0,0},{0,0,0,0}});
+		assertTrue(b == (e.getWalls() | 0x1001L));
+		assertTrue(e.move(b, Directions.left) == board(new int[][] {{1,15,1,0},{0,0,0,0},{0,0,0,0},{0,0,0,0}}));
+		assertTrue(e.move(b, Directions.right) == board(new int[][] {{1,15,0,1},{0,0,0,0},{0,0,0,0},{0,0,0,0}}));
+		long c = board(new int[][] {{0,15,0,0},{0,2,0,0},{0,2,0,0},{0,0,0,0}});
+		assertTrue(e.move(c, Directions.up) == board(new int[][] {{0,15,0,0},{0,3,0,0},{0,0,0,0},{0,0,0,0}}));
+		assertTrue(e.scoreGain(c, Directions.up) == 8);
+		assertTrue(e.move(c, Directions.down) == board(new int[][] {{0,15,0,0},{0,0,0,0},{0,0,0,0},{0,3,0,0}}));
+		assertTrue(((e.move(c, Directions.left) >>> 4) & 0xF) == w);
+	}
+
+	@Test
+	public void testSmallBoard() {
+		RulesEngine e = new RulesEngine(new Rules(3, 3, new double[] {0.9, 0.1}, 64, 1, new int[0][]));
+		Rng rng = new Rng(3);
+		long[] length = new long[1];
+		Policy policy = e.randomPolicy();
+		for(int game = 0; game < 30; game++) {
+			long walls = e.getWalls();
+			e.playGame(policy, rng, length);
+			long b = e.newGame(rng);
+			assertTrue((b & walls) == walls);
+			assertTrue(BitBoard.countEmpty(b) == 7);
+		}
+		assertTrue(length[0] > 0);
+		assertTrue(((e.getWalls() >>> 48) & 0xFFFF) == 0xFFFF);
+		assertTrue(((e.getWalls() >>> 12) & 0xF) == RulesEngine.WALL);
+	}
+
+	@Test
+	public void testWallsNeverMove() {
+		RulesEngine e = new RulesEngine(new Rules(4, 3, new double[] {0.5, 0.5}, 2048, 2, new int[][] {{1, 1}, {2, 0}}));
+		Rng rng = new Rng(8);
+		for(int game = 0; game < 30; game++) {
+			long b = e.newGame(rng);
+			while(e.canMove(b)) {
+				Directions d = Directions.values()[rng.nextInt(4)];
+				long after = e.move(b, d);
+				assertTrue((after & e.getWalls()) == e.getWalls());
+				for(int cell = 0; cell < 16; cell++) {
+					long nibble = (after >>> (4 * cell)) & 0xF;
+					boolean wall = ((e.getWalls() >>> (4 * cell)) & 0xF) != 0;
+					assertTrue(wall == (nibble == RulesEngine.WALL));
+				}
+				if(after != b)
+					b = e.spawn(after, rng);
+			}
+		}
+	}
+
+	@Test
+	public void testSpawns() {
+		RulesEngine fours = new RulesEngine(new Rules(4, 4, new double[] {0, 1}, 2048, 3, new int[0][]));
+		Rng rng = new Rng(1);
+		long b = fours.spawn(0, rng);
+		assertTrue(BitBoard.countEmpty(b) == 13);
+		for(int cell = 0; cell < 16; cell++) {
+			long e = (b >>> (4 * cell)) & 0xF;
+			assertTrue(e == 0 || e == 2);
+		}
+		assertTrue(fours.spawn(0x1111111111111112L, rng) == 0x1111111111111112L);
+		Rules r = Rules.standard();
+		assertTrue(r.spawnValue(0.69) == 2 && r.spawnValue(0.7) == 4 && r.spawnValue(0.9999) == 4);
+	}
+
+	@Test
+	public void testWin() {
+		RulesEngine e = new RulesEngine(new Rules(4, 4, new double[] {1}, 32, 1, new int[][] {{3, 3}}));
+		assertFalse(e.isWon(e.getWalls() | 0x4L));
+		assertTrue(e.isWon(e.getWalls() | 0x5L << 20));
+		assertFalse(standard.isWon(0xAAL));
+		assertTrue(standard.isWon(0xBL << 60));
+	}
+
+	@Test
+	public void testTileCap() {
+		long b = board(new int[][] {{14,14,0,0},{0,0,0,0},{0,0,0,0},{0,0,0,0}});
+		assertTrue(standard.move(b, Directions.left) == 14);
+		assertTrue(standard.scoreGain(b, Directions.left) == 1 << 14);
+	}
+
+	@Test
+	public void testModelRules() {
+		Model m = new Model(new Rules(4, 4, new double[] {0, 0, 1}, 16, 2, new int[0][]));
+		int tiles = 0;
+		for(int i = 0; i < 4; i++) {
+			for(int j = 0; j < 4; j++) {
+				int v = m.getBoard().getBoardValueAt(i, j);
+				assertTrue(v == 0 || v == 8);
+				if(v != 0)
+					tiles++;
+			}
+		}
+		assertTrue(tiles == 2);
+		assertFalse(m.hasWinningTile());
+		int[] spawns = new int[1];
+		m.addMoveListener(e -> spawns[0] = e.getSpawnCount());
+		for(int i = 0; i < 4; i++) {
+			for(int j = 0; j < 4; j++)
+				m.getBoard().setBoardValueAt(i, j, i == 0 && j < 2 ? 8 : 0);
+		}
+		m.makeMove(Directions.left);
+		assertTrue(spawns[0] == 2);
+		assertTrue(m.getBoard().getBoardValueAt(0, 0) == 16);
+		assertTrue(m.hasWinningTile());
+	}
+
+	@Test (expected=IllegalArgumentException.class)
+	public void testModelRejectsObstacles() {
+		new Model(new Rules(4, 4, new double[] {1}, 2048, 1, new int[][] {{0, 0}}));
+	}
+
+	@Test
+	public void testBadRules() {
+		int[][][] obstacles = {{{4, 0}}, {{0, 0}, {0, 0}}};
+		for(int[][] o : obstacles) {
+			try {
+				new Rules(4, 4, new double[] {1}, 2048, 1, o);
+				fail();
+			} catch(IllegalArgumentException e) {}
+		}
+		try {
+			new Rules(4, 4, new double[] {1}, 3000, 1, new int[0][]);
+			fail();
+		} catch(IllegalArgumentException e) {}
+		try {
+			new Rules(1, 2, new double[] {1}, 2048, 1, new int[][] {{0, 1}});
+			fail();
+		} catch(IllegalArgumentException e) {}
+		try {
+			new Rules(5, 4, new double[] {1}, 2048, 1, new int[0][]);
+			fail();
+		} catch(IllegalArgumentException e) {}
+		try {
+			new Rules(4, 4, new double[] {0, 0}, 2048, 1, new int[0][]);
+			fail();
+		} catch(IllegalArgumentException e) {}
+		assertTrue(Rules.standard().equals(new Rules(4, 4, new double[] {0.7, 0.3}, 2048, 1, new int[0][])));
+	}
+
+	@Test
+	public void testParse() {
+		assertTrue(Rules.parse("standard") == Rules.standard());
+		assertTrue(Rules.parse("win=2048").equals(Rules.standard()));
+		Rules r = Rules.parse("size=3x4,win=512,spawns=2,weights=0.9:0.1,walls=1.1:2.0");
+		assertTrue(r.equals(new Rules(3, 4, new double[] {0.9, 0.1}, 512, 2, new int[][] {{2, 0}, {1, 1}})));
+		String[] bad = {"size=3", "win=two", "walls=1", "color=red", "spawns"};
+		for(String text : bad) {
+			try {
+				Rules.parse(text);
+				fail();
+			} catch(IllegalArgumentException e) {}
+		}
+	}
+
+	@Test
+	public void testPoliciesSkipWalls() {
+		RulesEngine e = new RulesEngine(new Rules(4, 4, new double[] {0.9, 0.1}, 2048, 1, new int[][] {{0, 0}, {0, 1}}));
+		long b = e.getWalls() | 0x1100L;
+		long stuck = board(new int[][] {{15,15,1,2},{3,4,2,1},{1,2,3,4},{3,4,1,2}});
+		assertTrue(BitBoard.canMove(stuck) && !e.canMove(stuck));
+		Policy[] policies = {Policies.greedy(e).get(), Policies.expectimax(2, Heuristic.standard(), e).get(), e.randomPolicy()};
+		Rng rng = new Rng(4);
+		for(Policy policy : policies) {
+			policy.start(1);
+			long[] length = new long[1];
+			for(int game = 0; game < 5; game++)
+				e.playGame(policy, rng, length);
+			assertTrue(length[0] > 0);
+			assertTrue(policy.choose(stuck) == null);
+			assertTrue(e.move(b, policy.choose(b)) != b);
+		}
+	}
+
+	@Test
+	public void testSimulateVariant() throws InterruptedException {
+		RulesEngine e = new RulesEngine(Rules.parse("size=3x3,win=256,walls=1.1"));
+		GameStats one = new Simulator(1, Policies.greedy(e), e).run(200, 3);
+		GameStats two = new Simulator(2, Policies.greedy(e), e).run(200, 3);
+		assertTrue(one.getGames() == 200 && two.getGames() == 200);
+		assertTrue(one.getMoves() == two.getMoves());
+		assertTrue(one.getMaxScore() == two.getMaxScore());
+		assertTrue(one.getMaxTileCount(RulesEngine.WALL) == 0);
+		RulesEngine same = new RulesEngine(Rules.standard());
+		GameStats plain = new Simulator(1, Policies.greedy()).run(100, 8);
+		GameStats engine = new Simulator(1, Policies.greedy(same), same).run(100, 8);
+		assertTrue(plain.getMoves() == engine.getMoves() && plain.getMaxScore() == engine.getMaxScore());
+	}
+
+}
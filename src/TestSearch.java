@@ -0,0 +1,180 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the search helpers and the parallel search.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.concurrent.*;
+
+public class TestSearch {
+
+	private ForkJoinPool pool;
+	private long board;
+
+	@Before
+	public void setUp() {
+		pool = new ForkJoinPool(2);
+		board = BitBoard.withExponent(BitBoard.withExponent(BitBoard.withExponent(0, 0, 0, 1), 0, 1, 1), 3, 3, 2);
+	}
+
+	@After
+	public void tearDown() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	public void testTableStoreProbe() {
+		TranspositionTable table = new TranspositionTable(4);
+		assertTrue(Double.isNaN(table.probe(board, 1)));
+		table.store(board, 3, 12.5);
+		assertEquals(12.5, table.probe(board, 3), 1e-6);
+		assertEquals(12.5, table.probe(board, 2), 1e-6);
+		assertTrue(Double.isNaN(table.probe(board, 4)));
+		assertTrue(Double.isNaN(table.probe(board + 1, 1)));
+		table.clear();
+		assertTrue(Double.isNaN(table.probe(board, 1)));
+	}
+
+	@Test (expected=IllegalArgumentException.class)
+	public void testTableSizeException() {
+		new TranspositionTable(0);
+	}
+
+	@Test
+	public void testParallelMatchesSequential() {
+		// up and down are tied on this board, so the tie must go to up in both searches
+		Expectimax sequential = new Expectimax(3);
+		assertTrue(sequential.bestMove(board) == Directions.up);
+		for(int n = 0; n < 10; n++) {
+			ParallelExpectimax parallel = new ParallelExpectimax(3, pool, 16);
+			assertTrue(parallel.bestMove(board) == Directions.up);
+			assertEquals(sequential.getLastValue(), parallel.getLastValue(), 1e-6 * Math.abs(sequential.getLastValue()));
+			assertTrue(parallel.getNodes() > 0);
+		}
+	}
+
+	@Test
+	public void testParallelNoMoves() {
+		long stuck = 0;
+		for(int cell = 0; cell < 16; cell++)
+			stuck |= (long) ((cell + cell / 4) % 2 + 1) << (4 * cell);
+		assertTrue(new ParallelExpectimax(2, pool, 8).bestMove(stuck) == null);
+	}
+
+	@Test
+	public void testDriverDeadline() {
+		SearchDriver driver = new SearchDriver(30);
+		long start = System.nanoTime();
+		SearchResult result = driver.search(board, 50000000L);
+		long took = System.nanoTime() - start;
+		assertTrue(result.getMove() != null);
+		assertTrue(result.getDepth() >= 1);
+		assertTrue(took < 500000000L);
+		assertTrue(result.getNodes() > 0);
+	}
+
+	@Test
+	public void testDriverZeroBudget() {
+		SearchResult result = new SearchDriver(10).search(board, 0);
+		assertTrue(result.getMove() != null);
+		assertTrue(BitBoard.move(board, result.getMove()) != board);
+	}
+
+	@Test
+	public void testDriverCancel() throws Exception {
+		SearchDriver driver = new SearchDriver(30);
+		Future<SearchResult> f = pool.submit(() -> driver.search(board, 60000000000L));
+		Thread.sleep(50);
+		long start = System.nanoTime();
+		driver.cancel();
+		SearchResult result = f.get(2, TimeUnit.SECONDS);
+		assertTrue(System.nanoTime() - start < 1000000000L);
+		assertTrue(result.getMove() != null);
+	}
+
+	@Test
+	public void testDriverNoMoves() {
+		long stuck = 0;
+		for(int cell = 0; cell < 16; cell++)
+			stuck |= (long) ((cell + cell / 4) % 2 + 1) << (4 * cell);
+		SearchResult result = new SearchDriver(5).search(stuck, 1000000L);
+		assertTrue(result.getMove() == null);
+		assertTrue(result.getDepth() == 0);
+	}
+
+	@Test
+	public void testHintDelivered() throws Exception {
+		HintService hints = new HintService(20, 4, Runnable::run);
+		CountDownLatch done = new CountDownLatch(1);
+		hints.request(board, r -> done.countDown());
+		assertTrue(done.await(2, TimeUnit.SECONDS));
+		assertTrue(!hints.isPending());
+		assertTrue(hints.getHintLatency() > 0);
+		hints.close();
+	}
+
+	@Test
+	public void testHintCancelled() throws Exception {
+		HintService hints = new HintService(60000, 30, Runnable::run);
+		CountDownLatch done = new CountDownLatch(1);
+		hints.request(board, r -> done.countDown());
+		Thread.sleep(50);
+		hints.cancel();
+		assertTrue(!hints.isPending());
+		assertTrue(!done.await(200, TimeUnit.MILLISECONDS));
+		assertTrue(hints.getCancelLatency() >= 0 && hints.getCancelLatency() < 1000000000L);
+		assertTrue(hints.getHintLatency() == -1);
+		hints.close();
+	}
+
+	@Test
+	public void testAutoplayDropsFrames() throws Exception {
+		ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<Runnable>();
+		Autoplayer player = new Autoplayer(1, 0, queue::add, f -> {});
+		player.start(board, 0, 7);
+		long deadline = System.nanoTime() + 2000000000L;
+		while(player.getMoves() < 50 && player.isRunning() && System.nanoTime() < deadline)
+			Thread.sleep(1);
+		Autoplayer.Frame last = player.stop();
+		assertTrue(!player.isRunning());
+		assertTrue(queue.size() == 1);
+		assertTrue(last != null && last.getMoves() >= 50);
+		assertTrue(player.getFramesDrawn() == 1);
+		assertTrue(player.getFramesDropped() + 1 >= player.getMoves());
+		assertTrue(player.getMovesPerSecond() > 0);
+		queue.poll().run();
+		assertTrue(player.getFramesDrawn() == 1);
+	}
+
+	@Test
+	public void testAutoplayPaced() throws Exception {
+		Autoplayer player = new Autoplayer(1, 50, Runnable::run, f -> {});
+		player.start(board, 0, 7);
+		Thread.sleep(200);
+		player.stop();
+		assertTrue(player.getMoves() >= 1 && player.getMoves() <= 15);
+		assertTrue(player.getFramesDropped() == 0);
+		assertTrue(player.getFramesDrawn() == player.getMoves());
+	}
+
+	@Test
+	public void testAutoplayGameOver() throws Exception {
+		long stuck = 0;
+		for(int cell = 0; cell < 16; cell++)
+			stuck |= (long) ((cell + cell / 4) % 2 + 1) << (4 * cell);
+		CountDownLatch over = new CountDownLatch(1);
+		Autoplayer player = new Autoplayer(1, 0, Runnable::run, f -> {
+			if(f.isOver())
+				over.countDown();
+		});
+		player.start(stuck, 40, 7);
+		assertTrue(over.await(2, TimeUnit.SECONDS));
+		player.stop();
+		assertTrue(player.getMoves() == 0);
+	}
+}
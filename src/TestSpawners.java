@@ -0,0 +1,134 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the spawners, most of all the adversarial one.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestSpawners {
+
+	private Spawner adversarial;
+
+	@Before
+	public void setUp() {
+		adversarial = Spawners.adversarial();
+	}
+
+	@After
+	public void tearDown() {
+		adversarial = null;
+	}
+
+	@Test
+	public void testPlacesOneTile() {
+		Rng rng = new Rng(2);
+		for(int n = 0; n < 200; n++) {
+			long board = BitBoard.spawn(BitBoard.spawn(BitBoard.spawn(0, rng), rng), rng);
+			long after = adversarial.spawn(board, rng);
+			long added = after ^ board;
+			assertTrue((added & board) == 0);
+			int shift = Long.numberOfTrailingZeros(added) & ~3;
+			long exp = added >>> shift;
+			assertTrue(exp == 1 || exp == 2);
+		}
+	}
+
+	@Test
+	public void testDeterministic() {
+		long board = 0x0000000100210312L;
+		assertTrue(adversarial.spawn(board, new Rng(1)) == adversarial.spawn(board, new Rng(99)));
+		assertTrue(Spawners.worstSpawn(board) == adversarial.spawn(board, null));
+	}
+
+	@Test
+	public void testFullBoard() {
+		long full = 0x1212212112122121L;
+		assertTrue(adversarial.spawn(full, new Rng(0)) == full);
+	}
+
+	@Test
+	public void testBlocksLastMove() {
+		long board = 0x0121121221211212L;
+		assertTrue(adversarial.spawn(board, new Rng(0)) == 0x2121121221211212L);
+		assertFalse(BitBoard.canMove(0x2121121221211212L));
+	}
+
+	@Test
+	public void testHarderThanRandom() throws InterruptedException {
+		GameStats random = new Simulator(1, Policies.greedy(), Spawners.random()).run(100, 6);
+		GameStats worst = new Simulator(1, Policies.greedy(), adversarial).run(100, 6);
+		assertTrue(worst.getMeanScore() < random.getMeanScore() / 2);
+	}
+
+	@Test
+	public void testThreadsDoNotChangeResults() throws InterruptedException {
+		GameStats a = new Simulator(1, Policies.greedy(), adversarial).run(80, 4);
+		GameStats b = new Simulator(2, Policies.greedy(), adversarial).run(80, 4);
+		assertTrue(a.getMoves() == b.getMoves());
+		assertTrue(a.getMinScore() == b.getMinScore() && a.getMaxScore() == b.getMaxScore());
+		assertEquals(a.getMeanScore(), b.getMeanScore(), 1e-6);
+	}
+
+	@Test
+	public void testModelSpawner() {
+		Model m = new Model();
+		for(int i = 0; i < 4; i++) {
+			for(int j = 0; j < 4; j++)
+				m.getBoard().setBoardValueAt(i, j, j == 0 ? 2 << (i % 2) : 0);
+		}
+		long before = BitBoard.move(BitBoard.pack(m.getBoard()), Directions.right);
+		m.setSpawner(adversarial);
+		m.makeMove(Directions.right);
+		assertTrue(BitBoard.pack(m.getBoard()) == Spawners.worstSpawn(before));
+	}
+
+	@Test
+	public void testModelSpawnerUnpackable() {
+		Model m = new Model();
+		for(int i = 0; i < 4; i++) {
+			for(int j = 0; j < 4; j++)
+				m.getBoard().setBoardValueAt(i, j, j == 0 ? 1 << 16 : 0);
+		}
+		m.setSpawner(adversarial);
+		m.makeMove(Directions.right);
+		int tiles = 0;
+		for(int i = 0; i < 4; i++) {
+			for(int j = 0; j < 4; j++) {
+				if(m.getBoard().getBoardValueAt(i, j) != 0)
+					tiles++;
+			}
+			assertTrue(m.getBoard().getBoardValueAt(i, 3) == 1 << 16);
+		}
+		assertTrue(tiles == 5);
+	}
+
+	@Test
+	public void testTournamentSpawner() throws InterruptedException {
+		Tournament t = new Tournament(1);
+		t.addPolicy("greedy", Policies.greedy());
+		t.setSpawner(adversarial);
+		t.run(20, 3);
+		double worst = t.getMeanScore(0);
+		t.setSpawner(null);
+		t.run(20, 3);
+		assertTrue(worst < t.getMeanScore(0));
+	}
+
+	@Test
+	public void testParse() {
+		assertTrue(Spawners.parse("random").spawn(0, new Rng(1)) != 0);
+		assertTrue(Spawners.parse("adversarial").spawn(0x1L, null) != 0x1L);
+		try {
+			Spawners.parse("bogus");
+			fail();
+		} catch(IllegalArgumentException e) {
+			assertTrue(e.getMessage().endsWith("!"));
+		}
+	}
+
+}
@@ -0,0 +1,73 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the small board endgame tables.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.nio.file.*;
+
+public class TestTablebase {
+
+	private Path file;
+	private Tablebase tb;
+
+	@Before
+	public void setUp() throws IOException {
+		file = Files.createTempFile("table", ".tb");
+		Tablebase.generate(2, 4, file);
+		tb = new Tablebase(file);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		tb.close();
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	public void testHeader() {
+		assertTrue(tb.getSize() == 2);
+		assertTrue(tb.getTarget() == 4);
+	}
+
+	@Test
+	public void testWinningMerge() {
+		assertEquals(1.0, tb.probe(new int[] {3, 3, 0, 0}), 1e-6);
+		assertEquals(1.0, tb.probe(new int[] {4, 0, 0, 0}), 1e-6);
+	}
+
+	@Test
+	public void testStuckBoard() {
+		assertEquals(0.0, tb.probe(new int[] {1, 2, 2, 1}), 1e-6);
+	}
+
+	@Test
+	public void testProbabilities() {
+		float start = tb.probe(new int[] {1, 0, 0, 1});
+		assertTrue(start > 0 && start < 1);
+		assertTrue(tb.probe(new int[] {3, 2, 0, 0}) >= tb.probe(new int[] {1, 2, 0, 0}));
+	}
+
+	@Test
+	public void testNotCovered() {
+		assertTrue(Float.isNaN(tb.probe(new int[] {1, 0, 0})));
+		assertTrue(Float.isNaN(tb.probe(0x21L)));
+	}
+
+	@Test (expected=IllegalArgumentException.class)
+	public void testTooLarge() throws IOException {
+		Tablebase.generate(4, 11, file);
+	}
+
+	@Test (expected=IOException.class)
+	public void testBadFile() throws IOException {
+		Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+		new Tablebase(file).close();
+	}
+}
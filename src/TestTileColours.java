@@ -0,0 +1,60 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the colours of the tiles in the GUI.
+ */
+
+package src;
+
+import java.awt.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class TestTileColours {
+
+	private TileT tile;
+
+	@Before
+	public void setUp() {
+		tile = new TileT(2, 0, 0);
+	}
+
+	@After
+	public void tearDown() {
+		tile = null;
+	}
+
+	@Test
+	public void testTileColour() {
+		Color expected = new Color(238, 228, 218);
+		assertTrue(expected.equals(TileColours.of(tile.getValue())));
+	}
+
+	@Test (expected=IllegalArgumentException.class)
+	public void testColourException() {
+		TileColours.of(-1);
+	}
+
+	@Test
+	public void testColour1() {
+		assertTrue(TileColours.of(0).equals(new Color(205, 193, 180)));
+	}
+
+	@Test
+	public void testColour2() {
+		assertTrue(TileColours.of(123).equals(TileColours.of(64)));
+	}
+
+	@Test
+	public void testColour3() {
+		assertTrue(TileColours.of(512).equals(new Color(228, 193, 42)));
+	}
+
+	@Test
+	public void testColour4() {
+		assertTrue(TileColours.of(2048).equals(new Color(236, 196, 2)));
+		assertTrue(TileColours.of(4096).equals(new Color(0, 0, 0)));
+	}
+
+}
@@ -7,7 +7,6 @@
 
 package src;
 
-import java.awt.*;
 import static org.junit.Assert.*;
 import org.junit.*;
 import static org.junit.Assert.*;
@@ -20,7 +19,6 @@ public class TestTileT {
 	@Before 
 	public void setUp() {
 		tile = new TileT(2, 0, 0);
-		tile.setTileColour(tile.getValue());
 	}
 
 	@After
@@ -39,12 +37,6 @@ public class TestTileT {
 		assertArrayEquals(tile.getPosition(), expected);
 	}
 
-	@Test
-	public void testGetTileColour() {
-		Color expected = new Color(238, 228, 218);
-		assertTrue(expected.equals(tile.getTileColour()));
-	}
-
 	@Test (expected=IllegalArgumentException.class)
 	public void testSetValueException() {
 		tile.setValue(-1);
@@ -78,27 +70,4 @@ public class TestTileT {
 		assertArrayEquals(tile.getPosition(), new int[] {1, 2});
 	}
 
-	@Test (expected=IllegalArgumentException.class)
-	public void testSetTileColourException() {
-		tile.setTileColour(-1);
-	}
-
-	@Test
-	public void testSetTileColour1() {
-		tile.setTileColour(0);
-		assertTrue(tile.getTileColour().equals(new Color(205, 193, 180)));
-	}
-
-	@Test
-	public void testSetTileColour2() {
-		tile.setTileColour(123);
-		assertTrue(tile.getTileColour().equals(new Color(238, 228, 218)));
-	}
-
-	@Test
-	public void testSetTileColour3() {
-		tile.setTileColour(512);
-		assertTrue(tile.getTileColour().equals(new Color(228, 193, 42)));
-	}
-
 }
\ No newline at end of file
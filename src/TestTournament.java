@@ -0,0 +1,168 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the policy tournament and the built in policies.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+public class TestTournament {
+
+	private Tournament t;
+
+	@Before
+	public void setUp() {
+		t = new Tournament(2);
+	}
+
+	@After
+	public void tearDown() {
+		t = null;
+	}
+
+	@Test
+	public void testSamePolicyTies() throws InterruptedException {
+		t.addPolicy("a", Policies.random());
+		t.addPolicy("b", Policies.random());
+		t.run(50, 7);
+		Tournament.Comparison c = t.compare(1, 0);
+		assertTrue(c.getMeanDifference() == 0);
+		assertTrue(c.getStandardError() == 0);
+		assertTrue(!c.isSignificant());
+		assertTrue(c.getUnpairedError() > 0);
+	}
+
+	@Test
+	public void testPairedInterval() throws InterruptedException {
+		t.addPolicy("greedy", Policies.greedy());
+		t.addPolicy("expectimax:1", Policies.expectimax(1));
+		t.run(300, 11);
+		Tournament.Comparison c = t.compare(1, 0);
+		assertTrue(c.getGames() == 300);
+		assertTrue(c.isSignificant());
+		assertEquals(1.0, c.getGamesFactor(), 0.25);
+		assertTrue(c.getLower() < c.getMeanDifference() && c.getMeanDifference() < c.getUpper());
+		assertEquals(t.getMeanScore(1) - t.getMeanScore(0), c.getMeanDifference(), 1e-6);
+		assertTrue(t.getMoves(0) > 0 && t.getMovesPerSecond(0) > 0 && t.getGamesPerSecond(1) > 0);
+	}
+
+	@Test
+	public void testThreadsDoNotChangeResults() throws InterruptedException {
+		Tournament single = new Tournament(1);
+		single.addPolicy("random", Policies.random());
+		single.addPolicy("greedy", Policies.greedy());
+		t.addPolicy("random", Policies.random());
+		t.addPolicy("greedy", Policies.greedy());
+		single.run(40, 3);
+		t.run(40, 3);
+		for(int p = 0; p < 2; p++) {
+			for(int g = 0; g < 40; g++)
+				assertTrue(single.getScore(p, g) == t.getScore(p, g));
+			assertTrue(single.getMoves(p) == t.getMoves(p));
+		}
+	}
+
+	private static Supplier<Policy> recording(Map<Long, Long> firstBoards, Supplier<Policy> inner) {
+		return () -> new Policy() {
+			private final Policy policy = inner.get();
+			private long seed;
+			private boolean first;
+
+			@Override
+			public void start(long seed) {
+				this.seed = seed;
+				this.first = true;
+				policy.start(seed);
+			}
+
+			@Override
+			public Directions choose(long board) {
+				if(first)
+					firstBoards.put(seed, board);
+				first = false;
+				return policy.choose(board);
+			}
+		};
+	}
+
+	@Test
+	public void testPoliciesSeeSameSpawns() throws InterruptedException {
+		Map<Long, Long> a = new ConcurrentHashMap<Long, Long>();
+		Map<Long, Long> b = new ConcurrentHashMap<Long, Long>();
+		t.addPolicy("random", recording(a, Policies.random()));
+		t.addPolicy("greedy", recording(b, Policies.greedy()));
+		t.run(30, 5);
+		assertTrue(a.size() == 30);
+		assertTrue(a.equals(b));
+	}
+
+	@Test
+	public void testSpawnIsUniformAndCoupled() {
+		Rng rng = new Rng(0);
+		int[] hits = new int[16];
+		for(int n = 0; n < 16000; n++) {
+			long after = Tournament.spawn(0xF0F0L, 9, n, rng);
+			hits[Long.numberOfTrailingZeros(after & ~0xF0F0L) / 4]++;
+		}
+		assertTrue(hits[1] == 0 && hits[3] == 0);
+		for(int c = 4; c < 16; c++)
+			assertTrue(hits[c] > 900 && hits[c] < 1400);
+		long a = Tournament.spawn(0x1L, 9, 5, rng);
+		long b = Tournament.spawn(0x2L, 9, 5, rng);
+		assertTrue((a & ~0xFL) == (b & ~0xFL));
+	}
+
+	@Test (expected=IllegalStateException.class)
+	public void testIllegalMove() throws InterruptedException {
+		t.addPolicy("stuck", () -> board -> BitBoard.move(board, Directions.left) == board ? Directions.left : Directions.right);
+		t.run(5, 1);
+	}
+
+	@Test (expected=IllegalArgumentException.class)
+	public void testDuplicateName() {
+		t.addPolicy("random", Policies.random());
+		t.addPolicy("random", Policies.greedy());
+	}
+
+	@Test (expected=IllegalStateException.class)
+	public void testNotRun() {
+		t.addPolicy("random", Policies.random());
+		t.getMeanScore(0);
+	}
+
+	@Test
+	public void testBatchMatchesSingle() {
+		Rng rng = new Rng(4);
+		long[] boards = new long[40];
+		for(int k = 0; k < boards.length; k++)
+			boards[k] = k % 3 == 0 ? 0x1100L : BitBoard.spawn(BitBoard.spawn(0, rng), rng);
+		boards[39] = 0x1212212112122121L;
+		Policy single = Policies.expectimax(2).get();
+		Policy batch = Policies.expectimax(2).get();
+		Directions[] moves = new Directions[boards.length];
+		batch.chooseAll(boards, boards.length, moves);
+		for(int k = 0; k < boards.length; k++)
+			assertTrue(moves[k] == single.choose(boards[k]));
+		assertTrue(moves[39] == null);
+	}
+
+	@Test
+	public void testParse() {
+		assertTrue(Policies.parse("expectimax:1").get().choose(0x1100L) != null);
+		assertTrue(Policies.parse("greedy").get().choose(0x1100L) != null);
+		try {
+			Policies.parse("bogus");
+			fail();
+		} catch(IllegalArgumentException e) {
+			assertTrue(e.getMessage().endsWith("!"));
+		}
+	}
+
+}
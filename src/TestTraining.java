@@ -0,0 +1,160 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: Test class for the training data writer and reader.
+ */
+
+package src;
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class TestTraining {
+
+	private Path file;
+
+	@Before
+	public void setUp() throws IOException {
+		file = Files.createTempFile("training", ".bin");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		int games = 7;
+		int moves = 10000;
+		long[] boards = new long[moves];
+		Directions[] dirs = new Directions[moves];
+		int[] rewards = new int[moves];
+		try(TrainingWriter out = new TrainingWriter(file, 2)) {
+			for(int g = 0; g < games; g++) {
+				for(int k = 0; k < moves; k++) {
+					boards[k] = (long) (g * moves + k) << 4 | 1;
+					dirs[k] = Directions.values()[k % 4];
+					rewards[k] = k * 4;
+				}
+				out.addGame(boards, dirs, rewards, moves, 1000L * g);
+			}
+			assertTrue(out.getRows() == (long) games * moves);
+		}
+		try(TrainingReader in = new TrainingReader(file)) {
+			assertTrue(in.getRows() == (long) games * moves);
+			assertTrue(in.getBlockCount() == 2);
+			long row = 0;
+			for(int b = 0; b < in.getBlockCount(); b++) {
+				TrainingReader.Block block = in.readBlock(b);
+				for(int k = 0; k < block.getRows(); k++, row++) {
+					int m = (int) (row % moves);
+					assertTrue(block.getBoard(k) == (row << 4 | 1));
+					assertTrue(block.getMove(k) == Directions.values()[m % 4]);
+					assertTrue(block.getReward(k) == m * 4);
+					assertTrue(block.getFinalScore(k) == 1000L * (row / moves));
+					long board = block.getBoard(k);
+					for(Directions d : Directions.values())
+						assertTrue(((block.getMask(k) >> d.ordinal()) & 1) == (BitBoard.move(board, d) != board ? 1 : 0));
+				}
+			}
+			assertTrue(row == (long) games * moves);
+		}
+	}
+
+	@Test
+	public void testExportedGames() throws Exception {
+		try(TrainingWriter out = new TrainingWriter(file, 1)) {
+			TrainingWriter.export(Policies.greedy(), Spawners.random(), 200, 9, 2, out);
+		}
+		GameStats expected = new Simulator(1, Policies.greedy()).run(200, 9);
+		LongAdder rewards = new LongAdder();
+		LongAdder gameEnds = new LongAdder();
+		try(TrainingReader in = new TrainingReader(file)) {
+			assertTrue(in.getRows() == expected.getMoves());
+			long rows = in.forEachBlock(3, b -> {
+				for(int k = 0; k < b.getRows(); k++) {
+					rewards.add(b.getReward(k));
+					assertTrue(((b.getMask(k) >> b.getMove(k).ordinal()) & 1) == 1);
+					assertTrue(BitBoard.scoreGain(b.getBoard(k), b.getMove(k)) == b.getReward(k));
+					if(k + 1 == b.getRows() || b.getFinalScore(k + 1) != b.getFinalScore(k))
+						gameEnds.increment();
+				}
+			});
+			assertTrue(rows == in.getRows());
+		}
+		assertEquals(expected.getMeanScore() * 200, rewards.sum(), 1e-3);
+		assertTrue(gameEnds.sum() >= 190);
+	}
+
+	@Test
+	public void testFailedExportStopsPlayers() throws Exception {
+		AtomicInteger started = new AtomicInteger();
+		Supplier<Policy> failing = () -> new Policy() {
+			private final Policy greedy = Policies.greedy().get();
+
+			@Override
+			public void start(long seed) {
+				if(started.incrementAndGet() == 20)
+					throw new IllegalStateException("Broken policy!");
+			}
+
+			@Override
+			public Directions choose(long board) {
+				return greedy.choose(board);
+			}
+		};
+		try(TrainingWriter out = new TrainingWriter(file, 1)) {
+			try {
+				TrainingWriter.export(failing, Spawners.random(), Long.MAX_VALUE, 4, 3, out);
+				fail();
+			} catch(IllegalStateException e) {
+				assertTrue(e.getCause().getMessage().equals("Broken policy!"));
+			}
+			long rows = out.getRows();
+			int games = started.get();
+			Thread.sleep(200);
+			assertTrue(out.getRows() == rows);
+			assertTrue(started.get() == games);
+		}
+	}
+
+	@Test
+	public void testEmptyFile() throws Exception {
+		new TrainingWriter(file, 1).close();
+		try(TrainingReader in = new TrainingReader(file)) {
+			assertTrue(in.getRows() == 0 && in.getBlockCount() == 0);
+		}
+	}
+
+	@Test (expected=IOException.class)
+	public void testTruncated() throws Exception {
+		try(TrainingWriter out = new TrainingWriter(file, 1)) {
+			out.addGame(new long[] {0x11L}, new Directions[] {Directions.left}, new int[] {4}, 1, 4);
+		}
+		byte[] bytes = Files.readAllBytes(file);
+		Files.write(file, java.util.Arrays.copyOf(bytes, bytes.length - 3));
+		new TrainingReader(file).close();
+	}
+
+	@Test (expected=IOException.class)
+	public void testDamagedBlock() throws Exception {
+		try(TrainingWriter out = new TrainingWriter(file, 1)) {
+			out.addGame(new long[] {0x11L}, new Directions[] {Directions.left}, new int[] {4}, 1, 4);
+		}
+		byte[] bytes = Files.readAllBytes(file);
+		for(int k = 24; k < 40; k++)
+			bytes[k] = (byte) 0xFF;
+		Files.write(file, bytes);
+		try(TrainingReader in = new TrainingReader(file)) {
+			in.readBlock(0);
+		}
+	}
+
+}
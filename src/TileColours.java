@@ -0,0 +1,55 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A utility class that gives the colour of a tile in the GUI.
+ */
+
+package src;
+
+import java.awt.Color;
+
+/**
+ * @brief A utility class mapping tile values to the colours drawn by the GUI.
+ * @details The colours are part of the view, so they live here rather than in
+ * TileT, which keeps the game core free of AWT. Tile values up to 2048 have their
+ * own colour and anything greater is black. A value that is not a power of two
+ * gets the colour of the power of two just below it.
+ */
+public final class TileColours {
+
+    private static final Color EMPTY = new Color(205, 193, 180);
+    private static final Color HIGH = new Color(0, 0, 0);
+    private static final Color[] POWERS = {
+        new Color(238, 228, 218),
+        new Color(236, 224, 202),
+        new Color(242, 177, 121),
+        new Color(236, 141, 85),
+        new Color(247, 124, 95),
+        new Color(234, 90, 56),
+        new Color(244, 216, 107),
+        new Color(242, 208, 75),
+        new Color(228, 193, 42),
+        new Color(227, 186, 19),
+        new Color(236, 196, 2)
+    };
+
+    private TileColours() {}
+
+    /**
+     * @brief A method to find the colour of a tile.
+     * @param val An integer representing the tile's value (0 for an empty cell).
+     * @return A colour object representing the tile's colour.
+     * @throws IllegalArgumentException if the value given is negative.
+     */
+    public static Color of(int val) {
+        if(val < 0)
+            throw new IllegalArgumentException("Tile value cannot be negative!");
+        if(val > 2048)
+            return HIGH;
+        if(val < 2)
+            return EMPTY;
+        return POWERS[30 - Integer.numberOfLeadingZeros(val)];
+    }
+
+}
@@ -6,21 +6,20 @@
  */
 
 package src;
-import java.awt.Color;
 
 /**
  * @brief An abstract data type representing a tile on the game board.
  * @details This class represents a tile that makes up the game board. It is 
- * represented by a value, its position on the board, and its colour. It is
- * assumed that the tile will be powers of 2 with the smallest possible number 
- * being a 2. It is also assumed that the colour for each tile will be set in
- * the view (GUI) of the program (a value of 0 represents empty tile).
+ * represented by a value and its position on the board. It is assumed that
+ * the tile will be powers of 2 with the smallest possible number being a 2
+ * (a value of 0 represents empty tile). The colour of a tile belongs to the
+ * view (GUI) of the program and is looked up from its value by TileColours,
+ * so the game core does not depend on AWT.
  */
 public class TileT {
 
     private int value;
     private int[] position;
-    private Color tileColour;
 
     /**
 	 * @brief A constructor which initializes a tile object.
@@ -51,16 +50,6 @@ public class TileT {
         return this.position;
     }
 
-    /**
-	 * @brief A getter for the tile's colour.
-	 * @details The tile's colour is represented using three integers which make 
-	 * up an RGB colour code.
-	 * @return A colour object representing the tile's current colour.
-	 */
-    public Color getTileColour() {
-        return this.tileColour;
-    }
-
     /**
 	 * @brief A setter for the tile's value.
 	 * @details This will be used to update the tile's value needs to be updated.
@@ -88,45 +77,4 @@ public class TileT {
         this.position = newCoords;
     }
 
-    /**
-	 * @brief A setter for the tile's colour.
-	 * @details This will be used to update the tile's colour based on the value
-	 * that it has. It is assumed that the value will only be unique tile colours
-	 * for tile values up to 2048, any value greater than this will be black.
-	 * @param val A integer representing the tile's current value.
-     * @throws IllegalArgumentException if the value given is negative.
-	 */
-    public void setTileColour(int val) {
-        if(val < 0)
-            throw new IllegalArgumentException("Tile value cannot be negative!");
-        if(val > 2048)
-            this.tileColour = new Color(0,0,0);
-        else {
-            if(val == 0)
-                this.tileColour = new Color(205, 193, 180);
-            else if(val == 2)
-                this.tileColour = new Color(238, 228, 218);
-            else if (val == 4)
-                this.tileColour = new Color(236, 224, 202);
-            else if (val == 8)
-                this.tileColour = new Color(242, 177, 121);
-            else if (val == 16)
-                this.tileColour = new Color(236, 141, 85);
-            else if (val == 32)
-                this.tileColour = new Color(247, 124, 95);
-            else if (val == 64)
-                this.tileColour = new Color(234, 90, 56);
-            else if (val == 128)
-                this.tileColour = new Color(244, 216, 107);
-            else if (val == 256)
-                this.tileColour = new Color(242, 208, 75);
-            else if (val == 512)
-                this.tileColour = new Color(228, 193, 42);
-            else if (val == 1024)
-                this.tileColour = new Color(227, 186, 19);
-            else if (val == 2048)
-                this.tileColour = new Color(236, 196, 2);
-        }
-    }
-
 }
\ No newline at end of file
@@ -0,0 +1,485 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that compares move policies on the same games.
+ */
+
+package src;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * @brief An ADT that plays several policies over the same seeded games and compares them.
+ * @details Game g is played once by every policy, and every policy sees the same
+ * spawns: the spawns of game g are drawn from streams seeded only from the run seed,
+ * g and the number of the spawn, and are coupled so that boards that differ in a
+ * few cells still mostly get the same tiles (see spawn). Sharing the spawns
+ * makes two copies of a policy tie exactly, but it does not make the scores of
+ * different policies move together: once two policies choose a different move
+ * their games soon end at unrelated times, and on runs of 1000 to 2000 games the
+ * paired standard error is the same as the unpaired one (a factor of about 1.0
+ * even for two close heuristics). Both errors are reported, so a comparison needs
+ * as many games as an unpaired one. The games are split between worker threads;
+ * each thread plays every policy on its games in turn, so the time measured for
+ * each policy (and so its throughput) is taken under the same load.
+ */
+public class Tournament {
+
+    private static final double Z95 = 1.959964;
+
+    /**
+     * @brief The paired difference between the scores of two policies.
+     */
+    public static final class Comparison {
+
+        private final String first;
+        private final String second;
+        private final long games;
+        private final double mean;
+        private final double pairedError;
+        private final double unpairedError;
+
+        Comparison(String first, String second, long games, double mean, double pairedError,
+            double unpairedError) {
+            this.first = first;
+            this.second = second;
+            this.games = games;
+            this.mean = mean;
+            this.pairedError = pairedError;
+            this.unpairedError = unpairedError;
+        }
+
+        /**
+         * @brief A getter for the number of games compared.
+         * @return A long representing the number of pairs of scores.
+         */
+        public long getGames() {
+            return this.games;
+        }
+
+        /**
+         * @brief A getter for the mean score difference.
+         * @return A double representing the mean of the first score minus the second.
+         */
+        public double getMeanDifference() {
+            return this.mean;
+        }
+
+        /**
+         * @brief A getter for the standard error of the mean difference.
+         * @return A double representing the error measured from the paired differences.
+         */
+        public double getStandardError() {
+            return this.pairedError;
+        }
+
+        /**
+         * @brief A getter for the standard error the same games would give if unpaired.
+         * @return A double representing the error of the difference of two independent means.
+         */
+        public double getUnpairedError() {
+            return this.unpairedError;
+        }
+
+        /**
+         * @brief A getter for the lower end of the 95% confidence interval.
+         * @return A double representing the lower bound of the mean difference.
+         */
+        public double getLower() {
+            return this.mean - Z95 * this.pairedError;
+        }
+
+        /**
+         * @brief A getter for the upper end of the 95% confidence interval.
+         * @return A double representing the upper bound of the mean difference.
+         */
+        public double getUpper() {
+            return this.mean + Z95 * this.pairedError;
+        }
+
+        /**
+         * @brief A method to check if the difference is significant at the 5% level.
+         * @return A boolean representing if the confidence interval leaves out 0.
+         */
+        public boolean isSignificant() {
+            return getLower() > 0 || getUpper() < 0;
+        }
+
+        /**
+         * @brief A getter for how many times more unpaired games the same precision needs.
+         * @return A double representing the ratio of the unpaired to the paired variance.
+         */
+        public double getGamesFactor() {
+            if(this.pairedError == 0)
+                return this.unpairedError == 0 ? 1 : Double.POSITIVE_INFINITY;
+            return (this.unpairedError * this.unpairedError) / (this.pairedError * this.pairedError);
+        }
+
+        /**
+         * @brief A method to describe the comparison.
+         * @return A string with the difference, its interval and both errors.
+         */
+        @Override
+        public String toString() {
+            return String.format("%s - %s  %+.1f  95%% CI [%.1f, %.1f]  se %.1f  unpaired se %.1f  (pairing gain %.1fx)%s",
+                this.first, this.second, this.mean, getLower(), getUpper(), this.pairedError, this.unpairedError,
+                getGamesFactor(), isSignificant() ? "  *" : "");
+        }
+    }
+
+    private final int threads;
+    private final List<String> names = new ArrayList<String>();
+    private final List<Supplier<Policy>> factories = new ArrayList<Supplier<Policy>>();
+    private Spawner spawner;
+    private long[][] scores;
+    private long[] moves;
+    private long[] nanos;
+
+    /**
+     * @brief A constructor which initializes a tournament without policies.
+     * @param threads An integer representing the number of worker threads.
+     * @throws IllegalArgumentException if threads is not positive.
+     */
+    public Tournament(int threads) {
+        if(threads <= 0)
+            throw new IllegalArgumentException("At least one thread is needed!");
+        this.threads = threads;
+    }
+
+    /**
+     * @brief A method to enter a policy in the tournament.
+     * @param name A string naming the policy in the results.
+     * @param factory A factory giving each thread its own instance of the policy.
+     * @throws IllegalArgumentException if a policy with the same name was entered.
+     */
+    public void addPolicy(String name, Supplier<Policy> factory) {
+        if(this.names.contains(name))
+            throw new IllegalArgumentException("Policy " + name + " was already entered!");
+        this.names.add(name);
+        this.factories.add(factory);
+    }
+
+    /**
+     * @brief A setter for the spawner used after every move.
+     * @details Spawn n of game g gets a generator seeded from the spawn seed of the
+     * game and n, so the games of the policies stay paired. The starting tiles are
+     * placed by spawn whatever the spawner.
+     * @param spawner A Spawner shared by every thread, or null for the coupled random
+     * spawns of spawn.
+     */
+    public void setSpawner(Spawner spawner) {
+        this.spawner = spawner;
+    }
+
+    /**
+     * @brief A method to play every policy on the same games.
+     * @details Game g uses the spawn seed Rng.derive(seed, g), so the results only
+     * depend on the seed and not on the number of threads. Each policy is started
+     * with the same seed for a game as well, so two copies of a random policy play
+     * identical games. The results of an earlier run are replaced.
+     * @param games An integer representing the number of games each policy plays.
+     * @param seed A long representing the seed of the run.
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     * @throws IllegalArgumentException if there are no policies or games is negative.
+     * @throws IllegalStateException if a policy fails or chooses a move that does not
+     * change the board.
+     */
+    public void run(int games, long seed) throws InterruptedException {
+        if(this.names.isEmpty())
+            throw new IllegalArgumentException("No policies were entered!");
+        if(games < 0)
+            throw new IllegalArgumentException("Number of games cannot be negative!");
+        int policies = this.names.size();
+        long[][] scores = new long[policies][games];
+        long[][] moves = new long[this.threads][policies];
+        long[][] nanos = new long[this.threads][policies];
+        ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+        try {
+            List<Future<?>> parts = new ArrayList<Future<?>>();
+            for(int t = 0; t < this.threads; t++) {
+                int from = (int) ((long) games * t / this.threads);
+                int to = (int) ((long) games * (t + 1) / this.threads);
+                long[] threadMoves = moves[t];
+                long[] threadNanos = nanos[t];
+                parts.add(pool.submit(() -> {
+                    Policy[] players = new Policy[policies];
+                    for(int p = 0; p < policies; p++)
+                        players[p] = this.factories.get(p).get();
+                    long[] length = new long[1];
+                    for(int g = from; g < to; g++) {
+                        for(int p = 0; p < policies; p++) {
+                            long start = System.nanoTime();
+                            players[p].start(Rng.derive(~seed, g));
+                            length[0] = 0;
+                            scores[p][g] = playGame(players[p], this.spawner, Rng.derive(seed, g), length);
+                            threadNanos[p] += System.nanoTime() - start;
+                            threadMoves[p] += length[0];
+                        }
+                    }
+                }));
+            }
+            for(Future<?> part : parts)
+                part.get();
+        } catch(ExecutionException e) {
+            throw new IllegalStateException("A tournament worker failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        this.scores = scores;
+        this.moves = new long[policies];
+        this.nanos = new long[policies];
+        for(int t = 0; t < this.threads; t++) {
+            for(int p = 0; p < policies; p++) {
+                this.moves[p] += moves[t][p];
+                this.nanos[p] += nanos[t][p];
+            }
+        }
+    }
+
+    /**
+     * @brief A method to play one game with a policy.
+     * @param policy A Policy object choosing the moves.
+     * @param spawner A Spawner placing the tile after every move, or null for spawn.
+     * @param seed A long representing the spawn seed of the game.
+     * @param length A one element array that receives the number of moves played.
+     * @return A long representing the score of the game.
+     * @throws IllegalStateException if the policy chooses a move that does not change
+     * the board.
+     */
+    static long playGame(Policy policy, Spawner spawner, long seed, long[] length) {
+        Rng rng = new Rng(0);
+        long board = spawn(spawn(0, seed, 0, rng), seed, 1, rng);
+        long score = 0;
+        for(long n = 2; BitBoard.canMove(board); n++) {
+            Directions dir = policy.choose(board);
+            if(dir == null)
+                break;
+            long after = BitBoard.move(board, dir);
+            if(after == board)
+                throw new IllegalStateException("Policy chose " + dir + ", which does not change the board!");
+            score += BitBoard.scoreGain(board, dir);
+            if(spawner == null) {
+                board = spawn(after, seed, n, rng);
+            } else {
+                rng.setState(Rng.derive(seed, n));
+                board = spawner.spawn(after, rng);
+            }
+            length[0]++;
+        }
+        return score;
+    }
+
+    /**
+     * @brief A method to spawn the n-th tile of a game so that similar boards get the same tile.
+     * @details Spawn n draws from its own stream, Rng.derive(seed, n): the first draw
+     * picks the tile (a 2 with probability 0.7, else a 4) and the next draws pick cells
+     * until an empty one comes up. This is uniform over the empty cells like
+     * BitBoard.spawn, but two boards that have drifted apart still get the same tile
+     * in the same cell whenever that cell is empty on both. Keying the spawns by the
+     * sum of the tiles or by the board instead was measured to pair no better.
+     * @param board A long representing the packed board after a move.
+     * @param seed A long representing the spawn seed of the game.
+     * @param n A long representing the number of the spawn in the game.
+     * @param rng A Rng object reused for the draws.
+     * @return A long representing the board with the new tile.
+     */
+    static long spawn(long board, long seed, long n, Rng rng) {
+        if(BitBoard.countEmpty(board) == 0)
+            return board;
+        rng.setState(Rng.derive(seed, n));
+        long exp = rng.nextDouble() < 0.7 ? 1 : 2;
+        while(true) {
+            int shift = 4 * rng.nextInt(16);
+            if(((board >>> shift) & 0xF) == 0)
+                return board | (exp << shift);
+        }
+    }
+
+    /**
+     * @brief A getter for the number of policies entered.
+     * @return An integer representing the number of policies.
+     */
+    public int getPolicyCount() {
+        return this.names.size();
+    }
+
+    /**
+     * @brief A getter for the name of a policy.
+     * @param p An integer representing the policy in the order it was entered.
+     * @return A string naming the policy.
+     */
+    public String getName(int p) {
+        return this.names.get(p);
+    }
+
+    /**
+     * @brief A getter for the number of games each policy played in the last run.
+     * @return An integer representing the number of games.
+     */
+    public int getGames() {
+        return this.scores == null ? 0 : this.scores[0].length;
+    }
+
+    /**
+     * @brief A getter for the score of a policy in one game of the last run.
+     * @param p An integer representing the policy.
+     * @param g An integer representing the game.
+     * @return A long representing the score.
+     */
+    public long getScore(int p, int g) {
+        return results()[p][g];
+    }
+
+    /**
+     * @brief A getter for the mean score of a policy in the last run.
+     * @param p An integer representing the policy.
+     * @return A double representing the mean score (0 if no games were played).
+     */
+    public double getMeanScore(int p) {
+        long[] s = results()[p];
+        double sum = 0;
+        for(long x : s)
+            sum += x;
+        return s.length == 0 ? 0 : sum / s.length;
+    }
+
+    /**
+     * @brief A getter for the number of moves a policy played in the last run.
+     * @param p An integer representing the policy.
+     * @return A long representing the moves of every game.
+     */
+    public long getMoves(int p) {
+        results();
+        return this.moves[p];
+    }
+
+    /**
+     * @brief A getter for the throughput of a policy in moves.
+     * @details The time is summed over the threads, so this is the rate of a single
+     * thread; multiply by the number of threads for the rate of the whole run.
+     * @param p An integer representing the policy.
+     * @return A double representing the moves played per second of thread time.
+     */
+    public double getMovesPerSecond(int p) {
+        results();
+        return this.nanos[p] == 0 ? 0 : this.moves[p] / (this.nanos[p] / 1e9);
+    }
+
+    /**
+     * @brief A getter for the throughput of a policy in games.
+     * @param p An integer representing the policy.
+     * @return A double representing the games played per second of thread time.
+     */
+    public double getGamesPerSecond(int p) {
+        results();
+        return this.nanos[p] == 0 ? 0 : getGames() / (this.nanos[p] / 1e9);
+    }
+
+    /**
+     * @brief A method to compare the scores of two policies game by game.
+     * @param a An integer representing the first policy.
+     * @param b An integer representing the second policy.
+     * @return A Comparison object holding the paired difference a - b.
+     * @throws IllegalStateException if fewer than two games were played.
+     */
+    public Comparison compare(int a, int b) {
+        return compare(this.names.get(a), this.names.get(b), results()[a], results()[b]);
+    }
+
+    /**
+     * @brief A method to compare two sequences of scores game by game.
+     * @param first A string naming the first policy.
+     * @param second A string naming the second policy.
+     * @param x A sequence of scores of the first policy.
+     * @param y A sequence of scores of the second policy on the same games.
+     * @return A Comparison object holding the paired difference x - y.
+     * @throws IllegalStateException if fewer than two games were played.
+     */
+    static Comparison compare(String first, String second, long[] x, long[] y) {
+        int n = x.length;
+        if(n < 2)
+            throw new IllegalStateException("At least two games are needed to compare!");
+        double meanX = 0;
+        double meanY = 0;
+        double meanD = 0;
+        double m2X = 0;
+        double m2Y = 0;
+        double m2D = 0;
+        for(int g = 0; g < n; g++) {
+            double dx = x[g] - meanX;
+            meanX += dx / (g + 1);
+            m2X += dx * (x[g] - meanX);
+            double dy = y[g] - meanY;
+            meanY += dy / (g + 1);
+            m2Y += dy * (y[g] - meanY);
+            double d = x[g] - y[g];
+            double dd = d - meanD;
+            meanD += dd / (g + 1);
+            m2D += dd * (d - meanD);
+        }
+        double paired = Math.sqrt(m2D / (n - 1) / n);
+        double unpaired = Math.sqrt((m2X + m2Y) / (n - 1) / n);
+        return new Comparison(first, second, n, meanD, paired, unpaired);
+    }
+
+    /**
+     * @brief A method to describe the last run.
+     * @return A string with the score and throughput of every policy, followed by
+     * the paired difference of every policy against the first one entered.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-16s %8s %12s %10s %12s%n", "policy", "games", "mean score", "games/s", "moves/s"));
+        for(int p = 0; p < getPolicyCount(); p++) {
+            sb.append(String.format("%-16s %8d %12.1f %10.1f %12.0f%n", getName(p), getGames(), getMeanScore(p),
+                getGamesPerSecond(p), getMovesPerSecond(p)));
+        }
+        if(getGames() >= 2) {
+            for(int p = 1; p < getPolicyCount(); p++)
+                sb.append(compare(p, 0)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @brief A method to get the scores of the last run.
+     * @throws IllegalStateException if the tournament has not been run.
+     */
+    private long[][] results() {
+        if(this.scores == null)
+            throw new IllegalStateException("The tournament has not been run!");
+        return this.scores;
+    }
+
+    /**
+     * @brief A method to run a tournament from the command line.
+     * @details Usage: Tournament games [threads] [seed] [policy ...]. The policies are
+     * named as in Policies.parse; random and greedy are played if none are given.
+     * @param args A sequence of command line arguments.
+     * @throws InterruptedException if interrupted while waiting for the threads.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if(args.length < 1) {
+            System.err.println("usage: Tournament games [threads] [seed] [policy ...]");
+            System.exit(2);
+        }
+        int games = Integer.parseInt(args[0]);
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        List<String> policies = args.length > 3 ? Arrays.asList(args).subList(3, args.length)
+            : Arrays.asList("random", "greedy");
+        Tournament t = new Tournament(threads);
+        for(String name : policies)
+            t.addPolicy(name, Policies.parse(name));
+        long start = System.nanoTime();
+        t.run(games, seed);
+        double secs = (System.nanoTime() - start) / 1e9;
+        System.out.print(t);
+        System.out.printf("run %.2f s, seed %d%n", secs, seed);
+    }
+
+}
@@ -0,0 +1,313 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that reads the training samples written by TrainingWriter.
+ */
+
+package src;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * @brief An ADT that decodes a training file block by block.
+ * @details The footer and the block index are read when the file is opened; a block
+ * is then decoded by memory mapping just its bytes and inflating each column
+ * straight from the mapping into primitive arrays, so nothing is copied through the
+ * heap first. Blocks do not depend on each other, so forEachBlock decodes them on a
+ * pool of threads. A reader is thread safe.
+ */
+public class TrainingReader implements Closeable {
+
+    private static final Directions[] DIRECTIONS = Directions.values();
+
+    private final FileChannel channel;
+    private final long[] offsets;
+    private final long rows;
+
+    /**
+     * @brief The decoded columns of one block of samples.
+     */
+    public static final class Block {
+
+        private final int rows;
+        private final long[] boards;
+        private final byte[] masks;
+        private final byte[] moves;
+        private final int[] rewards;
+        private final long[] finalScores;
+
+        Block(int rows) {
+            this.rows = rows;
+            this.boards = new long[rows];
+            this.masks = new byte[rows];
+            this.moves = new byte[rows];
+            this.rewards = new int[rows];
+            this.finalScores = new long[rows];
+        }
+
+        /**
+         * @brief A getter for the number of samples in the block.
+         * @return An integer representing the rows of the block.
+         */
+        public int getRows() {
+            return this.rows;
+        }
+
+        /**
+         * @brief A getter for the board of a sample.
+         * @param row An integer representing the index of the sample in the block.
+         * @return A long representing the packed board before the move.
+         */
+        public long getBoard(int row) {
+            return this.boards[row];
+        }
+
+        /**
+         * @brief A getter for the legal moves of a sample.
+         * @param row An integer representing the index of the sample in the block.
+         * @return An integer with bit d set if the move of ordinal d was legal.
+         */
+        public int getMask(int row) {
+            return this.masks[row];
+        }
+
+        /**
+         * @brief A getter for the move of a sample.
+         * @param row An integer representing the index of the sample in the block.
+         * @return An enumerate direction representing the move chosen.
+         */
+        public Directions getMove(int row) {
+            return DIRECTIONS[this.moves[row]];
+        }
+
+        /**
+         * @brief A getter for the reward of a sample.
+         * @param row An integer representing the index of the sample in the block.
+         * @return An integer representing the score the move gained.
+         */
+        public int getReward(int row) {
+            return this.rewards[row];
+        }
+
+        /**
+         * @brief A getter for the final score of the game of a sample.
+         * @param row An integer representing the index of the sample in the block.
+         * @return A long representing the final score.
+         */
+        public long getFinalScore(int row) {
+            return this.finalScores[row];
+        }
+
+        /**
+         * @brief A getter for the whole board column, for bulk use.
+         * @return The array of packed boards, shared with the block.
+         */
+        public long[] getBoards() {
+            return this.boards;
+        }
+    }
+
+    /**
+     * @brief A constructor which opens a training file.
+     * @param file A Path representing the file to read.
+     * @throws IOException if the file cannot be read or is not a complete training file.
+     */
+    public TrainingReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = this.channel.size();
+            if(size < TrainingWriter.HEADER_BYTES + TrainingWriter.FOOTER_BYTES)
+                throw new IOException("Not a training file: " + file);
+            ByteBuffer head = read(0, TrainingWriter.HEADER_BYTES);
+            ByteBuffer foot = read(size - TrainingWriter.FOOTER_BYTES, TrainingWriter.FOOTER_BYTES);
+            if(head.getInt(0) != TrainingWriter.MAGIC || head.getInt(4) != TrainingWriter.VERSION
+                || foot.getInt(20) != TrainingWriter.MAGIC)
+                throw new IOException("Not a complete training file: " + file);
+            int blocks = foot.getInt(0);
+            this.rows = foot.getLong(4);
+            long index = foot.getLong(12);
+            if(blocks < 0 || index + 8L * blocks + TrainingWriter.FOOTER_BYTES != size)
+                throw new IOException("Training file index is damaged: " + file);
+            this.offsets = new long[blocks + 1];
+            read(index, 8 * blocks).asLongBuffer().get(this.offsets, 0, blocks);
+            this.offsets[blocks] = index;
+        } catch(IOException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @brief A getter for the number of samples in the file.
+     * @return A long representing the rows of every block together.
+     */
+    public long getRows() {
+        return this.rows;
+    }
+
+    /**
+     * @brief A getter for the number of blocks in the file.
+     * @return An integer representing the blocks.
+     */
+    public int getBlockCount() {
+        return this.offsets.length - 1;
+    }
+
+    /**
+     * @brief A method to decode one block.
+     * @param block An integer representing the index of the block.
+     * @return A Block object holding its samples.
+     * @throws IOException if the block cannot be read or is damaged.
+     */
+    public Block readBlock(int block) throws IOException {
+        long start = this.offsets[block];
+        MappedByteBuffer map = this.channel.map(FileChannel.MapMode.READ_ONLY, start, this.offsets[block + 1] - start);
+        map.order(ByteOrder.LITTLE_ENDIAN);
+        int n = map.getInt();
+        if(n <= 0 || n > TrainingWriter.BLOCK_ROWS)
+            throw new IOException("Training block " + block + " is damaged!");
+        Block b = new Block(n);
+        Inflater inflater = new Inflater(true);
+        try {
+            ByteBuffer raw = ByteBuffer.allocate(8 * n).order(ByteOrder.LITTLE_ENDIAN);
+            inflate(inflater, map, raw, 8 * n, block).asLongBuffer().get(b.boards);
+            inflate(inflater, map, ByteBuffer.wrap(b.masks), n, block);
+            inflate(inflater, map, ByteBuffer.wrap(b.moves), n, block);
+            inflate(inflater, map, raw, 4 * n, block).asIntBuffer().get(b.rewards);
+            inflate(inflater, map, raw, 8 * n, block).asLongBuffer().get(b.finalScores);
+        } finally {
+            inflater.end();
+        }
+        for(int k = 0; k < n; k++) {
+            if(b.moves[k] < 0 || b.moves[k] >= DIRECTIONS.length)
+                throw new IOException("Training block " + block + " is damaged!");
+        }
+        return b;
+    }
+
+    /**
+     * @brief A method to decode every block in parallel and hand each to an action.
+     * @details The action is called from the pool threads, possibly at the same time
+     * and not in block order.
+     * @param threads An integer representing the threads decoding blocks.
+     * @param action A Consumer receiving every decoded block.
+     * @return A long representing the samples decoded.
+     * @throws IOException if a block cannot be read or is damaged.
+     * @throws InterruptedException if interrupted while waiting for the pool.
+     */
+    public long forEachBlock(int threads, Consumer<Block> action) throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> parts = new ArrayList<Future<Integer>>();
+            for(int b = 0; b < getBlockCount(); b++) {
+                int block = b;
+                parts.add(pool.submit(() -> {
+                    Block decoded = readBlock(block);
+                    action.accept(decoded);
+                    return decoded.getRows();
+                }));
+            }
+            long total = 0;
+            for(Future<Integer> part : parts)
+                total += part.get();
+            return total;
+        } catch(ExecutionException e) {
+            if(e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IllegalStateException("A block action failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * @brief A method to close the file.
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * @brief A method to read a range of the file.
+     */
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while(buffer.hasRemaining()) {
+            if(this.channel.read(buffer, position + buffer.position()) < 0)
+                throw new EOFException("Training file is truncated!");
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * @brief A method to inflate the next column of a block.
+     * @return The output buffer, flipped to hold exactly the column.
+     */
+    private static ByteBuffer inflate(Inflater inflater, ByteBuffer map, ByteBuffer out, int length, int block)
+        throws IOException {
+        int compressed = map.getInt();
+        if(compressed < 0 || compressed > map.remaining())
+            throw new IOException("Training block " + block + " is damaged!");
+        ByteBuffer in = map.slice().limit(compressed);
+        map.position(map.position() + compressed);
+        inflater.reset();
+        inflater.setInput(in);
+        out.clear().limit(length);
+        try {
+            while(out.hasRemaining() && !inflater.finished()) {
+                if(inflater.inflate(out) == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    break;
+            }
+        } catch(DataFormatException e) {
+            throw new IOException("Training block " + block + " is damaged!", e);
+        }
+        if(out.hasRemaining())
+            throw new IOException("Training block " + block + " is damaged!");
+        return out.flip();
+    }
+
+    /**
+     * @brief A method to decode a training file from the command line.
+     * @details Usage: TrainingReader file [threads]. Every block is decoded and the
+     * samples, mean reward and decoding rate are printed.
+     * @param args A sequence of command line arguments.
+     * @throws Exception if the file cannot be read.
+     */
+    public static void main(String[] args) throws Exception {
+        if(args.length < 1) {
+            System.err.println("usage: TrainingReader file [threads]");
+            System.exit(2);
+        }
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        LongAdder reward = new LongAdder();
+        long start = System.nanoTime();
+        long rows;
+        try(TrainingReader in = new TrainingReader(Paths.get(args[0]))) {
+            rows = in.forEachBlock(threads, b -> {
+                long sum = 0;
+                for(int k = 0; k < b.getRows(); k++)
+                    sum += b.getReward(k);
+                reward.add(sum);
+            });
+        }
+        double secs = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d samples, mean reward %.2f%n", rows, reward.sum() / (double) Math.max(1, rows));
+        System.out.printf("read %.2f s, %.0f samples/min on %d threads%n", secs, rows / secs * 60, threads);
+    }
+
+}
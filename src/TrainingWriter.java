@@ -0,0 +1,370 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that writes logged play to a block compressed columnar file
+ * for training models.
+ */
+
+package src;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+
+/**
+ * @brief An ADT that stores the moves of games as training samples.
+ * @details Every move of a game is one sample (a row) with five fixed width
+ * columns: the packed board before the move (8 bytes), the mask of legal moves (1
+ * byte, bit d set if the move of ordinal d changes the board), the ordinal of the
+ * chosen move (1 byte), the reward, that is the score the move gained (4 bytes),
+ * and the final score of the game (8 bytes). Rows are gathered into blocks of
+ * BLOCK_ROWS, and each column of a block is written little endian and compressed
+ * on its own with Deflater, since a column of similar values compresses far better
+ * than interleaved rows. Blocks are compressed on a pool of threads while the
+ * caller keeps adding games, and written in order. The file is a 16 byte header
+ * (magic, version, rows per block), the blocks (a row count, then for every column
+ * its compressed length and bytes), an index of the block offsets, and a 24 byte
+ * footer (block count, row count, index offset, magic), so TrainingReader can find
+ * any block without reading the others. A writer is thread safe.
+ */
+public class TrainingWriter implements Closeable {
+
+    static final int MAGIC = 0x32305444;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int FOOTER_BYTES = 24;
+    public static final int BLOCK_ROWS = 1 << 16;
+
+    private static final Directions[] DIRECTIONS = Directions.values();
+
+    private final FileChannel channel;
+    private final ExecutorService pool;
+    private final int threads;
+    private final ArrayDeque<Future<ByteBuffer>> pending = new ArrayDeque<Future<ByteBuffer>>();
+    private final List<Long> offsets = new ArrayList<Long>();
+    private long position;
+    private long rows;
+    private int fill;
+    private long[] boards = new long[BLOCK_ROWS];
+    private byte[] masks = new byte[BLOCK_ROWS];
+    private byte[] moves = new byte[BLOCK_ROWS];
+    private int[] rewards = new int[BLOCK_ROWS];
+    private long[] finals = new long[BLOCK_ROWS];
+
+    /**
+     * @brief A constructor which creates a training file, replacing any old one.
+     * @param file A Path representing the file to write.
+     * @param threads An integer representing the threads compressing blocks.
+     * @throws IOException if the file cannot be created.
+     * @throws IllegalArgumentException if threads is not positive.
+     */
+    public TrainingWriter(Path file, int threads) throws IOException {
+        if(threads <= 0)
+            throw new IllegalArgumentException("At least one thread is needed!");
+        this.threads = threads;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer head = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        head.putInt(MAGIC).putInt(VERSION).putInt(BLOCK_ROWS).putInt(0).flip();
+        write(head);
+        this.pool = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * @brief A method to add every move of a finished game.
+     * @param boards A sequence of packed boards, each before its move.
+     * @param moves A sequence of the moves chosen on those boards.
+     * @param rewards A sequence of the scores gained by those moves.
+     * @param count An integer representing how many moves, from the start, to add.
+     * @param finalScore A long representing the final score of the game.
+     * @throws IOException if a finished block cannot be written.
+     */
+    public synchronized void addGame(long[] boards, Directions[] moves, int[] rewards, int count, long finalScore)
+        throws IOException {
+        for(int k = 0; k < count; k++) {
+            long b = boards[k];
+            int mask = 0;
+            for(Directions d : DIRECTIONS) {
+                if(BitBoard.move(b, d) != b)
+                    mask |= 1 << d.ordinal();
+            }
+            this.boards[this.fill] = b;
+            this.masks[this.fill] = (byte) mask;
+            this.moves[this.fill] = (byte) moves[k].ordinal();
+            this.rewards[this.fill] = rewards[k];
+            this.finals[this.fill] = finalScore;
+            if(++this.fill == BLOCK_ROWS)
+                flushBlock();
+        }
+    }
+
+    /**
+     * @brief A getter for the number of samples added.
+     * @return A long representing the rows added so far.
+     */
+    public synchronized long getRows() {
+        return this.rows + this.fill;
+    }
+
+    /**
+     * @brief A method to write the last block and the index, and close the file.
+     * @throws IOException if the file cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if(this.fill > 0)
+                flushBlock();
+            drain(0);
+            long index = this.position;
+            ByteBuffer tail = ByteBuffer.allocate(8 * this.offsets.size() + FOOTER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for(long offset : this.offsets)
+                tail.putLong(offset);
+            tail.putInt(this.offsets.size()).putLong(this.rows).putLong(index).putInt(MAGIC).flip();
+            write(tail);
+        } finally {
+            this.pool.shutdownNow();
+            this.channel.close();
+        }
+    }
+
+    /**
+     * @brief A method to hand the current block to the pool and start a new one.
+     * @throws IOException if an earlier block cannot be written.
+     */
+    private void flushBlock() throws IOException {
+        int n = this.fill;
+        long[] b = this.boards;
+        byte[] m = this.masks;
+        byte[] d = this.moves;
+        int[] r = this.rewards;
+        long[] f = this.finals;
+        this.pending.add(this.pool.submit(() -> compress(n, b, m, d, r, f)));
+        this.rows += n;
+        this.fill = 0;
+        this.boards = new long[BLOCK_ROWS];
+        this.masks = new byte[BLOCK_ROWS];
+        this.moves = new byte[BLOCK_ROWS];
+        this.rewards = new int[BLOCK_ROWS];
+        this.finals = new long[BLOCK_ROWS];
+        drain(2 * this.threads);
+    }
+
+    /**
+     * @brief A method to write finished blocks in order.
+     * @param keep An integer representing the blocks that may stay in flight; the
+     * oldest blocks are waited for until no more remain.
+     * @throws IOException if a block cannot be compressed or written.
+     */
+    private void drain(int keep) throws IOException {
+        while(!this.pending.isEmpty() && (this.pending.size() > keep || this.pending.peek().isDone())) {
+            ByteBuffer block;
+            try {
+                block = this.pending.poll().get();
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while compressing a block!");
+            } catch(ExecutionException e) {
+                throw new IOException("A block could not be compressed!", e.getCause());
+            }
+            this.offsets.add(this.position);
+            write(block);
+        }
+    }
+
+    /**
+     * @brief A method to write a buffer at the end of the file.
+     * @param buffer A ByteBuffer holding the bytes to write.
+     * @throws IOException if the file cannot be written.
+     */
+    private void write(ByteBuffer buffer) throws IOException {
+        while(buffer.hasRemaining())
+            this.position += this.channel.write(buffer, this.position);
+    }
+
+    /**
+     * @brief A method to encode and compress the columns of a block.
+     * @return A ByteBuffer holding the encoded block, ready to be written.
+     */
+    private static ByteBuffer compress(int n, long[] boards, byte[] masks, byte[] moves, int[] rewards, long[] finals) {
+        ByteBuffer raw = ByteBuffer.allocate(8 * n).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer out = ByteBuffer.allocate(4 + 5 * 4 + 8 * n).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(n);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            raw.asLongBuffer().put(boards, 0, n);
+            out = column(deflater, raw.limit(8 * n), out);
+            out = column(deflater, ByteBuffer.wrap(masks, 0, n), out);
+            out = column(deflater, ByteBuffer.wrap(moves, 0, n), out);
+            raw.clear();
+            raw.asIntBuffer().put(rewards, 0, n);
+            out = column(deflater, raw.limit(4 * n), out);
+            raw.clear();
+            raw.asLongBuffer().put(finals, 0, n);
+            out = column(deflater, raw.limit(8 * n), out);
+        } finally {
+            deflater.end();
+        }
+        out.flip();
+        return out;
+    }
+
+    /**
+     * @brief A method to compress one column into a block.
+     * @return A ByteBuffer holding the block so far, grown if the column did not fit.
+     */
+    private static ByteBuffer column(Deflater deflater, ByteBuffer raw, ByteBuffer out) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        int start = out.position();
+        out.putInt(0);
+        while(!deflater.finished()) {
+            if(!out.hasRemaining()) {
+                ByteBuffer bigger = ByteBuffer.allocate(2 * out.capacity()).order(ByteOrder.LITTLE_ENDIAN);
+                out.flip();
+                out = bigger.put(out);
+            }
+            deflater.deflate(out);
+        }
+        return out.putInt(start, out.position() - start - 4);
+    }
+
+    /**
+     * @brief A method to play games with a policy and write their moves.
+     * @details Game g is started from the seed Rng.derive(seed, g) and its policy from
+     * Rng.derive(~seed, g). The games are shared between the threads as they finish,
+     * so with more than one thread the order of the games in the file may vary from
+     * run to run, but the samples do not. If a thread fails, the others stop before
+     * their next move, and the method returns only once no thread can still add a
+     * game to out.
+     * @param policy A factory giving each thread its own instance of the policy.
+     * @param spawner A Spawner placing the tile after every move.
+     * @param games A long representing the number of games to play.
+     * @param seed A long representing the seed of the run.
+     * @param threads An integer representing the threads playing games.
+     * @param out A TrainingWriter object receiving the games.
+     * @throws IOException if the games cannot be written.
+     * @throws InterruptedException if interrupted while the games are played.
+     */
+    public static void export(Supplier<Policy> policy, Spawner spawner, long games, long seed, int threads,
+        TrainingWriter out) throws IOException, InterruptedException {
+        AtomicLong next = new AtomicLong();
+        AtomicBoolean stop = new AtomicBoolean();
+        ExecutorService players = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> parts = new ArrayList<Future<Void>>();
+            for(int t = 0; t < threads; t++) {
+                parts.add(players.submit(() -> {
+                    try {
+                        Policy p = policy.get();
+                        Rng rng = new Rng(0);
+                        long[] boards = new long[1024];
+                        Directions[] moves = new Directions[1024];
+                        int[] rewards = new int[1024];
+                        for(long g = next.getAndIncrement(); g < games; g = next.getAndIncrement()) {
+                            rng.setState(Rng.derive(seed, g));
+                            p.start(Rng.derive(~seed, g));
+                            long board = BitBoard.spawn(BitBoard.spawn(0, rng), rng);
+                            long score = 0;
+                            int n = 0;
+                            for(Directions d = p.choose(board); d != null; d = p.choose(board)) {
+                                if(stop.get())
+                                    return null;
+                                if(n == boards.length) {
+                                    boards = Arrays.copyOf(boards, 2 * n);
+                                    moves = Arrays.copyOf(moves, 2 * n);
+                                    rewards = Arrays.copyOf(rewards, 2 * n);
+                                }
+                                long after = BitBoard.move(board, d);
+                                if(after == board)
+                                    throw new IllegalStateException("Policy chose " + d + ", which does not change the board!");
+                                boards[n] = board;
+                                moves[n] = d;
+                                rewards[n] = BitBoard.scoreGain(board, d);
+                                score += rewards[n++];
+                                board = spawner.spawn(after, rng);
+                            }
+                            if(stop.get())
+                                return null;
+                            out.addGame(boards, moves, rewards, n, score);
+                        }
+                        return null;
+                    } catch(Throwable e) {
+                        stop.set(true);
+                        throw e;
+                    }
+                }));
+            }
+            for(Future<Void> part : parts)
+                part.get();
+        } catch(ExecutionException e) {
+            if(e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IllegalStateException("An export worker failed", e.getCause());
+        } finally {
+            stop(players, stop);
+        }
+    }
+
+    /**
+     * @brief A method to stop the players of an export and wait for them to finish.
+     * @details An interrupt while waiting is kept for the caller, since the players
+     * must not outlive the export whatever made it end.
+     * @param players An ExecutorService running the players.
+     * @param stop An AtomicBoolean checked by the players before every move.
+     */
+    private static void stop(ExecutorService players, AtomicBoolean stop) {
+        stop.set(true);
+        players.shutdownNow();
+        boolean interrupted = false;
+        while(true) {
+            try {
+                if(players.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS))
+                    break;
+            } catch(InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if(interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    /**
+     * @brief A method to export simulated games from the command line.
+     * @details Usage: TrainingWriter games file [threads] [seed] [policy] [spawner].
+     * @param args A sequence of command line arguments.
+     * @throws Exception if the games cannot be played or written.
+     */
+    public static void main(String[] args) throws Exception {
+        if(args.length < 2) {
+            System.err.println("usage: TrainingWriter games file [threads] [seed] [policy] [spawner]");
+            System.exit(2);
+        }
+        long games = Long.parseLong(args[0]);
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        Supplier<Policy> policy = args.length > 4 ? Policies.parse(args[4]) : Policies.random();
+        Spawner spawner = args.length > 5 ? Spawners.parse(args[5]) : Spawners.random();
+        long start = System.nanoTime();
+        long rows;
+        try(TrainingWriter out = new TrainingWriter(Paths.get(args[1]), threads)) {
+            export(policy, spawner, games, seed, threads, out);
+            rows = out.getRows();
+        }
+        double secs = (System.nanoTime() - start) / 1e9;
+        long bytes = Files.size(Paths.get(args[1]));
+        System.out.printf("%d games, %d samples, %.2f bytes/sample%n", games, rows, (double) bytes / Math.max(1, rows));
+        System.out.printf("run %.2f s, %.0f samples/min%n", secs, rows / secs * 60);
+    }
+
+}
@@ -0,0 +1,88 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A fixed size table of search results that many threads can share
+ * without locks.
+ */
+
+package src;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * @brief An ADT representing a lock free transposition table for the search.
+ * @details Each entry is two longs: the data (the value as float bits and the depth
+ * it was searched to) and the board XOR the data. Threads read and write the two
+ * words without locking; if two writes to the same entry interleave, the board
+ * recovered from the pair no longer matches and the entry is treated as a miss,
+ * so a torn entry is never returned. An entry is simply overwritten when another
+ * board maps to the same slot.
+ */
+public class TranspositionTable {
+
+    private final AtomicLongArray keys;
+    private final AtomicLongArray data;
+    private final int mask;
+
+    /**
+     * @brief A constructor which initializes an empty table.
+     * @param bits An integer representing the log2 of the number of entries.
+     * @throws IllegalArgumentException if bits is not between 1 and 28.
+     */
+    public TranspositionTable(int bits) {
+        if(bits < 1 || bits > 28)
+            throw new IllegalArgumentException("Table size must be between 2^1 and 2^28 entries!");
+        this.keys = new AtomicLongArray(1 << bits);
+        this.data = new AtomicLongArray(1 << bits);
+        this.mask = (1 << bits) - 1;
+    }
+
+    /**
+     * @brief A method to look up the value of a board.
+     * @param board A long representing the packed board.
+     * @param depth An integer representing the smallest depth that is good enough.
+     * @return A double representing the stored value, or NaN if there is none.
+     */
+    public double probe(long board, int depth) {
+        int i = index(board);
+        long d = this.data.get(i);
+        long k = this.keys.get(i);
+        if((k ^ d) != board || (int) (d & 0xFF) < depth)
+            return Double.NaN;
+        return Float.intBitsToFloat((int) (d >>> 32));
+    }
+
+    /**
+     * @brief A method to store the value of a board.
+     * @param board A long representing the packed board.
+     * @param depth An integer representing the depth the value was searched to.
+     * @param value A double representing the value.
+     */
+    public void store(long board, int depth, double value) {
+        int i = index(board);
+        long d = ((long) Float.floatToRawIntBits((float) value) << 32) | (depth & 0xFF);
+        this.data.lazySet(i, d);
+        this.keys.lazySet(i, board ^ d);
+    }
+
+    /**
+     * @brief A method to empty the table.
+     */
+    public void clear() {
+        for(int i = 0; i <= this.mask; i++) {
+            this.keys.lazySet(i, 0);
+            this.data.lazySet(i, 0);
+        }
+    }
+
+    /**
+     * @brief A method to find the slot of a board.
+     */
+    private int index(long board) {
+        board ^= board >>> 33;
+        board *= 0xFF51AFD7ED558CCDL;
+        return (int) (board ^ (board >>> 33)) & this.mask;
+    }
+
+}
@@ -0,0 +1,193 @@
+/**
+ * Author: Shrill Patel
+ * Revised: October 19, 2026
+ *
+ * Description: A class that searches for heuristic weights that score well.
+ */
+
+package src;
+
+/**
+ * @brief An ADT that tunes the weights of a Heuristic by simulation.
+ * @details A set of weights is judged by the scores of an expectimax policy using
+ * it over a fixed number of games, played on the worker threads of a Tournament.
+ * Every set plays the same games (the same seed). The search is a pattern search:
+ * each weight in turn is scaled up and down by a step, and a change is kept only
+ * if it raises the mean score significantly: the 95% confidence interval of the
+ * paired difference from the best set so far must lie above 0 (see
+ * Tournament.compare). A change that wins by less than the noise of the games is
+ * dropped, so more games let smaller gains through. Once a whole pass over the
+ * weights keeps nothing, the step is halved. A weight of 0 is moved by the step itself instead of being scaled.
+ * Since the same games are replayed, the tuned weights should be checked on a new
+ * seed before they are trusted.
+ */
+public class Tuner {
+
+    private final int threads;
+    private final int depth;
+    private final long games;
+    private final long seed;
+    private Heuristic best;
+    private long[] bestScores;
+    private double startScore;
+    private double bestScore;
+    private int evaluations;
+
+    /**
+     * @brief A constructor which initializes a tuner.
+     * @param threads An integer representing the simulator threads.
+     * @param depth An integer representing the depth of the expectimax policy.
+     * @param games A long representing the games played per set of weights.
+     * @param seed A long representing the seed of those games.
+     * @throws IllegalArgumentException if threads or depth is not positive, or games
+     * is not between 2 and Integer.MAX_VALUE.
+     */
+    public Tuner(int threads, int depth, long games, long seed) {
+        if(threads <= 0 || depth <= 0 || games < 2 || games > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Threads and depth must be positive and games at least 2!");
+        this.threads = threads;
+        this.depth = depth;
+        this.games = games;
+        this.seed = seed;
+    }
+
+    /**
+     * @brief A method to measure a set of weights.
+     * @param heuristic A Heuristic object holding the weights.
+     * @return A double representing the mean score of the policy over the games.
+     * @throws InterruptedException if interrupted while the games are played.
+     */
+    public double score(Heuristic heuristic) throws InterruptedException {
+        return mean(play(heuristic));
+    }
+
+    /**
+     * @brief A method to check if a set of weights beats another beyond the noise.
+     * @param candidate A sequence of scores of the new weights.
+     * @param best A sequence of scores of the best weights on the same games.
+     * @return A boolean representing if the 95% confidence interval of the paired
+     * difference lies above 0.
+     */
+    static boolean improves(long[] candidate, long[] best) {
+        return Tournament.compare("candidate", "best", candidate, best).getLower() > 0;
+    }
+
+    /**
+     * @brief A method to play the games with a set of weights.
+     * @return A sequence of the score of every game.
+     */
+    private long[] play(Heuristic heuristic) throws InterruptedException {
+        this.evaluations++;
+        Tournament t = new Tournament(this.threads);
+        t.addPolicy("weights", Policies.expectimax(this.depth, heuristic));
+        t.run((int) this.games, this.seed);
+        long[] scores = new long[t.getGames()];
+        for(int g = 0; g < scores.length; g++)
+            scores[g] = t.getScore(0, g);
+        return scores;
+    }
+
+    /**
+     * @brief A method to average scores.
+     */
+    private static double mean(long[] scores) {
+        double sum = 0;
+        for(long x : scores)
+            sum += x;
+        return sum / scores.length;
+    }
+
+    /**
+     * @brief A method to search for better weights.
+     * @param start A Heuristic object holding the weights to start from.
+     * @param rounds An integer representing the passes over the weights.
+     * @param step A double representing the relative change tried first, such as 0.5.
+     * @return A Heuristic object holding the best weights found.
+     * @throws InterruptedException if interrupted while the games are played.
+     */
+    public Heuristic tune(Heuristic start, int rounds, double step) throws InterruptedException {
+        this.evaluations = 0;
+        this.best = start;
+        this.bestScores = play(start);
+        this.startScore = mean(this.bestScores);
+        this.bestScore = this.startScore;
+        for(int round = 0; round < rounds; round++) {
+            boolean improved = false;
+            for(int f = 0; f < Heuristic.featureCount(); f++) {
+                for(int sign = 1; sign >= -1; sign -= 2) {
+                    double[] w = this.best.getWeights();
+                    w[f] = w[f] == 0 ? sign * step : w[f] * (1 + sign * step);
+                    Heuristic candidate = new Heuristic(w);
+                    long[] scores = play(candidate);
+                    if(improves(scores, this.bestScores)) {
+                        this.best = candidate;
+                        this.bestScores = scores;
+                        this.bestScore = mean(scores);
+                        improved = true;
+                        break;
+                    }
+                }
+            }
+            if(!improved)
+                step /= 2;
+        }
+        return this.best;
+    }
+
+    /**
+     * @brief A getter for the best weights of the last tune.
+     * @return A Heuristic object, or null if tune has not run.
+     */
+    public Heuristic getBest() {
+        return this.best;
+    }
+
+    /**
+     * @brief A getter for the mean score of the starting weights of the last tune.
+     * @return A double representing the mean score.
+     */
+    public double getStartScore() {
+        return this.startScore;
+    }
+
+    /**
+     * @brief A getter for the mean score of the best weights of the last tune.
+     * @return A double representing the mean score.
+     */
+    public double getBestScore() {
+        return this.bestScore;
+    }
+
+    /**
+     * @brief A getter for the number of weight sets measured by the last tune.
+     * @return An integer representing the simulations run.
+     */
+    public int getEvaluations() {
+        return this.evaluations;
+    }
+
+    /**
+     * @brief A method to tune weights from the command line.
+     * @details Usage: Tuner [rounds] [games] [depth] [threads] [seed] [weights]. The
+     * weights to start from are written as in Heuristic.parse (the standard ones by
+     * default), and the best weights are printed in the same form.
+     * @param args A sequence of command line arguments.
+     * @throws InterruptedException if interrupted while the games are played.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 200;
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+        Heuristic start = args.length > 5 ? Heuristic.parse(args[5]) : Heuristic.standard();
+        Tuner tuner = new Tuner(threads, depth, games, seed);
+        long begin = System.nanoTime();
+        Heuristic best = tuner.tune(start, rounds, 0.5);
+        double secs = (System.nanoTime() - begin) / 1e9;
+        System.out.printf("start  %.1f  %s%n", tuner.getStartScore(), start);
+        System.out.printf("best   %.1f  %s%n", tuner.getBestScore(), best);
+        System.out.printf("run    %.2f s, %d evaluations, seed %d%n", secs, tuner.getEvaluations(), seed);
+    }
+
+}